@@ -17,16 +17,25 @@
 package info.archinnov.achilles.configuration;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_FIND_MAX_IN_FLIGHT;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_WRITER_MAX_IN_FLIGHT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_MAP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_MAX_THREAD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_MIN_THREAD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE_FOR_TABLES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCANNING_FALLBACK;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCAN_INDEXED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.EXECUTOR_SERVICE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
@@ -35,8 +44,22 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.JACK
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER_FACTORY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.OSGI_CLASS_LOADER;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DETACHED_ENTITIES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_FILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PARALLELISM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_SPLIT_LOGGED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_COALESCE_MUTATIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_MAX_PENDING_COUNTERS;
 import static javax.validation.Validation.buildDefaultValidatorFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,6 +68,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.validation.ValidationException;
 import org.apache.commons.lang.StringUtils;
 import org.reflections.Reflections;
@@ -53,11 +80,15 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import info.archinnov.achilles.annotations.Entity;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.metadata.discovery.EntityIndexReader;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
@@ -69,6 +100,8 @@ public class ArgumentExtractor {
 
     private static final Logger log = LoggerFactory.getLogger(ArgumentExtractor.class);
 
+    private EntityIndexReader entityIndexReader = new EntityIndexReader();
+
     static final ConsistencyLevel DEFAULT_LEVEL = ConsistencyLevel.ONE;
 
     static final int DEFAULT_LRU_CACHE_SIZE = 10000;
@@ -77,16 +110,59 @@ public class ArgumentExtractor {
 
     static final boolean DEFAULT_PROXIES_WARM_UP_DISABLED = true;
 
+    static final boolean DEFAULT_ENTITY_PACKAGES_SCANNING_FALLBACK = true;
+
+    static final boolean DEFAULT_ENTITY_PACKAGES_SCAN_INDEXED = false;
+
     static final boolean DEFAULT_INDEX_RELAX_VALIDATION = false;
 
     static final InsertStrategy DEFAULT_INSERT_STRATEGY = InsertStrategy.ALL_FIELDS;
 
+    static final int DEFAULT_EXECUTOR_SERVICE_MIN_THREAD_COUNT = 5;
+
+    static final int DEFAULT_EXECUTOR_SERVICE_MAX_THREAD_COUNT = 10;
+
+    static final long DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE_SECONDS = 60L;
+
+    static final int DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE_VALUE = 1000;
+
+    static final int DEFAULT_BULK_FIND_MAX_IN_FLIGHT = 64;
+
+    static final int DEFAULT_BULK_WRITER_MAX_IN_FLIGHT = 256;
+
+    static final int DEFAULT_SCAN_PARALLELISM = 8;
+
+    static final int DEFAULT_BATCH_MAX_STATEMENTS = 500;
+
+    static final int DEFAULT_BATCH_MAX_SIZE_IN_BYTES = 50 * 1024;
+
+    static final boolean DEFAULT_BATCH_SPLIT_LOGGED = false;
+
+    static final boolean DEFAULT_BATCH_COALESCE_MUTATIONS = false;
+
+    static final long DEFAULT_COUNTER_AGGREGATION_FLUSH_INTERVAL_MS = 0L;
+
+    static final int DEFAULT_COUNTER_AGGREGATION_MAX_PENDING_COUNTERS = 10000;
+
+    static final boolean DEFAULT_PREPARED_STATEMENTS_WARM_UP = false;
+
+    static final int DEFAULT_PREPARED_STATEMENTS_WARM_UP_PARALLELISM = 16;
+
+    static final long DEFAULT_PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS = 60000L;
+
+    static final boolean DEFAULT_NATIVE_QUERIES_PREPARED = false;
+
+    static final int DEFAULT_NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE = 1000;
+
+    static final boolean DEFAULT_DETACHED_ENTITIES = false;
+
 
     public List<Class<?>> initEntities(ConfigMap configurationMap, ClassLoader classLoader) {
         log.trace("Extract entities from configuration map");
 
         List<String> entityPackages = getEntityPackages(configurationMap);
-        List<Class<?>> entities = discoverEntities(entityPackages, classLoader);
+        List<Class<?>> entities = discoverEntities(entityPackages, classLoader, initEntityPackagesScanningFallback(configurationMap),
+                initEntityPackagesScanIndexed(configurationMap));
 
         List<Class<?>> entitiesFromList = configurationMap.getTypedOr(ENTITIES_LIST, Collections.<Class<?>>emptyList());
         entities.addAll(entitiesFromList);
@@ -105,13 +181,53 @@ public class ArgumentExtractor {
         return entityPackages;
     }
 
-    private List<Class<?>> discoverEntities(List<String> packageNames, ClassLoader classLoader) {
+    public boolean initEntityPackagesScanningFallback(ConfigMap configMap) {
+        return configMap.getTypedOr(ENTITY_PACKAGES_SCANNING_FALLBACK, DEFAULT_ENTITY_PACKAGES_SCANNING_FALLBACK);
+    }
+
+    public boolean initEntityPackagesScanIndexed(ConfigMap configMap) {
+        return configMap.getTypedOr(ENTITY_PACKAGES_SCAN_INDEXED, DEFAULT_ENTITY_PACKAGES_SCAN_INDEXED);
+    }
+
+    private List<Class<?>> discoverEntities(List<String> packageNames, ClassLoader classLoader, boolean scanningFallback,
+            boolean scanIndexed) {
         log.debug("Discovery of Achilles entity classes in packages {}", StringUtils.join(packageNames, ","));
 
         Set<Class<?>> candidateClasses = new HashSet<>();
         if (!packageNames.isEmpty()) {
-            Reflections reflections = new Reflections(packageNames, classLoader);
-            candidateClasses.addAll(reflections.getTypesAnnotatedWith(Entity.class));
+            final long start = System.nanoTime();
+            List<String> packagesToScan = packageNames;
+            final Set<Class<?>> indexedEntities = new HashSet<>();
+            final Optional<Set<String>> indexedClassNames = entityIndexReader.readEntityClassNames(classLoader);
+            if (indexedClassNames.isPresent()) {
+                packagesToScan = new ArrayList<>();
+                for (String packageName : packageNames) {
+                    List<Class<?>> packageEntities = entityIndexReader.loadEntitiesOfPackage(indexedClassNames.get(), packageName, classLoader);
+                    indexedEntities.addAll(packageEntities);
+                    // The index is authoritative for the packages it covers. Scanning them too, to detect entities
+                    // missing from a stale index, is an explicit opt-in since it costs the full classpath scan
+                    if (packageEntities.isEmpty() || (scanningFallback && scanIndexed)) {
+                        packagesToScan.add(packageName);
+                    }
+                }
+                candidateClasses.addAll(indexedEntities);
+            }
+
+            if (!packagesToScan.isEmpty()) {
+                if (scanningFallback) {
+                    log.debug("Scan classpath for entity classes in packages {}", StringUtils.join(packagesToScan, ","));
+                    Reflections reflections = new Reflections(packagesToScan, classLoader);
+                    final Set<Class<?>> scannedEntities = reflections.getTypesAnnotatedWith(Entity.class);
+                    if (!indexedEntities.isEmpty() && !indexedEntities.containsAll(scannedEntities)) {
+                        log.warn("Entity classes {} are missing from the entity index, the index may be stale",
+                                Sets.difference(scannedEntities, indexedEntities));
+                    }
+                    candidateClasses.addAll(scannedEntities);
+                } else {
+                    log.warn("No indexed entity class found in packages {} and classpath scanning is disabled", StringUtils.join(packagesToScan, ","));
+                }
+            }
+            log.info("Entity discovery took {} milli secs for {} entities", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), candidateClasses.size());
         }
         return new ArrayList<>(candidateClasses);
     }
@@ -133,6 +249,24 @@ public class ArgumentExtractor {
         configContext.setInsertStrategy(initInsertStrategy(configurationMap));
         configContext.setOSGIClassLoader(initOSGIClassLoader(configurationMap));
         configContext.setRelaxIndexValidation(initRelaxIndexValidation(configurationMap));
+        configContext.setExecutorService(initExecutorService(configurationMap));
+        configContext.setExecutorServiceOwned(initExecutorServiceOwned(configurationMap));
+        configContext.setBulkFindMaxInFlight(initBulkFindMaxInFlight(configurationMap));
+        configContext.setBulkWriterMaxInFlight(initBulkWriterMaxInFlight(configurationMap));
+        configContext.setScanParallelism(initScanParallelism(configurationMap));
+        configContext.setBatchMaxStatements(initBatchMaxStatements(configurationMap));
+        configContext.setBatchMaxSizeInBytes(initBatchMaxSizeInBytes(configurationMap));
+        configContext.setBatchSplitLogged(initBatchSplitLogged(configurationMap));
+        configContext.setBatchCoalesceMutations(initBatchCoalesceMutations(configurationMap));
+        configContext.setCounterAggregationFlushIntervalMillis(initCounterAggregationFlushIntervalMillis(configurationMap));
+        configContext.setCounterAggregationMaxPendingCounters(initCounterAggregationMaxPendingCounters(configurationMap));
+        configContext.setPreparedStatementsWarmUp(initPreparedStatementsWarmUp(configurationMap));
+        configContext.setPreparedStatementsWarmUpParallelism(initPreparedStatementsWarmUpParallelism(configurationMap));
+        configContext.setPreparedStatementsManifestFile(initPreparedStatementsManifestFile(configurationMap));
+        configContext.setPreparedStatementsManifestSaveIntervalMillis(initPreparedStatementsManifestSaveIntervalMillis(configurationMap));
+        configContext.setNativeQueriesPrepared(initNativeQueriesPrepared(configurationMap));
+        configContext.setNativeQueriesPreparedStatementsCacheSize(initNativeQueriesPreparedStatementsCacheSize(configurationMap));
+        configContext.setDetachedEntities(initDetachedEntities(configurationMap));
         return configContext;
     }
 
@@ -252,4 +386,109 @@ public class ArgumentExtractor {
     public boolean initRelaxIndexValidation(ConfigMap configMap) {
         return configMap.getTypedOr(RELAX_INDEX_VALIDATION, DEFAULT_INDEX_RELAX_VALIDATION);
     }
+
+    public int initBulkFindMaxInFlight(ConfigMap configMap) {
+        int maxInFlight = configMap.getTypedOr(BULK_FIND_MAX_IN_FLIGHT, DEFAULT_BULK_FIND_MAX_IN_FLIGHT);
+        Validator.validateTrue(maxInFlight > 0, "The max in-flight lookups for bulk find should be strictly positive");
+        return maxInFlight;
+    }
+
+    public int initBulkWriterMaxInFlight(ConfigMap configMap) {
+        int maxInFlight = configMap.getTypedOr(BULK_WRITER_MAX_IN_FLIGHT, DEFAULT_BULK_WRITER_MAX_IN_FLIGHT);
+        Validator.validateTrue(maxInFlight > 0, "The max in-flight writes for bulk writer should be strictly positive");
+        return maxInFlight;
+    }
+
+    public int initScanParallelism(ConfigMap configMap) {
+        int parallelism = configMap.getTypedOr(SCAN_PARALLELISM, DEFAULT_SCAN_PARALLELISM);
+        Validator.validateTrue(parallelism > 0, "The scan parallelism should be strictly positive");
+        return parallelism;
+    }
+
+    public int initBatchMaxStatements(ConfigMap configMap) {
+        int maxStatements = configMap.getTypedOr(BATCH_MAX_STATEMENTS, DEFAULT_BATCH_MAX_STATEMENTS);
+        Validator.validateTrue(maxStatements >= 0, "The max number of statements per batch should be positive");
+        return maxStatements;
+    }
+
+    public int initBatchMaxSizeInBytes(ConfigMap configMap) {
+        int maxSizeInBytes = configMap.getTypedOr(BATCH_MAX_SIZE_IN_BYTES, DEFAULT_BATCH_MAX_SIZE_IN_BYTES);
+        Validator.validateTrue(maxSizeInBytes >= 0, "The max size in bytes per batch should be positive");
+        return maxSizeInBytes;
+    }
+
+    public boolean initBatchSplitLogged(ConfigMap configMap) {
+        return configMap.getTypedOr(BATCH_SPLIT_LOGGED, DEFAULT_BATCH_SPLIT_LOGGED);
+    }
+
+    public boolean initBatchCoalesceMutations(ConfigMap configMap) {
+        return configMap.getTypedOr(BATCH_COALESCE_MUTATIONS, DEFAULT_BATCH_COALESCE_MUTATIONS);
+    }
+
+    public long initCounterAggregationFlushIntervalMillis(ConfigMap configMap) {
+        long flushIntervalMillis = configMap.getTypedOr(COUNTER_AGGREGATION_FLUSH_INTERVAL_MS, DEFAULT_COUNTER_AGGREGATION_FLUSH_INTERVAL_MS);
+        Validator.validateTrue(flushIntervalMillis >= 0, "The flush interval of counter aggregation should be positive");
+        return flushIntervalMillis;
+    }
+
+    public int initCounterAggregationMaxPendingCounters(ConfigMap configMap) {
+        int maxPendingCounters = configMap.getTypedOr(COUNTER_AGGREGATION_MAX_PENDING_COUNTERS, DEFAULT_COUNTER_AGGREGATION_MAX_PENDING_COUNTERS);
+        Validator.validateTrue(maxPendingCounters > 0, "The max pending counters of counter aggregation should be strictly positive");
+        return maxPendingCounters;
+    }
+
+    public boolean initPreparedStatementsWarmUp(ConfigMap configMap) {
+        return configMap.getTypedOr(PREPARED_STATEMENTS_WARM_UP, DEFAULT_PREPARED_STATEMENTS_WARM_UP);
+    }
+
+    public int initPreparedStatementsWarmUpParallelism(ConfigMap configMap) {
+        int parallelism = configMap.getTypedOr(PREPARED_STATEMENTS_WARM_UP_PARALLELISM, DEFAULT_PREPARED_STATEMENTS_WARM_UP_PARALLELISM);
+        Validator.validateTrue(parallelism > 0, "The parallelism of prepared statements warm-up should be strictly positive");
+        return parallelism;
+    }
+
+    public String initPreparedStatementsManifestFile(ConfigMap configMap) {
+        return configMap.getTyped(PREPARED_STATEMENTS_MANIFEST_FILE);
+    }
+
+    public long initPreparedStatementsManifestSaveIntervalMillis(ConfigMap configMap) {
+        long saveInterval = configMap.getTypedOr(PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS, DEFAULT_PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS);
+        Validator.validateTrue(saveInterval > 0, "The save interval of prepared statements manifest should be strictly positive");
+        return saveInterval;
+    }
+
+    public boolean initNativeQueriesPrepared(ConfigMap configMap) {
+        return configMap.getTypedOr(NATIVE_QUERIES_PREPARED, DEFAULT_NATIVE_QUERIES_PREPARED);
+    }
+
+    public int initNativeQueriesPreparedStatementsCacheSize(ConfigMap configMap) {
+        int cacheSize = configMap.getTypedOr(NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE, DEFAULT_NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE);
+        Validator.validateTrue(cacheSize > 0, "The prepared statements cache size of native queries should be strictly positive");
+        return cacheSize;
+    }
+
+    public boolean initDetachedEntities(ConfigMap configMap) {
+        return configMap.getTypedOr(DETACHED_ENTITIES, DEFAULT_DETACHED_ENTITIES);
+    }
+
+    public boolean initExecutorServiceOwned(ConfigMap configMap) {
+        return configMap.getTyped(EXECUTOR_SERVICE) == null;
+    }
+
+    public ExecutorService initExecutorService(ConfigMap configMap) {
+        ExecutorService executorService = configMap.getTyped(EXECUTOR_SERVICE);
+        if (executorService == null) {
+            int minThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MIN_THREAD, DEFAULT_EXECUTOR_SERVICE_MIN_THREAD_COUNT);
+            int maxThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MAX_THREAD, DEFAULT_EXECUTOR_SERVICE_MAX_THREAD_COUNT);
+            long keepAlive = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE, DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE_SECONDS);
+            int queueSize = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE, DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE_VALUE);
+            log.debug("Build default executor service with {} min threads, {} max threads, {} secs keep-alive and queue size {}",
+                    minThreads, maxThreads, keepAlive, queueSize);
+            executorService = new ThreadPoolExecutor(minThreads, maxThreads, keepAlive, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(queueSize),
+                    new ThreadFactoryBuilder().setNameFormat("achilles-default-executor-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executorService;
+    }
 }
@@ -29,6 +29,13 @@ package info.archinnov.achilles.configuration;
  * <p>Example: <em>my.project.entity,another.project.entity</em> </p>
  * </li>
  * <li><p><strong>ENTITIES_LIST</strong> (OPTIONAL): list of entity classes for entity scanning.</p></li>
+ * <li><p><strong>ENTITY_PACKAGES_SCANNING_FALLBACK</strong> (OPTIONAL): entities are first read from the <em>META-INF/achilles/entities.idx</em>
+ * index files written by the <strong>achilles-processor</strong> annotation processor. The index is authoritative for the packages having
+ * indexed entities, only the listed classes are loaded. The packages without indexed entity are scanned on the classpath when this fallback
+ * is enabled and are not discovered otherwise. <strong>Default = 'true'</strong>.</p></li>
+ * <li><p><strong>ENTITY_PACKAGES_SCAN_INDEXED</strong> (OPTIONAL): also scan the packages having indexed entities and merge the result with the
+ * index, so that entities missing from a stale index are still discovered, at the cost of a full classpath scan. Ignored when
+ * <strong>ENTITY_PACKAGES_SCANNING_FALLBACK</strong> is disabled. <strong>Default = 'false'</strong>.</p></li>
  * </ul><blockquote>
  * <p>Note: entities discovered by <strong>ENTITY_PACKAGES</strong>  will be merged into  entities provided by <strong>ENTITIES_LIST</strong></p>
  * </blockquote>
@@ -127,12 +134,39 @@ package info.archinnov.achilles.configuration;
  *
  * <p>You can get details on the LRU cache state by putting the logger <code>info.archinnov.achilles.internal.statement.cache.CacheManager</code> on <strong>DEBUG</strong></p>
  *
+ * <ul >
+ * <li>
+ * <strong>PREPARED_STATEMENTS_WARM_UP</strong> (OPTIONAL): at bootstrap, prepare the insert of all fields, the update and select of each
+ * property and the collection and map operations of each entity, and load them into the LRU cache. Default = <code>false</code></li>
+ * <li>
+ * <strong>PREPARED_STATEMENTS_WARM_UP_PARALLELISM</strong> (OPTIONAL): max number of statements being prepared concurrently
+ * during the warm-up. Default = <code>16</code></li>
+ * <li>
+ * <strong>PREPARED_STATEMENTS_MANIFEST_FILE</strong> (OPTIONAL): path of the file recording the shapes of the prepared statements used at runtime.
+ * They are prepared again at the next bootstrap, before the first request. Default = none, no manifest</li>
+ * <li>
+ * <strong>PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS</strong> (OPTIONAL): interval in milliseconds between two saves of the
+ * manifest file. The manifest is also saved at JVM shutdown. Default = <code>60000</code></li>
+ * <li>
+ * <strong>NATIVE_QUERIES_PREPARED</strong> (OPTIONAL): execute native and typed queries as prepared statements cached by query string.
+ * Can be overridden for each query with <em>withPreparedStatement(boolean)</em>. Default = <code>false</code></li>
+ * <li>
+ * <strong>NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE</strong> (OPTIONAL): max number of prepared statements kept in the LRU cache
+ * of native and typed queries. Default = <code>1000</code></li>
+ * </ul>
+ *
  * <h4>Proxies</h4>
  *
  * <ul >
  * <li>
  * <strong>PROXIES_WARM_UP_DISABLED</strong> (OPTIONAL): disable <strong>CGLIB</strong> proxies warm-up. Default = <code>false</code>
  * </li>
+ * <li>
+ * <strong>DETACHED_ENTITIES</strong> (OPTIONAL): return loaded entities as plain objects instead of proxies. A snapshot of their
+ * encoded column values is kept aside and <em>update()</em> only writes the columns which differ from it. <em>refresh()</em>
+ * reloads the columns into the same instance and takes a new snapshot. Counters are not lazy-loaded on detached entities,
+ * therefore <em>initialize()</em> leaves them untouched. Default = <code>false</code>
+ * </li>
  * </ul><p>The first time <strong>Achilles</strong> creates a proxy for an entity class, there is a penalty of a hundreds millisecs (value may change from different plateforms) required for <strong>CGLIB</strong> to read bytecode and add the proxy to its cache.</p>
  *
  * <p>This delay may be detrimental for real time applications that need very fast response-time.</p>
@@ -156,10 +190,72 @@ package info.archinnov.achilles.configuration;
  * <strong>OSGI_CLASS_LOADER</strong> (OPTIONAL): define the class loader to be use for entity introspection and proxies creation, instead of the default class loader.</li>
  * </ul><p>For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/OSGI-Support">OSGI Support</a></strong></p>
  *
+ * <h4>Asynchronous operations</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>EXECUTOR_SERVICE</strong> (OPTIONAL): executor service used to map rows to entities, build proxies and trigger interceptors
+ * once an asynchronous operation completes. If provided, the DEFAULT_EXECUTOR_SERVICE_XXX parameters are ignored and the executor service
+ * is not shut down by Achilles. Otherwise the default executor service is shut down by <em>PersistenceManagerFactory.shutDown()</em></li>
+ * <li>
+ * <strong>DEFAULT_EXECUTOR_SERVICE_MIN_THREAD</strong> (OPTIONAL): core thread count of the default executor service. Default = <code>5</code></li>
+ * <li>
+ * <strong>DEFAULT_EXECUTOR_SERVICE_MAX_THREAD</strong> (OPTIONAL): max thread count of the default executor service. Default = <code>10</code></li>
+ * <li>
+ * <strong>DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE</strong> (OPTIONAL): keep-alive of idle threads in seconds. Default = <code>60</code></li>
+ * <li>
+ * <strong>DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE</strong> (OPTIONAL): size of the task queue of the default executor service. Default = <code>1000</code></li>
+ * </ul>
+ *
+ * <h4>Bulk operations</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>BULK_FIND_MAX_IN_FLIGHT</strong> (OPTIONAL): max number of concurrent lookups sent by <code>findAll()</code>. Default = <code>64</code></li>
+ * <li>
+ * <strong>BULK_WRITER_MAX_IN_FLIGHT</strong> (OPTIONAL): max number of pending asynchronous inserts of a <code>BulkWriter</code>. Default = <code>256</code></li>
+ * <li>
+ * <strong>SCAN_PARALLELISM</strong> (OPTIONAL): number of token ranges queried concurrently by <code>scan()</code>. Default = <code>8</code></li>
+ * </ul>
+ *
+ * <h4>Batch chunking</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>BATCH_MAX_STATEMENTS</strong> (OPTIONAL): max number of statements in a single batch sent by <code>endBatch()</code>.
+ * Bigger unlogged and counter batches are split into chunks. <code>0</code> means no limit. Default = <code>500</code></li>
+ * <li>
+ * <strong>BATCH_MAX_SIZE_IN_BYTES</strong> (OPTIONAL): max estimated size in bytes of the bound values of a single batch
+ * sent by <code>endBatch()</code>. Bigger unlogged and counter batches are split into chunks. <code>0</code> means no limit.
+ * Default = <code>51200</code> (50kb, the default batch size failure threshold of Cassandra)</li>
+ * <li>
+ * <strong>BATCH_SPLIT_LOGGED</strong> (OPTIONAL): also split logged batches according to the two limits above. Each chunk
+ * is then atomic on its own but the whole batch is not. Default = <code>false</code>: logged batches are never split</li>
+ * <li>
+ * <strong>BATCH_COALESCE_MUTATIONS</strong> (OPTIONAL): merge the mutations of a batch on the same entity before binding statements
+ * at <code>endBatch()</code>: last write wins for simple columns, collection changes are merged and counter deltas are summed.
+ * Ignored for ordered batches. Default = <code>false</code></li>
+ * </ul>
+ *
+ * <h4>Counter aggregation</h4>
+ *
+ * <ul >
+ * <li>
+ * <strong>COUNTER_AGGREGATION_FLUSH_INTERVAL_MS</strong> (OPTIONAL): aggregate simple counter increments in memory and flush
+ * the summed deltas as counter batches at this interval, in milliseconds. Counter reads do not see pending deltas.
+ * The increments of a failed flush are logged and lost, they are not retried since counter increments are not idempotent.
+ * <code>0</code> disables aggregation. Default = <code>0</code></li>
+ * <li>
+ * <strong>COUNTER_AGGREGATION_MAX_PENDING_COUNTERS</strong> (OPTIONAL): number of counters with pending deltas which
+ * triggers an early flush of the aggregated deltas. Default = <code>10000</code></li>
+ * </ul>
+ *
  */
 public enum ConfigurationParameters {
     ENTITY_PACKAGES("achilles.entity.packages"),
     ENTITIES_LIST("achilles.entities.list"),
+    ENTITY_PACKAGES_SCANNING_FALLBACK("achilles.entity.packages.scanning.fallback"),
+    ENTITY_PACKAGES_SCAN_INDEXED("achilles.entity.packages.scan.indexed"),
 
     NATIVE_SESSION("achilles.cassandra.native.session"),
     KEYSPACE_NAME("achilles.cassandra.keyspace.name"),
@@ -183,14 +279,39 @@ public enum ConfigurationParameters {
     BEAN_VALIDATION_VALIDATOR("achilles.bean.validation.validator"),
 
     PREPARED_STATEMENTS_CACHE_SIZE("achilles.prepared.statements.cache.size"),
+    PREPARED_STATEMENTS_WARM_UP("achilles.prepared.statements.warm.up"),
+    PREPARED_STATEMENTS_WARM_UP_PARALLELISM("achilles.prepared.statements.warm.up.parallelism"),
+    PREPARED_STATEMENTS_MANIFEST_FILE("achilles.prepared.statements.manifest.file"),
+    PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS("achilles.prepared.statements.manifest.save.interval.ms"),
+    NATIVE_QUERIES_PREPARED("achilles.native.queries.prepared"),
+    NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE("achilles.native.queries.prepared.statements.cache.size"),
 
     PROXIES_WARM_UP_DISABLED("achilles.proxies.warm.up.disabled"),
+    DETACHED_ENTITIES("achilles.detached.entities"),
 
     INSERT_STRATEGY("achilles.insert.strategy"),
 
     OSGI_CLASS_LOADER("achilles.osgi.class.loader"),
 
-    RELAX_INDEX_VALIDATION("achilles.relax.index.validation");
+    RELAX_INDEX_VALIDATION("achilles.relax.index.validation"),
+
+    EXECUTOR_SERVICE("achilles.executor.service"),
+    DEFAULT_EXECUTOR_SERVICE_MIN_THREAD("achilles.executor.service.default.thread.min"),
+    DEFAULT_EXECUTOR_SERVICE_MAX_THREAD("achilles.executor.service.default.thread.max"),
+    DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE("achilles.executor.service.default.thread.keepalive"),
+    DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
+
+    BULK_FIND_MAX_IN_FLIGHT("achilles.bulk.find.max.in.flight"),
+    BULK_WRITER_MAX_IN_FLIGHT("achilles.bulk.writer.max.in.flight"),
+    SCAN_PARALLELISM("achilles.scan.parallelism"),
+
+    BATCH_MAX_STATEMENTS("achilles.batch.max.statements"),
+    BATCH_MAX_SIZE_IN_BYTES("achilles.batch.max.size.in.bytes"),
+    BATCH_SPLIT_LOGGED("achilles.batch.split.logged"),
+    BATCH_COALESCE_MUTATIONS("achilles.batch.coalesce.mutations"),
+
+    COUNTER_AGGREGATION_FLUSH_INTERVAL_MS("achilles.counter.aggregation.flush.interval.ms"),
+    COUNTER_AGGREGATION_MAX_PENDING_COUNTERS("achilles.counter.aggregation.max.pending.counters");
 
     private String label;
 
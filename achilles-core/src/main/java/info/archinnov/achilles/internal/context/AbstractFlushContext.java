@@ -17,7 +17,10 @@ package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.NativeStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -25,13 +28,20 @@ import info.archinnov.achilles.type.ConsistencyLevel;
 import java.io.UnsupportedEncodingException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.exception.AchillesException;
 
 public abstract class AbstractFlushContext {
 	protected DaoContext daoContext;
@@ -58,25 +68,83 @@ public abstract class AbstractFlushContext {
 
 	protected void executeBatch(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
 		if (statementWrappers.size() > 1) {
-			BatchStatement batch = new BatchStatement(batchType);
-			AbstractStatementWrapper.writeDMLStartBatch(batchType);
-			for (AbstractStatementWrapper statementWrapper : statementWrappers) {
-                batch.add(statementWrapper.getStatement());
-                statementWrapper.logDMLStatement("\t");
-            }
-            AbstractStatementWrapper.writeDMLEndBatch(batchType,consistencyLevel);
-			if (consistencyLevel != null) {
-				batch.setConsistencyLevel(getCQLLevel(consistencyLevel));
-			}
-            if (serialConsistencyLevel.isPresent()) {
-                batch.setSerialConsistencyLevel(serialConsistencyLevel.get());
-            }
-            daoContext.executeBatch(batch);
+			daoContext.executeBatch(createBatchStatement(batchType, statementWrappers));
 		} else if (statementWrappers.size() == 1) {
 			daoContext.execute(statementWrappers.get(0));
 		}
 	}
 
+	protected ListenableFuture<ResultSet> executeBatchAsync(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
+		if (statementWrappers.size() > 1) {
+			return daoContext.executeBatchAsync(createBatchStatement(batchType, statementWrappers));
+		} else if (statementWrappers.size() == 1) {
+			return daoContext.executeAsync(statementWrappers.get(0));
+		} else {
+			return Futures.immediateFuture(null);
+		}
+	}
+
+	/**
+	 * Group statements by routing key. Statements without routing key are alone in their group
+	 */
+	protected Collection<List<AbstractStatementWrapper>> groupByPartition(List<AbstractStatementWrapper> statementWrappers) {
+		Map<Object, List<AbstractStatementWrapper>> statementsByPartition = new LinkedHashMap<>();
+		for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+			final Object routingKey = statementWrapper.getRoutingKey().or(statementWrapper);
+			List<AbstractStatementWrapper> partitionStatements = statementsByPartition.get(routingKey);
+			if (partitionStatements == null) {
+				partitionStatements = new ArrayList<>();
+				statementsByPartition.put(routingKey, partitionStatements);
+			}
+			partitionStatements.add(statementWrapper);
+		}
+		return statementsByPartition.values();
+	}
+
+	/**
+	 * Send each group of statements as its own batch, all groups in parallel, then wait for all of them.
+	 * Groups of a single statement are sent as plain statements
+	 */
+	protected void executeBatchesInParallel(BatchStatement.Type batchType, Collection<List<AbstractStatementWrapper>> statementGroups) {
+		List<ListenableFuture<ResultSet>> futures = new ArrayList<>(statementGroups.size());
+		for (List<AbstractStatementWrapper> statementGroup : statementGroups) {
+			futures.add(executeBatchAsync(batchType, statementGroup));
+		}
+		waitForAll(Futures.allAsList(futures));
+	}
+
+	private void waitForAll(ListenableFuture<List<ResultSet>> allResults) {
+		try {
+			allResults.get();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new AchillesException("Interrupted while waiting for parallel batches", ex);
+		} catch (ExecutionException ex) {
+			final Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new AchillesException(cause);
+		}
+	}
+
+	private BatchStatement createBatchStatement(BatchStatement.Type batchType, List<AbstractStatementWrapper> statementWrappers) {
+		BatchStatement batch = new BatchStatement(batchType);
+		AbstractStatementWrapper.writeDMLStartBatch(batchType);
+		for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+			batch.add(statementWrapper.getStatement());
+			statementWrapper.logDMLStatement("\t");
+		}
+		AbstractStatementWrapper.writeDMLEndBatch(batchType, consistencyLevel);
+		if (consistencyLevel != null) {
+			batch.setConsistencyLevel(getCQLLevel(consistencyLevel));
+		}
+		if (serialConsistencyLevel.isPresent()) {
+			batch.setSerialConsistencyLevel(serialConsistencyLevel.get());
+		}
+		return batch;
+	}
+
 	public void pushStatement(AbstractStatementWrapper statementWrapper) {
 		statementWrappers.add(statementWrapper);
 	}
@@ -89,14 +157,49 @@ public abstract class AbstractFlushContext {
 		return daoContext.execute(statementWrapper);
 	}
 
+	public ListenableFuture<ResultSet> executeImmediateAsync(AbstractStatementWrapper statementWrapper) {
+		return daoContext.executeAsync(statementWrapper);
+	}
+
 	public ConsistencyLevel getConsistencyLevel() {
 		return consistencyLevel;
 	}
 
+	public boolean isPartitionAware() {
+		return false;
+	}
+
+	/**
+	 * Hold the insert until the end of the batch to merge it with other mutations on the same entity
+	 *
+	 * @return true if the insert is held, false if the statement should be pushed right away
+	 */
+	public boolean coalesceInsert(DaoOperations context, List<PropertyMeta> pms) {
+		return false;
+	}
+
+	public boolean coalesceUpdate(DaoOperations context, List<PropertyMeta> pms) {
+		return false;
+	}
+
+	public boolean coalesceCollectionAndMapUpdate(DaoOperations context, DirtyCheckChangeSet changeSet) {
+		return false;
+	}
+
+	public boolean coalesceSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+		return false;
+	}
+
+	public boolean coalesceClusteredCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+		return false;
+	}
+
 	public abstract void startBatch();
 
 	public abstract void flush();
 
+	public abstract ListenableFuture<List<ResultSet>> flushAsync();
+
 	public abstract void endBatch();
 
 	public abstract FlushType type();
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+
+/**
+ * Split the statements of a batch into chunks which stay under a max number of statements
+ * and a max estimated size in bytes. A limit of <em>0</em> means no limit.
+ * <br/>
+ * Logged batches are atomic, so they are only split when explicitly allowed
+ * <br/>
+ * The size of a statement is estimated from its bound values, as they would be serialized
+ * with the native protocol, plus the query string for non prepared statements
+ */
+public class BatchChunker {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchChunker.class);
+
+    public static final BatchChunker NO_LIMIT = new BatchChunker(0, 0, false);
+
+    static final int LENGTH_PREFIX_SIZE = 4;
+    static final int PREPARED_STATEMENT_ID_SIZE = 16;
+
+    private final int maxStatements;
+    private final long maxSizeInBytes;
+    private final boolean splitLogged;
+
+    public BatchChunker(int maxStatements, long maxSizeInBytes, boolean splitLogged) {
+        this.maxStatements = maxStatements;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.splitLogged = splitLogged;
+    }
+
+    /**
+     * Chunk the statements of a logged batch. They are kept in a single chunk
+     * unless splitting logged batches is allowed
+     */
+    public List<List<AbstractStatementWrapper>> chunkLogged(List<AbstractStatementWrapper> statementWrappers) {
+        if (splitLogged) {
+            return chunk(statementWrappers);
+        }
+        List<List<AbstractStatementWrapper>> chunks = new ArrayList<>();
+        if (!statementWrappers.isEmpty()) {
+            chunks.add(statementWrappers);
+        }
+        return chunks;
+    }
+
+    public List<List<AbstractStatementWrapper>> chunk(List<AbstractStatementWrapper> statementWrappers) {
+        List<List<AbstractStatementWrapper>> chunks = new ArrayList<>();
+        if (statementWrappers.isEmpty()) {
+            return chunks;
+        }
+        if (maxStatements <= 0 && maxSizeInBytes <= 0) {
+            chunks.add(statementWrappers);
+            return chunks;
+        }
+
+        List<AbstractStatementWrapper> currentChunk = new ArrayList<>();
+        long currentSize = 0;
+        for (AbstractStatementWrapper statementWrapper : statementWrappers) {
+            final long statementSize = maxSizeInBytes > 0 ? estimateSize(statementWrapper) : 0;
+            final boolean statementsLimitReached = maxStatements > 0 && currentChunk.size() >= maxStatements;
+            final boolean sizeLimitReached = maxSizeInBytes > 0 && currentSize + statementSize > maxSizeInBytes;
+            if (!currentChunk.isEmpty() && (statementsLimitReached || sizeLimitReached)) {
+                chunks.add(currentChunk);
+                currentChunk = new ArrayList<>();
+                currentSize = 0;
+            }
+            currentChunk.add(statementWrapper);
+            currentSize += statementSize;
+        }
+        chunks.add(currentChunk);
+
+        log.debug("Split {} statements into {} chunks", statementWrappers.size(), chunks.size());
+        return chunks;
+    }
+
+    public List<List<AbstractStatementWrapper>> chunk(Collection<List<AbstractStatementWrapper>> statementGroups) {
+        List<List<AbstractStatementWrapper>> chunks = new ArrayList<>();
+        for (List<AbstractStatementWrapper> statementGroup : statementGroups) {
+            chunks.addAll(chunk(statementGroup));
+        }
+        return chunks;
+    }
+
+    long estimateSize(AbstractStatementWrapper statementWrapper) {
+        long size = statementWrapper instanceof BoundStatementWrapper ? PREPARED_STATEMENT_ID_SIZE
+                : utf8Length(statementWrapper.getQueryString());
+        for (Object value : statementWrapper.getValues()) {
+            size += LENGTH_PREFIX_SIZE + estimateValueSize(value);
+        }
+        return size;
+    }
+
+    long estimateValueSize(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof ByteBuffer) {
+            return ((ByteBuffer) value).remaining();
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        } else if (value instanceof String) {
+            return utf8Length((String) value);
+        } else if (value instanceof Long || value instanceof Double || value instanceof Date) {
+            return 8;
+        } else if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        } else if (value instanceof Boolean) {
+            return 1;
+        } else if (value instanceof UUID) {
+            return 16;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength() / 8 + 1;
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1 + 4;
+        } else if (value instanceof InetAddress) {
+            return ((InetAddress) value).getAddress().length;
+        } else if (value instanceof Collection) {
+            long size = LENGTH_PREFIX_SIZE;
+            for (Object element : (Collection<?>) value) {
+                size += LENGTH_PREFIX_SIZE + estimateValueSize(element);
+            }
+            return size;
+        } else if (value instanceof Map) {
+            long size = LENGTH_PREFIX_SIZE;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                size += 2 * LENGTH_PREFIX_SIZE + estimateValueSize(entry.getKey()) + estimateValueSize(entry.getValue());
+            }
+            return size;
+        } else if (value instanceof Enum) {
+            return utf8Length(((Enum<?>) value).name());
+        } else {
+            return utf8Length(value.toString());
+        }
+    }
+
+    /**
+     * Length of the UTF-8 encoding of the text, computed without encoding it
+     */
+    static long utf8Length(CharSequence text) {
+        long length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
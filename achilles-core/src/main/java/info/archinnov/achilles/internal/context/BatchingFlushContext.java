@@ -15,33 +15,60 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.interceptor.EventHolder;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class BatchingFlushContext extends AbstractFlushContext {
 
 	private static final Logger log = LoggerFactory.getLogger(BatchingFlushContext.class);
     protected List<EventHolder> eventHolders = new ArrayList<>();
+    private final boolean partitionAware;
+    private final BatchChunker chunker;
+    private final Optional<MutationCoalescer> coalescer;
 
 	public BatchingFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel,
             Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel) {
+		this(daoContext, consistencyLevel, serialConsistencyLevel, false, BatchChunker.NO_LIMIT, false);
+	}
+
+	public BatchingFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel,
+            Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel, boolean partitionAware, BatchChunker chunker,
+            boolean coalesceMutations) {
 		super(daoContext, consistencyLevel,serialConsistencyLevel);
+		this.partitionAware = partitionAware;
+		this.chunker = chunker;
+		this.coalescer = newCoalescer(daoContext, coalesceMutations);
 	}
 
 	private BatchingFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
-			ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel) {
+			ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel,
+			boolean partitionAware, BatchChunker chunker, Optional<MutationCoalescer> coalescer) {
 		super(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel);
+		this.partitionAware = partitionAware;
+		this.chunker = chunker;
+		this.coalescer = coalescer;
+	}
+
+	private static Optional<MutationCoalescer> newCoalescer(DaoContext daoContext, boolean coalesceMutations) {
+		return coalesceMutations ? Optional.of(new MutationCoalescer(daoContext)) : Optional.<MutationCoalescer>absent();
 	}
 
 	@Override
@@ -54,6 +81,12 @@ public class BatchingFlushContext extends AbstractFlushContext {
 		log.debug("Flush called but do nothing. Flushing is done only at the end of the batch");
 	}
 
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Asynchronous flush called but do nothing. Flushing is done only at the end of the batch");
+		return Futures.immediateFuture(Collections.<ResultSet>emptyList());
+	}
+
 	@Override
 	public void endBatch() {
 		log.debug("Ending current batch");
@@ -62,8 +95,60 @@ public class BatchingFlushContext extends AbstractFlushContext {
         for(EventHolder eventHolder:eventHolders) {
             eventHolder.triggerInterception();
         }
-        executeBatch(BatchStatement.Type.LOGGED, statementWrappers);
-        executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
+        if (coalescer.isPresent()) {
+            coalescer.get().bindPendingMutations();
+        }
+        if (partitionAware) {
+            executeChunks(BatchStatement.Type.UNLOGGED, chunker.chunk(groupByPartition(statementWrappers)));
+            executeChunks(BatchStatement.Type.COUNTER, chunker.chunk(groupByPartition(counterStatementWrappers)));
+        } else {
+            executeChunks(BatchStatement.Type.LOGGED, chunker.chunkLogged(statementWrappers));
+            executeChunks(BatchStatement.Type.COUNTER, chunker.chunk(counterStatementWrappers));
+        }
+	}
+
+	/**
+	 * Logged chunks are sent one after the other, so that they are applied in order.
+	 * Other chunks are sent concurrently
+	 */
+	private void executeChunks(BatchStatement.Type batchType, List<List<AbstractStatementWrapper>> chunks) {
+		if (chunks.size() == 1 || batchType == BatchStatement.Type.LOGGED) {
+			for (List<AbstractStatementWrapper> chunk : chunks) {
+				executeBatch(batchType, chunk);
+			}
+		} else if (chunks.size() > 1) {
+			executeBatchesInParallel(batchType, chunks);
+		}
+	}
+
+	@Override
+	public boolean isPartitionAware() {
+		return partitionAware;
+	}
+
+	@Override
+	public boolean coalesceInsert(DaoOperations context, List<PropertyMeta> pms) {
+		return coalescer.isPresent() && coalescer.get().coalesceInsert(context, pms);
+	}
+
+	@Override
+	public boolean coalesceUpdate(DaoOperations context, List<PropertyMeta> pms) {
+		return coalescer.isPresent() && coalescer.get().coalesceUpdate(context, pms);
+	}
+
+	@Override
+	public boolean coalesceCollectionAndMapUpdate(DaoOperations context, DirtyCheckChangeSet changeSet) {
+		return coalescer.isPresent() && coalescer.get().coalesceCollectionAndMapUpdate(context, changeSet);
+	}
+
+	@Override
+	public boolean coalesceSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+		return coalescer.isPresent() && coalescer.get().coalesceSimpleCounterIncrement(context, counterMeta, increment);
+	}
+
+	@Override
+	public boolean coalesceClusteredCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+		return coalescer.isPresent() && coalescer.get().coalesceClusteredCounterIncrement(context, counterMeta, increment);
 	}
 
 
@@ -74,7 +159,7 @@ public class BatchingFlushContext extends AbstractFlushContext {
 
 	@Override
 	public BatchingFlushContext duplicate() {
-		return new BatchingFlushContext(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel);
+		return new BatchingFlushContext(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel, partitionAware, chunker, coalescer);
 	}
 
     @Override
@@ -87,15 +172,18 @@ public class BatchingFlushContext extends AbstractFlushContext {
     }
 
     public BatchingFlushContext duplicateWithNoData(ConsistencyLevel defaultConsistencyLevel) {
-        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel, serialConsistencyLevel);
+        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel, serialConsistencyLevel, partitionAware, chunker,
+                newCoalescer(daoContext, coalescer.isPresent()));
     }
 
     public BatchingFlushContext duplicateWithNoData(ConsistencyLevel defaultConsistencyLevel,
             Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel ) {
-        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel, serialConsistencyLevel);
+        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), defaultConsistencyLevel, serialConsistencyLevel, partitionAware, chunker,
+                newCoalescer(daoContext, coalescer.isPresent()));
     }
 
     public BatchingFlushContext duplicateWithNoData() {
-        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), consistencyLevel, serialConsistencyLevel);
+        return new BatchingFlushContext(daoContext, new ArrayList<AbstractStatementWrapper>(), consistencyLevel, serialConsistencyLevel, partitionAware, chunker,
+                newCoalescer(daoContext, coalescer.isPresent()));
     }
 }
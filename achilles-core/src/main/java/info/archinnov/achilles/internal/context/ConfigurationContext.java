@@ -17,6 +17,7 @@ package info.archinnov.achilles.internal.context;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.validation.Validator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.archinnov.achilles.internal.interceptor.DefaultBeanValidationInterceptor;
@@ -54,6 +55,42 @@ public class ConfigurationContext {
 
     private boolean relaxIndexValidation;
 
+    private ExecutorService executorService;
+
+    private boolean executorServiceOwned;
+
+    private int bulkFindMaxInFlight;
+
+    private int bulkWriterMaxInFlight;
+
+    private int scanParallelism;
+
+    private int batchMaxStatements;
+
+    private int batchMaxSizeInBytes;
+
+    private boolean batchSplitLogged;
+
+    private boolean batchCoalesceMutations;
+
+    private long counterAggregationFlushIntervalMillis;
+
+    private int counterAggregationMaxPendingCounters;
+
+    private boolean preparedStatementsWarmUp;
+
+    private int preparedStatementsWarmUpParallelism;
+
+    private String preparedStatementsManifestFile;
+
+    private long preparedStatementsManifestSaveIntervalMillis;
+
+    private boolean nativeQueriesPrepared;
+
+    private int nativeQueriesPreparedStatementsCacheSize;
+
+    private boolean detachedEntities;
+
     public boolean isForceColumnFamilyCreation() {
         return forceColumnFamilyCreation;
     }
@@ -181,4 +218,148 @@ public class ConfigurationContext {
     public void setRelaxIndexValidation(boolean relaxIndexValidation) {
         this.relaxIndexValidation = relaxIndexValidation;
     }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public boolean isExecutorServiceOwned() {
+        return executorServiceOwned;
+    }
+
+    public void setExecutorServiceOwned(boolean executorServiceOwned) {
+        this.executorServiceOwned = executorServiceOwned;
+    }
+
+    public int getBulkFindMaxInFlight() {
+        return bulkFindMaxInFlight;
+    }
+
+    public void setBulkFindMaxInFlight(int bulkFindMaxInFlight) {
+        this.bulkFindMaxInFlight = bulkFindMaxInFlight;
+    }
+
+    public int getBulkWriterMaxInFlight() {
+        return bulkWriterMaxInFlight;
+    }
+
+    public void setBulkWriterMaxInFlight(int bulkWriterMaxInFlight) {
+        this.bulkWriterMaxInFlight = bulkWriterMaxInFlight;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public int getBatchMaxStatements() {
+        return batchMaxStatements;
+    }
+
+    public void setBatchMaxStatements(int batchMaxStatements) {
+        this.batchMaxStatements = batchMaxStatements;
+    }
+
+    public int getBatchMaxSizeInBytes() {
+        return batchMaxSizeInBytes;
+    }
+
+    public void setBatchMaxSizeInBytes(int batchMaxSizeInBytes) {
+        this.batchMaxSizeInBytes = batchMaxSizeInBytes;
+    }
+
+    public boolean isBatchSplitLogged() {
+        return batchSplitLogged;
+    }
+
+    public void setBatchSplitLogged(boolean batchSplitLogged) {
+        this.batchSplitLogged = batchSplitLogged;
+    }
+
+    public boolean isBatchCoalesceMutations() {
+        return batchCoalesceMutations;
+    }
+
+    public void setBatchCoalesceMutations(boolean batchCoalesceMutations) {
+        this.batchCoalesceMutations = batchCoalesceMutations;
+    }
+
+    public long getCounterAggregationFlushIntervalMillis() {
+        return counterAggregationFlushIntervalMillis;
+    }
+
+    public void setCounterAggregationFlushIntervalMillis(long counterAggregationFlushIntervalMillis) {
+        this.counterAggregationFlushIntervalMillis = counterAggregationFlushIntervalMillis;
+    }
+
+    public int getCounterAggregationMaxPendingCounters() {
+        return counterAggregationMaxPendingCounters;
+    }
+
+    public void setCounterAggregationMaxPendingCounters(int counterAggregationMaxPendingCounters) {
+        this.counterAggregationMaxPendingCounters = counterAggregationMaxPendingCounters;
+    }
+
+    public boolean isPreparedStatementsWarmUp() {
+        return preparedStatementsWarmUp;
+    }
+
+    public void setPreparedStatementsWarmUp(boolean preparedStatementsWarmUp) {
+        this.preparedStatementsWarmUp = preparedStatementsWarmUp;
+    }
+
+    public int getPreparedStatementsWarmUpParallelism() {
+        return preparedStatementsWarmUpParallelism;
+    }
+
+    public void setPreparedStatementsWarmUpParallelism(int preparedStatementsWarmUpParallelism) {
+        this.preparedStatementsWarmUpParallelism = preparedStatementsWarmUpParallelism;
+    }
+
+    public String getPreparedStatementsManifestFile() {
+        return preparedStatementsManifestFile;
+    }
+
+    public void setPreparedStatementsManifestFile(String preparedStatementsManifestFile) {
+        this.preparedStatementsManifestFile = preparedStatementsManifestFile;
+    }
+
+    public long getPreparedStatementsManifestSaveIntervalMillis() {
+        return preparedStatementsManifestSaveIntervalMillis;
+    }
+
+    public void setPreparedStatementsManifestSaveIntervalMillis(long preparedStatementsManifestSaveIntervalMillis) {
+        this.preparedStatementsManifestSaveIntervalMillis = preparedStatementsManifestSaveIntervalMillis;
+    }
+
+    public boolean isNativeQueriesPrepared() {
+        return nativeQueriesPrepared;
+    }
+
+    public void setNativeQueriesPrepared(boolean nativeQueriesPrepared) {
+        this.nativeQueriesPrepared = nativeQueriesPrepared;
+    }
+
+    public int getNativeQueriesPreparedStatementsCacheSize() {
+        return nativeQueriesPreparedStatementsCacheSize;
+    }
+
+    public void setNativeQueriesPreparedStatementsCacheSize(int nativeQueriesPreparedStatementsCacheSize) {
+        this.nativeQueriesPreparedStatementsCacheSize = nativeQueriesPreparedStatementsCacheSize;
+    }
+
+    public boolean isDetachedEntities() {
+        return detachedEntities;
+    }
+
+    public void setDetachedEntities(boolean detachedEntities) {
+        this.detachedEntities = detachedEntities;
+    }
 }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AtomicLongMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+/**
+ * Accumulate simple counter deltas in memory, per entity class, primary key, counter property and write consistency level.
+ * <br/>
+ * The deltas are flushed as counter batches every <em>flushIntervalMillis</em>, as soon as <em>maxPendingCounters</em>
+ * counters have pending deltas, and on {@link #shutDown()} or when the JVM shuts down.
+ * <br/>
+ * Until a flush, counter reads do not see the pending deltas. A failed flush is logged and <strong>its counter increments
+ * are lost</strong>: they are not retried since a batch failing with a timeout may still have been applied and counter
+ * increments are not idempotent.
+ * <br/>
+ * Once shut down, the aggregator refuses new deltas and the increments are applied directly
+ */
+public class CounterDeltaAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(CounterDeltaAggregator.class);
+
+    private final DaoContext daoContext;
+    private final BatchChunker chunker;
+    private final int maxPendingCounters;
+    private final ScheduledExecutorService scheduler;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private AtomicLongMap<List<Object>> deltas = AtomicLongMap.create();
+    private ConcurrentMap<List<Object>, PendingCounter> pendingCounters = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private final AtomicBoolean shutDown = new AtomicBoolean(false);
+    private Thread shutdownHook;
+
+    private final ConsistencyOverrider overrider = new ConsistencyOverrider();
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushRequested.set(false);
+            flush();
+        }
+    };
+
+    CounterDeltaAggregator(DaoContext daoContext, BatchChunker chunker, int maxPendingCounters, ScheduledExecutorService scheduler) {
+        this.daoContext = daoContext;
+        this.chunker = chunker;
+        this.maxPendingCounters = maxPendingCounters;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Create and start an aggregator if counter aggregation is enabled
+     */
+    public static Optional<CounterDeltaAggregator> create(DaoContext daoContext, ConfigurationContext configContext) {
+        final long flushIntervalMillis = configContext.getCounterAggregationFlushIntervalMillis();
+        if (flushIntervalMillis <= 0) {
+            return Optional.absent();
+        }
+        log.info("Aggregating simple counter deltas with a flush every {} ms", flushIntervalMillis);
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("achilles-counter-aggregator-%d").setDaemon(true).build());
+        final BatchChunker chunker = new BatchChunker(configContext.getBatchMaxStatements(), configContext.getBatchMaxSizeInBytes(),
+                configContext.isBatchSplitLogged());
+        final CounterDeltaAggregator aggregator = new CounterDeltaAggregator(daoContext, chunker,
+                configContext.getCounterAggregationMaxPendingCounters(), scheduler);
+        scheduler.scheduleWithFixedDelay(aggregator.flushTask, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        aggregator.shutdownHook = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                aggregator.drain();
+            }
+        }, "achilles-counter-aggregator-shutdown");
+        Runtime.getRuntime().addShutdownHook(aggregator.shutdownHook);
+        return Optional.of(aggregator);
+    }
+
+    /**
+     * @return false if the aggregator is shut down, the increment should then be applied directly
+     */
+    public boolean add(DaoOperations context, PropertyMeta counterMeta, Long delta) {
+        final ConsistencyLevel writeLevel = overrider.getWriteLevel(context, counterMeta);
+        final EntityMeta entityMeta = context.getEntityMeta();
+        final List<Object> counterKey = Arrays.asList(entityMeta.getEntityClass(),
+                entityMeta.forOperations().encodePrimaryKey(context.getPrimaryKey()),
+                counterMeta.getPropertyName(), writeLevel);
+        final long pendingCount;
+        lock.readLock().lock();
+        try {
+            // drain() raises the flag before its final flush takes the write lock, so a delta added here is always flushed
+            if (shutDown.get()) {
+                return false;
+            }
+            if (!pendingCounters.containsKey(counterKey)) {
+                pendingCounters.putIfAbsent(counterKey, new PendingCounter(context, counterMeta, writeLevel));
+            }
+            deltas.addAndGet(counterKey, delta);
+            pendingCount = pendingCounters.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (pendingCount >= maxPendingCounters && flushRequested.compareAndSet(false, true)) {
+            log.debug("{} counters with pending deltas, requesting a flush", pendingCount);
+            try {
+                scheduler.execute(flushTask);
+            } catch (RejectedExecutionException ex) {
+                // Shut down in the meantime, the final flush of drain() sends the pending deltas
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Send all pending deltas as counter batches, one batch per consistency level and chunk
+     */
+    public synchronized void flush() {
+        final Map<List<Object>, Long> deltasToFlush;
+        final Map<List<Object>, PendingCounter> countersToFlush;
+        lock.writeLock().lock();
+        try {
+            deltasToFlush = deltas.asMap();
+            countersToFlush = pendingCounters;
+            deltas = AtomicLongMap.create();
+            pendingCounters = new ConcurrentHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (deltasToFlush.isEmpty()) {
+            return;
+        }
+
+        log.debug("Flush deltas of {} counters", deltasToFlush.size());
+        final Map<ConsistencyLevel, BatchingFlushContext> flushContexts = new HashMap<>();
+        for (Map.Entry<List<Object>, Long> entry : deltasToFlush.entrySet()) {
+            final PendingCounter counter = countersToFlush.get(entry.getKey());
+            if (entry.getValue() == 0L || counter == null) {
+                continue;
+            }
+            BatchingFlushContext flushContext = flushContexts.get(counter.writeLevel);
+            if (flushContext == null) {
+                flushContext = new BatchingFlushContext(daoContext, counter.writeLevel, Optional.<com.datastax.driver.core.ConsistencyLevel>absent(),
+                        false, chunker, false);
+                flushContexts.put(counter.writeLevel, flushContext);
+            }
+            flushContext.pushCounterStatement(daoContext.bindSimpleCounterIncrement(counter.context, counter.counterMeta, entry.getValue(), counter.writeLevel));
+        }
+        for (BatchingFlushContext flushContext : flushContexts.values()) {
+            try {
+                flushContext.endBatch();
+            } catch (RuntimeException ex) {
+                log.error(String.format("Fail to flush %s aggregated counter deltas, their increments are lost",
+                        flushContext.counterStatementWrappers.size()), ex);
+            }
+        }
+    }
+
+    /**
+     * Stop the periodic flush, send the pending deltas and unregister the JVM shutdown hook
+     */
+    public void shutDown() {
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ex) {
+                // The JVM is already shutting down, the hook drains the pending deltas
+            }
+        }
+        drain();
+    }
+
+    void drain() {
+        if (shutDown.compareAndSet(false, true)) {
+            log.info("Drain aggregated counter deltas");
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+    private static class PendingCounter {
+        private final DaoOperations context;
+        private final PropertyMeta counterMeta;
+        private final ConsistencyLevel writeLevel;
+
+        private PendingCounter(DaoOperations context, PropertyMeta counterMeta, ConsistencyLevel writeLevel) {
+            this.context = context;
+            this.counterMeta = counterMeta;
+            this.writeLevel = writeLevel;
+        }
+    }
+}
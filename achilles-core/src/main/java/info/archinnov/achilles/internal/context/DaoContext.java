@@ -15,6 +15,7 @@
  */
 package info.archinnov.achilles.internal.context;
 
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DECR;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.DELETE;
 import static info.archinnov.achilles.counter.AchillesCounter.CQLQueryType.INCR;
@@ -26,6 +27,7 @@ import static info.archinnov.achilles.internal.persistence.operations.Collection
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.SET_TO_LIST_AT_INDEX;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
@@ -36,8 +38,11 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.Update;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
@@ -48,6 +53,7 @@ import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapC
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.StatementGenerator;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
+import info.archinnov.achilles.internal.statement.cache.NativeStatementCache;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementBinder;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
@@ -61,6 +67,13 @@ import info.archinnov.achilles.type.Pair;
 public class DaoContext {
     private static final Logger log = LoggerFactory.getLogger(DaoContext.class);
 
+    private static final Function<ResultSet, Row> RESULTSET_TO_FIRST_ROW = new Function<ResultSet, Row>() {
+        @Override
+        public Row apply(ResultSet resultSet) {
+            return resultSet.one();
+        }
+    };
+
     protected Cache<StatementCacheKey, PreparedStatement> dynamicPSCache;
 
     protected Map<Class<?>, PreparedStatement> selectPSs;
@@ -73,8 +86,12 @@ public class DaoContext {
 
     protected Session session;
 
+    protected ExecutorService executorService;
+
     protected CacheManager cacheManager;
 
+    protected NativeStatementCache nativeStatementCache;
+
     protected PreparedStatementBinder binder = new PreparedStatementBinder();
 
     protected StatementGenerator statementGenerator = new StatementGenerator();
@@ -82,18 +99,32 @@ public class DaoContext {
     protected ConsistencyOverrider overrider = new ConsistencyOverrider();
 
     public void pushInsertStatement(DaoOperations context, List<PropertyMeta> pms) {
+        pushInsertStatement(context, pms, null);
+    }
+
+    /**
+     * Push an insert whose column values were encoded beforehand, in the order of <em>pms</em>
+     */
+    public void pushInsertStatement(DaoOperations context, List<PropertyMeta> pms, Object[] encodedValues) {
         log.debug("Push insert statement for PersistenceContext '{}' and properties '{}'", context, pms);
 
         PreparedStatement ps = cacheManager.getCacheForEntityInsert(session, dynamicPSCache, context, pms);
-        BoundStatementWrapper bsWrapper = binder.bindForInsert(context, ps, pms);
+        BoundStatementWrapper bsWrapper = binder.bindForInsert(context, ps, pms, encodedValues);
         context.pushStatement(bsWrapper);
     }
 
     public void pushUpdateStatement(DaoOperations context, List<PropertyMeta> pms) {
+        pushUpdateStatement(context, pms, null);
+    }
+
+    /**
+     * Push an update whose column values were encoded beforehand, in the order of <em>pms</em>
+     */
+    public void pushUpdateStatement(DaoOperations context, List<PropertyMeta> pms, Object[] encodedValues) {
         log.debug("Push update statement for PersistenceContext '{}' and properties '{}'", context, pms);
 
         PreparedStatement ps = cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms);
-        BoundStatementWrapper bsWrapper = binder.bindForUpdate(context, ps, pms);
+        BoundStatementWrapper bsWrapper = binder.bindForUpdate(context, ps, pms, encodedValues);
         context.pushStatement(bsWrapper);
     }
 
@@ -147,6 +178,12 @@ public class DaoContext {
         context.pushCounterStatement(bsWrapper);
     }
 
+    public BoundStatementWrapper bindSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment, ConsistencyLevel consistencyLevel) {
+        log.debug("Bind simple counter increment statement for PersistenceContext '{}' and value '{}'", context, increment);
+        PreparedStatement ps = counterQueryMap.get(INCR);
+        return binder.bindForSimpleCounterIncrementDecrement(context, ps, counterMeta, increment, consistencyLevel);
+    }
+
     public void incrementSimpleCounter(DaoOperations context, PropertyMeta counterMeta, Long increment, ConsistencyLevel consistencyLevel) {
         log.debug("Increment immediately simple counter for PersistenceContext '{}' and value '{}'", context, increment);
         PreparedStatement ps = counterQueryMap.get(INCR);
@@ -195,6 +232,14 @@ public class DaoContext {
         return returnFirstRowOrNull(resultSet.all());
     }
 
+    public ListenableFuture<Row> getClusteredCounterAsync(DaoOperations context) {
+        log.debug("Get clustered counter asynchronously for PersistenceContext '{}'", context);
+        PreparedStatement ps = clusteredCounterQueryMap.get(context.getEntityClass()).get(SELECT).get(SELECT_ALL.name());
+        ConsistencyLevel consistencyLevel = overrider.getReadLevel(context);
+        BoundStatementWrapper bsWrapper = binder.bindForClusteredCounterSelect(context, ps, false, consistencyLevel);
+        return Futures.transform(context.executeImmediateAsync(bsWrapper), RESULTSET_TO_FIRST_ROW, sameThreadExecutor());
+    }
+
     public Long getClusteredCounterColumn(DaoOperations context, PropertyMeta counterMeta) {
         log.debug("Get clustered counter for PersistenceContext '{}'", context);
         final String cql3ColumnName = counterMeta.getCQL3ColumnName();
@@ -227,6 +272,18 @@ public class DaoContext {
         return returnFirstRowOrNull(rows);
     }
 
+    public ListenableFuture<Row> loadEntityAsync(DaoOperations context) {
+        log.debug("Load entity asynchronously for PersistenceContext '{}'", context);
+
+        Class<?> entityClass = context.getEntityClass();
+        PreparedStatement ps = selectPSs.get(entityClass);
+
+        final EntityMeta entityMeta = context.getEntityMeta();
+        ConsistencyLevel readLevel = overrider.getReadLevel(context);
+        BoundStatementWrapper bsWrapper = binder.bindStatementWithOnlyPKInWhereClause(context, ps, entityMeta.structure().hasOnlyStaticColumns(), readLevel);
+        return Futures.transform(context.executeImmediateAsync(bsWrapper), RESULTSET_TO_FIRST_ROW, sameThreadExecutor());
+    }
+
     public BoundStatementWrapper bindForSliceQuerySelect(SliceQueryProperties<?> sliceQueryProperties, ConsistencyLevel defaultReadConsistencyLevel) {
         final PreparedStatement ps = cacheManager.getCacheForSliceSelectAndIterator(session, dynamicPSCache, sliceQueryProperties);
         return buildBSForSliceQuery(sliceQueryProperties, defaultReadConsistencyLevel, ps);
@@ -237,6 +294,20 @@ public class DaoContext {
         return buildBSForSliceQuery(sliceQueryProperties, defaultWriteConsistencyLevel, ps);
     }
 
+    public BoundStatementWrapper bindForTokenRangeSelect(EntityMeta entityMeta, Object startToken, Object endToken, ConsistencyLevel readLevel, int fetchSize) {
+        log.trace("Bind SELECT on token range ]{},{}] for entity class {}", startToken, endToken, entityMeta.getEntityClass());
+        final PreparedStatement ps = cacheManager.getCacheForTokenRangeSelect(session, dynamicPSCache, entityMeta);
+        final Object[] boundValues = new Object[] { startToken, endToken };
+        final BoundStatement bs = ps.bind(boundValues);
+        bs.setFetchSize(fetchSize);
+        return new BoundStatementWrapper(entityMeta.getEntityClass(), bs, boundValues, getCQLLevel(readLevel),
+                Optional.<CASResultListener>absent(), Optional.<com.datastax.driver.core.ConsistencyLevel>absent());
+    }
+
+    public String getPartitioner() {
+        return session.getCluster().getMetadata().getPartitioner();
+    }
+
     private BoundStatementWrapper buildBSForSliceQuery(SliceQueryProperties<?> sliceQueryProperties, ConsistencyLevel defaultReadConsistencyLevel, PreparedStatement ps) {
         final Object[] boundValues = sliceQueryProperties.getBoundValues();
         final BoundStatement bs = ps.bind(boundValues);
@@ -266,6 +337,10 @@ public class DaoContext {
         return statementWrapper.execute(session);
     }
 
+    public ListenableFuture<ResultSet> executeAsync(AbstractStatementWrapper statementWrapper) {
+        return statementWrapper.executeAsync(session, executorService);
+    }
+
     public PreparedStatement prepare(RegularStatement statement) {
         return session.prepare(statement.getQueryString());
     }
@@ -274,10 +349,26 @@ public class DaoContext {
         session.execute(batch);
     }
 
+    public ListenableFuture<ResultSet> executeBatchAsync(BatchStatement batch) {
+        return session.executeAsync(batch);
+    }
+
     public Session getSession() {
         return session;
     }
 
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public NativeStatementCache getNativeStatementCache() {
+        return nativeStatementCache;
+    }
+
+    public void shutDown() {
+        cacheManager.shutDown();
+    }
+
     void setDynamicPSCache(Cache<StatementCacheKey, PreparedStatement> dynamicPSCache) {
         this.dynamicPSCache = dynamicPSCache;
     }
@@ -303,7 +394,15 @@ public class DaoContext {
         this.session = session;
     }
 
+    void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
     void setCacheManager(CacheManager cacheManager) {
         this.cacheManager = cacheManager;
     }
+
+    void setNativeStatementCache(NativeStatementCache nativeStatementCache) {
+        this.nativeStatementCache = nativeStatementCache;
+    }
 }
@@ -20,6 +20,8 @@ import static com.google.common.collect.Maps.filterValues;
 import static com.google.common.collect.Maps.transformValues;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.CLUSTERED_COUNTER_FILTER;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EXCLUDE_CLUSTERED_COUNTER_FILTER;
+import static org.apache.commons.lang.StringUtils.isNotBlank;
+import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -27,13 +29,17 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
 import com.google.common.collect.ImmutableMap;
 import info.archinnov.achilles.counter.AchillesCounter.CQLQueryType;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.statement.cache.CacheManager;
+import info.archinnov.achilles.internal.statement.cache.NativeStatementCache;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
+import info.archinnov.achilles.internal.statement.cache.StatementCacheWarmUp;
+import info.archinnov.achilles.internal.statement.cache.StatementManifest;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
 
 public class DaoContextFactory {
@@ -41,6 +47,8 @@ public class DaoContextFactory {
 
     private PreparedStatementGenerator queryGenerator = new PreparedStatementGenerator();
 
+    private StatementCacheWarmUp warmUp = new StatementCacheWarmUp();
+
     public DaoContext create(Session session, ParsingResult parsingResult, ConfigurationContext configContext) {
         log.debug("Build DaoContext");
 
@@ -55,6 +63,15 @@ public class DaoContextFactory {
         Cache<StatementCacheKey, PreparedStatement> dynamicPSCache = newBuilder().maximumSize(
                 configContext.getPreparedStatementLRUCacheSize()).build();
 
+        if (configContext.isPreparedStatementsWarmUp()) {
+            warmUp.warmUp(session, dynamicPSCache, metaMap.values(), configContext.getPreparedStatementsWarmUpParallelism());
+        }
+
+        Optional<StatementManifest> manifest = Optional.absent();
+        if (isNotBlank(configContext.getPreparedStatementsManifestFile())) {
+            manifest = Optional.of(loadManifest(session, dynamicPSCache, metaMap, configContext));
+        }
+
         Map<CQLQueryType, PreparedStatement> counterQueryMap;
         if (parsingResult.hasSimpleCounter()) {
             counterQueryMap = queryGenerator.prepareSimpleCounterQueryMap(session);
@@ -75,11 +92,24 @@ public class DaoContextFactory {
         daoContext.setCounterQueryMap(counterQueryMap);
         daoContext.setClusteredCounterQueryMap(clusteredCounterQueriesMap);
         daoContext.setSession(session);
-        daoContext.setCacheManager(new CacheManager(configContext.getPreparedStatementLRUCacheSize()));
+        daoContext.setExecutorService(configContext.getExecutorService());
+        daoContext.setCacheManager(new CacheManager(configContext.getPreparedStatementLRUCacheSize(), manifest));
+        daoContext.setNativeStatementCache(new NativeStatementCache(session, configContext.getNativeQueriesPreparedStatementsCacheSize(),
+                configContext.isNativeQueriesPrepared()));
 
         return daoContext;
     }
 
+    StatementManifest loadManifest(Session session, Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
+            Map<Class<?>, EntityMeta> metaMap, ConfigurationContext configContext) {
+        final StatementManifest manifest = new StatementManifest(new File(configContext.getPreparedStatementsManifestFile()));
+        manifest.load();
+        warmUp.warmUpFromManifest(session, dynamicPSCache, manifest.getEntries(), metaMap.values(),
+                configContext.getPreparedStatementsWarmUpParallelism());
+        manifest.startPeriodicSave(configContext.getPreparedStatementsManifestSaveIntervalMillis());
+        return manifest;
+    }
+
     Function<EntityMeta, PreparedStatement> getSelectPSTransformer(final Session session) {
         return new Function<EntityMeta, PreparedStatement>() {
             @Override
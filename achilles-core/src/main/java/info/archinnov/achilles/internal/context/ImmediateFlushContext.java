@@ -17,26 +17,42 @@ package info.archinnov.achilles.internal.context;
 
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.type.ConsistencyLevel;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 public class ImmediateFlushContext extends AbstractFlushContext {
 	private static final Logger log = LoggerFactory.getLogger(ImmediateFlushContext.class);
 
+	private final Optional<CounterDeltaAggregator> counterAggregator;
+
 	public ImmediateFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel) {
+		this(daoContext, consistencyLevel, serialConsistencyLevel, Optional.<CounterDeltaAggregator>absent());
+	}
+
+	public ImmediateFlushContext(DaoContext daoContext, ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel,
+			Optional<CounterDeltaAggregator> counterAggregator) {
 		super(daoContext, consistencyLevel,serialConsistencyLevel);
+		this.counterAggregator = counterAggregator;
 	}
 
 	private ImmediateFlushContext(DaoContext daoContext, List<AbstractStatementWrapper> statementWrappers,
-			ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel) {
+			ConsistencyLevel consistencyLevel,Optional<com.datastax.driver.core.ConsistencyLevel> serialConsistencyLevel,
+			Optional<CounterDeltaAggregator> counterAggregator) {
 		super(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel);
+		this.counterAggregator = counterAggregator;
 	}
 
 	@Override
@@ -58,6 +74,15 @@ public class ImmediateFlushContext extends AbstractFlushContext {
         executeBatch(BatchStatement.Type.COUNTER, counterStatementWrappers);
 	}
 
+	@Override
+	public ListenableFuture<List<ResultSet>> flushAsync() {
+		log.debug("Flush asynchronously all pending statements");
+		List<ListenableFuture<ResultSet>> resultSetFutures = new ArrayList<>();
+		resultSetFutures.add(executeBatchAsync(BatchStatement.Type.UNLOGGED, statementWrappers));
+		resultSetFutures.add(executeBatchAsync(BatchStatement.Type.COUNTER, counterStatementWrappers));
+		return Futures.allAsList(resultSetFutures);
+	}
+
 	@Override
 	public FlushType type() {
 		return FlushType.IMMEDIATE;
@@ -66,7 +91,12 @@ public class ImmediateFlushContext extends AbstractFlushContext {
 	@Override
 	public ImmediateFlushContext duplicate() {
 		log.trace("Duplicate immediate flushing context");
-		return new ImmediateFlushContext(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel);
+		return new ImmediateFlushContext(daoContext, statementWrappers, consistencyLevel,serialConsistencyLevel, counterAggregator);
+	}
+
+	@Override
+	public boolean coalesceSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+		return counterAggregator.isPresent() && counterAggregator.get().add(context, counterMeta, increment);
 	}
 
     @Override
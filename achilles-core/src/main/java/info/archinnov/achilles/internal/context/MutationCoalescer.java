@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
+
+/**
+ * Merge the pending mutations of a batch per entity class and primary key, before binding statements.
+ * <ul>
+ * <li>inserts and updates are merged into a single statement on the union of their columns. Column values
+ * are encoded when each mutation is coalesced, so the last write wins even across distinct instances of the same
+ * entity, and later changes of an entity do not leak into the batch</li>
+ * <li>collection and map change sets on the same column are merged when they are of the same kind</li>
+ * <li>counter deltas on the same counter are summed</li>
+ * </ul>
+ * Mutations with LWT conditions or a CAS result listener are never merged
+ */
+public class MutationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(MutationCoalescer.class);
+
+    private final DaoContext daoContext;
+    private final Map<List<Object>, PendingMutation> pendingMutations = new LinkedHashMap<>();
+
+    public MutationCoalescer(DaoContext daoContext) {
+        this.daoContext = daoContext;
+    }
+
+    public boolean coalesceInsert(DaoOperations context, List<PropertyMeta> pms) {
+        if (!canCoalesce(context)) {
+            return false;
+        }
+        final PendingMutation pending = pendingMutationFor(context);
+        pending.insert = true;
+        pending.addColumns(context, pms);
+        return true;
+    }
+
+    public boolean coalesceUpdate(DaoOperations context, List<PropertyMeta> pms) {
+        if (!canCoalesce(context)) {
+            return false;
+        }
+        pendingMutationFor(context).addColumns(context, pms);
+        return true;
+    }
+
+    public boolean coalesceCollectionAndMapUpdate(DaoOperations context, DirtyCheckChangeSet changeSet) {
+        if (!canCoalesce(context)) {
+            return false;
+        }
+        pendingMutationFor(context).addChangeSet(context, changeSet);
+        return true;
+    }
+
+    public boolean coalesceSimpleCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+        if (!canCoalesce(context)) {
+            return false;
+        }
+        pendingMutationFor(context).addDelta(counterMeta, increment, false);
+        return true;
+    }
+
+    public boolean coalesceClusteredCounterIncrement(DaoOperations context, PropertyMeta counterMeta, Long increment) {
+        if (!canCoalesce(context)) {
+            return false;
+        }
+        pendingMutationFor(context).addDelta(counterMeta, increment, true);
+        return true;
+    }
+
+    /**
+     * Bind one statement per merged mutation and push them to the flush context of their persistence context
+     */
+    public void bindPendingMutations() {
+        log.debug("Bind {} coalesced mutations", pendingMutations.size());
+        for (PendingMutation pending : pendingMutations.values()) {
+            pending.bind();
+        }
+        pendingMutations.clear();
+    }
+
+    public boolean hasPendingMutations() {
+        return !pendingMutations.isEmpty();
+    }
+
+    private boolean canCoalesce(DaoOperations context) {
+        return !context.hasCasConditions() && !context.getOptions().isIfNotExists() && !context.getCASResultListener().isPresent();
+    }
+
+    private PendingMutation pendingMutationFor(DaoOperations context) {
+        final List<Object> mutationKey = mutationKey(context);
+        PendingMutation pending = pendingMutations.get(mutationKey);
+        if (pending == null) {
+            pending = new PendingMutation(context);
+            pendingMutations.put(mutationKey, pending);
+        } else {
+            pending.context = context;
+        }
+        return pending;
+    }
+
+    private List<Object> mutationKey(DaoOperations context) {
+        final EntityMeta entityMeta = context.getEntityMeta();
+        final Object encodedPrimaryKey = entityMeta.forOperations().encodePrimaryKey(context.getPrimaryKey());
+        return Arrays.asList(entityMeta.getEntityClass(), encodedPrimaryKey, context.getTtl().orNull(), context.getTimestamp().orNull());
+    }
+
+    private class PendingMutation {
+
+        // Latest persistence context of the entity, used for the primary key and consistency levels
+        private DaoOperations context;
+        private boolean insert = false;
+        private final Map<PropertyMeta, Object> encodedColumns = new LinkedHashMap<>();
+        private final Map<PropertyMeta, List<DirtyCheckChangeSet>> changeSets = new LinkedHashMap<>();
+        private final Map<PropertyMeta, Long> simpleCounterDeltas = new LinkedHashMap<>();
+        private final Map<PropertyMeta, Long> clusteredCounterDeltas = new LinkedHashMap<>();
+
+        private PendingMutation(DaoOperations context) {
+            this.context = context;
+        }
+
+        private void addColumns(DaoOperations context, List<PropertyMeta> pms) {
+            for (PropertyMeta pm : pms) {
+                encodeColumn(context, pm);
+            }
+            // Change sets on columns written in full are redundant, the column value is written in full
+            changeSets.keySet().removeAll(pms);
+        }
+
+        private void addChangeSet(DaoOperations context, DirtyCheckChangeSet changeSet) {
+            final PropertyMeta propertyMeta = changeSet.getPropertyMeta();
+            if (encodedColumns.containsKey(propertyMeta)) {
+                // The column is already written in full, take its value again to include this change
+                encodeColumn(context, propertyMeta);
+                return;
+            }
+            List<DirtyCheckChangeSet> propertyChangeSets = changeSets.get(propertyMeta);
+            if (propertyChangeSets == null) {
+                propertyChangeSets = new ArrayList<>();
+                changeSets.put(propertyMeta, propertyChangeSets);
+            }
+            if (!propertyChangeSets.isEmpty()) {
+                final int lastIndex = propertyChangeSets.size() - 1;
+                final Optional<DirtyCheckChangeSet> merged = propertyChangeSets.get(lastIndex).merge(changeSet);
+                if (merged.isPresent()) {
+                    propertyChangeSets.set(lastIndex, merged.get());
+                    return;
+                }
+            }
+            propertyChangeSets.add(changeSet);
+        }
+
+        private void encodeColumn(DaoOperations context, PropertyMeta pm) {
+            encodedColumns.put(pm, context.getEntityMeta().forSnapshots().encodeColumn(pm, context.getEntity()));
+        }
+
+        private void addDelta(PropertyMeta counterMeta, Long increment, boolean clustered) {
+            final Map<PropertyMeta, Long> deltas = clustered ? clusteredCounterDeltas : simpleCounterDeltas;
+            final Long previous = deltas.get(counterMeta);
+            deltas.put(counterMeta, previous == null ? increment : previous + increment);
+        }
+
+        private void bind() {
+            if (!encodedColumns.isEmpty()) {
+                final List<PropertyMeta> pms = new ArrayList<>(encodedColumns.keySet());
+                final Object[] encodedValues = encodedColumns.values().toArray();
+                if (insert) {
+                    daoContext.pushInsertStatement(context, pms, encodedValues);
+                } else {
+                    daoContext.pushUpdateStatement(context, pms, encodedValues);
+                }
+            }
+            for (List<DirtyCheckChangeSet> propertyChangeSets : changeSets.values()) {
+                for (DirtyCheckChangeSet changeSet : propertyChangeSets) {
+                    daoContext.pushCollectionAndMapUpdateStatement(context, changeSet);
+                }
+            }
+            for (Map.Entry<PropertyMeta, Long> entry : simpleCounterDeltas.entrySet()) {
+                if (entry.getValue() != 0L) {
+                    daoContext.bindForSimpleCounterIncrement(context, entry.getKey(), entry.getValue());
+                }
+            }
+            for (Map.Entry<PropertyMeta, Long> entry : clusteredCounterDeltas.entrySet()) {
+                if (entry.getValue() != 0L) {
+                    daoContext.pushClusteredCounterIncrementStatement(context, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+}
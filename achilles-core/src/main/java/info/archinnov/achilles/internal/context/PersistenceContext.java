@@ -15,7 +15,6 @@
  */
 package info.archinnov.achilles.internal.context;
 
-import static com.google.common.collect.FluentIterable.from;
 import static info.archinnov.achilles.counter.AchillesCounter.ACHILLES_COUNTER_VALUE;
 import static info.archinnov.achilles.interceptor.Event.POST_LOAD;
 import static info.archinnov.achilles.interceptor.Event.POST_PERSIST;
@@ -25,11 +24,10 @@ import static info.archinnov.achilles.interceptor.Event.PRE_PERSIST;
 import static info.archinnov.achilles.interceptor.Event.PRE_REMOVE;
 import static info.archinnov.achilles.interceptor.Event.PRE_UPDATE;
 import static info.archinnov.achilles.type.Options.CASCondition;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.ResultSet;
@@ -37,6 +35,8 @@ import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
 import info.archinnov.achilles.internal.context.facade.DaoOperations;
@@ -91,13 +91,6 @@ public class PersistenceContext {
 
     protected StateHolderFacade stateHolderFacade = new StateHolderFacade();
 
-    private Function<PropertyMeta, Method> metaToGetter = new Function<PropertyMeta, Method>() {
-        @Override
-        public Method apply(PropertyMeta meta) {
-            return meta.getGetter();
-        }
-    };
-
     public PersistenceContext(EntityMeta entityMeta, ConfigurationContext configContext, DaoContext daoContext,
             AbstractFlushContext flushContext, Class<?> entityClass, Object primaryKey, Options options) {
         Validator.validateNotNull(entityClass, "The entity class should not be null for persistence context creation");
@@ -224,10 +217,6 @@ public class PersistenceContext {
             return options.getCasResultListener();
         }
 
-        public Set<Method> getAllGettersExceptCounters() {
-            return new HashSet<>(from(entityMeta.getAllMetasExceptCounters()).transform(metaToGetter).toList());
-        }
-
         public List<PropertyMeta> getAllCountersMeta() {
             return entityMeta.getAllCounterMetas();
         }
@@ -274,6 +263,69 @@ public class PersistenceContext {
             return proxifiedEntity;
         }
 
+        public <T> ListenableFuture<T> persistAsync(final T rawEntity) {
+            flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
+            persister.persist(entityFacade);
+            return Futures.transform(flushContext.flushAsync(), new Function<List<ResultSet>, T>() {
+                @Override
+                public T apply(List<ResultSet> resultSets) {
+                    flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+                    return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, entityFacade);
+                }
+            }, getExecutorService());
+        }
+
+        public <T> ListenableFuture<Void> insertAsync(final T rawEntity) {
+            flushContext.triggerInterceptor(entityMeta, rawEntity, PRE_PERSIST);
+            persister.persist(entityFacade);
+            return Futures.transform(flushContext.flushAsync(), new Function<List<ResultSet>, Void>() {
+                @Override
+                public Void apply(List<ResultSet> resultSets) {
+                    flushContext.triggerInterceptor(entityMeta, rawEntity, POST_PERSIST);
+                    return null;
+                }
+            }, getExecutorService());
+        }
+
+        public <T> ListenableFuture<T> updateAsync(final T proxifiedEntity) {
+            flushContext.triggerInterceptor(entityMeta, entity, PRE_UPDATE);
+            updater.update(entityFacade, proxifiedEntity);
+            return Futures.transform(flushContext.flushAsync(), new Function<List<ResultSet>, T>() {
+                @Override
+                public T apply(List<ResultSet> resultSets) {
+                    flushContext.triggerInterceptor(entityMeta, proxifiedEntity, POST_UPDATE);
+                    return proxifiedEntity;
+                }
+            }, getExecutorService());
+        }
+
+        public ListenableFuture<Void> removeAsync() {
+            flushContext.triggerInterceptor(entityMeta, entity, PRE_REMOVE);
+            persister.remove(entityFacade);
+            return Futures.transform(flushContext.flushAsync(), new Function<List<ResultSet>, Void>() {
+                @Override
+                public Void apply(List<ResultSet> resultSets) {
+                    flushContext.triggerInterceptor(entityMeta, entity, POST_REMOVE);
+                    return null;
+                }
+            }, getExecutorService());
+        }
+
+        public <T> ListenableFuture<T> findAsync(Class<T> entityClass) {
+            final ListenableFuture<T> futureRawEntity = loader.loadAsync(entityFacade, entityClass, getExecutorService());
+            return Futures.transform(futureRawEntity, new Function<T, T>() {
+                @Override
+                public T apply(T rawEntity) {
+                    T proxifiedEntity = null;
+                    if (rawEntity != null) {
+                        flushContext.triggerInterceptor(entityMeta, rawEntity, POST_LOAD);
+                        proxifiedEntity = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(rawEntity, entityFacade);
+                    }
+                    return proxifiedEntity;
+                }
+            }, getExecutorService());
+        }
+
         public <T> T getProxy(Class<T> entityClass) {
             T entity = loader.createEmptyEntity(entityFacade, entityClass);
             return proxifier.buildProxyWithNoFieldLoaded(entity, entityFacade);
@@ -306,6 +358,10 @@ public class PersistenceContext {
         protected void flush() {
             flushContext.flush();
         }
+
+        private ExecutorService getExecutorService() {
+            return configContext.getExecutorService();
+        }
     }
 
     public class EntityFacade extends StateHolderFacade implements EntityOperations {
@@ -317,21 +373,31 @@ public class PersistenceContext {
             return daoContext.loadEntity(daoFacade);
         }
 
+        public ListenableFuture<Row> loadEntityAsync() {
+            return daoContext.loadEntityAsync(daoFacade);
+        }
+
         public Row loadProperty(PropertyMeta pm) {
             return daoContext.loadProperty(daoFacade, pm);
         }
 
         public void pushInsertStatement() {
             final List<PropertyMeta> pms = entityMeta.forOperations().retrievePropertyMetasForInsert(entity);
-            daoContext.pushInsertStatement(daoFacade, pms);
+            if (!flushContext.coalesceInsert(daoFacade, pms)) {
+                daoContext.pushInsertStatement(daoFacade, pms);
+            }
         }
 
         public void pushUpdateStatement(List<PropertyMeta> pms) {
-            daoContext.pushUpdateStatement(daoFacade, pms);
+            if (!flushContext.coalesceUpdate(daoFacade, pms)) {
+                daoContext.pushUpdateStatement(daoFacade, pms);
+            }
         }
 
         public void pushCollectionAndMapUpdateStatements(DirtyCheckChangeSet changeSet) {
-            daoContext.pushCollectionAndMapUpdateStatement(daoFacade, changeSet);
+            if (!flushContext.coalesceCollectionAndMapUpdate(daoFacade, changeSet)) {
+                daoContext.pushCollectionAndMapUpdateStatement(daoFacade, changeSet);
+            }
         }
 
         public void bindForRemoval(String tableName) {
@@ -340,7 +406,9 @@ public class PersistenceContext {
 
         // Simple counter
         public void bindForSimpleCounterIncrement(PropertyMeta counterMeta, Long increment) {
-            daoContext.bindForSimpleCounterIncrement(daoFacade, counterMeta, increment);
+            if (!flushContext.coalesceSimpleCounterIncrement(daoFacade, counterMeta, increment)) {
+                daoContext.bindForSimpleCounterIncrement(daoFacade, counterMeta, increment);
+            }
         }
 
         public Long getSimpleCounter(PropertyMeta counterMeta, ConsistencyLevel consistency) {
@@ -359,7 +427,9 @@ public class PersistenceContext {
 
         // Clustered counter
         public void pushClusteredCounterIncrementStatement(PropertyMeta counterMeta, Long increment) {
-            daoContext.pushClusteredCounterIncrementStatement(daoFacade, counterMeta, increment);
+            if (!flushContext.coalesceClusteredCounterIncrement(daoFacade, counterMeta, increment)) {
+                daoContext.pushClusteredCounterIncrementStatement(daoFacade, counterMeta, increment);
+            }
         }
 
         public Row getClusteredCounter() {
@@ -367,6 +437,11 @@ public class PersistenceContext {
             return daoContext.getClusteredCounter(daoFacade);
         }
 
+        public ListenableFuture<Row> getClusteredCounterAsync() {
+            log.trace("Get clustered counter value asynchronously for entityMeta '{}'", entityMeta);
+            return daoContext.getClusteredCounterAsync(daoFacade);
+        }
+
         public Long getClusteredCounterColumn(PropertyMeta counterMeta) {
             log.trace("Get clustered counter value for counterMeta '{}'", counterMeta);
             return daoContext.getClusteredCounterColumn(daoFacade, counterMeta);
@@ -383,15 +458,30 @@ public class PersistenceContext {
         }
 
         public void pushStatement(AbstractStatementWrapper statementWrapper) {
+            setRoutingKeyIfNeeded(statementWrapper);
             flushContext.pushStatement(statementWrapper);
         }
 
         public void pushCounterStatement(AbstractStatementWrapper statementWrapper) {
+            setRoutingKeyIfNeeded(statementWrapper);
             flushContext.pushCounterStatement(statementWrapper);
         }
 
+        private void setRoutingKeyIfNeeded(AbstractStatementWrapper statementWrapper) {
+            if (flushContext.isPartitionAware()) {
+                if (partitionKey == null) {
+                    partitionKey = entityMeta.forOperations().getRoutingKey(primaryKey);
+                }
+                statementWrapper.setRoutingKey(partitionKey);
+            }
+        }
+
         public ResultSet executeImmediate(AbstractStatementWrapper bsWrapper) {
             return flushContext.executeImmediate(bsWrapper);
         }
+
+        public ListenableFuture<ResultSet> executeImmediateAsync(AbstractStatementWrapper bsWrapper) {
+            return flushContext.executeImmediateAsync(bsWrapper);
+        }
     }
 }
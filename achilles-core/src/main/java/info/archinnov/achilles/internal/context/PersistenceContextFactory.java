@@ -43,12 +43,19 @@ public class PersistenceContextFactory {
 	private Map<Class<?>, EntityMeta> entityMetaMap;
 	private EntityProxifier proxifier = new EntityProxifier();
 	private ReflectionInvoker invoker = new ReflectionInvoker();
+	private Optional<CounterDeltaAggregator> counterAggregator;
 
 	public PersistenceContextFactory(DaoContext daoContext, ConfigurationContext configContext,
 			Map<Class<?>, EntityMeta> entityMetaMap) {
+		this(daoContext, configContext, entityMetaMap, Optional.<CounterDeltaAggregator>absent());
+	}
+
+	public PersistenceContextFactory(DaoContext daoContext, ConfigurationContext configContext,
+			Map<Class<?>, EntityMeta> entityMetaMap, Optional<CounterDeltaAggregator> counterAggregator) {
 		this.daoContext = daoContext;
 		this.configContext = configContext;
 		this.entityMetaMap = entityMetaMap;
+		this.counterAggregator = counterAggregator;
 	}
 
 	public PersistenceContext newContext(Object entity, Options options) {
@@ -101,6 +108,6 @@ public class PersistenceContextFactory {
 	}
 
 	private ImmediateFlushContext buildImmediateFlushContext(Options options) {
-		return new ImmediateFlushContext(daoContext, options.getConsistencyLevel().orNull(), options.getSerialConsistency());
+		return new ImmediateFlushContext(daoContext, options.getConsistencyLevel().orNull(), options.getSerialConsistency(), counterAggregator);
 	}
 }
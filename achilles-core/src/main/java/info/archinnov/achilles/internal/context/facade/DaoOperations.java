@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internal.context.facade;
 
 import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 
 public interface DaoOperations extends PersistentStateHolder {
@@ -27,4 +28,6 @@ public interface DaoOperations extends PersistentStateHolder {
 
     public ResultSet executeImmediate(AbstractStatementWrapper bsWrapper);
 
+    public ListenableFuture<ResultSet> executeImmediateAsync(AbstractStatementWrapper bsWrapper);
+
 }
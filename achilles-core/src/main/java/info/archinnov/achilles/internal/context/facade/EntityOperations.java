@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.context.facade;
 
 import java.util.List;
 import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -27,6 +28,8 @@ public interface EntityOperations extends PersistentStateHolder {
 
     public Row loadEntity();
 
+    public ListenableFuture<Row> loadEntityAsync();
+
     public Row loadProperty(PropertyMeta pm);
 
     public void pushInsertStatement();
@@ -49,6 +52,8 @@ public interface EntityOperations extends PersistentStateHolder {
 
     public Row getClusteredCounter();
 
+    public ListenableFuture<Row> getClusteredCounterAsync();
+
     public Long getClusteredCounterColumn(PropertyMeta counterMeta);
 
     public void bindForClusteredCounterRemoval();
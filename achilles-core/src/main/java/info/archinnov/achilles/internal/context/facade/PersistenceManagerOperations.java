@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.context.facade;
 
 import java.util.List;
 import java.util.Set;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
@@ -31,6 +32,16 @@ public interface PersistenceManagerOperations extends PersistentStateHolder {
 
     public <T> T find(Class<T> entityClass);
 
+    public <T> ListenableFuture<T> persistAsync(T rawEntity);
+
+    public <T> ListenableFuture<Void> insertAsync(T rawEntity);
+
+    public <T> ListenableFuture<T> updateAsync(T proxifiedEntity);
+
+    public ListenableFuture<Void> removeAsync();
+
+    public <T> ListenableFuture<T> findAsync(Class<T> entityClass);
+
     public <T> T getProxy(Class<T> entityClass);
 
     public void refresh(Object proxifiedEntity) throws AchillesStaleObjectStateException;
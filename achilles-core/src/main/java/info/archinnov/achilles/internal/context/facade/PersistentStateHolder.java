@@ -16,9 +16,7 @@
 
 package info.archinnov.achilles.internal.context.facade;
 
-import java.lang.reflect.Method;
 import java.util.List;
-import java.util.Set;
 import com.google.common.base.Optional;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -58,8 +56,6 @@ public interface PersistentStateHolder {
 
     public Optional getCASResultListener();
 
-    public Set<Method> getAllGettersExceptCounters();
-
     public List<PropertyMeta> getAllCountersMeta();
 
     public ConfigurationContext getConfigContext();
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cql;
+
+import java.util.List;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+/**
+ * Reader of a column of a CQL3 row by index, resolved once from the column type of the result metadata.
+ * Collections are read with their element classes, other types with the matching {@link RowGetter}
+ */
+public abstract class RowColumnReader {
+
+    public abstract Object read(Row row, int index);
+
+    /**
+     * @return the readers of all the columns, in the order of <em>definitions</em>
+     */
+    public static RowColumnReader[] forDefinitions(ColumnDefinitions definitions) {
+        final RowColumnReader[] readers = new RowColumnReader[definitions.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = forType(definitions.getType(i));
+        }
+        return readers;
+    }
+
+    public static RowColumnReader forType(DataType type) {
+        final List<DataType> typeArguments = type.getTypeArguments();
+        switch (type.getName()) {
+            case LIST:
+                return new ListReader(typeArguments.get(0).asJavaClass());
+            case SET:
+                return new SetReader(typeArguments.get(0).asJavaClass());
+            case MAP:
+                return new MapReader(typeArguments.get(0).asJavaClass(), typeArguments.get(1).asJavaClass());
+            default:
+                return new GetterReader(RowGetter.forType(type.asJavaClass()));
+        }
+    }
+
+    private static class GetterReader extends RowColumnReader {
+        private final RowGetter getter;
+
+        private GetterReader(RowGetter getter) {
+            this.getter = getter;
+        }
+
+        @Override
+        public Object read(Row row, int index) {
+            return getter.getValue(row, index);
+        }
+    }
+
+    private static class ListReader extends RowColumnReader {
+        private final Class<?> elementClass;
+
+        private ListReader(Class<?> elementClass) {
+            this.elementClass = elementClass;
+        }
+
+        @Override
+        public Object read(Row row, int index) {
+            return row.getList(index, elementClass);
+        }
+    }
+
+    private static class SetReader extends RowColumnReader {
+        private final Class<?> elementClass;
+
+        private SetReader(Class<?> elementClass) {
+            this.elementClass = elementClass;
+        }
+
+        @Override
+        public Object read(Row row, int index) {
+            return row.getSet(index, elementClass);
+        }
+    }
+
+    private static class MapReader extends RowColumnReader {
+        private final Class<?> keyClass;
+        private final Class<?> valueClass;
+
+        private MapReader(Class<?> keyClass, Class<?> valueClass) {
+            this.keyClass = keyClass;
+            this.valueClass = valueClass;
+        }
+
+        @Override
+        public Object read(Row row, int index) {
+            return row.getMap(index, keyClass, valueClass);
+        }
+    }
+}
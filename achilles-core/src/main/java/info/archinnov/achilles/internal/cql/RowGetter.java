@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import com.datastax.driver.core.Row;
+import info.archinnov.achilles.internal.metadata.holder.InternalTimeUUID;
+
+/**
+ * Typed getters reading a column of a CQL3 row by name or by index with a direct call to the
+ * matching <em>Row.getXxx()</em> method instead of going through reflection
+ */
+public enum RowGetter {
+
+    BYTES {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getBytes(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getBytes(name);
+        }
+    },
+    BOOL {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getBool(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getBool(name);
+        }
+    },
+    DATE {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getDate(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getDate(name);
+        }
+    },
+    DOUBLE {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getDouble(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getDouble(name);
+        }
+    },
+    FLOAT {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getFloat(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getFloat(name);
+        }
+    },
+    DECIMAL {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getDecimal(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getDecimal(name);
+        }
+    },
+    INET {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getInet(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getInet(name);
+        }
+    },
+    VARINT {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getVarint(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getVarint(name);
+        }
+    },
+    INT {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getInt(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getInt(name);
+        }
+    },
+    LONG {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getLong(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getLong(name);
+        }
+    },
+    STRING {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getString(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getString(name);
+        }
+    },
+    UUID_TYPE {
+        @Override
+        public Object getValue(Row row, int index) {
+            return row.getUUID(index);
+        }
+
+        @Override
+        public Object getValue(Row row, String name) {
+            return row.getUUID(name);
+        }
+    };
+
+    private static final Map<Class<?>, RowGetter> getters = new HashMap<>();
+
+    static {
+        getters.put(byte.class, BYTES);
+        getters.put(Byte.class, BYTES);
+        getters.put(byte[].class, BYTES);
+        getters.put(ByteBuffer.class, BYTES);
+        getters.put(Boolean.class, BOOL);
+        getters.put(boolean.class, BOOL);
+        getters.put(Date.class, DATE);
+        getters.put(Double.class, DOUBLE);
+        getters.put(double.class, DOUBLE);
+        getters.put(Float.class, FLOAT);
+        getters.put(float.class, FLOAT);
+        getters.put(BigDecimal.class, DECIMAL);
+        getters.put(InetAddress.class, INET);
+        getters.put(BigInteger.class, VARINT);
+        getters.put(Integer.class, INT);
+        getters.put(int.class, INT);
+        getters.put(Long.class, LONG);
+        getters.put(long.class, LONG);
+        getters.put(String.class, STRING);
+        getters.put(UUID.class, UUID_TYPE);
+        getters.put(InternalTimeUUID.class, UUID_TYPE);
+    }
+
+    public abstract Object getValue(Row row, int index);
+
+    public abstract Object getValue(Row row, String name);
+
+    /**
+     * Custom objects are JSON serialized, like in {@link TypeMapper#toCQLType(Class)}, and read as String
+     */
+    public static RowGetter forType(Class<?> cql3ValueClass) {
+        final RowGetter getter = getters.get(cql3ValueClass);
+        return getter != null ? getter : STRING;
+    }
+}
@@ -36,7 +36,6 @@ import static com.datastax.driver.core.DataType.Name.UUID;
 import static com.datastax.driver.core.DataType.Name.VARCHAR;
 import static com.datastax.driver.core.DataType.Name.VARINT;
 import static info.archinnov.achilles.internal.metadata.parsing.PropertyParser.isSupportedNativeType;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
@@ -49,8 +48,6 @@ import java.util.Set;
 import java.util.UUID;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.DataType.Name;
-import com.datastax.driver.core.Row;
-import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internal.metadata.holder.InternalTimeUUID;
 import info.archinnov.achilles.type.Counter;
 
@@ -59,7 +56,6 @@ public class TypeMapper {
     private static final Map<Class<?>, Name> java2CQL = new HashMap<>();
     private static final Map<Class<?>, DataType> java2CQLDataType = new HashMap<>();
     private static final Map<Name, Class<?>> cql2Java = new HashMap<>();
-    private static final Map<Class<?>, Method> rowPropertyInvoker = new HashMap<>();
 
     static {
         // Bytes
@@ -170,52 +166,6 @@ public class TypeMapper {
         cql2Java.put(MAP, Map.class);
         cql2Java.put(CUSTOM, ByteBuffer.class);
 
-        try {
-            // Bytes
-            rowPropertyInvoker.put(byte.class, Row.class.getDeclaredMethod("getBytes", String.class));
-            rowPropertyInvoker.put(Byte.class, Row.class.getDeclaredMethod("getBytes", String.class));
-            rowPropertyInvoker.put(byte[].class, Row.class.getDeclaredMethod("getBytes", String.class));
-            rowPropertyInvoker.put(ByteBuffer.class, Row.class.getDeclaredMethod("getBytes", String.class));
-
-            // Boolean
-            rowPropertyInvoker.put(Boolean.class, Row.class.getDeclaredMethod("getBool", String.class));
-            rowPropertyInvoker.put(boolean.class, Row.class.getDeclaredMethod("getBool", String.class));
-
-            // Date
-            rowPropertyInvoker.put(Date.class, Row.class.getDeclaredMethod("getDate", String.class));
-
-            // Double
-            rowPropertyInvoker.put(Double.class, Row.class.getDeclaredMethod("getDouble", String.class));
-            rowPropertyInvoker.put(double.class, Row.class.getDeclaredMethod("getDouble", String.class));
-
-            // Float
-            rowPropertyInvoker.put(Float.class, Row.class.getDeclaredMethod("getFloat", String.class));
-            rowPropertyInvoker.put(float.class, Row.class.getDeclaredMethod("getFloat", String.class));
-            rowPropertyInvoker.put(BigDecimal.class, Row.class.getDeclaredMethod("getDecimal", String.class));
-
-            // InetAddress
-            rowPropertyInvoker.put(InetAddress.class, Row.class.getDeclaredMethod("getInet", String.class));
-
-            // Integer
-            rowPropertyInvoker.put(BigInteger.class, Row.class.getDeclaredMethod("getVarint", String.class));
-            rowPropertyInvoker.put(Integer.class, Row.class.getDeclaredMethod("getInt", String.class));
-            rowPropertyInvoker.put(int.class, Row.class.getDeclaredMethod("getInt", String.class));
-
-            // Long
-            rowPropertyInvoker.put(Long.class, Row.class.getDeclaredMethod("getLong", String.class));
-            rowPropertyInvoker.put(long.class, Row.class.getDeclaredMethod("getLong", String.class));
-
-            // String
-            rowPropertyInvoker.put(String.class, Row.class.getDeclaredMethod("getString", String.class));
-
-            // UUID
-            rowPropertyInvoker.put(UUID.class, Row.class.getDeclaredMethod("getUUID", String.class));
-            rowPropertyInvoker.put(InternalTimeUUID.class, Row.class.getDeclaredMethod("getUUID", String.class));
-
-        } catch (Exception e) {
-            throw new AchillesException("Cannot find getter in '" + Row.class.getCanonicalName() + "' ", e);
-        }
-
     }
 
     public static DataType.Name toCQLType(Class<?> javaType) {
@@ -242,16 +192,6 @@ public class TypeMapper {
         return cql2Java.get(cqlType);
     }
 
-    public static Method getRowMethod(Class<?> javaType) {
-        Method method = rowPropertyInvoker.get(javaType);
-
-        // Custom object will be JSON serialized
-        if (method == null) {
-            method = rowPropertyInvoker.get(String.class);
-        }
-        return method;
-    }
-
     public static Class<?> toCompatibleJavaType(Class<?> originalClass) {
         if (isSupportedNativeType(originalClass)) {
             return originalClass;
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.codec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+
+/**
+ * JSON codec writing bytes into a <strong>blob</strong> column, for properties annotated with
+ * {@link info.archinnov.achilles.annotations.BinaryJSON}
+ */
+public class JSONBinaryCodec<TYPE> implements SimpleCodec<TYPE, ByteBuffer> {
+
+    private final Class<TYPE> sourceType;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JSONBinaryCodec(ObjectMapper objectMapper, Class<TYPE> sourceType) {
+        this.sourceType = sourceType;
+        this.reader = objectMapper.reader(sourceType);
+        this.writer = objectMapper.writer();
+    }
+
+    @Override
+    public Class<TYPE> sourceType() {
+        return sourceType;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(TYPE fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        try {
+            return ByteBuffer.wrap(writer.writeValueAsBytes(fromJava));
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    @Override
+    public TYPE decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        try {
+            if (fromCassandra.hasArray()) {
+                return reader.readValue(fromCassandra.array(), fromCassandra.arrayOffset() + fromCassandra.position(), fromCassandra.remaining());
+            }
+            // Read through a duplicate to leave the position of the driver's buffer untouched
+            final byte[] bytes = new byte[fromCassandra.remaining()];
+            fromCassandra.duplicate().get(bytes);
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    public static <TYPE> JSONBinaryCodec<TYPE> create(ObjectMapper objectMapper, Class<TYPE> sourceType) {
+        return new JSONBinaryCodec<>(objectMapper, sourceType);
+    }
+}
@@ -2,6 +2,8 @@ package info.archinnov.achilles.internal.metadata.codec;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import info.archinnov.achilles.exception.AchillesTranscodingException;
 
 import java.io.IOException;
@@ -11,11 +13,15 @@ import static java.lang.String.format;
 public class JSONCodec<TYPE> implements SimpleCodec<TYPE,String> {
 
     private final Class<TYPE> sourceType;
-    private final ObjectMapper objectMapper;
+
+    // Built once per property instead of resolving the configuration and the root type on each call
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
 
     public JSONCodec(ObjectMapper objectMapper, Class<TYPE> sourceType) {
         this.sourceType = sourceType;
-        this.objectMapper = objectMapper;
+        this.reader = objectMapper.reader(sourceType);
+        this.writer = objectMapper.writer();
     }
 
     @Override
@@ -32,7 +38,7 @@ public class JSONCodec<TYPE> implements SimpleCodec<TYPE,String> {
     public String encode(TYPE fromJava) throws AchillesTranscodingException {
         if(fromJava == null) return null;
         try {
-            return objectMapper.writeValueAsString(fromJava);
+            return writer.writeValueAsString(fromJava);
         } catch (JsonProcessingException e) {
             throw new AchillesTranscodingException(e);
         }
@@ -42,7 +48,7 @@ public class JSONCodec<TYPE> implements SimpleCodec<TYPE,String> {
     public TYPE decode(String fromCassandra) throws AchillesTranscodingException {
         if(fromCassandra == null) return null;
         try {
-            return objectMapper.readValue(fromCassandra, sourceType);
+            return reader.readValue(fromCassandra);
         } catch (IOException e) {
             throw new AchillesTranscodingException(e);
         }
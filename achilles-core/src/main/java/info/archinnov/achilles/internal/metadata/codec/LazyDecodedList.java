@@ -0,0 +1,95 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * List view over the raw Cassandra values, decoding each element on its first read.
+ * <br/>
+ * The first modification copies all elements into an <em>ArrayList</em> which is used afterwards
+ */
+public class LazyDecodedList<FROM, TO> extends AbstractList<FROM> implements RandomAccess, Serializable {
+
+    private static final Object NOT_DECODED = new Object();
+
+    private final SimpleCodec<FROM, TO> valueCodec;
+    private Object[] encoded;
+    private Object[] decoded;
+    private List<FROM> materialized;
+
+    public LazyDecodedList(List<TO> fromCassandra, SimpleCodec<FROM, TO> valueCodec) {
+        this.valueCodec = valueCodec;
+        this.encoded = fromCassandra.toArray();
+        this.decoded = new Object[encoded.length];
+        Arrays.fill(decoded, NOT_DECODED);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public FROM get(int index) {
+        if (materialized != null) {
+            return materialized.get(index);
+        }
+        Object value = decoded[index];
+        if (value == NOT_DECODED) {
+            value = valueCodec.decode((TO) encoded[index]);
+            decoded[index] = value;
+        }
+        return (FROM) value;
+    }
+
+    @Override
+    public int size() {
+        return materialized != null ? materialized.size() : encoded.length;
+    }
+
+    @Override
+    public FROM set(int index, FROM element) {
+        return materialize().set(index, element);
+    }
+
+    @Override
+    public void add(int index, FROM element) {
+        modCount++;
+        materialize().add(index, element);
+    }
+
+    @Override
+    public FROM remove(int index) {
+        modCount++;
+        return materialize().remove(index);
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        materialized = new ArrayList<>();
+        encoded = null;
+        decoded = null;
+    }
+
+    boolean isMaterialized() {
+        return materialized != null;
+    }
+
+    private List<FROM> materialize() {
+        if (materialized == null) {
+            final List<FROM> values = new ArrayList<>(encoded.length);
+            for (int i = 0; i < encoded.length; i++) {
+                values.add(get(i));
+            }
+            materialized = values;
+            encoded = null;
+            decoded = null;
+        }
+        return materialized;
+    }
+
+    private Object writeReplace() {
+        return new ArrayList<>(this);
+    }
+}
@@ -0,0 +1,44 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import com.google.common.collect.ForwardingMap;
+
+/**
+ * Map view over the raw Cassandra values, decoding all entries into a <em>HashMap</em> on the first access
+ */
+public class LazyDecodedMap<FROM_KEY, FROM_VAL, TO_KEY, TO_VAL> extends ForwardingMap<FROM_KEY, FROM_VAL> implements Serializable {
+
+    private final SimpleCodec<FROM_KEY, TO_KEY> keyCodec;
+    private final SimpleCodec<FROM_VAL, TO_VAL> valueCodec;
+    private Map<TO_KEY, TO_VAL> encoded;
+    private Map<FROM_KEY, FROM_VAL> decoded;
+
+    public LazyDecodedMap(Map<TO_KEY, TO_VAL> fromCassandra, SimpleCodec<FROM_KEY, TO_KEY> keyCodec, SimpleCodec<FROM_VAL, TO_VAL> valueCodec) {
+        this.encoded = fromCassandra;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    protected Map<FROM_KEY, FROM_VAL> delegate() {
+        if (decoded == null) {
+            final Map<FROM_KEY, FROM_VAL> values = new HashMap<>(encoded.size());
+            for (Map.Entry<TO_KEY, TO_VAL> source : encoded.entrySet()) {
+                values.put(keyCodec.decode(source.getKey()), valueCodec.decode(source.getValue()));
+            }
+            decoded = values;
+            encoded = null;
+        }
+        return decoded;
+    }
+
+    boolean isDecoded() {
+        return decoded != null;
+    }
+
+    private Object writeReplace() {
+        return new HashMap<>(delegate());
+    }
+}
@@ -0,0 +1,42 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import com.google.common.collect.ForwardingSet;
+
+/**
+ * Set view over the raw Cassandra values, decoding all elements into a <em>HashSet</em> on the first access
+ */
+public class LazyDecodedSet<FROM, TO> extends ForwardingSet<FROM> implements Serializable {
+
+    private final SimpleCodec<FROM, TO> valueCodec;
+    private Set<TO> encoded;
+    private Set<FROM> decoded;
+
+    public LazyDecodedSet(Set<TO> fromCassandra, SimpleCodec<FROM, TO> valueCodec) {
+        this.encoded = fromCassandra;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    protected Set<FROM> delegate() {
+        if (decoded == null) {
+            final Set<FROM> values = new HashSet<>(encoded.size());
+            for (TO source : encoded) {
+                values.add(valueCodec.decode(source));
+            }
+            decoded = values;
+            encoded = null;
+        }
+        return decoded;
+    }
+
+    boolean isDecoded() {
+        return decoded != null;
+    }
+
+    private Object writeReplace() {
+        return new HashSet<>(delegate());
+    }
+}
@@ -12,11 +12,17 @@ public class ListCodecImpl<FROM,TO> implements ListCodec<FROM,TO> {
     private final Class<FROM> sourceType;
     private final Class<TO> targetType;
     private final SimpleCodec<FROM,TO> valueCodec;
+    private final boolean lazyDecoding;
 
     public ListCodecImpl(Class<FROM> sourceType, Class<TO> targetType, SimpleCodec<FROM, TO> valueCodec) {
+        this(sourceType, targetType, valueCodec, false);
+    }
+
+    public ListCodecImpl(Class<FROM> sourceType, Class<TO> targetType, SimpleCodec<FROM, TO> valueCodec, boolean lazyDecoding) {
         this.sourceType = sourceType;
         this.targetType = targetType;
         this.valueCodec = valueCodec;
+        this.lazyDecoding = lazyDecoding;
     }
 
     @Override
@@ -42,6 +48,7 @@ public class ListCodecImpl<FROM,TO> implements ListCodec<FROM,TO> {
     @Override
     public List<FROM> decode(List<TO> fromCassandra) throws AchillesTranscodingException {
         if(fromCassandra == null) return null;
+        if(lazyDecoding) return new LazyDecodedList<>(fromCassandra, valueCodec);
         List<FROM> decoded = new ArrayList<>();
         for (TO source : fromCassandra) {
             decoded.add(valueCodec.decode(source));
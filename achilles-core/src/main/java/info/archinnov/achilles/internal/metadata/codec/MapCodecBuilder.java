@@ -112,6 +112,10 @@ public class MapCodecBuilder {
         public MapCodec<FROM_KEY, FROM_VAL, TO_KEY, TO_VAL> withValueCodec(SimpleCodec<FROM_VAL, TO_VAL> valueCodec) {
             return new MapCodecImpl<>(sourceKeyType, sourceValueType, targetKeyType, targetValueType, keyCodec, valueCodec);
         }
+
+        public MapCodec<FROM_KEY, FROM_VAL, TO_KEY, TO_VAL> withValueCodec(SimpleCodec<FROM_VAL, TO_VAL> valueCodec, boolean lazyDecoding) {
+            return new MapCodecImpl<>(sourceKeyType, sourceValueType, targetKeyType, targetValueType, keyCodec, valueCodec, lazyDecoding);
+        }
     }
 
 }
@@ -13,14 +13,20 @@ public class MapCodecImpl<FROM_KEY,FROM_VAL,TO_KEY,TO_VAL> implements MapCodec<F
     private final Class<TO_VAL> targetValueType;
     private final SimpleCodec<FROM_KEY,TO_KEY> keyCodec;
     private final SimpleCodec<FROM_VAL,TO_VAL> valueCodec;
+    private final boolean lazyDecoding;
 
     MapCodecImpl(Class<FROM_KEY> sourceKeyType, Class<FROM_VAL> sourceValueType, Class<TO_KEY> targetKeyType, Class<TO_VAL> targetValueType, SimpleCodec<FROM_KEY, TO_KEY> keyCodec, SimpleCodec<FROM_VAL, TO_VAL> valueCodec) {
+        this(sourceKeyType, sourceValueType, targetKeyType, targetValueType, keyCodec, valueCodec, false);
+    }
+
+    MapCodecImpl(Class<FROM_KEY> sourceKeyType, Class<FROM_VAL> sourceValueType, Class<TO_KEY> targetKeyType, Class<TO_VAL> targetValueType, SimpleCodec<FROM_KEY, TO_KEY> keyCodec, SimpleCodec<FROM_VAL, TO_VAL> valueCodec, boolean lazyDecoding) {
         this.sourceKeyType = sourceKeyType;
         this.sourceValueType = sourceValueType;
         this.targetKeyType = targetKeyType;
         this.targetValueType = targetValueType;
         this.keyCodec = keyCodec;
         this.valueCodec = valueCodec;
+        this.lazyDecoding = lazyDecoding;
     }
 
     @Override
@@ -56,6 +62,7 @@ public class MapCodecImpl<FROM_KEY,FROM_VAL,TO_KEY,TO_VAL> implements MapCodec<F
     @Override
     public Map<FROM_KEY, FROM_VAL> decode(Map<TO_KEY, TO_VAL> fromCassandra) throws AchillesTranscodingException {
         if(fromCassandra == null) return null;
+        if(lazyDecoding) return new LazyDecodedMap<>(fromCassandra, keyCodec, valueCodec);
         Map<FROM_KEY, FROM_VAL>decoded = new HashMap<>();
         for (Map.Entry<TO_KEY, TO_VAL> source : fromCassandra.entrySet()) {
             decoded.put(keyCodec.decode(source.getKey()), valueCodec.decode(source.getValue()));
@@ -10,11 +10,17 @@ public class SetCodecImpl<FROM,TO> implements SetCodec<FROM,TO>{
     private final Class<FROM> sourceType;
     private final Class<TO> targetType;
     private final SimpleCodec<FROM,TO> valueCodec;
+    private final boolean lazyDecoding;
 
     public SetCodecImpl(Class<FROM> sourceType, Class<TO> targetType, SimpleCodec<FROM, TO> valueCodec) {
+        this(sourceType, targetType, valueCodec, false);
+    }
+
+    public SetCodecImpl(Class<FROM> sourceType, Class<TO> targetType, SimpleCodec<FROM, TO> valueCodec, boolean lazyDecoding) {
         this.sourceType = sourceType;
         this.targetType = targetType;
         this.valueCodec = valueCodec;
+        this.lazyDecoding = lazyDecoding;
     }
 
     @Override
@@ -40,6 +46,7 @@ public class SetCodecImpl<FROM,TO> implements SetCodec<FROM,TO>{
     @Override
     public Set<FROM> decode(Set<TO> fromCassandra) throws AchillesTranscodingException {
         if(fromCassandra == null) return null;
+        if(lazyDecoding) return new LazyDecodedSet<>(fromCassandra, valueCodec);
         Set<FROM> decoded = new HashSet<>();
         for (TO source : fromCassandra) {
             decoded.add(valueCodec.decode(source));
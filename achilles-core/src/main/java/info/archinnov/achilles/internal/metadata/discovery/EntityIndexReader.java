@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Read the entity index files written at compile time by the <strong>achilles-processor</strong> annotation processor.
+ * <br/>
+ * Each <em>META-INF/achilles/entities.idx</em> resource of the classpath lists the binary names of the
+ * entity classes compiled with it, one per line
+ */
+public class EntityIndexReader {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityIndexReader.class);
+
+    public static final String ENTITY_INDEX_RESOURCE = "META-INF/achilles/entities.idx";
+
+    /**
+     * @return the entity class names listed by all the index files of the classpath, or absent if there is none
+     */
+    public Optional<Set<String>> readEntityClassNames(ClassLoader classLoader) {
+        final ClassLoader loader = classLoaderOrDefault(classLoader);
+        try {
+            final Enumeration<URL> indexes = loader.getResources(ENTITY_INDEX_RESOURCE);
+            if (!indexes.hasMoreElements()) {
+                log.debug("No entity index {} found in the classpath", ENTITY_INDEX_RESOURCE);
+                return Optional.absent();
+            }
+            final Set<String> classNames = new LinkedHashSet<>();
+            while (indexes.hasMoreElements()) {
+                final URL index = indexes.nextElement();
+                log.debug("Read entity index {}", index);
+                readIndex(index, classNames);
+            }
+            return Optional.of(classNames);
+        } catch (IOException e) {
+            throw new AchillesException("Cannot read entity index files '" + ENTITY_INDEX_RESOURCE + "'", e);
+        }
+    }
+
+    /**
+     * Load the indexed entity classes belonging to the package or to one of its sub-packages.
+     * Class names which cannot be loaded anymore, because the index is stale, are skipped
+     */
+    public List<Class<?>> loadEntitiesOfPackage(Set<String> classNames, String packageName, ClassLoader classLoader) {
+        final ClassLoader loader = classLoaderOrDefault(classLoader);
+        final String packagePrefix = packageName.trim() + ".";
+        final List<Class<?>> entities = new ArrayList<>();
+        for (String className : classNames) {
+            if (className.startsWith(packagePrefix)) {
+                try {
+                    final Class<?> entityClass = Class.forName(className, true, loader);
+                    if (entityClass.isAnnotationPresent(Entity.class)) {
+                        entities.add(entityClass);
+                    } else {
+                        log.warn("Indexed class {} is not annotated with @Entity anymore, skipping it", className);
+                    }
+                } catch (ClassNotFoundException e) {
+                    log.warn("Indexed entity class {} cannot be found, skipping it", className);
+                }
+            }
+        }
+        return entities;
+    }
+
+    private void readIndex(URL index, Set<String> classNames) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String className = line.trim();
+                if (StringUtils.isNotBlank(className) && !className.startsWith("#")) {
+                    classNames.add(className);
+                }
+            }
+        }
+    }
+
+    private ClassLoader classLoaderOrDefault(ClassLoader classLoader) {
+        return classLoader != null ? classLoader : EntityIndexReader.class.getClassLoader();
+    }
+}
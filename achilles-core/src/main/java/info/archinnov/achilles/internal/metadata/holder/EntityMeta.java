@@ -79,28 +79,51 @@ public class EntityMeta {
     protected InsertStrategy insertStrategy;
     protected boolean schemaUpdateEnabled = false;
 
+    // Views built once with the meta and shared by all threads
+    private final EntityMetaInterceptors interceptionView = new EntityMetaInterceptors(this);
+    private final EntityMetaSliceQuerySupport sliceQueryView = new EntityMetaSliceQuerySupport(this);
+    private final EntityMetaTranscoder transcodingView = new EntityMetaTranscoder(this);
+    private final EntityMetaOperations operationsView = new EntityMetaOperations(this);
+    private final EntityMetaStructure structureView = new EntityMetaStructure(this);
+    private final EntityMetaConfig configView = new EntityMetaConfig(this);
+    private final EntityMetaRowMapping rowMappingView = new EntityMetaRowMapping(this);
+    private final EntityMetaProxyDispatch proxyDispatchView = new EntityMetaProxyDispatch(this);
+    private final EntityMetaSnapshots snapshotsView = new EntityMetaSnapshots(this);
+
     public EntityMetaInterceptors forInterception() {
-        return new EntityMetaInterceptors(this);
+        return interceptionView;
     }
 
     public EntityMetaSliceQuerySupport forSliceQuery() {
-        return new EntityMetaSliceQuerySupport(this);
+        return sliceQueryView;
     }
 
     public EntityMetaTranscoder forTranscoding() {
-        return new EntityMetaTranscoder(this);
+        return transcodingView;
     }
 
     public EntityMetaOperations forOperations() {
-        return new EntityMetaOperations(this);
+        return operationsView;
     }
 
     public EntityMetaStructure structure() {
-        return new EntityMetaStructure(this);
+        return structureView;
     }
 
     public EntityMetaConfig config() {
-        return new EntityMetaConfig(this);
+        return configView;
+    }
+
+    public EntityMetaRowMapping forRowMapping() {
+        return rowMappingView;
+    }
+
+    public EntityMetaProxyDispatch forProxy() {
+        return proxyDispatchView;
+    }
+
+    public EntityMetaSnapshots forSnapshots() {
+        return snapshotsView;
     }
 
 
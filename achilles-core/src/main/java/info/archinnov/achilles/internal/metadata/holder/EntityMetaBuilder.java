@@ -64,6 +64,11 @@ public class EntityMetaBuilder {
 
         EntityMeta meta = new EntityMeta();
 
+        int ordinal = 0;
+        for (PropertyMeta propertyMeta : propertyMetas.values()) {
+            propertyMeta.setOrdinal(ordinal++);
+        }
+
         meta.setIdMeta(idMeta);
         meta.setIdClass(idMeta.getValueClass());
         meta.setEntityClass(entityClass);
@@ -18,6 +18,35 @@ public class EntityMetaOperations extends EntityMetaView {
         return meta.getIdMeta().forValues().getPrimaryKey(entity);
     }
 
+    /**
+     * Primary key encoded for Cassandra, as a list of components for compound primary keys.
+     * Unlike primary key classes, encoded primary keys always implement equals() and hashCode()
+     */
+    public Object encodePrimaryKey(Object primaryKey) {
+        final PropertyMeta idMeta = meta.getIdMeta();
+        if (idMeta.structure().isEmbeddedId()) {
+            return idMeta.forTranscoding().encodeToComponents(primaryKey, false);
+        } else {
+            return idMeta.forTranscoding().encodeToCassandra(primaryKey);
+        }
+    }
+
+    /**
+     * Routing key of the entity: table name followed by the encoded partition components
+     * of the primary key. Two statements with equal routing keys hit the same partition
+     */
+    public List<Object> getRoutingKey(Object primaryKey) {
+        final PropertyMeta idMeta = meta.getIdMeta();
+        List<Object> routingKey = new ArrayList<>();
+        routingKey.add(meta.config().getTableName());
+        if (idMeta.structure().isEmbeddedId()) {
+            routingKey.addAll(idMeta.forTranscoding().encodeToComponents(primaryKey, true));
+        } else {
+            routingKey.add(idMeta.forTranscoding().encodeToCassandra(primaryKey));
+        }
+        return routingKey;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T instanciate() {
         return (T) invoker.instantiate(meta.getEntityClass());
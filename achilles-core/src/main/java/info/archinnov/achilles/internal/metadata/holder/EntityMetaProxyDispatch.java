@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Dispatch table of the managed accessors of an entity class, resolved once and shared by all proxies.
+ * <br/>
+ * Each property is given an ordinal so that proxies can track their loaded and dirty properties
+ * as bits of a {@link java.util.BitSet} instead of sets and maps keyed by {@link java.lang.reflect.Method}
+ */
+public class EntityMetaProxyDispatch extends EntityMetaView {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityMetaProxyDispatch.class);
+
+    private volatile DispatchTable table;
+
+    // Dispatch entries of the proxy classes generated at build time, keyed by the identity of their method array
+    private final Cache<Method[], Dispatch[]> generatedDispatches = CacheBuilder.newBuilder().weakKeys().build();
+
+    protected EntityMetaProxyDispatch(EntityMeta meta) {
+        super(meta);
+    }
+
+    /**
+     * @return the dispatch entry of the method or null if the method is not managed
+     */
+    public Dispatch dispatch(Method method) {
+        return table().dispatches.get(method);
+    }
+
+    /**
+     * @return the dispatch entries of the methods, in the same order, with null for the methods which are not managed.
+     * Resolved once for each array of methods
+     */
+    public Dispatch[] dispatches(Method[] methods) {
+        Dispatch[] resolved = generatedDispatches.getIfPresent(methods);
+        if (resolved == null) {
+            resolved = new Dispatch[methods.length];
+            for (int i = 0; i < methods.length; i++) {
+                resolved[i] = dispatch(methods[i]);
+            }
+            generatedDispatches.put(methods, resolved);
+        }
+        return resolved;
+    }
+
+    public PropertyMeta propertyMetaAt(int ordinal) {
+        return table().propertyMetas[ordinal];
+    }
+
+    public int propertyCount() {
+        return table().propertyMetas.length;
+    }
+
+    /**
+     * @return a new bit set with the bits of all non counter properties set
+     */
+    public BitSet allLoadedExceptCounters() {
+        return (BitSet) table().allLoadedExceptCounters.clone();
+    }
+
+    private DispatchTable table() {
+        DispatchTable resolved = table;
+        if (resolved == null) {
+            log.trace("Build proxy dispatch table for entity class {}", meta.getClassName());
+            resolved = new DispatchTable(meta);
+            table = resolved;
+        }
+        return resolved;
+    }
+
+    public static enum Kind {
+        ID_GETTER, ID_SETTER, GETTER, SETTER
+    }
+
+    public static class Dispatch {
+        private final Kind kind;
+        private final int ordinal;
+        private final PropertyMeta propertyMeta;
+
+        Dispatch(Kind kind, int ordinal, PropertyMeta propertyMeta) {
+            this.kind = kind;
+            this.ordinal = ordinal;
+            this.propertyMeta = propertyMeta;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public int ordinal() {
+            return ordinal;
+        }
+
+        public PropertyMeta propertyMeta() {
+            return propertyMeta;
+        }
+    }
+
+    private static class DispatchTable {
+        private final Map<Method, Dispatch> dispatches = new HashMap<>();
+        private final PropertyMeta[] propertyMetas;
+        private final BitSet allLoadedExceptCounters = new BitSet();
+
+        private DispatchTable(EntityMeta meta) {
+            final Map<PropertyMeta, Integer> ordinals = new IdentityHashMap<>();
+            final List<PropertyMeta> pms = new ArrayList<>();
+            for (Map.Entry<Method, PropertyMeta> entry : meta.getSetterMetas().entrySet()) {
+                final PropertyMeta pm = entry.getValue();
+                dispatches.put(entry.getKey(), new Dispatch(Kind.SETTER, ordinal(pm, ordinals, pms), pm));
+            }
+            for (Map.Entry<Method, PropertyMeta> entry : meta.getGetterMetas().entrySet()) {
+                final PropertyMeta pm = entry.getValue();
+                dispatches.put(entry.getKey(), new Dispatch(Kind.GETTER, ordinal(pm, ordinals, pms), pm));
+            }
+
+            // Getters win over setters and the id accessors over both
+            final PropertyMeta idMeta = meta.getIdMeta();
+            dispatches.put(idMeta.getGetter(), new Dispatch(Kind.ID_GETTER, ordinal(idMeta, ordinals, pms), idMeta));
+            dispatches.put(idMeta.getSetter(), new Dispatch(Kind.ID_SETTER, ordinal(idMeta, ordinals, pms), idMeta));
+            propertyMetas = pms.toArray(new PropertyMeta[pms.size()]);
+
+            if (meta.getAllMetasExceptCounters() != null) {
+                for (PropertyMeta pm : meta.getAllMetasExceptCounters()) {
+                    final Integer ordinal = ordinals.get(pm);
+                    if (ordinal != null) {
+                        allLoadedExceptCounters.set(ordinal);
+                    }
+                }
+            }
+        }
+
+        private static int ordinal(PropertyMeta pm, Map<PropertyMeta, Integer> ordinals, List<PropertyMeta> pms) {
+            Integer ordinal = ordinals.get(pm);
+            if (ordinal == null) {
+                ordinal = pms.size();
+                ordinals.put(pm, ordinal);
+                pms.add(pm);
+            }
+            return ordinal;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ColumnDefinitions;
+
+/**
+ * Resolve once per result set metadata the column index of each property so that rows
+ * can be mapped with index-based typed getters.
+ * <br/>
+ * Only the last resolution is kept since all the rows of a result set share the same metadata
+ */
+public class EntityMetaRowMapping extends EntityMetaView {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityMetaRowMapping.class);
+
+    public static final int NOT_FOUND = -1;
+
+    private volatile ResolvedIndexes lastNonCounterIndexes;
+    private volatile ResolvedPropertyMetas lastPropertyMetas;
+
+    protected EntityMetaRowMapping(EntityMeta meta) {
+        super(meta);
+    }
+
+    /**
+     * @return for each property of {@link EntityMeta#getAllMetasExceptCounters()}, in the same order, the index of
+     * its column in the row or {@link #NOT_FOUND} if the column is absent or the property is an embedded id
+     */
+    public int[] nonCounterColumnIndexes(ColumnDefinitions definitions) {
+        ResolvedIndexes resolved = lastNonCounterIndexes;
+        if (resolved == null || resolved.definitions != definitions) {
+            log.trace("Resolve column indexes of non-counter properties for entity class {}", meta.getClassName());
+            final List<PropertyMeta> pms = meta.getAllMetasExceptCounters();
+            final int[] indexes = new int[pms.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                final PropertyMeta pm = pms.get(i);
+                indexes[i] = pm.structure().isEmbeddedId() ? NOT_FOUND : definitions.getIndexOf(pm.getCQL3ColumnName());
+            }
+            resolved = new ResolvedIndexes(definitions, indexes);
+            lastNonCounterIndexes = resolved;
+        }
+        return resolved.indexes;
+    }
+
+    /**
+     * @return for each column of the row, the property mapped to it in <em>propertiesMap</em> or null
+     */
+    public PropertyMeta[] propertyMetasByColumnIndex(ColumnDefinitions definitions, Map<String, PropertyMeta> propertiesMap) {
+        ResolvedPropertyMetas resolved = lastPropertyMetas;
+        if (resolved == null || resolved.definitions != definitions || resolved.propertiesMap != propertiesMap) {
+            log.trace("Resolve properties by column index for entity class {}", meta.getClassName());
+            final PropertyMeta[] pms = new PropertyMeta[definitions.size()];
+            for (int i = 0; i < pms.length; i++) {
+                pms[i] = propertiesMap.get(definitions.getName(i));
+            }
+            resolved = new ResolvedPropertyMetas(definitions, propertiesMap, pms);
+            lastPropertyMetas = resolved;
+        }
+        return resolved.propertyMetas;
+    }
+
+    private static class ResolvedIndexes {
+        private final ColumnDefinitions definitions;
+        private final int[] indexes;
+
+        private ResolvedIndexes(ColumnDefinitions definitions, int[] indexes) {
+            this.definitions = definitions;
+            this.indexes = indexes;
+        }
+    }
+
+    private static class ResolvedPropertyMetas {
+        private final ColumnDefinitions definitions;
+        private final Map<String, PropertyMeta> propertiesMap;
+        private final PropertyMeta[] propertyMetas;
+
+        private ResolvedPropertyMetas(ColumnDefinitions definitions, Map<String, PropertyMeta> propertiesMap, PropertyMeta[] propertyMetas) {
+            this.definitions = definitions;
+            this.propertiesMap = propertiesMap;
+            this.propertyMetas = propertyMetas;
+        }
+    }
+}
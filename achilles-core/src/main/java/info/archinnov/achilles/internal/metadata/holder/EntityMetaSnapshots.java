@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Snapshots of the encoded column values of detached entities, kept by entity identity
+ * until the entity is garbage collected.
+ * <br/>
+ * The values of a snapshot follow the order of {@link EntityMeta#getAllMetasExceptIdAndCounters()}
+ */
+public class EntityMetaSnapshots extends EntityMetaView {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityMetaSnapshots.class);
+
+    // Weak keys are compared by identity
+    private final Cache<Object, Object[]> snapshots = CacheBuilder.newBuilder().weakKeys().build();
+
+    protected EntityMetaSnapshots(EntityMeta meta) {
+        super(meta);
+    }
+
+    public void takeSnapshot(Object entity) {
+        log.trace("Take snapshot of entity {}", entity);
+        snapshots.put(entity, encodeColumns(entity));
+    }
+
+    public void putSnapshot(Object entity, Object[] snapshot) {
+        snapshots.put(entity, snapshot);
+    }
+
+    /**
+     * @return the snapshot of the entity or null if the entity has none
+     */
+    public Object[] getSnapshot(Object entity) {
+        return snapshots.getIfPresent(entity);
+    }
+
+    public boolean hasSnapshot(Object entity) {
+        return snapshots.getIfPresent(entity) != null;
+    }
+
+    /**
+     * @return the current encoded values of the columns of the entity, copied so that later
+     * in-place changes of the entity do not alter them
+     */
+    public Object[] encodeColumns(Object entity) {
+        final List<PropertyMeta> pms = meta.getAllMetasExceptIdAndCounters();
+        final Object[] values = new Object[pms.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = encodeColumn(pms.get(i), entity);
+        }
+        return values;
+    }
+
+    /**
+     * @return the current encoded value of one column of the entity, copied like {@link #encodeColumns(Object)} does
+     */
+    public Object encodeColumn(PropertyMeta pm, Object entity) {
+        return copyOf(pm.forTranscoding().getAndEncodeValueForCassandra(entity));
+    }
+
+    private Object copyOf(Object encoded) {
+        if (encoded instanceof ByteBuffer) {
+            final ByteBuffer source = ((ByteBuffer) encoded).duplicate();
+            final ByteBuffer copy = ByteBuffer.allocate(source.remaining());
+            copy.put(source).flip();
+            return copy;
+        } else if (encoded instanceof List) {
+            return new ArrayList<>((List<?>) encoded);
+        } else if (encoded instanceof Set) {
+            return new HashSet<>((Set<?>) encoded);
+        } else if (encoded instanceof Map) {
+            return new HashMap<>((Map<?, ?>) encoded);
+        }
+        return encoded;
+    }
+}
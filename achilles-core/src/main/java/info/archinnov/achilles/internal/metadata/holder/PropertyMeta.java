@@ -26,6 +26,7 @@ import info.archinnov.achilles.internal.metadata.codec.SimpleCodec;
 import info.archinnov.achilles.json.DefaultJacksonMapper;
 import com.google.common.base.Objects;
 import com.google.common.base.Predicate;
+import info.archinnov.achilles.internal.reflection.CompiledFieldAccessor;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Pair;
@@ -61,6 +62,7 @@ public class PropertyMeta {
     Method getter;
     Method setter;
     private Field field;
+    private CompiledFieldAccessor fieldAccessor;
     CounterProperties counterProperties;
     private IndexProperties indexProperties;
     private Pair<ConsistencyLevel, ConsistencyLevel> consistencyLevels;
@@ -71,53 +73,68 @@ public class PropertyMeta {
     private ListCodec listCodec;
     private SetCodec setCodec;
     private MapCodec mapCodec;
+    private int ordinal = -1;
+
+    // Stateless views built once with the meta and shared by all threads
+    private final PropertyMetaRowExtractor rowExtractionView = new PropertyMetaRowExtractor(this);
+    private final PropertyMetaStatementGenerator statementGenerationView = new PropertyMetaStatementGenerator(this);
+    private final PropertyMetaCacheSupport cacheView = new PropertyMetaCacheSupport(this);
+    private final PropertyMetaTableValidator tableValidationView = new PropertyMetaTableValidator(this);
+    private final PropertyMetaTableCreator tableCreationView = new PropertyMetaTableCreator(this);
+    private final PropertyMetaSliceQuerySupport sliceQueryView = new PropertyMetaSliceQuerySupport(this);
+    private final PropertyMetaSliceQueryContext sliceQueryContextView = new PropertyMetaSliceQueryContext(this);
+    private final PropertyMetaTypedQuery typedQueryView = new PropertyMetaTypedQuery(this);
+    private final PropertyMetaTranscoder transcodingView = new PropertyMetaTranscoder(this);
+    private final PropertyMetaStructure structureView = new PropertyMetaStructure(this);
+    private final PropertyMetaConfig configView = new PropertyMetaConfig(this);
+    private final PropertyMetaValues valuesView = new PropertyMetaValues(this);
 
     public PropertyMetaRowExtractor forRowExtraction() {
-        return new PropertyMetaRowExtractor(this);
+        return rowExtractionView;
     }
 
     public PropertyMetaStatementGenerator forStatementGeneration() {
-        return new PropertyMetaStatementGenerator(this);
+        return statementGenerationView;
     }
 
     public PropertyMetaCacheSupport forCache() {
-        return new PropertyMetaCacheSupport(this);
+        return cacheView;
     }
 
     public PropertyMetaTableValidator forTableValidation() {
-        return new PropertyMetaTableValidator(this);
+        return tableValidationView;
     }
 
     public PropertyMetaTableCreator forTableCreation() {
-        return new PropertyMetaTableCreator(this);
+        return tableCreationView;
     }
 
     public PropertyMetaSliceQuerySupport forSliceQuery() {
-        return new PropertyMetaSliceQuerySupport(this);
+        return sliceQueryView;
     }
 
     public PropertyMetaSliceQueryContext forSliceQueryContext() {
-        return new PropertyMetaSliceQueryContext(this);
+        return sliceQueryContextView;
     }
 
     public PropertyMetaTypedQuery forTypedQuery() {
-        return new PropertyMetaTypedQuery(this);
+        return typedQueryView;
     }
 
     public PropertyMetaTranscoder forTranscoding() {
-        return new PropertyMetaTranscoder(this);
+        return transcodingView;
     }
 
     public PropertyMetaStructure structure() {
-        return new PropertyMetaStructure(this);
+        return structureView;
     }
 
     public PropertyMetaConfig config() {
-        return new PropertyMetaConfig(this);
+        return configView;
     }
 
     public PropertyMetaValues forValues() {
-        return new PropertyMetaValues(this);
+        return valuesView;
     }
 
 
@@ -138,6 +155,17 @@ public class PropertyMeta {
         this.propertyName = propertyName;
     }
 
+    /**
+     * @return stable index of the property within its entity, -1 if not assigned
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void setOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
     @SuppressWarnings("unchecked")
     public <T> Class<T> getKeyClass() {
         return (Class<T>) keyClass;
@@ -194,6 +222,11 @@ public class PropertyMeta {
 
     public void setField(Field field) {
         this.field = field;
+        this.fieldAccessor = field != null ? CompiledFieldAccessor.forField(field) : null;
+    }
+
+    public CompiledFieldAccessor getFieldAccessor() {
+        return fieldAccessor;
     }
 
     EmbeddedIdProperties getEmbeddedIdProperties() {
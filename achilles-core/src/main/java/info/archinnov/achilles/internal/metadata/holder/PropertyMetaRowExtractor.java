@@ -3,6 +3,7 @@ package info.archinnov.achilles.internal.metadata.holder;
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.cql.RowGetter;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState;
 import info.archinnov.achilles.internal.validation.Validator;
 import org.slf4j.Logger;
@@ -14,7 +15,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import static info.archinnov.achilles.internal.cql.TypeMapper.getRowMethod;
 import static info.archinnov.achilles.internal.cql.TypeMapper.toCompatibleJavaType;
 import static java.lang.String.format;
 
@@ -22,6 +22,10 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
 
     private static final Logger log = LoggerFactory.getLogger(PropertyMetaRowExtractor.class);
 
+    // Resolved lazily since the CQL3 classes are set after the view is built
+    private volatile RowGetter rowGetter;
+    private volatile RowGetter[] componentRowGetters;
+
     protected PropertyMetaRowExtractor(PropertyMeta meta) {
         super(meta);
     }
@@ -31,6 +35,7 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
         Validator.validateNotNull(meta.getEmbeddedIdProperties(), "Cannot extract raw compound primary keys from CQL3 row because entity '%s' does not have a compound primary key", meta.getEntityClassName());
         final List<Class<?>> componentClasses = meta.getEmbeddedIdProperties().getCQL3ComponentClasses();
         final List<String> cql3ComponentNames = meta.getEmbeddedIdProperties().getCQL3ComponentNames();
+        final RowGetter[] componentGetters = componentRowGetters(componentClasses);
         List<Object> rawValues = new ArrayList<>(Collections.nCopies(cql3ComponentNames.size(), null));
         try {
             for (ColumnDefinitions.Definition column : row.getColumnDefinitions()) {
@@ -38,8 +43,7 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
                 int index = cql3ComponentNames.indexOf(columnName);
                 Object rawValue;
                 if (index >= 0) {
-                    Class<?> componentClass = componentClasses.get(index);
-                    rawValue = getRowMethod(componentClass).invoke(row, columnName);
+                    rawValue = componentGetters[index].getValue(row, columnName);
                     rawValues.set(index, rawValue);
                 }
             }
@@ -60,7 +64,9 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
     }
 
     public Object invokeOnRowForFields(Row row) {
-        log.trace("Extract column {} from CQL3 row {} for id meta {}", meta.getCQL3ColumnName(), row, meta);
+        if (log.isTraceEnabled()) {
+            log.trace("Extract column {} from CQL3 row {} for id meta {}", meta.getCQL3ColumnName(), row, meta);
+        }
 
         Object value = null;
         if (!row.isNull(meta.getCQL3ColumnName())) {
@@ -95,6 +101,45 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
         return value;
     }
 
+    /**
+     * Same as {@link #invokeOnRowForFields(Row)} but read the column at the given index
+     * with typed getters instead of looking it up by name
+     */
+    public Object invokeOnRowForFields(Row row, int index) {
+        if (log.isTraceEnabled()) {
+            log.trace("Extract column {} at index {} from CQL3 row {} for id meta {}", meta.getCQL3ColumnName(), index, row, meta);
+        }
+
+        if (row.isNull(index)) {
+            switch (meta.type()) {
+                case LIST:
+                case SET:
+                case MAP:
+                    return meta.forValues().nullValueForCollectionAndMap();
+                default:
+                    return null;
+            }
+        }
+
+        try {
+            switch (meta.type()) {
+                case LIST:
+                    return meta.forTranscoding().decodeFromCassandra(row.getList(index, toCompatibleJavaType(meta.getCql3ValueClass())));
+                case SET:
+                    return meta.forTranscoding().decodeFromCassandra(row.getSet(index, toCompatibleJavaType(meta.getCql3ValueClass())));
+                case MAP:
+                    return meta.forTranscoding().decodeFromCassandra(row.getMap(index, toCompatibleJavaType(meta.getCql3KeyClass()), toCompatibleJavaType(meta.getCql3ValueClass())));
+                case ID:
+                case SIMPLE:
+                    return meta.forTranscoding().decodeFromCassandra(rowGetter().getValue(row, index));
+                default:
+                    return null;
+            }
+        } catch (Exception e) {
+            throw new AchillesException(String.format("Cannot retrieve property '%s' for entity class '%S' from CQL Row", meta.getCQL3ColumnName(), meta.getEntityClassName()), e);
+        }
+    }
+
     public Object extractCompoundPrimaryKeyFromRow(Row row, EntityMeta entityMeta, EntityState entityState) {
         log.trace("Extract compound primary key {} from CQL3 row for entity class {}", meta.getPropertyName(),meta.getEntityClassName());
         final List<Object> rawComponents = extractRawCompoundPrimaryComponentsFromRow(row);
@@ -105,12 +150,33 @@ public class PropertyMetaRowExtractor extends PropertyMetaView{
 
     }
 
+    private RowGetter rowGetter() {
+        RowGetter getter = rowGetter;
+        if (getter == null) {
+            getter = RowGetter.forType(meta.getCql3ValueClass());
+            rowGetter = getter;
+        }
+        return getter;
+    }
+
+    private RowGetter[] componentRowGetters(List<Class<?>> componentClasses) {
+        RowGetter[] getters = componentRowGetters;
+        if (getters == null) {
+            getters = new RowGetter[componentClasses.size()];
+            for (int i = 0; i < getters.length; i++) {
+                getters[i] = RowGetter.forType(componentClasses.get(i));
+            }
+            componentRowGetters = getters;
+        }
+        return getters;
+    }
+
     private Object invokeOnRowForProperty(Row row) {
         final String cql3ColumnName = meta.getCQL3ColumnName();
         final String entityClassName = meta.getEntityClassName();
         log.trace("Extract property {} from CQL3 row for entity class {}", cql3ColumnName, entityClassName);
         try {
-            Object rawValue = getRowMethod(meta.getCql3ValueClass()).invoke(row, cql3ColumnName);
+            Object rawValue = rowGetter().getValue(row, cql3ColumnName);
             return meta.forTranscoding().decodeFromCassandra(rawValue);
         } catch (Exception e) {
             throw new AchillesException(String.format("Cannot retrieve property '%s' for entity class '%S' from CQL Row", cql3ColumnName, entityClassName), e);
@@ -10,6 +10,7 @@ import info.archinnov.achilles.type.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
@@ -45,6 +46,18 @@ public class PropertyMetaStatementGenerator extends PropertyMetaView{
         }
     }
 
+    public RegularStatement generateWhereClauseForTokenRangeSelect(Select from) {
+        log.debug("Generate SELECT WHERE clause on token range for property meta {}", meta);
+        List<String> partitionKeys;
+        if (meta.structure().isEmbeddedId()) {
+            partitionKeys = meta.getEmbeddedIdProperties().getPartitionComponents().getCQL3ComponentNames();
+        } else {
+            partitionKeys = Arrays.asList(meta.getCQL3ColumnName());
+        }
+        final String token = token(partitionKeys.toArray(new String[partitionKeys.size()]));
+        return from.where(gt(token, bindMarker("startToken"))).and(lte(token, bindMarker("endToken")));
+    }
+
     private Select.Where generateWhereClauseForSelectWithCompound(Optional<PropertyMeta> pmO, Select from) {
         log.debug("Generate SELECT WHERE clause with compound primary key for property meta {} with static column ? {}", meta, pmO.isPresent());
 
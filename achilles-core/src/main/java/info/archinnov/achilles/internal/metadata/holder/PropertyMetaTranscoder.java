@@ -40,7 +40,9 @@ public class PropertyMetaTranscoder extends PropertyMetaView {
     }
 
     Object decodeFromCassandra(Object fromCassandra) {
-        log.trace("Decode Cassandra value {} into Java for property {} of entity class {}", fromCassandra, meta.getPropertyName(), meta.getEntityClassName());
+        if (log.isTraceEnabled()) {
+            log.trace("Decode Cassandra value {} into Java for property {} of entity class {}", fromCassandra, meta.getPropertyName(), meta.getEntityClassName());
+        }
         switch (meta.type()) {
             case SIMPLE:
             case ID:
@@ -57,7 +59,9 @@ public class PropertyMetaTranscoder extends PropertyMetaView {
     }
 
     public <T> T encodeToCassandra(Object fromJava) {
-        log.trace("Encode Java value {} into Cassandra for property {} of entity class {}", fromJava, meta.getPropertyName(), meta.getEntityClassName());
+        if (log.isTraceEnabled()) {
+            log.trace("Encode Java value {} into Cassandra for property {} of entity class {}", fromJava, meta.getPropertyName(), meta.getEntityClassName());
+        }
         switch (meta.type()) {
             case SIMPLE:
             case ID:
@@ -76,7 +80,9 @@ public class PropertyMetaTranscoder extends PropertyMetaView {
     }
 
     public Object getAndEncodeValueForCassandra(Object entity) {
-        log.trace("Get and encode Java value into Cassandra for property {} of entity class {} from entity ", meta.getPropertyName(), meta.getEntityClassName(), entity);
+        if (log.isTraceEnabled()) {
+            log.trace("Get and encode Java value into Cassandra for property {} of entity class {} from entity ", meta.getPropertyName(), meta.getEntityClassName(), entity);
+        }
         Object value = meta.forValues().getValueFromField(entity);
         if (value != null) {
             return encodeToCassandra(value);
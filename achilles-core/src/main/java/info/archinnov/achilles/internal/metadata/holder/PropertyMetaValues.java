@@ -1,5 +1,6 @@
 package info.archinnov.achilles.internal.metadata.holder;
 
+import info.archinnov.achilles.internal.reflection.CompiledFieldAccessor;
 import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,7 +13,9 @@ public class PropertyMetaValues extends PropertyMetaView {
 
     private static final Logger log = LoggerFactory.getLogger(PropertyMetaValues.class);
 
-    ReflectionInvoker invoker = new ReflectionInvoker();
+    private static final ReflectionInvoker SHARED_INVOKER = new ReflectionInvoker();
+
+    ReflectionInvoker invoker = SHARED_INVOKER;
 
     protected PropertyMetaValues(PropertyMeta meta) {
         super(meta);
@@ -21,7 +24,8 @@ public class PropertyMetaValues extends PropertyMetaView {
     public Object getPrimaryKey(Object entity) {
         log.trace("Extract primary from entity {} of class {}", entity, meta.getEntityClassName());
         if (meta.type().isId()) {
-            return invoker.getPrimaryKey(entity, meta);
+            final CompiledFieldAccessor fieldAccessor = meta.getFieldAccessor();
+            return fieldAccessor != null ? fieldAccessor.getValue(entity) : invoker.getPrimaryKey(entity, meta);
         } else {
             throw new IllegalStateException("Cannot get primary key on a non id field '" + meta.propertyName + "'");
         }
@@ -33,11 +37,20 @@ public class PropertyMetaValues extends PropertyMetaView {
     }
 
     public Object getValueFromField(Object target) {
+        final CompiledFieldAccessor fieldAccessor = meta.getFieldAccessor();
+        if (fieldAccessor != null) {
+            return fieldAccessor.getValue(target);
+        }
         return invoker.getValueFromField(target, meta.getField());
     }
 
     public void setValueToField(Object target, Object args) {
-        invoker.setValueToField(target, meta.getField(), args);
+        final CompiledFieldAccessor fieldAccessor = meta.getFieldAccessor();
+        if (fieldAccessor != null) {
+            fieldAccessor.setValue(target, args);
+        } else {
+            invoker.setValueToField(target, meta.getField(), args);
+        }
     }
 
     public Object nullValueForCollectionAndMap() {
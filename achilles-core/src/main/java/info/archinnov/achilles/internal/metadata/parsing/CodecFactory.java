@@ -2,12 +2,15 @@ package info.archinnov.achilles.internal.metadata.parsing;
 
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import info.archinnov.achilles.annotations.BinaryJSON;
 import info.archinnov.achilles.annotations.Enumerated;
+import info.archinnov.achilles.annotations.LazyDecoding;
 import info.archinnov.achilles.internal.metadata.codec.ByteArrayCodec;
 import info.archinnov.achilles.internal.metadata.codec.ByteArrayPrimitiveCodec;
 import info.archinnov.achilles.internal.metadata.codec.ByteCodec;
 import info.archinnov.achilles.internal.metadata.codec.EnumNameCodec;
 import info.archinnov.achilles.internal.metadata.codec.EnumOrdinalCodec;
+import info.archinnov.achilles.internal.metadata.codec.JSONBinaryCodec;
 import info.archinnov.achilles.internal.metadata.codec.JSONCodec;
 import info.archinnov.achilles.internal.metadata.codec.ListCodec;
 import info.archinnov.achilles.internal.metadata.codec.ListCodecImpl;
@@ -64,13 +67,13 @@ public class CodecFactory {
     ListCodec parseListField(PropertyParsingContext context) {
         log.debug("Parse list codec for field {}", context.getCurrentField());
         final SimpleCodec simpleCodec = createSimpleCodecForCollection(context);
-        return new ListCodecImpl(simpleCodec.sourceType(), simpleCodec.targetType(), simpleCodec);
+        return new ListCodecImpl(simpleCodec.sourceType(), simpleCodec.targetType(), simpleCodec, isLazyDecoding(context));
     }
 
     SetCodec parseSetField(PropertyParsingContext context) {
         log.debug("Parse set codec for field {}", context.getCurrentField());
         final SimpleCodec simpleCodec = createSimpleCodecForCollection(context);
-        return new SetCodecImpl(simpleCodec.sourceType(), simpleCodec.targetType(), simpleCodec);
+        return new SetCodecImpl(simpleCodec.sourceType(), simpleCodec.targetType(), simpleCodec, isLazyDecoding(context));
     }
 
     MapCodec parseMapField(PropertyParsingContext context) {
@@ -90,7 +93,7 @@ public class CodecFactory {
                 .withKeyCodec(keyCodec)
                 .fromValueType(valueCodec.sourceType())
                 .toValueType(valueCodec.targetType())
-                .withValueCodec(valueCodec);
+                .withValueCodec(valueCodec, isLazyDecoding(context));
     }
 
     Class<?> determineCQL3ValueType(SimpleCodec simpleCodec, boolean timeUUID) {
@@ -143,6 +146,8 @@ public class CodecFactory {
             codec = new NativeCodec<Object>(type);
         } else if (type.isEnum()) {
             codec = createEnumCodec(type, maybeEncoding);
+        } else if (context.getCurrentField().getAnnotation(BinaryJSON.class) != null) {
+            codec = new JSONBinaryCodec<>(context.getCurrentObjectMapper(), type);
         } else {
             codec = new JSONCodec<>(context.getCurrentObjectMapper(), type);
         }
@@ -164,6 +169,10 @@ public class CodecFactory {
         } return codec;
     }
 
+    private boolean isLazyDecoding(PropertyParsingContext context) {
+        return context.getCurrentField().getAnnotation(LazyDecoding.class) != null;
+    }
+
     private SimpleCodec createSimpleCodecForCollection(PropertyParsingContext context) {
         final Field field = context.getCurrentField();
         final Optional<Encoding> maybeEncoding = fromNullable(field.getAnnotation(Enumerated.class)).transform(valueEncoding);
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class BulkEntityLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkEntityLoader.class);
+
+    /**
+     * Issue one asynchronous lookup per primary key, with at most <em>maxInFlight</em>
+     * pending lookups at any time, then wait for all of them.
+     *
+     * @return loaded entities in the order of the primary keys, null for each key not found
+     */
+    public <T> List<T> loadAll(List<?> primaryKeys, Function<Object, ListenableFuture<T>> asyncLoader, int maxInFlight) {
+        log.debug("Loading {} entities with at most {} lookups in flight", primaryKeys.size(), maxInFlight);
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final Runnable releasePermit = new Runnable() {
+            @Override
+            public void run() {
+                inFlight.release();
+            }
+        };
+
+        List<ListenableFuture<T>> futures = new ArrayList<>(primaryKeys.size());
+        for (Object primaryKey : primaryKeys) {
+            acquire(inFlight);
+            ListenableFuture<T> future;
+            try {
+                future = asyncLoader.apply(primaryKey);
+            } catch (RuntimeException ex) {
+                inFlight.release();
+                throw ex;
+            }
+            future.addListener(releasePermit, sameThreadExecutor());
+            futures.add(future);
+        }
+        return waitForAll(Futures.allAsList(futures));
+    }
+
+    private void acquire(Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while waiting for pending lookups of bulk find", ex);
+        }
+    }
+
+    private <T> List<T> waitForAll(ListenableFuture<List<T>> allResults) {
+        try {
+            return allResults.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while waiting for results of bulk find", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AchillesException(cause);
+        }
+    }
+}
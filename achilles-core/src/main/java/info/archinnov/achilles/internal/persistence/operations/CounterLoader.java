@@ -29,11 +29,15 @@ public class CounterLoader {
     private ConsistencyOverrider overrider = new ConsistencyOverrider();
 
     public <T> T loadClusteredCounters(EntityOperations context) {
+        Row row = context.getClusteredCounter();
+        return mapClusteredCounters(context, row);
+    }
+
+    public <T> T mapClusteredCounters(EntityOperations context, Row row) {
         EntityMeta entityMeta = context.getEntityMeta();
         Object primaryKey = context.getPrimaryKey();
 
         T entity = null;
-        Row row = context.getClusteredCounter();
         if (row != null) {
             entity = entityMeta.forOperations().instanciate();
             entityMeta.getIdMeta().forValues().setValueToField(entity, primaryKey);
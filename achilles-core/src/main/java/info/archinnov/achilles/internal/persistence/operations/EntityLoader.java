@@ -15,9 +15,13 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -55,6 +59,38 @@ public class EntityLoader {
         return entity;
     }
 
+    public <T> ListenableFuture<T> loadAsync(final EntityOperations context, Class<T> entityClass, ExecutorService executorService) {
+        log.debug("Loading asynchronously entity of class {} using PersistenceContext {}", entityClass, context);
+        final EntityMeta entityMeta = context.getEntityMeta();
+        Object primaryKey = context.getPrimaryKey();
+
+        Validator.validateNotNull(entityClass, "Entity class should not be null");
+        Validator.validateNotNull(primaryKey, "Entity '%s' key should not be null", entityClass.getCanonicalName());
+        Validator
+                .validateNotNull(entityMeta, "Entity meta for '%s' should not be null", entityClass.getCanonicalName());
+
+        if (entityMeta.structure().isClusteredCounter()) {
+            return Futures.transform(context.getClusteredCounterAsync(), new Function<Row, T>() {
+                @Override
+                public T apply(Row row) {
+                    return counterLoader.mapClusteredCounters(context, row);
+                }
+            }, executorService);
+        } else {
+            return Futures.transform(context.loadEntityAsync(), new Function<Row, T>() {
+                @Override
+                public T apply(Row row) {
+                    T entity = null;
+                    if (row != null) {
+                        entity = entityMeta.forOperations().instanciate();
+                        mapper.setNonCounterPropertiesToEntity(row, entityMeta, entity);
+                    }
+                    return entity;
+                }
+            }, executorService);
+        }
+    }
+
     public <T> T createEmptyEntity(EntityOperations context, Class<T> entityClass) {
         log.debug("Loading entity of class {} using PersistenceContext {}", entityClass, context);
         EntityMeta entityMeta = context.getEntityMeta();
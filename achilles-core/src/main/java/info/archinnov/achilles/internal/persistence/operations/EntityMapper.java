@@ -17,13 +17,14 @@ package info.archinnov.achilles.internal.persistence.operations;
 
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState.MANAGED;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaRowMapping.NOT_FOUND;
+import java.util.List;
 import java.util.Map;
 
 import info.archinnov.achilles.internal.metadata.holder.PropertyMetaRowExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.ColumnDefinitions;
-import com.datastax.driver.core.ColumnDefinitions.Definition;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -38,8 +39,18 @@ public class EntityMapper {
 
     public void setNonCounterPropertiesToEntity(Row row, EntityMeta entityMeta, Object entity) {
         log.debug("Set non-counter properties to entity class {} from fetched CQL row", entityMeta.getClassName());
-        for (PropertyMeta pm : entityMeta.getAllMetasExceptCounters()) {
-            setPropertyToEntity(row, entityMeta, pm, entity);
+        if (row != null) {
+            final List<PropertyMeta> pms = entityMeta.getAllMetasExceptCounters();
+            final int[] columnIndexes = entityMeta.forRowMapping().nonCounterColumnIndexes(row.getColumnDefinitions());
+            for (int i = 0; i < columnIndexes.length; i++) {
+                final PropertyMeta pm = pms.get(i);
+                final int columnIndex = columnIndexes[i];
+                if (columnIndex != NOT_FOUND) {
+                    pm.forValues().setValueToField(entity, pm.forRowExtraction().invokeOnRowForFields(row, columnIndex));
+                } else {
+                    setPropertyToEntity(row, entityMeta, pm, entity);
+                }
+            }
         }
     }
 
@@ -63,11 +74,11 @@ public class EntityMapper {
         ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
         if (columnDefinitions != null) {
             entity = meta.forOperations().instanciate();
-            for (Definition column : columnDefinitions) {
-                String columnName = column.getName();
-                PropertyMeta pm = propertiesMap.get(columnName);
+            final PropertyMeta[] pmsByColumnIndex = meta.forRowMapping().propertyMetasByColumnIndex(columnDefinitions, propertiesMap);
+            for (int i = 0; i < pmsByColumnIndex.length; i++) {
+                PropertyMeta pm = pmsByColumnIndex[i];
                 if (pm != null) {
-                    Object value = pm.forRowExtraction().invokeOnRowForFields(row);
+                    Object value = pm.forRowExtraction().invokeOnRowForFields(row, i);
                     pm.forValues().setValueToField(entity, value);
                 }
             }
@@ -15,8 +15,8 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -57,14 +57,30 @@ public class EntityProxifier {
     }
 
     public <T> T buildProxyWithAllFieldsLoadedExceptCounters(T entity, EntityOperations context) {
-        return buildProxy(entity, context, context.getAllGettersExceptCounters());
+        if (entity == null) {
+            return null;
+        }
+        if (context.getConfigContext().isDetachedEntities()) {
+            return detach(entity, context);
+        }
+        return buildProxy(entity, context, context.getEntityMeta().forProxy().allLoadedExceptCounters());
+    }
+
+    /**
+     * Keep the entity as a plain object and take a snapshot of its columns,
+     * later compared with the entity by <em>update()</em>
+     */
+    public <T> T detach(T entity, EntityOperations context) {
+        log.debug("Detach entity {} ", entity);
+        context.getEntityMeta().forSnapshots().takeSnapshot(entity);
+        return entity;
     }
 
     public <T> T buildProxyWithNoFieldLoaded(T entity, EntityOperations context) {
-        return buildProxy(entity, context, new HashSet<Method>());
+        return buildProxy(entity, context, new BitSet());
     }
 
-    public <T> T buildProxy(T entity, EntityOperations context, Set<Method> alreadyLoaded) {
+    public <T> T buildProxy(T entity, EntityOperations context, BitSet alreadyLoaded) {
 
         if (entity == null) {
             return null;
@@ -125,6 +141,23 @@ public class EntityProxifier {
         }
     }
 
+    /**
+     * @return whether the entity is a proxy or a detached entity with a snapshot
+     */
+    public boolean isManaged(Object entity, Map<Class<?>, EntityMeta> entityMetaMap) {
+        if (isProxy(entity)) {
+            return true;
+        }
+        final EntityMeta meta = entityMetaMap.get(entity.getClass());
+        return meta != null && meta.forSnapshots().hasSnapshot(entity);
+    }
+
+    public void ensureManaged(Object entity, Map<Class<?>, EntityMeta> entityMetaMap) {
+        if (!isManaged(entity, entityMetaMap)) {
+            throw new IllegalStateException("The entity '" + entity + "' is not in 'managed' state.");
+        }
+    }
+
     public void ensureNotProxy(Object rawEntity) {
         if (isProxy(rawEntity)) {
             throw new IllegalStateException("Then entity is already in 'managed' state.");
@@ -181,7 +214,7 @@ public class EntityProxifier {
         return result;
     }
 
-    public <T> ProxyInterceptor<T> buildInterceptor(EntityOperations context, T entity, Set<Method> alreadyLoaded) {
+    public <T> ProxyInterceptor<T> buildInterceptor(EntityOperations context, T entity, BitSet alreadyLoaded) {
         return new ProxyInterceptorBuilder<>(context, entity).alreadyLoaded(alreadyLoaded).build();
     }
 
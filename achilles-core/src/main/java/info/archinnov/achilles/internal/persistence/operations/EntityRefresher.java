@@ -15,6 +15,8 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.ProxyInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,10 +34,15 @@ public class EntityRefresher {
         log.debug("Refreshing entity of class {} and primary key {}", context.getEntityClass().getCanonicalName(),
                 primaryKey);
 
+        if (!proxifier.isProxy(proxifiedEntity)) {
+            refreshDetached(proxifiedEntity, context);
+            return;
+        }
+
         ProxyInterceptor<Object> interceptor = proxifier.getInterceptor(proxifiedEntity);
         Object entity = context.getEntity();
 
-        interceptor.getDirtyMap().clear();
+        interceptor.clearDirtyState();
 
         Object freshEntity = loader.load(context, context.getEntityClass());
 
@@ -44,7 +51,26 @@ public class EntityRefresher {
                     + "' no longer exists in Cassandra");
         }
         interceptor.setTarget(freshEntity);
-        interceptor.getAlreadyLoaded().clear();
-        interceptor.getAlreadyLoaded().addAll(context.getAllGettersExceptCounters());
+        interceptor.markAllLoadedExceptCounters();
+    }
+
+    /**
+     * Reload the columns of a detached entity into the same instance and take
+     * a new snapshot, so that a later <em>update()</em> only writes the columns
+     * modified after the refresh. Counters are left untouched
+     */
+    private void refreshDetached(Object entity, EntityOperations context) throws AchillesStaleObjectStateException {
+        Object freshEntity = loader.load(context, context.getEntityClass());
+
+        if (freshEntity == null) {
+            throw new AchillesStaleObjectStateException("The entity '" + entity + "' with primary_key '"
+                    + context.getPrimaryKey() + "' no longer exists in Cassandra");
+        }
+
+        EntityMeta meta = context.getEntityMeta();
+        for (PropertyMeta pm : meta.getAllMetasExceptIdAndCounters()) {
+            pm.forValues().setValueToField(entity, pm.forValues().getValueFromField(freshEntity));
+        }
+        meta.forSnapshots().takeSnapshot(entity);
     }
 }
@@ -15,20 +15,21 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
-import static com.google.common.collect.FluentIterable.from;
-import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.COLLECTION_AND_MAP_FIELD;
-import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.EXTRACT_META;
-import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker.SIMPLE_FIELD;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.base.Objects;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaSnapshots;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.ProxyInterceptor;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
@@ -59,46 +60,88 @@ public class EntityUpdater {
         Object realObject = proxifier.getRealObject(entity);
         context.setEntity(realObject);
 
+        if (!proxifier.isProxy(entity)) {
+            pushDetachedChanges(context, entityMeta, realObject);
+            persistCounters(context, entityMeta);
+            return;
+        }
+
         ProxyInterceptor<Object> interceptor = proxifier.getInterceptor(entity);
-        Map<Method, DirtyChecker> dirtyMap = interceptor.getDirtyMap();
-        List<DirtyChecker> dirtyCheckers = new ArrayList<>(dirtyMap.values());
+        pushDirtySimpleFields(context, entityMeta.forProxy(), interceptor.getDirtySimpleFields());
+        pushCollectionAndMapUpdates(context, interceptor.getDirtyMap().values());
+        interceptor.clearDirtyState();
 
-        if (dirtyCheckers.size() > 0) {
-            pushDirtySimpleFields(context, dirtyCheckers);
-            pushCollectionAndMapUpdates(context, dirtyCheckers);
-            dirtyMap.clear();
-        }
+        persistCounters(context, entityMeta);
+        interceptor.setEntityOperations(context);
+        interceptor.setTarget(realObject);
+    }
 
+    private void persistCounters(EntityOperations context, EntityMeta entityMeta) {
         if (context.isClusteredCounter()) {
             counterPersister.persistClusteredCounters(context);
         } else {
             counterPersister.persistCounters(context, entityMeta.getAllCounterMetas());
         }
-        interceptor.setEntityOperations(context);
-        interceptor.setTarget(realObject);
     }
 
-    private void pushCollectionAndMapUpdates(EntityOperations context, List<DirtyChecker> dirtyCheckers) {
-        final List<DirtyChecker> collectionsAndMaps = from(dirtyCheckers)
-                .filter(COLLECTION_AND_MAP_FIELD)
-                .toList();
-
-        for (DirtyChecker dirtyChecker : collectionsAndMaps) {
+    @SuppressWarnings("unchecked")
+    private void pushDetachedChanges(EntityOperations context, EntityMeta entityMeta, Object entity) {
+        final EntityMetaSnapshots snapshots = entityMeta.forSnapshots();
+        final Object[] snapshot = snapshots.getSnapshot(entity);
+        Validator.validateNotNull(snapshot, "No snapshot found for the detached entity '%s'", entity);
+
+        final Object[] current = snapshots.encodeColumns(entity);
+        final List<PropertyMeta> pms = entityMeta.getAllMetasExceptIdAndCounters();
+        final List<PropertyMeta> sortedSimpleMetas = new ArrayList<>();
+        for (int i = 0; i < current.length; i++) {
+            if (Objects.equal(snapshot[i], current[i])) {
+                continue;
+            }
+            final PropertyMeta pm = pms.get(i);
+            if (!pm.type().isCollectionAndMap()) {
+                sortedSimpleMetas.add(pm);
+                continue;
+            }
+            final Object value = pm.forValues().getValueFromField(entity);
+            final DirtyChecker dirtyChecker = new DirtyChecker(pm);
+            if (value == null) {
+                dirtyChecker.removeAllElements();
+            } else if (value instanceof List) {
+                dirtyChecker.assignValue((List<Object>) value);
+            } else if (value instanceof Set) {
+                dirtyChecker.assignValue((Set<Object>) value);
+            } else {
+                dirtyChecker.assignValue((Map<Object, Object>) value);
+            }
             for (DirtyCheckChangeSet changeSet : dirtyChecker.getChangeSets()) {
                 context.pushCollectionAndMapUpdateStatements(changeSet);
             }
         }
-    }
-
-    private void pushDirtySimpleFields(EntityOperations context, List<DirtyChecker> dirtyCheckers) {
-        final List<PropertyMeta> sortedSimpleMetas = new ArrayList<>(from(dirtyCheckers)
-                .filter(SIMPLE_FIELD)
-                .transform(EXTRACT_META)
-                .toList());
         if (sortedSimpleMetas.size() > 0) {
             Collections.sort(sortedSimpleMetas, comparator);
             context.pushUpdateStatement(sortedSimpleMetas);
         }
+        snapshots.putSnapshot(entity, current);
+    }
+
+    private void pushCollectionAndMapUpdates(EntityOperations context, Collection<DirtyChecker> dirtyCheckers) {
+        for (DirtyChecker dirtyChecker : dirtyCheckers) {
+            for (DirtyCheckChangeSet changeSet : dirtyChecker.getChangeSets()) {
+                context.pushCollectionAndMapUpdateStatements(changeSet);
+            }
+        }
+    }
+
+    private void pushDirtySimpleFields(EntityOperations context, EntityMetaProxyDispatch dispatchTable, BitSet dirtySimpleFields) {
+        if (dirtySimpleFields.isEmpty()) {
+            return;
+        }
+        final List<PropertyMeta> sortedSimpleMetas = new ArrayList<>(dirtySimpleFields.cardinality());
+        for (int ordinal = dirtySimpleFields.nextSetBit(0); ordinal >= 0; ordinal = dirtySimpleFields.nextSetBit(ordinal + 1)) {
+            sortedSimpleMetas.add(dispatchTable.propertyMetaAt(ordinal));
+        }
+        Collections.sort(sortedSimpleMetas, comparator);
+        context.pushUpdateStatement(sortedSimpleMetas);
     }
 
     public static class PropertyMetaComparator implements Comparator<PropertyMeta> {
@@ -15,74 +15,51 @@
  */
 package info.archinnov.achilles.internal.persistence.operations;
 
-import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import info.archinnov.achilles.internal.cql.RowColumnReader;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.ColumnDefinitions;
-import com.datastax.driver.core.ColumnDefinitions.Definition;
-import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.Row;
 
 public class NativeQueryMapper {
 
 	private static final Logger log = LoggerFactory.getLogger(NativeQueryMapper.class);
 
-	private RowMethodInvoker cqlRowInvoker = new RowMethodInvoker();
-
 	public List<TypedMap> mapRows(List<Row> rows) {
 		log.trace("Map CQL rows to List<Map<ColumnName,Value>>");
 		List<TypedMap> result = new ArrayList<>();
-		if (!rows.isEmpty()) {
-			for (Row row : rows) {
-				mapRow(result, row);
+		ColumnDefinitions resolvedDefinitions = null;
+		RowColumnReader[] readers = null;
+		for (Row row : rows) {
+			ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
+			if (columnDefinitions != null) {
+				// All the rows of a result set share the same metadata, the readers are resolved once
+				if (columnDefinitions != resolvedDefinitions) {
+					readers = RowColumnReader.forDefinitions(columnDefinitions);
+					resolvedDefinitions = columnDefinitions;
+				}
+				result.add(mapRow(row, columnDefinitions, readers));
 			}
 		}
 		return result;
 	}
 
-	private void mapRow(List<TypedMap> result, Row row) {
+	private TypedMap mapRow(Row row, ColumnDefinitions columnDefinitions, RowColumnReader[] readers) {
 		log.trace("Map CQL row to a map of <ColumnName,Value>");
-		ColumnDefinitions columnDefinitions = row.getColumnDefinitions();
-		if (columnDefinitions != null) {
-			TypedMap line = new TypedMap();
-			for (Definition column : columnDefinitions) {
-				mapColumn(row, line, column);
-			}
-			result.add(line);
-		}
-	}
-
-	private void mapColumn(Row row, Map<String, Object> line, Definition column) {
-		if (log.isTraceEnabled()) {
-			log.trace("Extract data from CQL column [keyspace:{},table:{},column:{}]", column.getKeyspace(),
-					column.getTable(), column.getName());
-		}
-
-		DataType type = column.getType();
-		Class<?> javaClass = type.asJavaClass();
-		String name = column.getName();
-		Object value;
-		if (type.isCollection()) {
-			List<DataType> typeArguments = type.getTypeArguments();
-			if (List.class.isAssignableFrom(javaClass)) {
-				value = row.getList(name, typeArguments.get(0).asJavaClass());
-			} else if (Set.class.isAssignableFrom(javaClass)) {
-				value = row.getSet(name, typeArguments.get(0).asJavaClass());
-			} else {
-				value = row.getMap(name, typeArguments.get(0).asJavaClass(), typeArguments.get(1).asJavaClass());
+		TypedMap line = new TypedMap();
+		for (int i = 0; i < readers.length; i++) {
+			if (log.isTraceEnabled()) {
+				log.trace("Extract data from CQL column [keyspace:{},table:{},column:{}]", columnDefinitions.getKeyspace(i),
+						columnDefinitions.getTable(i), columnDefinitions.getName(i));
 			}
-		} else {
-			value = cqlRowInvoker.invokeOnRowForType(row, javaClass, name);
+			line.put(columnDefinitions.getName(i), readers[i].read(row, i));
 		}
-
-		line.put(name, value);
+		return line;
 	}
 }
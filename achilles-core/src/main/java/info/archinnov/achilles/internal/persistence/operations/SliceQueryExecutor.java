@@ -20,9 +20,12 @@ import java.util.Iterator;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
@@ -30,6 +33,7 @@ import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.iterator.PrefetchingRowIterator;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -55,27 +59,33 @@ public class SliceQueryExecutor {
 
     public <T> List<T> get(SliceQueryProperties<T> sliceQueryProperties) {
         log.debug("Get slice query");
-        EntityMeta meta = sliceQueryProperties.getEntityMeta();
-
-        List<T> clusteredEntities = new ArrayList<>();
-
         final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel);
         List<Row> rows = daoContext.execute(bsWrapper).all();
+        return mapRows(sliceQueryProperties.getEntityMeta(), rows);
+    }
 
-        for (Row row : rows) {
-            T clusteredEntity = meta.forOperations().instanciate();
-            mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
-            meta.forInterception().intercept(clusteredEntity, Event.POST_LOAD);
-            clusteredEntities.add(clusteredEntity);
-        }
-
-        return new ArrayList<>(FluentIterable.from(clusteredEntities).transform(this.<T>getProxyTransformer()).toList());
+    public <T> ListenableFuture<List<T>> getAsync(final SliceQueryProperties<T> sliceQueryProperties) {
+        log.debug("Get slice query asynchronously");
+        final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel);
+        Function<ResultSet, List<T>> rowsToEntities = new Function<ResultSet, List<T>>() {
+            @Override
+            public List<T> apply(ResultSet resultSet) {
+                return mapRows(sliceQueryProperties.getEntityMeta(), resultSet.all());
+            }
+        };
+        return Futures.transform(daoContext.executeAsync(bsWrapper), rowsToEntities, daoContext.getExecutorService());
     }
 
     public <T> Iterator<T> iterator(SliceQueryProperties<T> sliceQueryProperties) {
         log.debug("Get iterator for slice query");
         final BoundStatementWrapper bsWrapper = daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel);
-        Iterator<Row> iterator = daoContext.execute(bsWrapper).iterator();
+        final ResultSet resultSet = daoContext.execute(bsWrapper);
+        Iterator<Row> iterator;
+        if (sliceQueryProperties.getPrefetchThreshold().isPresent()) {
+            iterator = new PrefetchingRowIterator(resultSet, sliceQueryProperties.getPrefetchThreshold().get());
+        } else {
+            iterator = resultSet.iterator();
+        }
         PersistenceContext context = buildContextForQuery(sliceQueryProperties);
         return new SliceQueryIterator<>(sliceQueryProperties, context, iterator);
     }
@@ -92,6 +102,17 @@ public class SliceQueryExecutor {
         return contextFactory.newContextForSliceQuery(sliceQueryProperties.getEntityClass(), sliceQueryProperties.getPartitionKeys(), cl);
     }
 
+    private <T> List<T> mapRows(EntityMeta meta, List<Row> rows) {
+        List<T> clusteredEntities = new ArrayList<>();
+        for (Row row : rows) {
+            T clusteredEntity = meta.forOperations().instanciate();
+            mapper.setNonCounterPropertiesToEntity(row, meta, clusteredEntity);
+            meta.forInterception().intercept(clusteredEntity, Event.POST_LOAD);
+            clusteredEntities.add(clusteredEntity);
+        }
+        return new ArrayList<>(FluentIterable.from(clusteredEntities).transform(this.<T>getProxyTransformer()).toList());
+    }
+
     private <T> Function<T, T> getProxyTransformer() {
         return new Function<T, T>() {
             @Override
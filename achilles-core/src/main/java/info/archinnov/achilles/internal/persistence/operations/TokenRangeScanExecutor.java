@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.iterator.PrefetchingRowIterator;
+import info.archinnov.achilles.listener.EntityScanListener;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
+
+public class TokenRangeScanExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRangeScanExecutor.class);
+
+    static final int RANGES_PER_THREAD = 4;
+    static final int SCAN_FETCH_SIZE = 1000;
+
+    private EntityMapper mapper = new EntityMapper();
+    private EntityProxifier proxifier = new EntityProxifier();
+    private TokenRangeSplitter splitter = new TokenRangeSplitter();
+    private PersistenceContextFactory contextFactory;
+    private DaoContext daoContext;
+
+    public TokenRangeScanExecutor(PersistenceContextFactory contextFactory, DaoContext daoContext) {
+        this.contextFactory = contextFactory;
+        this.daoContext = daoContext;
+    }
+
+    /**
+     * Scan the whole table of the entity by splitting the ring into token ranges and
+     * querying <em>parallelism</em> ranges at a time
+     *
+     * @return number of scanned entities
+     */
+    public <T> long scan(final EntityMeta meta, final ConsistencyLevel readLevel, final EntityScanListener<T> listener, int parallelism) {
+        final List<Pair<Object, Object>> tokenRanges = splitter.split(daoContext.getPartitioner(), parallelism * RANGES_PER_THREAD);
+        log.debug("Scan table of entity class {} with {} token ranges on {} threads", meta.getEntityClass(), tokenRanges.size(), parallelism);
+
+        final ExecutorService scanExecutor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("achilles-scan-%d").setDaemon(true).build());
+        try {
+            List<Future<Long>> futures = new ArrayList<>(tokenRanges.size());
+            for (final Pair<Object, Object> tokenRange : tokenRanges) {
+                futures.add(scanExecutor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        return scanRange(meta, tokenRange, readLevel, listener);
+                    }
+                }));
+            }
+            long scannedEntities = 0;
+            for (Future<Long> future : futures) {
+                scannedEntities += waitFor(future);
+            }
+            return scannedEntities;
+        } finally {
+            scanExecutor.shutdownNow();
+        }
+    }
+
+    <T> long scanRange(EntityMeta meta, Pair<Object, Object> tokenRange, ConsistencyLevel readLevel, EntityScanListener<T> listener) {
+        log.trace("Scan token range ]{},{}] for entity class {}", tokenRange.left, tokenRange.right, meta.getEntityClass());
+        final BoundStatementWrapper bsWrapper = daoContext.bindForTokenRangeSelect(meta, tokenRange.left, tokenRange.right, readLevel, SCAN_FETCH_SIZE);
+        final Iterator<Row> rows = new PrefetchingRowIterator(daoContext.execute(bsWrapper), SCAN_FETCH_SIZE / 2);
+        long scannedEntities = 0;
+        while (rows.hasNext()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new AchillesException("Scan of token range interrupted");
+            }
+            T entity = mapRow(meta, rows.next());
+            listener.onEntity(entity);
+            scannedEntities++;
+        }
+        return scannedEntities;
+    }
+
+    private <T> T mapRow(EntityMeta meta, Row row) {
+        T entity = meta.forOperations().instanciate();
+        if (meta.structure().isClusteredCounter()) {
+            mapper.setValuesToClusteredCounterEntity(row, meta, entity);
+            mapper.setPropertyToEntity(row, meta, meta.getIdMeta(), entity);
+        } else {
+            mapper.setNonCounterPropertiesToEntity(row, meta, entity);
+        }
+        meta.forInterception().intercept(entity, Event.POST_LOAD);
+        PersistenceContext context = contextFactory.newContext(entity);
+        return proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context.getEntityFacade());
+    }
+
+    private long waitFor(Future<Long> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while waiting for token range scans", ex);
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AchillesException(cause);
+        }
+    }
+}
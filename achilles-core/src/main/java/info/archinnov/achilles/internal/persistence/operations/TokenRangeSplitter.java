@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.type.Pair;
+
+public class TokenRangeSplitter {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRangeSplitter.class);
+
+    static final String MURMUR3_PARTITIONER = "Murmur3Partitioner";
+    static final String RANDOM_PARTITIONER = "RandomPartitioner";
+
+    static final BigInteger MURMUR3_MIN_TOKEN = BigInteger.valueOf(Long.MIN_VALUE);
+    static final BigInteger MURMUR3_MAX_TOKEN = BigInteger.valueOf(Long.MAX_VALUE);
+
+    static final BigInteger RANDOM_MIN_TOKEN = BigInteger.valueOf(-1L);
+    static final BigInteger RANDOM_MAX_TOKEN = BigInteger.valueOf(2L).pow(127);
+
+    /**
+     * Split the whole ring into contiguous ]start,end] token ranges of equal width
+     *
+     * @param partitioner class name of the cluster partitioner
+     * @param splitCount number of token ranges
+     * @return token ranges covering the whole ring, as Long for Murmur3Partitioner and BigInteger for RandomPartitioner
+     */
+    public List<Pair<Object, Object>> split(String partitioner, int splitCount) {
+        log.debug("Split ring of partitioner {} into {} token ranges", partitioner, splitCount);
+        Validator.validateTrue(splitCount > 0, "The number of token ranges '%s' should be strictly positive", splitCount);
+        Validator.validateNotBlank(partitioner, "The partitioner should be known to split the ring into token ranges");
+
+        if (partitioner.endsWith(MURMUR3_PARTITIONER)) {
+            return split(MURMUR3_MIN_TOKEN, MURMUR3_MAX_TOKEN, splitCount, true);
+        } else if (partitioner.endsWith(RANDOM_PARTITIONER)) {
+            return split(RANDOM_MIN_TOKEN, RANDOM_MAX_TOKEN, splitCount, false);
+        } else {
+            throw new AchillesException(String.format("Token range scan is only supported for '%s' and '%s', not for '%s'",
+                    MURMUR3_PARTITIONER, RANDOM_PARTITIONER, partitioner));
+        }
+    }
+
+    private List<Pair<Object, Object>> split(BigInteger minToken, BigInteger maxToken, int splitCount, boolean longTokens) {
+        final BigInteger ringSize = maxToken.subtract(minToken);
+        final BigInteger count = BigInteger.valueOf(splitCount);
+        List<Pair<Object, Object>> ranges = new ArrayList<>(splitCount);
+        BigInteger start = minToken;
+        for (int i = 1; i <= splitCount; i++) {
+            BigInteger end = i == splitCount ? maxToken : minToken.add(ringSize.multiply(BigInteger.valueOf(i)).divide(count));
+            if (end.compareTo(start) > 0) {
+                ranges.add(Pair.<Object, Object>create(toToken(start, longTokens), toToken(end, longTokens)));
+                start = end;
+            }
+        }
+        return ranges;
+    }
+
+    private Object toToken(BigInteger token, boolean longTokens) {
+        return longTokens ? token.longValue() : token;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import java.lang.reflect.Method;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import info.archinnov.achilles.exception.AchillesException;
+import net.sf.cglib.proxy.Factory;
+
+/**
+ * Lookup of the proxy classes generated at build time by the <strong>achilles-processor</strong> module.
+ * <br/>
+ * A generated proxy, named <em>&lt;EntityClass&gt;_AchillesProxy</em>, extends the entity class and implements
+ * the CGLIB <em>Factory</em> interface so it is handled exactly like a runtime proxy. Its overridden methods call
+ * the {@link info.archinnov.achilles.internal.proxy.ProxyInterceptor} directly for mapped getters and setters
+ * and the target entity for the other methods
+ */
+public class GeneratedProxyClasses {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedProxyClasses.class);
+
+    public static final String CLASS_SUFFIX = "_AchillesProxy";
+
+    // Entity classes without generated proxy are mapped to themselves
+    private static final Cache<Class<?>, Class<?>> PROXY_CLASSES = CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
+    /**
+     * @return the generated proxy class of the entity, or null if none was generated
+     */
+    public static Class<?> find(Class<?> entityClass, ClassLoader classLoader) {
+        Class<?> proxyClass = PROXY_CLASSES.getIfPresent(entityClass);
+        if (proxyClass == null) {
+            proxyClass = load(entityClass, classLoader);
+            PROXY_CLASSES.put(entityClass, proxyClass);
+        }
+        return proxyClass == entityClass ? null : proxyClass;
+    }
+
+    /**
+     * Called once by each generated proxy class to resolve the methods it overrides
+     */
+    public static Method findMethod(Class<?> entityClass, String name, Class<?>... parameterTypes) {
+        for (Class<?> type = entityClass; type != null; type = type.getSuperclass()) {
+            try {
+                return type.getDeclaredMethod(name, parameterTypes);
+            } catch (NoSuchMethodException e) {
+                // Look into the super class
+            }
+        }
+        throw new AchillesException(String.format("Cannot find method '%s' in the hierarchy of '%s'", name, entityClass.getCanonicalName()));
+    }
+
+    private static Class<?> load(Class<?> entityClass, ClassLoader classLoader) {
+        try {
+            final Class<?> proxyClass = Class.forName(entityClass.getName() + CLASS_SUFFIX, false, classLoader);
+            // A user class may follow the naming convention without being a generated proxy
+            if (proxyClass.getSuperclass() == entityClass && Factory.class.isAssignableFrom(proxyClass)) {
+                log.debug("Use generated proxy class {} for entity class {}", proxyClass.getName(), entityClass.getName());
+                return proxyClass;
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.trace("No generated proxy class for entity class {}", entityClass.getName());
+        }
+        return entityClass;
+    }
+}
@@ -24,6 +24,10 @@ import net.sf.cglib.proxy.MethodInterceptor;
 public class ProxyClassFactory {
 
     public Class<?> createProxyClass(Class<?> entityClass, ConfigurationContext configContext) {
+        final Class<?> generatedProxyClass = GeneratedProxyClasses.find(entityClass, configContext.selectClassLoader(entityClass));
+        if (generatedProxyClass != null) {
+            return generatedProxyClass;
+        }
         Enhancer enhancer = new Enhancer();
         enhancer.setSuperclass(entityClass);
         enhancer.setInterfaces(new Class[] { Serializable.class });
@@ -16,22 +16,25 @@
 package info.archinnov.achilles.internal.proxy;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Dispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.CounterLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.InternalCounterBuilder;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker;
-import info.archinnov.achilles.internal.proxy.dirtycheck.SimpleDirtyChecker;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.ListWrapperBuilder;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.MapWrapperBuilder;
 import info.archinnov.achilles.internal.proxy.wrapper.builder.SetWrapperBuilder;
-import info.archinnov.achilles.internal.reflection.ReflectionInvoker;
 import info.archinnov.achilles.type.Counter;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
@@ -42,16 +45,13 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
 
     private transient EntityLoader loader = new EntityLoader();
     private transient CounterLoader counterLoader = new CounterLoader();
-    private transient ReflectionInvoker invoker = new ReflectionInvoker();
 
     private transient T target;
     private transient Object primaryKey;
-    private transient Method idGetter;
-    private transient Method idSetter;
-    private transient Map<Method, PropertyMeta> getterMetas;
-    private transient Map<Method, PropertyMeta> setterMetas;
+    private transient EntityMetaProxyDispatch dispatchTable;
     private transient Map<Method, DirtyChecker> dirtyMap;
-    private transient Set<Method> alreadyLoaded;
+    private transient BitSet alreadyLoaded;
+    private transient BitSet dirtySimpleFields;
     private transient EntityOperations context;
 
     public Object getTarget() {
@@ -62,40 +62,79 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
     public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
         log.trace("Method {} called for entity of class {}", method.getName(), target.getClass().getCanonicalName());
 
-        if (idGetter.equals(method)) {
-            return primaryKey;
-        } else if (idSetter.equals(method)) {
-            throw new IllegalAccessException("Cannot change primary key value for existing entity ");
+        final Dispatch dispatch = dispatchTable.dispatch(method);
+        if (dispatch != null) {
+            return interceptManaged(dispatch, method, args);
         }
+        return proxy.invoke(target, args);
+    }
+
+    /**
+     * Entry point for proxy classes generated at build time: resolve once the dispatch entries of the
+     * methods they override, null for the methods to forward to the target entity
+     */
+    public Dispatch[] resolveDispatches(Method[] methods) {
+        return dispatchTable.dispatches(methods);
+    }
+
+    /**
+     * Entry point for the getters of proxy classes generated at build time
+     */
+    public Object get(Dispatch dispatch) {
+        try {
+            return dispatch.kind() == Kind.ID_GETTER ? primaryKey : interceptGetter(dispatch);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        }
+    }
 
+    /**
+     * Entry point for the setters of proxy classes generated at build time
+     */
+    public void set(Dispatch dispatch, Object value) {
+        if (dispatch.kind() == Kind.ID_SETTER) {
+            throw new UndeclaredThrowableException(new IllegalAccessException("Cannot change primary key value for existing entity "));
+        }
+        interceptSetter(dispatch, dispatch.propertyMeta().getSetter(), value);
+    }
+
+    private Object interceptManaged(Dispatch dispatch, Method method, Object[] args) throws Throwable {
         Object result = null;
-        if (this.getterMetas.containsKey(method)) {
-            result = interceptGetter(method);
-        } else if (this.setterMetas.containsKey(method)) {
-            interceptSetter(method, obj, args);
-        } else {
-            result = proxy.invoke(target, args);
+        switch (dispatch.kind()) {
+            case ID_GETTER:
+                result = primaryKey;
+                break;
+            case ID_SETTER:
+                throw new IllegalAccessException("Cannot change primary key value for existing entity ");
+            case GETTER:
+                result = interceptGetter(dispatch);
+                break;
+            case SETTER:
+                interceptSetter(dispatch, method, args.length > 0 ? args[0] : null);
+                break;
         }
         return result;
     }
 
-    private Object interceptGetter(Method method) throws Throwable {
+    private Object interceptGetter(Dispatch dispatch) throws Throwable {
         Object result = null;
-        PropertyMeta propertyMeta = this.getterMetas.get(method);
+        PropertyMeta propertyMeta = dispatch.propertyMeta();
 
         // Load fields into target object
-        if (!this.alreadyLoaded.contains(method)) {
+        if (!this.alreadyLoaded.get(dispatch.ordinal())) {
             log.trace("Loading property {}", propertyMeta.getPropertyName());
             if (context.isClusteredCounter()) {
                 counterLoader.loadClusteredCounterColumn(context, target, propertyMeta);
             } else {
                 loader.loadPropertyIntoObject(context, target, propertyMeta);
             }
-            alreadyLoaded.add(method);
+            alreadyLoaded.set(dispatch.ordinal());
         }
 
         log.trace("Get value from field {} on real object", propertyMeta.getPropertyName());
-        Object rawValue = invoker.getValueFromField(target, propertyMeta.getField());
+        Object rawValue = propertyMeta.forValues().getValueFromField(target);
 
         // Build proxy when necessary
         switch (propertyMeta.type()) {
@@ -114,7 +153,7 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
                     @SuppressWarnings("unchecked")
                     List<Object> list = (List<Object>) rawValue;
                     result = ListWrapperBuilder.builder(list).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-                            .propertyMeta(this.getPropertyMetaByProperty(method)).build();
+                            .propertyMeta(propertyMeta).build();
                 }
                 break;
             case SET:
@@ -125,7 +164,7 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
                     @SuppressWarnings("unchecked")
                     Set<Object> set = (Set<Object>) rawValue;
                     result = SetWrapperBuilder.builder(set).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-                            .propertyMeta(this.getPropertyMetaByProperty(method)).build();
+                            .propertyMeta(propertyMeta).build();
                 }
                 break;
             case MAP:
@@ -136,7 +175,7 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
                     @SuppressWarnings("unchecked")
                     Map<Object, Object> map = (Map<Object, Object>) rawValue;
                     result = MapWrapperBuilder.builder(map).dirtyMap(dirtyMap).setter(propertyMeta.getSetter())
-                            .propertyMeta(this.getPropertyMetaByProperty(method)).build();
+                            .propertyMeta(propertyMeta).build();
                 }
                 break;
             default:
@@ -149,38 +188,38 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
         return result;
     }
 
-    private void interceptSetter(Method method, Object obj, Object[] args) throws Throwable {
-        PropertyMeta propertyMeta = this.setterMetas.get(method);
+    private void interceptSetter(Dispatch dispatch, Method setter, Object value) {
+        PropertyMeta propertyMeta = dispatch.propertyMeta();
 
         DirtyChecker dirtyChecker = null;
         boolean removeField = false;
-        if (args[0] == null) {
+        if (value == null) {
             removeField = true;
         }
         switch (propertyMeta.type()) {
             case SIMPLE:
-                dirtyChecker = new SimpleDirtyChecker(propertyMeta);
+                // Simple fields only flag their bit, no change set to build
                 break;
             case SET:
                 dirtyChecker = new DirtyChecker(propertyMeta);
                 if (removeField)
                     dirtyChecker.removeAllElements();
                 else
-                    dirtyChecker.assignValue((Set) args[0]);
+                    dirtyChecker.assignValue((Set) value);
                 break;
             case LIST:
                 dirtyChecker = new DirtyChecker(propertyMeta);
                 if (removeField)
                     dirtyChecker.removeAllElements();
                 else
-                    dirtyChecker.assignValue((List) args[0]);
+                    dirtyChecker.assignValue((List) value);
                 break;
             case MAP:
                 dirtyChecker = new DirtyChecker(propertyMeta);
                 if (removeField)
                     dirtyChecker.removeAllElements();
                 else
-                    dirtyChecker.assignValue((Map) args[0]);
+                    dirtyChecker.assignValue((Map) value);
                 break;
             case COUNTER:
                 throw new UnsupportedOperationException(
@@ -191,10 +230,10 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
 
         log.trace("Flagging property {}", propertyMeta.getPropertyName());
 
-        dirtyMap.put(method, dirtyChecker);
-        Object value = null;
-        if (args.length > 0) {
-            value = args[0];
+        if (dirtyChecker != null) {
+            dirtyMap.put(setter, dirtyChecker);
+        } else {
+            dirtySimpleFields.set(dispatch.ordinal());
         }
         propertyMeta.forValues().setValueToField(target, value);
     }
@@ -208,10 +247,29 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
         return dirtyMap;
     }
 
-    public Set<Method> getAlreadyLoaded() {
+    /**
+     * @return bits of the dirty simple properties, indexed by their ordinal in {@link EntityMetaProxyDispatch}
+     */
+    public BitSet getDirtySimpleFields() {
+        return dirtySimpleFields;
+    }
+
+    public void clearDirtyState() {
+        dirtyMap.clear();
+        dirtySimpleFields.clear();
+    }
+
+    /**
+     * @return bits of the loaded properties, indexed by their ordinal in {@link EntityMetaProxyDispatch}
+     */
+    public BitSet getAlreadyLoaded() {
         return alreadyLoaded;
     }
 
+    public void markAllLoadedExceptCounters() {
+        this.alreadyLoaded = dispatchTable.allLoadedExceptCounters();
+    }
+
     public Object getPrimaryKey() {
         return primaryKey;
     }
@@ -224,28 +282,20 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
         this.primaryKey = key;
     }
 
-    void setIdGetter(Method idGetter) {
-        this.idGetter = idGetter;
-    }
-
-    void setIdSetter(Method idSetter) {
-        this.idSetter = idSetter;
-    }
-
-    void setGetterMetas(Map<Method, PropertyMeta> getterMetas) {
-        this.getterMetas = getterMetas;
-    }
-
-    void setSetterMetas(Map<Method, PropertyMeta> setterMetas) {
-        this.setterMetas = setterMetas;
+    void setDispatchTable(EntityMetaProxyDispatch dispatchTable) {
+        this.dispatchTable = dispatchTable;
     }
 
     void setDirtyMap(Map<Method, DirtyChecker> dirtyMap) {
         this.dirtyMap = dirtyMap;
     }
 
-    void setAlreadyLoaded(Set<Method> lazyLoaded) {
-        this.alreadyLoaded = lazyLoaded;
+    void setAlreadyLoaded(BitSet alreadyLoaded) {
+        this.alreadyLoaded = alreadyLoaded;
+    }
+
+    void setDirtySimpleFields(BitSet dirtySimpleFields) {
+        this.dirtySimpleFields = dirtySimpleFields;
     }
 
     public EntityOperations getEntityOperations() {
@@ -255,8 +305,4 @@ public class ProxyInterceptor<T> implements MethodInterceptor, ProxySerializable
     public void setEntityOperations(EntityOperations context) {
         this.context = context;
     }
-
-    private PropertyMeta getPropertyMetaByProperty(Method method) {
-        return getterMetas.get(method);
-    }
 }
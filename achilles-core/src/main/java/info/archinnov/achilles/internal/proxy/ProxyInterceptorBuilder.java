@@ -16,9 +16,8 @@
 package info.archinnov.achilles.internal.proxy;
 
 import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import info.archinnov.achilles.internal.context.facade.EntityOperations;
@@ -30,7 +29,7 @@ public class ProxyInterceptorBuilder<T> {
     private static final Logger log = LoggerFactory.getLogger(ProxyInterceptorBuilder.class);
 
     private T target;
-    private Set<Method> alreadyLoaded = new HashSet<>();
+    private BitSet alreadyLoaded = new BitSet();
     private EntityOperations context;
 
     public static <T> ProxyInterceptorBuilder<T> builder(EntityOperations context, T entity) {
@@ -61,17 +60,19 @@ public class ProxyInterceptorBuilder<T> {
 
         interceptor.setTarget(target);
         interceptor.setEntityOperations(context);
-        interceptor.setGetterMetas(entityMeta.getGetterMetas());
-        interceptor.setSetterMetas(entityMeta.getSetterMetas());
-        interceptor.setIdGetter(entityMeta.getIdMeta().getGetter());
-        interceptor.setIdSetter(entityMeta.getIdMeta().getSetter());
+        interceptor.setDispatchTable(entityMeta.forProxy());
         interceptor.setDirtyMap(new HashMap<Method, DirtyChecker>());
+        interceptor.setDirtySimpleFields(new BitSet());
         interceptor.setPrimaryKey(context.getPrimaryKey());
         interceptor.setAlreadyLoaded(alreadyLoaded);
         return interceptor;
     }
 
-    public ProxyInterceptorBuilder<T> alreadyLoaded(Set<Method> alreadyLoaded) {
+    /**
+     * @param alreadyLoaded bits of the loaded properties, indexed by their ordinal in
+     * {@link info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch}
+     */
+    public ProxyInterceptorBuilder<T> alreadyLoaded(BitSet alreadyLoaded) {
         this.alreadyLoaded = alreadyLoaded;
         return this;
     }
@@ -20,6 +20,7 @@ import static com.datastax.driver.core.querybuilder.Update.Assignments;
 import static org.apache.commons.collections.CollectionUtils.isNotEmpty;
 
 import org.apache.commons.collections.MapUtils;
+import com.google.common.base.Optional;
 import com.datastax.driver.core.querybuilder.Update;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType;
@@ -131,6 +132,51 @@ public class DirtyCheckChangeSet {
     }
 
 
+    /**
+     * Merge this change set with a later change set on the same property into a single change set
+     *
+     * @param next change set pushed after this one
+     * @return merged change set, or absent if both changes cannot be expressed as a single statement
+     */
+    public Optional<DirtyCheckChangeSet> merge(DirtyCheckChangeSet next) {
+        if (!propertyMeta.equals(next.propertyMeta)) {
+            return Optional.absent();
+        }
+        switch (next.changeType) {
+            case ASSIGN_VALUE_TO_LIST:
+            case ASSIGN_VALUE_TO_SET:
+            case ASSIGN_VALUE_TO_MAP:
+            case REMOVE_COLLECTION_OR_MAP:
+                return Optional.of(next);
+            default:
+        }
+        if (next.changeType != changeType) {
+            return Optional.absent();
+        }
+        DirtyCheckChangeSet merged = new DirtyCheckChangeSet(propertyMeta, changeType);
+        switch (changeType) {
+            case ADD_TO_SET:
+            case REMOVE_FROM_SET:
+                merged.setChanges = new HashSet<>(setChanges);
+                merged.setChanges.addAll(next.setChanges);
+                return Optional.of(merged);
+            case APPEND_TO_LIST:
+                merged.listChanges = new ArrayList<>(listChanges);
+                merged.listChanges.addAll(next.listChanges);
+                return Optional.of(merged);
+            case PREPEND_TO_LIST:
+                merged.listChanges = new ArrayList<>(next.listChanges);
+                merged.listChanges.addAll(listChanges);
+                return Optional.of(merged);
+            case ADD_TO_MAP:
+                merged.mapChanges = new HashMap<>(mapChanges);
+                merged.mapChanges.putAll(next.mapChanges);
+                return Optional.of(merged);
+            default:
+                return Optional.absent();
+        }
+    }
+
     void setListChanges(List<Object> listChanges) {
         this.listChanges = listChanges;
     }
@@ -16,8 +16,6 @@
 
 package info.archinnov.achilles.internal.proxy.dirtycheck;
 
-import com.google.common.base.Function;
-import com.google.common.base.Predicate;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
 import java.util.ArrayList;
@@ -45,35 +43,10 @@ public class DirtyChecker {
     protected PropertyMeta propertyMeta;
     protected List<DirtyCheckChangeSet> changeSets = new ArrayList<>();
 
-    public static final Predicate<DirtyChecker> SIMPLE_FIELD = new Predicate<DirtyChecker>() {
-        @Override
-        public boolean apply(DirtyChecker dirtyChecker) {
-            return dirtyChecker.isSimpleField();
-        }
-    };
-
-    public static final Predicate<DirtyChecker> COLLECTION_AND_MAP_FIELD = new Predicate<DirtyChecker>() {
-        @Override
-        public boolean apply(DirtyChecker dirtyChecker) {
-            return !dirtyChecker.isSimpleField();
-        }
-    };
-
-    public static final Function<DirtyChecker,PropertyMeta> EXTRACT_META = new Function<DirtyChecker, PropertyMeta>() {
-        @Override
-        public PropertyMeta apply(DirtyChecker dirtyChecker) {
-            return dirtyChecker.propertyMeta;
-        }
-    };
-
     public DirtyChecker(PropertyMeta propertyMeta) {
         this.propertyMeta = propertyMeta;
     }
 
-    public boolean isSimpleField() {
-        return false;
-    }
-
     public PropertyMeta getPropertyMeta() {
         return propertyMeta;
     }
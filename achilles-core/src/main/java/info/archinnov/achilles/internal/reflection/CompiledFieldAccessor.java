@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.validation.Validator;
+
+/**
+ * Accessor of an entity field, built once when the property is parsed.
+ * <br/>
+ * Reads and writes go through the {@link GeneratedFieldAccessors} of the declaring class when one
+ * was generated at compile time for this field. Otherwise they go through method handles resolved up-front,
+ * without the accessibility check and the argument validation of <em>java.lang.reflect.Field</em> on each call
+ */
+public class CompiledFieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Logger log = LoggerFactory.getLogger(CompiledFieldAccessor.class);
+
+    // Marks declaring classes without generated accessors, so the class lookup is done once per class
+    private static final Object NOT_FOUND = new Object();
+
+    // Values are the generated accessors of the class or NOT_FOUND. Generated accessors are kept alive
+    // by the field accessors using them
+    private static final Cache<Class<?>, Object> GENERATED_ACCESSORS = CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final GeneratedFieldAccessors generated;
+    private final int generatedIndex;
+    private final boolean primitive;
+
+    private CompiledFieldAccessor(Field field, MethodHandle getter, MethodHandle setter) {
+        this(field, getter, setter, null, GeneratedFieldAccessors.NOT_GENERATED);
+    }
+
+    private CompiledFieldAccessor(Field field, GeneratedFieldAccessors generated, int generatedIndex) {
+        this(field, null, null, generated, generatedIndex);
+    }
+
+    private CompiledFieldAccessor(Field field, MethodHandle getter, MethodHandle setter, GeneratedFieldAccessors generated,
+            int generatedIndex) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+        this.generated = generated;
+        this.generatedIndex = generatedIndex;
+        this.primitive = field.getType().isPrimitive();
+    }
+
+    public static CompiledFieldAccessor forField(Field field) {
+        final GeneratedFieldAccessors generated = findGeneratedAccessors(field.getDeclaringClass());
+        if (generated != null) {
+            final int generatedIndex = generated.indexOf(field.getName());
+            if (generatedIndex != GeneratedFieldAccessors.NOT_GENERATED) {
+                log.debug("Use generated accessor for field {} of class {}", field.getName(), field.getDeclaringClass().getCanonicalName());
+                return new CompiledFieldAccessor(field, generated, generatedIndex);
+            }
+        }
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return new CompiledFieldAccessor(field, lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                    lookup.unreflectSetter(field).asType(SETTER_TYPE));
+        } catch (IllegalAccessException e) {
+            throw new AchillesException("Cannot build accessor for field '" + field.getName() + "' of type '"
+                    + field.getDeclaringClass().getCanonicalName() + "'", e);
+        }
+    }
+
+    public Object getValue(Object target) {
+        if (target == null) {
+            return null;
+        }
+        try {
+            if (generated != null) {
+                return generated.getValue(target, generatedIndex);
+            }
+            return (Object) getter.invokeExact(target);
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            throw new AchillesException("Cannot get value from field '" + field.getName() + "' of type '"
+                    + field.getDeclaringClass().getCanonicalName() + "' on instance '" + target + "'", throwable);
+        }
+    }
+
+    public void setValue(Object target, Object value) {
+        if (primitive) {
+            Validator.validateNotNull(value, "Cannot set null value to primitive type '%s' of field '%s' on instance of class'%s'",
+                    field.getType().getCanonicalName(), field.getName(), field.getDeclaringClass().getCanonicalName());
+        }
+        if (target == null) {
+            return;
+        }
+        try {
+            if (generated != null) {
+                generated.setValue(target, generatedIndex, value);
+            } else {
+                setter.invokeExact(target, value);
+            }
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            throw new AchillesException("Cannot set value to field '" + field.getName() + "' of type '"
+                    + field.getType().getCanonicalName() + "' on instance '" + target + "'", throwable);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    boolean isGenerated() {
+        return generated != null;
+    }
+
+    private static GeneratedFieldAccessors findGeneratedAccessors(Class<?> declaringClass) {
+        final Object cached = GENERATED_ACCESSORS.getIfPresent(declaringClass);
+        if (cached != null) {
+            return cached == NOT_FOUND ? null : (GeneratedFieldAccessors) cached;
+        }
+        final GeneratedFieldAccessors generated = loadGeneratedAccessors(declaringClass);
+        GENERATED_ACCESSORS.put(declaringClass, generated == null ? NOT_FOUND : generated);
+        return generated;
+    }
+
+    private static GeneratedFieldAccessors loadGeneratedAccessors(Class<?> declaringClass) {
+        final String generatedClassName = declaringClass.getName() + GeneratedFieldAccessors.CLASS_SUFFIX;
+        try {
+            final Class<?> generatedClass = Class.forName(generatedClassName, true, declaringClass.getClassLoader());
+            return (GeneratedFieldAccessors) generatedClass.newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new AchillesException("Cannot instantiate generated accessors '" + generatedClassName + "'", e);
+        }
+    }
+}
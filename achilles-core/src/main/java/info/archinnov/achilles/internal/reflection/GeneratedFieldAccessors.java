@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+/**
+ * Contract of the field accessors generated at compile time by the <strong>achilles-processor</strong>
+ * annotation processor.
+ * <br/>
+ * For an entity class <em>com.example.User</em>, the generated class is <em>com.example.User_AchillesAccessors</em>.
+ * It reads and writes the non-private mapped fields declared by the entity with plain field access, without reflection.
+ * Private fields are not covered and keep the method handle based access
+ */
+public interface GeneratedFieldAccessors {
+
+    String CLASS_SUFFIX = "_AchillesAccessors";
+
+    int NOT_GENERATED = -1;
+
+    /**
+     * @return the index of the field for {@link #getValue(Object, int)} and {@link #setValue(Object, int, Object)},
+     * or {@link #NOT_GENERATED} if no accessor was generated for this field
+     */
+    int indexOf(String fieldName);
+
+    Object getValue(Object target, int fieldIndex);
+
+    void setValue(Object target, int fieldIndex, Object value);
+}
@@ -15,7 +15,6 @@
  */
 package info.archinnov.achilles.internal.reflection;
 
-import static info.archinnov.achilles.internal.cql.TypeMapper.getRowMethod;
 import static info.archinnov.achilles.internal.cql.TypeMapper.toCompatibleJavaType;
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState;
 
@@ -28,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.cql.RowGetter;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 
@@ -38,7 +38,7 @@ public class RowMethodInvoker {
     public <T> T invokeOnRowForType(Row row, Class<T> type, String name) {
         log.trace("Extract property {} of type {} from CQL row ", name, type);
         try {
-            return (T) getRowMethod(type).invoke(row, name);
+            return (T) RowGetter.forType(type).getValue(row, name);
         } catch (Exception e) {
             throw new AchillesException("Cannot retrieve column '" + name + "' of type '" + type.getCanonicalName()
                     + "' from CQL Row", e);
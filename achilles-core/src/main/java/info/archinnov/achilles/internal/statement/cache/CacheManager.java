@@ -17,6 +17,7 @@ package info.archinnov.achilles.internal.statement.cache;
 
 import static com.google.common.collect.Collections2.transform;
 import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheStats;
 import com.google.common.collect.Sets;
@@ -35,14 +37,25 @@ import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapC
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
+import info.archinnov.achilles.type.Options;
 
 public class CacheManager {
     private static final Logger log = LoggerFactory.getLogger(CacheManager.class);
 
     private final int maxLRUCacheSize;
 
+    private final StatementCacheIndex cacheIndex;
+
+    private final Optional<StatementManifest> manifest;
+
     public CacheManager(int maxLRUCacheSize) {
+        this(maxLRUCacheSize, Optional.<StatementManifest>absent());
+    }
+
+    public CacheManager(int maxLRUCacheSize, Optional<StatementManifest> manifest) {
         this.maxLRUCacheSize = maxLRUCacheSize;
+        this.cacheIndex = new StatementCacheIndex(maxLRUCacheSize);
+        this.manifest = manifest;
     }
 
     private PreparedStatementGenerator generator = new PreparedStatementGenerator();
@@ -67,6 +80,7 @@ public class CacheManager {
         if (ps == null) {
             ps = generator.prepareSelectField(session, entityMeta, pm);
             dynamicPSCache.put(cacheKey, ps);
+            recordInManifest(CacheType.SELECT_FIELD, entityClass, Arrays.asList(pm), noOptions());
             displayCacheStatistics(dynamicPSCache);
         }
         return ps;
@@ -78,15 +92,25 @@ public class CacheManager {
         log.trace("Get cache for INSERT properties {} from entity class {}", pms, context.getEntityClass());
 
         Class<?> entityClass = context.getEntityClass();
+        final Options options = context.getOptions();
+        final long propertyBits = indexablePropertyBits(StatementCacheIndex.propertyBits(pms), options);
+        final int optionsFlags = StatementCacheKey.optionsFlags(options);
+        PreparedStatement ps = cacheIndex.get(entityClass, CacheType.INSERT, propertyBits, optionsFlags);
+        if (ps != null) {
+            return ps;
+        }
+
         EntityMeta entityMeta = context.getEntityMeta();
         Set<String> fields = new HashSet<>(transform(pms, propertyExtractor));
-        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.INSERT, fields, entityClass, context.getOptions());
-        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.INSERT, fields, entityClass, options);
+        ps = dynamicPSCache.getIfPresent(cacheKey);
         if (ps == null) {
             ps = generator.prepareInsert(session, entityMeta, pms, context.getOptions());
             dynamicPSCache.put(cacheKey, ps);
+            recordInManifest(CacheType.INSERT, entityClass, pms, options);
             displayCacheStatistics(dynamicPSCache);
         }
+        cacheIndex.put(entityClass, CacheType.INSERT, propertyBits, optionsFlags, ps);
         return ps;
     }
 
@@ -96,15 +120,25 @@ public class CacheManager {
         log.trace("Get cache for UPDATE properties {} from entity class {}", pms, context.getEntityClass());
 
         Class<?> entityClass = context.getEntityClass();
+        final Options options = context.getOptions();
+        final long propertyBits = indexablePropertyBits(StatementCacheIndex.propertyBits(pms), options);
+        final int optionsFlags = StatementCacheKey.optionsFlags(options);
+        PreparedStatement ps = cacheIndex.get(entityClass, CacheType.UPDATE_FIELDS, propertyBits, optionsFlags);
+        if (ps != null) {
+            return ps;
+        }
+
         EntityMeta entityMeta = context.getEntityMeta();
         Set<String> fields = new HashSet<>(transform(pms, propertyExtractor));
-        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, fields, entityClass, context.getOptions());
-        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.UPDATE_FIELDS, fields, entityClass, options);
+        ps = dynamicPSCache.getIfPresent(cacheKey);
         if (ps == null) {
             ps = generator.prepareUpdateFields(session, entityMeta, pms, context.getOptions());
             dynamicPSCache.put(cacheKey, ps);
+            recordInManifest(CacheType.UPDATE_FIELDS, entityClass, pms, options);
             displayCacheStatistics(dynamicPSCache);
         }
+        cacheIndex.put(entityClass, CacheType.UPDATE_FIELDS, propertyBits, optionsFlags, ps);
         return ps;
     }
 
@@ -115,14 +149,25 @@ public class CacheManager {
         log.trace("Get cache for operation {} on entity class {} and property {}", changeType.name(),
                 entityClass, pm.getPropertyName());
 
-        StatementCacheKey cacheKey = new StatementCacheKey(changeType.cacheType(), Sets.newHashSet(pm.getPropertyName()), entityClass, context.getOptions());
+        final Options options = context.getOptions();
+        final CacheType cacheType = changeType.cacheType();
+        final long propertyBits = indexablePropertyBits(StatementCacheIndex.propertyBit(pm), options);
+        final int optionsFlags = StatementCacheKey.optionsFlags(options);
+        PreparedStatement ps = cacheIndex.get(entityClass, cacheType, propertyBits, optionsFlags);
+        if (ps != null) {
+            return ps;
+        }
 
-        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        StatementCacheKey cacheKey = new StatementCacheKey(cacheType, Sets.newHashSet(pm.getPropertyName()), entityClass, options);
+
+        ps = dynamicPSCache.getIfPresent(cacheKey);
         if (ps == null) {
-            ps = generator.prepareCollectionAndMapUpdate(session, context.getEntityMeta(), changeSet, context.getOptions());
+            ps = generator.prepareCollectionAndMapUpdate(session, context.getEntityMeta(), changeSet, options);
             dynamicPSCache.put(cacheKey, ps);
+            recordInManifest(cacheType, entityClass, Arrays.asList(pm), options);
             displayCacheStatistics(dynamicPSCache);
         }
+        cacheIndex.put(entityClass, cacheType, propertyBits, optionsFlags, ps);
         return ps;
     }
 
@@ -151,6 +196,44 @@ public class CacheManager {
         return ps;
     }
 
+    public PreparedStatement getCacheForTokenRangeSelect(Session session, Cache<StatementCacheKey,PreparedStatement> dynamicPSCache,
+            EntityMeta entityMeta) {
+
+        log.trace("Get cache for SELECT on token range from entity class {}", entityMeta.getEntityClass());
+
+        StatementCacheKey cacheKey = new StatementCacheKey(CacheType.TOKEN_RANGE_SELECT, new HashSet<String>(), entityMeta.getEntityClass(), noOptions());
+        PreparedStatement ps = dynamicPSCache.getIfPresent(cacheKey);
+        if (ps == null) {
+            ps = generator.prepareSelectTokenRange(session, entityMeta);
+            dynamicPSCache.put(cacheKey, ps);
+            displayCacheStatistics(dynamicPSCache);
+        }
+        return ps;
+    }
+
+    /**
+     * Stop the periodic save of the prepared statements manifest, if any, and save it a last time
+     */
+    public void shutDown() {
+        if (manifest.isPresent()) {
+            manifest.get().shutDown();
+        }
+    }
+
+    private void recordInManifest(CacheType type, Class<?> entityClass, List<PropertyMeta> pms, Options options) {
+        if (manifest.isPresent() && !options.hasCasConditions()) {
+            manifest.get().record(type, entityClass, pms, StatementCacheKey.optionsFlags(options));
+        }
+    }
+
+    /**
+     * Statements with CAS conditions depend on the conditions themselves and are not indexed
+     */
+    private long indexablePropertyBits(long propertyBits, Options options) {
+        final List<Options.CASCondition> casConditions = options.getCASConditions();
+        return casConditions == null || casConditions.isEmpty() ? propertyBits : StatementCacheIndex.NOT_INDEXABLE;
+    }
+
     private void displayCacheStatistics(Cache<StatementCacheKey, PreparedStatement> dynamicPSCache) {
 
         long cacheSize = dynamicPSCache.size();
@@ -33,5 +33,6 @@ public enum CacheType {
     UPDATE_FIELDS,
     INSERT,
     SLICE_QUERY_SELECT,
-    SLICE_QUERY_DELETE;
+    SLICE_QUERY_DELETE,
+    TOKEN_RANGE_SELECT;
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.apache.commons.lang.ArrayUtils;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * LRU cache of the prepared statements of native and typed queries, keyed by query string.
+ * <br/>
+ * Only SELECT, INSERT, UPDATE and DELETE statements whose values are not embedded in the statement itself are prepared.
+ */
+public class NativeStatementCache {
+    private static final Logger log = LoggerFactory.getLogger(NativeStatementCache.class);
+
+    private static final String[] PREPARABLE_KEYWORDS = { "SELECT", "INSERT", "UPDATE", "DELETE" };
+
+    private final Session session;
+
+    private final Cache<String, PreparedStatement> cache;
+
+    private final boolean preparedByDefault;
+
+    public NativeStatementCache(Session session, int maxSize, boolean preparedByDefault) {
+        this.session = session;
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.preparedByDefault = preparedByDefault;
+    }
+
+    /**
+     * @return whether native and typed queries are prepared unless specified otherwise at query level
+     */
+    public boolean isPreparedByDefault() {
+        return preparedByDefault;
+    }
+
+    public boolean isPreparable(RegularStatement regularStatement) {
+        if (ArrayUtils.isNotEmpty(regularStatement.getValues())) {
+            return false;
+        }
+        final String queryString = StringUtils.stripStart(regularStatement.getQueryString(), null);
+        for (String keyword : PREPARABLE_KEYWORDS) {
+            if (StringUtils.startsWithIgnoreCase(queryString, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the prepared statement of the query string, preparing it on cache miss. Concurrent misses on the
+     * same query string prepare it only once
+     */
+    public PreparedStatement getOrPrepare(final String queryString) {
+        try {
+            return cache.get(queryString, new Callable<PreparedStatement>() {
+                @Override
+                public PreparedStatement call() throws Exception {
+                    log.debug("Prepare native query '{}'", queryString);
+                    return session.prepare(queryString);
+                }
+            });
+        } catch (ExecutionException | UncheckedExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new AchillesException(cause);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import com.datastax.driver.core.PreparedStatement;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Lock-free, fixed capacity index of prepared statements sitting in front of the LRU prepared statements cache.
+ * <br/>
+ * Entries are looked up by entity class, cache type, bitset of the property ordinals and options flags,
+ * without allocating any key. Only entities with at most 64 properties and statements without CAS conditions
+ * are indexed; an entry which cannot be placed within <em>MAX_PROBES</em> slots is simply not indexed
+ * and the LRU cache remains the source of truth
+ */
+public class StatementCacheIndex {
+
+    public static final long NOT_INDEXABLE = 0L;
+
+    static final int MAX_PROBES = 8;
+
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+
+    public StatementCacheIndex(int maxSize) {
+        int capacity = Integer.highestOneBit(Math.max(maxSize, MAX_PROBES) - 1) << 2;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return bitset of the property ordinals, NOT_INDEXABLE if one of the properties has no ordinal or an ordinal above 63
+     */
+    public static long propertyBits(List<PropertyMeta> pms) {
+        long bits = 0L;
+        for (int i = 0; i < pms.size(); i++) {
+            final long bit = propertyBit(pms.get(i));
+            if (bit == NOT_INDEXABLE) {
+                return NOT_INDEXABLE;
+            }
+            bits |= bit;
+        }
+        return bits;
+    }
+
+    public static long propertyBit(PropertyMeta pm) {
+        final int ordinal = pm.getOrdinal();
+        return ordinal >= 0 && ordinal < Long.SIZE ? 1L << ordinal : NOT_INDEXABLE;
+    }
+
+    public PreparedStatement get(Class<?> entityClass, CacheType type, long propertyBits, int optionsFlags) {
+        if (propertyBits == NOT_INDEXABLE) {
+            return null;
+        }
+        int index = hash(entityClass, type, propertyBits, optionsFlags) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final Entry entry = slots.get(index);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.matches(entityClass, type, propertyBits, optionsFlags)) {
+                return entry.ps;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    public void put(Class<?> entityClass, CacheType type, long propertyBits, int optionsFlags, PreparedStatement ps) {
+        if (propertyBits == NOT_INDEXABLE) {
+            return;
+        }
+        final Entry newEntry = new Entry(entityClass, type, propertyBits, optionsFlags, ps);
+        int index = hash(entityClass, type, propertyBits, optionsFlags) & mask;
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            final Entry entry = slots.get(index);
+            if (entry == null) {
+                if (slots.compareAndSet(index, null, newEntry)) {
+                    return;
+                }
+                if (slots.get(index).matches(entityClass, type, propertyBits, optionsFlags)) {
+                    return;
+                }
+            } else if (entry.matches(entityClass, type, propertyBits, optionsFlags)) {
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int hash(Class<?> entityClass, CacheType type, long propertyBits, int optionsFlags) {
+        int hash = System.identityHashCode(entityClass);
+        hash = 31 * hash + type.ordinal();
+        hash = 31 * hash + (int) (propertyBits ^ (propertyBits >>> 32));
+        hash = 31 * hash + optionsFlags;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry {
+        private final Class<?> entityClass;
+        private final CacheType type;
+        private final long propertyBits;
+        private final int optionsFlags;
+        private final PreparedStatement ps;
+
+        private Entry(Class<?> entityClass, CacheType type, long propertyBits, int optionsFlags, PreparedStatement ps) {
+            this.entityClass = entityClass;
+            this.type = type;
+            this.propertyBits = propertyBits;
+            this.optionsFlags = optionsFlags;
+            this.ps = ps;
+        }
+
+        private boolean matches(Class<?> entityClass, CacheType type, long propertyBits, int optionsFlags) {
+            return this.entityClass == entityClass && this.type == type && this.propertyBits == propertyBits
+                    && this.optionsFlags == optionsFlags;
+        }
+    }
+}
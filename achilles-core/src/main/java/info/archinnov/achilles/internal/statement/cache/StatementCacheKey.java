@@ -17,36 +17,84 @@ package info.archinnov.achilles.internal.statement.cache;
 
 import static info.archinnov.achilles.type.Options.CASCondition;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import com.google.common.base.Optional;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
+import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 
 public class StatementCacheKey {
-    private CacheType type;
 
-    private Set<String> fields = new LinkedHashSet<>();
+    static final int HAS_CONSISTENCY_LEVEL = 1;
+    static final int HAS_TIMESTAMP = 1 << 1;
+    static final int IF_NOT_EXISTS = 1 << 2;
 
-    private Class<?> entityClass;
+    private final CacheType type;
 
-    private OptionsCacheKey optionsCacheKey;
+    private final Set<String> fields;
 
-    private Optional<SliceQueryProperties> sliceQueryPropertiesO = Optional.absent();
+    private final Class<?> entityClass;
+
+    private final int optionsFlags;
+
+    private final List<CASCondition> CASConditions;
+
+    private final Optional<SliceQueryProperties> sliceQueryPropertiesO;
+
+    private final int hashCode;
 
     public StatementCacheKey(CacheType type, Set<String> fields, Class<?> entityClass, Options options) {
         this.type = type;
         this.entityClass = entityClass;
         this.fields = fields;
-        this.optionsCacheKey = OptionsCacheKey.fromOptions(options);
+        this.optionsFlags = optionsFlags(options);
+        this.CASConditions = Optional.fromNullable(options.getCASConditions()).or(Collections.<CASCondition>emptyList());
+        this.sliceQueryPropertiesO = Optional.absent();
+        this.hashCode = computeHashCode();
     }
 
     public StatementCacheKey(CacheType type, SliceQueryProperties sliceQueryProperties) {
         this.type = type;
         this.entityClass = sliceQueryProperties.getEntityMeta().getEntityClass();
+        this.fields = Collections.emptySet();
+        this.optionsFlags = 0;
+        this.CASConditions = Collections.emptyList();
         this.sliceQueryPropertiesO = Optional.fromNullable(sliceQueryProperties);
+        this.hashCode = computeHashCode();
+    }
+
+    /**
+     * Options which change the generated statement, packed as bit flags. CAS conditions are kept apart
+     */
+    static int optionsFlags(Options options) {
+        int flags = 0;
+        if (options.getConsistencyLevel().isPresent()) {
+            flags |= HAS_CONSISTENCY_LEVEL;
+        }
+        if (options.getTimestamp().isPresent()) {
+            flags |= HAS_TIMESTAMP;
+        }
+        if (options.isIfNotExists()) {
+            flags |= IF_NOT_EXISTS;
+        }
+        return flags;
+    }
+
+    /**
+     * Rebuild options producing the given flags. Values are placeholders since only their presence changes the statement
+     */
+    static Options optionsFromFlags(int optionsFlags) {
+        final OptionsBuilder.BuiltOptions options = OptionsBuilder.ifNotExists().ifNotExists((optionsFlags & IF_NOT_EXISTS) != 0);
+        if ((optionsFlags & HAS_TIMESTAMP) != 0) {
+            options.withTimestamp(0L);
+        }
+        if ((optionsFlags & HAS_CONSISTENCY_LEVEL) != 0) {
+            options.withConsistency(ConsistencyLevel.ONE);
+        }
+        return options;
     }
 
     public CacheType getType() {
@@ -62,13 +110,26 @@ public class StatementCacheKey {
         return (Class<T>) entityClass;
     }
 
+    private int computeHashCode() {
+        int result = entityClass != null ? entityClass.hashCode() : 0;
+        result = 31 * result + fields.hashCode();
+        result = 31 * result + type.hashCode();
+        result = 31 * result + optionsFlags;
+        result = 31 * result + CASConditions.hashCode();
+        result = 31 * result + sliceQueryPropertiesO.hashCode();
+        return result;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(entityClass, fields, type, optionsCacheKey, sliceQueryPropertiesO);
+        return hashCode;
     }
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
         if (o == null) {
             return false;
         }
@@ -78,53 +139,12 @@ public class StatementCacheKey {
 
         StatementCacheKey other = (StatementCacheKey) o;
 
-        return Objects.equals(this.entityClass, other.entityClass) &&
+        return this.hashCode == other.hashCode &&
+                this.type == other.type &&
+                this.optionsFlags == other.optionsFlags &&
+                Objects.equals(this.entityClass, other.entityClass) &&
                 Objects.equals(this.fields, other.fields) &&
-                Objects.equals(this.type, other.type) &&
-                Objects.equals(this.optionsCacheKey, other.optionsCacheKey) &&
+                Objects.equals(this.CASConditions, other.CASConditions) &&
                 Objects.equals(this.sliceQueryPropertiesO, other.sliceQueryPropertiesO);
     }
-
-    private static class OptionsCacheKey {
-        private boolean hasConsistencyLevel;
-        private boolean hasTimestamp;
-        private boolean ifNotExists;
-        private List<CASCondition> CASConditions;
-
-        private OptionsCacheKey(boolean hasConsistencyLevel, boolean hasTimestamp, boolean ifNotExists, List<CASCondition> CASConditions) {
-            this.hasConsistencyLevel = hasConsistencyLevel;
-            this.hasTimestamp = hasTimestamp;
-            this.ifNotExists = ifNotExists;
-            this.CASConditions = CASConditions;
-        }
-
-        private static OptionsCacheKey fromOptions(Options options) {
-            boolean hasConsistencyLevel = options.getConsistencyLevel().isPresent();
-            boolean hasTimestamp = options.getTimestamp().isPresent();
-            boolean ifNotExists = options.isIfNotExists();
-            List<CASCondition> CASConditions = Optional.fromNullable(options.getCASConditions()).or(Collections.<CASCondition>emptyList());
-            return new OptionsCacheKey(hasConsistencyLevel, hasTimestamp, ifNotExists, CASConditions);
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (o == null) {
-                return false;
-            }
-            if (getClass() != o.getClass()) {
-                return false;
-            }
-
-            final OptionsCacheKey other = (OptionsCacheKey) o;
-            return Objects.equals(this.hasConsistencyLevel, other.hasConsistencyLevel) &&
-                    Objects.equals(this.hasTimestamp, other.hasTimestamp) &&
-                    Objects.equals(this.ifNotExists, other.ifNotExists) &&
-                    Objects.equals(this.CASConditions, other.CASConditions);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(this.hasConsistencyLevel, this.hasTimestamp, this.ifNotExists, this.CASConditions);
-        }
-    }
 }
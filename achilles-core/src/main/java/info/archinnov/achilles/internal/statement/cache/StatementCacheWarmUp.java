@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import static com.google.common.collect.Collections2.transform;
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_SET;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.PREPEND_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_COLLECTION_OR_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_SET;
+import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.type.Options;
+
+/**
+ * Prepare in advance the statement shapes each entity can produce and load them into the LRU prepared statements cache:
+ * <ul>
+ *     <li>INSERT of all fields</li>
+ *     <li>UPDATE of each property</li>
+ *     <li>SELECT of each property</li>
+ *     <li>each collection and map operation supported by prepared statements</li>
+ * </ul>
+ * or the statement shapes recorded in a {@link StatementManifest} by a previous run.
+ * <br/>
+ * Statements are prepared asynchronously, with at most <em>parallelism</em> preparations in flight.
+ * A statement which fails to prepare is logged and left to be prepared lazily
+ */
+public class StatementCacheWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCacheWarmUp.class);
+
+    private static final List<CollectionAndMapChangeType> LIST_CHANGES = Arrays.asList(ASSIGN_VALUE_TO_LIST, REMOVE_COLLECTION_OR_MAP,
+            APPEND_TO_LIST, PREPEND_TO_LIST, REMOVE_FROM_LIST);
+    private static final List<CollectionAndMapChangeType> SET_CHANGES = Arrays.asList(ASSIGN_VALUE_TO_SET, REMOVE_COLLECTION_OR_MAP,
+            ADD_TO_SET, REMOVE_FROM_SET);
+    private static final List<CollectionAndMapChangeType> MAP_CHANGES = Arrays.asList(ASSIGN_VALUE_TO_MAP, REMOVE_COLLECTION_OR_MAP,
+            ADD_TO_MAP, REMOVE_FROM_MAP);
+
+    private static final Function<PropertyMeta, String> propertyExtractor = new Function<PropertyMeta, String>() {
+        @Override
+        public String apply(PropertyMeta pm) {
+            return pm.getPropertyName();
+        }
+    };
+
+    private PreparedStatementGenerator generator = new PreparedStatementGenerator();
+
+    /**
+     * Prepare the statement shapes of all entities
+     *
+     * @return number of statements prepared and loaded into the cache
+     */
+    public int warmUp(Session session, Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, Collection<EntityMeta> entityMetas,
+            int parallelism) {
+        final List<StatementShape> shapes = new ArrayList<>();
+        for (EntityMeta entityMeta : entityMetas) {
+            shapes.addAll(enumerateShapes(entityMeta));
+        }
+        return prepareShapes(session, dynamicPSCache, shapes, parallelism);
+    }
+
+    /**
+     * Prepare the statement shapes recorded in the manifest. Shapes referring to unknown entities or properties are skipped
+     *
+     * @return number of statements prepared and loaded into the cache
+     */
+    public int warmUpFromManifest(Session session, Cache<StatementCacheKey, PreparedStatement> dynamicPSCache,
+            List<StatementManifest.ManifestEntry> entries, Collection<EntityMeta> entityMetas, int parallelism) {
+        final Map<String, EntityMeta> metaByClassName = new HashMap<>();
+        for (EntityMeta entityMeta : entityMetas) {
+            metaByClassName.put(entityMeta.getEntityClass().getName(), entityMeta);
+        }
+        final List<StatementShape> shapes = new ArrayList<>(entries.size());
+        for (StatementManifest.ManifestEntry entry : entries) {
+            final Optional<StatementShape> shape = shapeFromManifest(entry, metaByClassName.get(entry.getEntityClassName()));
+            if (shape.isPresent()) {
+                shapes.add(shape.get());
+            } else {
+                log.debug("Skip statement shape {} {} of manifest, the entity or its properties are no longer managed",
+                        entry.getType(), entry.getEntityClassName());
+            }
+        }
+        return prepareShapes(session, dynamicPSCache, shapes, parallelism);
+    }
+
+    int prepareShapes(Session session, final Cache<StatementCacheKey, PreparedStatement> dynamicPSCache, List<StatementShape> shapes,
+            int parallelism) {
+        log.info("Warm up {} prepared statements with at most {} preparations in flight", shapes.size(), parallelism);
+
+        final Semaphore inFlight = new Semaphore(parallelism);
+        final AtomicInteger preparedCount = new AtomicInteger(0);
+        final List<ListenableFuture<PreparedStatement>> futures = new ArrayList<>(shapes.size());
+        for (final StatementShape shape : shapes) {
+            acquire(inFlight);
+            final ListenableFuture<PreparedStatement> future;
+            try {
+                future = session.prepareAsync(shape.statement);
+            } catch (RuntimeException ex) {
+                inFlight.release();
+                throw ex;
+            }
+            Futures.addCallback(future, new FutureCallback<PreparedStatement>() {
+                @Override
+                public void onSuccess(PreparedStatement ps) {
+                    inFlight.release();
+                    dynamicPSCache.put(shape.cacheKey, ps);
+                    preparedCount.incrementAndGet();
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    inFlight.release();
+                    log.warn(String.format("Fail to warm up prepared statement '%s'", shape.statement.getQueryString()), throwable);
+                }
+            }, sameThreadExecutor());
+            futures.add(future);
+        }
+        waitForAll(Futures.successfulAsList(futures));
+        log.info("{} prepared statements warmed up", preparedCount.get());
+        return preparedCount.get();
+    }
+
+    List<StatementShape> enumerateShapes(EntityMeta entityMeta) {
+        final List<StatementShape> shapes = new ArrayList<>();
+        if (entityMeta.structure().isClusteredCounter()) {
+            return shapes;
+        }
+        final Class<?> entityClass = entityMeta.getEntityClass();
+        final List<PropertyMeta> pms = entityMeta.getAllMetasExceptIdAndCounters();
+
+        shapes.add(new StatementShape(new StatementCacheKey(CacheType.INSERT, new HashSet<>(transform(pms, propertyExtractor)), entityClass, noOptions()),
+                generator.generateInsert(entityMeta, pms, noOptions())));
+
+        for (PropertyMeta pm : pms) {
+            final List<PropertyMeta> singlePm = Arrays.asList(pm);
+            shapes.add(new StatementShape(new StatementCacheKey(CacheType.UPDATE_FIELDS, Sets.newHashSet(pm.getPropertyName()), entityClass, noOptions()),
+                    generator.generateUpdateFields(entityMeta, singlePm, noOptions())));
+            shapes.add(new StatementShape(new StatementCacheKey(CacheType.SELECT_FIELD, pm.forCache().extractClusteredFieldsIfNecessary(), entityClass, noOptions()),
+                    generator.generateSelectField(entityMeta, pm)));
+            for (CollectionAndMapChangeType changeType : changeTypesFor(pm)) {
+                shapes.add(new StatementShape(new StatementCacheKey(changeType.cacheType(), Sets.newHashSet(pm.getPropertyName()), entityClass, noOptions()),
+                        generator.generateCollectionAndMapUpdate(entityMeta, new DirtyCheckChangeSet(pm, changeType), noOptions())));
+            }
+        }
+        return shapes;
+    }
+
+    Optional<StatementShape> shapeFromManifest(StatementManifest.ManifestEntry entry, EntityMeta entityMeta) {
+        if (entityMeta == null || entry.getPropertyNames().isEmpty() && entry.getType() != CacheType.INSERT) {
+            return Optional.absent();
+        }
+        final List<PropertyMeta> pms = new ArrayList<>(entry.getPropertyNames().size());
+        for (String propertyName : entry.getPropertyNames()) {
+            final PropertyMeta pm = entityMeta.getPropertyMetas().get(propertyName);
+            if (pm == null) {
+                return Optional.absent();
+            }
+            pms.add(pm);
+        }
+
+        final Class<?> entityClass = entityMeta.getEntityClass();
+        final Options options = StatementCacheKey.optionsFromFlags(entry.getOptionsFlags());
+        final Set<String> fields = new HashSet<>(entry.getPropertyNames());
+        final CacheType type = entry.getType();
+        switch (type) {
+            case INSERT:
+                return Optional.of(new StatementShape(new StatementCacheKey(type, fields, entityClass, options),
+                        generator.generateInsert(entityMeta, pms, options)));
+            case UPDATE_FIELDS:
+                return Optional.of(new StatementShape(new StatementCacheKey(type, fields, entityClass, options),
+                        generator.generateUpdateFields(entityMeta, pms, options)));
+            case SELECT_FIELD:
+                final PropertyMeta selectedPm = pms.get(0);
+                return Optional.of(new StatementShape(new StatementCacheKey(type, selectedPm.forCache().extractClusteredFieldsIfNecessary(),
+                        entityClass, noOptions()), generator.generateSelectField(entityMeta, selectedPm)));
+            default:
+                final PropertyMeta collectionPm = pms.get(0);
+                for (CollectionAndMapChangeType changeType : changeTypesFor(collectionPm)) {
+                    if (changeType.cacheType() == type) {
+                        return Optional.of(new StatementShape(new StatementCacheKey(type, fields, entityClass, options),
+                                generator.generateCollectionAndMapUpdate(entityMeta, new DirtyCheckChangeSet(collectionPm, changeType), options)));
+                    }
+                }
+                return Optional.absent();
+        }
+    }
+
+    private List<CollectionAndMapChangeType> changeTypesFor(PropertyMeta pm) {
+        switch (pm.type()) {
+            case LIST:
+                return LIST_CHANGES;
+            case SET:
+                return SET_CHANGES;
+            case MAP:
+                return MAP_CHANGES;
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    private void acquire(Semaphore inFlight) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while warming up prepared statements", ex);
+        }
+    }
+
+    private void waitForAll(ListenableFuture<List<PreparedStatement>> allResults) {
+        try {
+            allResults.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while warming up prepared statements", ex);
+        } catch (ExecutionException ex) {
+            throw new AchillesException(ex.getCause());
+        }
+    }
+
+    static class StatementShape {
+        final StatementCacheKey cacheKey;
+        final RegularStatement statement;
+
+        StatementShape(StatementCacheKey cacheKey, RegularStatement statement) {
+            this.cacheKey = cacheKey;
+            this.statement = statement;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+
+/**
+ * Record of the statement shapes prepared at runtime, persisted in a local file so that the next start
+ * can prepare them before serving requests.
+ * <br/>
+ * Each line of the file describes one shape: <em>cache type|entity class|options flags|property1,property2...</em>.
+ * Properties are kept in the order used to prepare the statement, since values are bound by position
+ */
+public class StatementManifest {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementManifest.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String FIELD_SEPARATOR = "|";
+    private static final String PROPERTY_SEPARATOR = ",";
+
+    private final File file;
+    private final Set<String> lines = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private ScheduledExecutorService scheduler;
+    private Thread shutdownHook;
+
+    public StatementManifest(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Record a shape prepared at runtime. Shapes with CAS conditions are not recorded
+     */
+    public void record(CacheType type, Class<?> entityClass, List<PropertyMeta> pms, int optionsFlags) {
+        final List<String> propertyNames = new ArrayList<>(pms.size());
+        for (PropertyMeta pm : pms) {
+            propertyNames.add(pm.getPropertyName());
+        }
+        if (lines.add(new ManifestEntry(type, entityClass.getName(), propertyNames, optionsFlags).toLine())) {
+            dirty.set(true);
+        }
+    }
+
+    public List<ManifestEntry> getEntries() {
+        final List<ManifestEntry> entries = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            entries.add(ManifestEntry.fromLine(line));
+        }
+        return entries;
+    }
+
+    /**
+     * Load the shapes recorded by a previous run. A missing file is an empty manifest, unreadable lines are skipped
+     */
+    public void load() {
+        if (!file.isFile()) {
+            log.info("No prepared statements manifest found at {}", file.getAbsolutePath());
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                try {
+                    lines.add(ManifestEntry.fromLine(line).toLine());
+                } catch (IllegalArgumentException ex) {
+                    log.warn("Skip invalid line '{}' of prepared statements manifest {}", line, file.getAbsolutePath());
+                }
+            }
+        } catch (IOException ex) {
+            log.warn(String.format("Fail to read prepared statements manifest %s", file.getAbsolutePath()), ex);
+        }
+        log.info("Loaded {} statement shapes from prepared statements manifest {}", lines.size(), file.getAbsolutePath());
+    }
+
+    /**
+     * Write the recorded shapes if some were recorded since the last save. The file is replaced atomically
+     */
+    public synchronized void save() {
+        if (!dirty.compareAndSet(true, false)) {
+            return;
+        }
+        final File parent = file.getAbsoluteFile().getParentFile();
+        final File tmpFile = new File(parent, file.getName() + ".tmp");
+        try {
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Cannot create directory " + parent.getAbsolutePath());
+            }
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmpFile), UTF_8))) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+            if (!tmpFile.renameTo(file) && !(file.delete() && tmpFile.renameTo(file))) {
+                throw new IOException("Cannot rename " + tmpFile.getAbsolutePath() + " to " + file.getAbsolutePath());
+            }
+            log.debug("Saved {} statement shapes to prepared statements manifest {}", lines.size(), file.getAbsolutePath());
+        } catch (IOException ex) {
+            dirty.set(true);
+            log.warn(String.format("Fail to write prepared statements manifest %s", file.getAbsolutePath()), ex);
+        }
+    }
+
+    /**
+     * Save the manifest every <em>saveIntervalMillis</em> and on {@link #shutDown()} or when the JVM shuts down
+     */
+    public void startPeriodicSave(long saveIntervalMillis) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("achilles-statement-manifest-%d").setDaemon(true).build());
+        final Runnable saveTask = new Runnable() {
+            @Override
+            public void run() {
+                save();
+            }
+        };
+        scheduler.scheduleWithFixedDelay(saveTask, saveIntervalMillis, saveIntervalMillis, TimeUnit.MILLISECONDS);
+        shutdownHook = new Thread(saveTask, "achilles-statement-manifest-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Stop the periodic save, unregister the JVM shutdown hook and save the manifest a last time
+     */
+    public void shutDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (shutdownHook != null) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException ex) {
+                // The JVM is already shutting down, the hook saves the manifest
+            }
+        }
+        save();
+    }
+
+    public static class ManifestEntry {
+        private final CacheType type;
+        private final String entityClassName;
+        private final List<String> propertyNames;
+        private final int optionsFlags;
+
+        public ManifestEntry(CacheType type, String entityClassName, List<String> propertyNames, int optionsFlags) {
+            this.type = type;
+            this.entityClassName = entityClassName;
+            this.propertyNames = propertyNames;
+            this.optionsFlags = optionsFlags;
+        }
+
+        static ManifestEntry fromLine(String line) {
+            final String[] fields = StringUtils.splitPreserveAllTokens(line, FIELD_SEPARATOR);
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Invalid manifest line " + line);
+            }
+            final List<String> propertyNames = StringUtils.isEmpty(fields[3]) ? Collections.<String>emptyList()
+                    : Arrays.asList(StringUtils.split(fields[3], PROPERTY_SEPARATOR));
+            return new ManifestEntry(CacheType.valueOf(fields[0]), fields[1], propertyNames, Integer.parseInt(fields[2]));
+        }
+
+        String toLine() {
+            return type.name() + FIELD_SEPARATOR + entityClassName + FIELD_SEPARATOR + optionsFlags + FIELD_SEPARATOR
+                    + StringUtils.join(propertyNames, PROPERTY_SEPARATOR);
+        }
+
+        public CacheType getType() {
+            return type;
+        }
+
+        public String getEntityClassName() {
+            return entityClassName;
+        }
+
+        public List<String> getPropertyNames() {
+            return propertyNames;
+        }
+
+        public int getOptionsFlags() {
+            return optionsFlags;
+        }
+    }
+}
@@ -16,17 +16,13 @@
 package info.archinnov.achilles.internal.statement.prepared;
 
 import static info.archinnov.achilles.internal.consistency.ConsistencyConverter.getCQLLevel;
-import static org.apache.commons.lang.ArrayUtils.addAll;
 
-import java.util.ArrayList;
 import java.util.List;
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.google.common.base.Optional;
-import com.google.common.collect.FluentIterable;
 import info.archinnov.achilles.internal.consistency.ConsistencyOverrider;
 import info.archinnov.achilles.internal.context.facade.PersistentStateHolder;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -48,6 +44,15 @@ public class PreparedStatementBinder {
     private ConsistencyOverrider overrider = new ConsistencyOverrider();
 
     public BoundStatementWrapper bindForInsert(PersistentStateHolder context, PreparedStatement ps, List<PropertyMeta> pms) {
+        return bindForInsert(context, ps, pms, null);
+    }
+
+    /**
+     * Bind an insert with column values already encoded in the order of <em>pms</em>,
+     * or read from the entity when <em>encodedValues</em> is null
+     */
+    public BoundStatementWrapper bindForInsert(PersistentStateHolder context, PreparedStatement ps, List<PropertyMeta> pms,
+            Object[] encodedValues) {
 
         EntityMeta entityMeta = context.getEntityMeta();
         Object entity = context.getEntity();
@@ -56,18 +61,29 @@ public class PreparedStatementBinder {
 
         ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
 
-        List<Object> values = new ArrayList<>();
-        values.addAll(fetchPrimaryKeyValues(entityMeta, entity, false));
-        values.addAll(fetchPropertiesValues(pms, entity));
-        values.addAll(fetchTTLAndTimestampValues(context));
+        final Object[] primaryKeyValues = fetchPrimaryKeyValues(entityMeta, entity, false);
+        final Object[] values = new Object[primaryKeyValues.length + pms.size() + countTTLAndTimestampValues(context)];
 
-        BoundStatement bs = ps.bind(values.toArray());
-        return new BoundStatementWrapper(context.getEntityClass(), bs, values.toArray(), getCQLLevel(consistencyLevel),
+        int index = copyValues(primaryKeyValues, values, 0);
+        index = encodedValues == null ? fetchPropertiesValues(pms, entity, values, index) : copyValues(encodedValues, values, index);
+        fetchTTLAndTimestampValues(context, values, index);
+
+        BoundStatement bs = ps.bind(values);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, values, getCQLLevel(consistencyLevel),
                 context.getCASResultListener(), context.getSerialConsistencyLevel());
     }
 
 
     public BoundStatementWrapper bindForUpdate(PersistentStateHolder context, PreparedStatement ps, List<PropertyMeta> pms) {
+        return bindForUpdate(context, ps, pms, null);
+    }
+
+    /**
+     * Bind an update with column values already encoded in the order of <em>pms</em>,
+     * or read from the entity when <em>encodedValues</em> is null
+     */
+    public BoundStatementWrapper bindForUpdate(PersistentStateHolder context, PreparedStatement ps, List<PropertyMeta> pms,
+            Object[] encodedValues) {
         EntityMeta entityMeta = context.getEntityMeta();
         Object entity = context.getEntity();
 
@@ -75,18 +91,17 @@ public class PreparedStatementBinder {
 
         ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
 
-        List<Object> values = new ArrayList<>();
-
-        final int staticColumnsCount = FluentIterable.from(pms).filter(PropertyMeta.STATIC_COLUMN_FILTER).size();
-        final boolean onlyStaticColumns = staticColumnsCount>0 && pms.size()==staticColumnsCount;
+        final Object[] primaryKeyValues = fetchPrimaryKeyValues(entityMeta, entity, hasOnlyStaticColumns(pms));
+        final Object[] values = new Object[countTTLAndTimestampValues(context) + pms.size() + primaryKeyValues.length
+                + countCASConditionsValues(context)];
 
-        values.addAll(fetchTTLAndTimestampValues(context));
-        values.addAll(fetchPropertiesValues(pms, entity));
-        values.addAll(fetchPrimaryKeyValues(entityMeta, entity, onlyStaticColumns));
-        values.addAll(fetchCASConditionsValues(context, entityMeta));
-        BoundStatement bs = ps.bind(values.toArray());
+        int index = fetchTTLAndTimestampValues(context, values, 0);
+        index = encodedValues == null ? fetchPropertiesValues(pms, entity, values, index) : copyValues(encodedValues, values, index);
+        index = copyValues(primaryKeyValues, values, index);
+        fetchCASConditionsValues(context, entityMeta, values, index);
+        BoundStatement bs = ps.bind(values);
 
-        return new BoundStatementWrapper(context.getEntityClass(), bs, values.toArray(), getCQLLevel(consistencyLevel),
+        return new BoundStatementWrapper(context.getEntityClass(), bs, values, getCQLLevel(consistencyLevel),
                 context.getCASResultListener(), context.getSerialConsistencyLevel());
     }
 
@@ -98,32 +113,35 @@ public class PreparedStatementBinder {
 
         ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
 
-        List<Object> values = new ArrayList<>();
         final CollectionAndMapChangeType changeType = changeSet.getChangeType();
+        final Object[] primaryKeyValues = fetchPrimaryKeyValues(entityMeta, entity, changeSet.getPropertyMeta().structure().isStaticColumn());
+        final int changeValuesCount = changeType == CollectionAndMapChangeType.REMOVE_FROM_MAP ? 2 : 1;
+        final Object[] values = new Object[countTTLAndTimestampValues(context) + changeValuesCount + primaryKeyValues.length
+                + countCASConditionsValues(context)];
 
-        values.addAll(fetchTTLAndTimestampValues(context));
+        int index = fetchTTLAndTimestampValues(context, values, 0);
 
         switch (changeType) {
             case ASSIGN_VALUE_TO_LIST:
-                values.add(changeSet.getEncodedListChanges());
+                values[index] = changeSet.getEncodedListChanges();
                 break;
             case ASSIGN_VALUE_TO_SET:
-                values.add(changeSet.getEncodedSetChanges());
+                values[index] = changeSet.getEncodedSetChanges();
                 break;
             case ASSIGN_VALUE_TO_MAP:
-                values.add(changeSet.getEncodedMapChanges());
+                values[index] = changeSet.getEncodedMapChanges();
                 break;
             case REMOVE_COLLECTION_OR_MAP:
-                values.add(null);
+                values[index] = null;
                 break;
             case ADD_TO_SET:
             case REMOVE_FROM_SET:
-                values.add(changeSet.getEncodedSetChanges());
+                values[index] = changeSet.getEncodedSetChanges();
                 break;
             case APPEND_TO_LIST:
             case PREPEND_TO_LIST:
             case REMOVE_FROM_LIST:
-                values.add(changeSet.getEncodedListChanges());
+                values[index] = changeSet.getEncodedListChanges();
                 break;
             case SET_TO_LIST_AT_INDEX:
                 // No prepared statement for set list element at index
@@ -132,19 +150,20 @@ public class PreparedStatementBinder {
                 // No prepared statement for set list element at index
                 throw new IllegalStateException("Cannot bind statement to remove element at index for list");
             case ADD_TO_MAP:
-                values.add(changeSet.getEncodedMapChanges());
+                values[index] = changeSet.getEncodedMapChanges();
                 break;
             case REMOVE_FROM_MAP:
-                values.add(changeSet.getEncodedMapChanges().keySet().iterator().next());
-                values.add(null);
+                values[index] = changeSet.getEncodedMapChanges().keySet().iterator().next();
+                values[index + 1] = null;
                 break;
         }
+        index += changeValuesCount;
 
-        values.addAll(fetchPrimaryKeyValues(entityMeta, entity, changeSet.getPropertyMeta().structure().isStaticColumn()));
-        values.addAll(fetchCASConditionsValues(context, entityMeta));
-        BoundStatement bs = ps.bind(values.toArray());
+        index = copyValues(primaryKeyValues, values, index);
+        fetchCASConditionsValues(context, entityMeta, values, index);
+        BoundStatement bs = ps.bind(values);
 
-        return new BoundStatementWrapper(context.getEntityClass(), bs, values.toArray(), getCQLLevel(consistencyLevel),
+        return new BoundStatementWrapper(context.getEntityClass(), bs, values, getCQLLevel(consistencyLevel),
                 context.getCASResultListener(), context.getSerialConsistencyLevel());
     }
 
@@ -156,10 +175,10 @@ public class PreparedStatementBinder {
         log.trace("Bind prepared statement {} with primary key {}", ps.getQueryString(), primaryKey);
 
         PropertyMeta idMeta = context.getIdMeta();
-        List<Object> values = bindPrimaryKey(primaryKey, idMeta,onlyStaticColumns);
+        Object[] values = bindPrimaryKey(primaryKey, idMeta, onlyStaticColumns);
 
-        BoundStatement bs = ps.bind(values.toArray());
-        return new BoundStatementWrapper(context.getEntityClass(), bs, values.toArray(), getCQLLevel(consistencyLevel),
+        BoundStatement bs = ps.bind(values);
+        return new BoundStatementWrapper(context.getEntityClass(), bs, values, getCQLLevel(consistencyLevel),
                 context.getCASResultListener(), context.getSerialConsistencyLevel());
     }
 
@@ -169,7 +188,7 @@ public class PreparedStatementBinder {
         Object primaryKey = context.getPrimaryKey();
 
         log.trace("Bind prepared statement {} for simple counter increment of {} using primary key {} and value {}", ps.getQueryString(), pm, primaryKey, increment);
-        Object[] boundValues = ArrayUtils.add(extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey), 0, increment);
+        Object[] boundValues = extractValuesForSimpleCounterBinding(entityMeta, pm, primaryKey, increment);
 
         BoundStatement bs = ps.bind(boundValues);
         return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
@@ -208,8 +227,10 @@ public class PreparedStatementBinder {
 
         ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
 
-        List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), counterMeta.structure().isStaticColumn());
-        Object[] keys = addAll(new Object[]{increment}, primaryKeys.toArray());
+        Object[] primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), counterMeta.structure().isStaticColumn());
+        Object[] keys = new Object[primaryKeys.length + 1];
+        keys[0] = increment;
+        copyValues(primaryKeys, keys, 1);
 
         BoundStatement bs = ps.bind(keys);
 
@@ -222,8 +243,7 @@ public class PreparedStatementBinder {
 
         log.trace("Bind prepared statement {} for clustered counter read for {} using primary key {}", ps.getQueryString(), entityMeta, primaryKey);
 
-        List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), onlyStaticColumns);
-        Object[] boundValues = primaryKeys.toArray();
+        Object[] boundValues = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), onlyStaticColumns);
 
         BoundStatement bs = ps.bind(boundValues);
         return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
@@ -236,68 +256,98 @@ public class PreparedStatementBinder {
         log.trace("Bind prepared statement {} for simple counter delete for {} using primary key {}", ps.getQueryString(), entityMeta, primaryKey);
 
         ConsistencyLevel consistencyLevel = overrider.getWriteLevel(context);
-        List<Object> primaryKeys = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), false);
-        Object[] boundValues = primaryKeys.toArray(new Object[primaryKeys.size()]);
+        Object[] boundValues = bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), false);
         BoundStatement bs = ps.bind(boundValues);
 
         return new BoundStatementWrapper(context.getEntityClass(), bs, boundValues, getCQLLevel(consistencyLevel), NO_LISTENER, NO_SERIAL_CONSISTENCY);
     }
 
-    private List<Object> fetchPrimaryKeyValues(EntityMeta entityMeta, Object entity, boolean onlyStaticColumns) {
-        List<Object> values = new ArrayList<>();
+    // Each bind method sizes a single Object[] from the bind marker layout of its statement;
+    // the helpers below fill it from the given index and return the index of the next bind marker.
+    // The same array is passed to the driver and kept by the BoundStatementWrapper for logging
+
+    private Object[] fetchPrimaryKeyValues(EntityMeta entityMeta, Object entity, boolean onlyStaticColumns) {
         Object primaryKey = entityMeta.forOperations().getPrimaryKey(entity);
-        values.addAll(bindPrimaryKey(primaryKey, entityMeta.getIdMeta(),onlyStaticColumns));
-        return values;
+        return bindPrimaryKey(primaryKey, entityMeta.getIdMeta(), onlyStaticColumns);
+    }
+
+    private boolean hasOnlyStaticColumns(List<PropertyMeta> pms) {
+        if (pms.isEmpty()) {
+            return false;
+        }
+        for (PropertyMeta pm : pms) {
+            if (!pm.structure().isStaticColumn()) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private List<Object> fetchTTLAndTimestampValues(PersistentStateHolder context) {
-        List<Object> values = new ArrayList<>();
+    private int countTTLAndTimestampValues(PersistentStateHolder context) {
+        return context.getTimestamp().isPresent() ? 2 : 1;
+    }
 
+    private int fetchTTLAndTimestampValues(PersistentStateHolder context, Object[] values, int index) {
         // TTL or default value 0
-        values.add(context.getTtl().or(0));
-        if (context.getTimestamp().isPresent()) {
-            values.add(context.getTimestamp().get());
+        values[index++] = context.getTtl().or(0);
+        final Optional<Long> timestamp = context.getTimestamp();
+        if (timestamp.isPresent()) {
+            values[index++] = timestamp.get();
         }
-        return values;
+        return index;
     }
 
-    private List<Object> fetchPropertiesValues(List<PropertyMeta> pms, Object entity) {
-        List<Object> values = new ArrayList<>();
+    private int fetchPropertiesValues(List<PropertyMeta> pms, Object entity, Object[] values, int index) {
         for (PropertyMeta pm : pms) {
-            Object value = pm.forTranscoding().getAndEncodeValueForCassandra(entity);
-            values.add(value);
+            values[index++] = pm.forTranscoding().getAndEncodeValueForCassandra(entity);
         }
+        return index;
+    }
 
-        return values;
+    private int countCASConditionsValues(PersistentStateHolder context) {
+        return context.hasCasConditions() ? context.getCasConditions().size() : 0;
     }
 
-    private List<Object> fetchCASConditionsValues(PersistentStateHolder context, EntityMeta entityMeta) {
-        List<Object> values = new ArrayList<>();
+    private int fetchCASConditionsValues(PersistentStateHolder context, EntityMeta entityMeta, Object[] values, int index) {
         if (context.hasCasConditions()) {
             for (Options.CASCondition CASCondition : context.getCasConditions()) {
-                values.add(entityMeta.forTranscoding().encodeCasConditionValue(CASCondition));
+                values[index++] = entityMeta.forTranscoding().encodeCasConditionValue(CASCondition);
             }
         }
-        return values;
+        return index;
     }
 
+    private int copyValues(Object[] source, Object[] values, int index) {
+        System.arraycopy(source, 0, values, index, source.length);
+        return index + source.length;
+    }
 
-    private List<Object> bindPrimaryKey(Object primaryKey, PropertyMeta idMeta, boolean onlyStaticColumns) {
-        List<Object> values = new ArrayList<>();
+    private Object[] bindPrimaryKey(Object primaryKey, PropertyMeta idMeta, boolean onlyStaticColumns) {
         if (idMeta.structure().isEmbeddedId()) {
-            values.addAll(idMeta.forTranscoding().encodeToComponents(primaryKey, onlyStaticColumns));
+            return idMeta.forTranscoding().encodeToComponents(primaryKey, onlyStaticColumns).toArray();
         } else {
-            values.add(idMeta.forTranscoding().encodeToCassandra(primaryKey));
+            return new Object[] { idMeta.forTranscoding().encodeToCassandra(primaryKey) };
         }
-        return values;
     }
 
     private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey) {
-        PropertyMeta idMeta = entityMeta.getIdMeta();
-        String fqcn = entityMeta.getClassName();
-        String primaryKeyAsString = idMeta.forTranscoding().forceEncodeToJSONForCounter(primaryKey);
-        String cql3ColumnName = pm.getCQL3ColumnName();
+        final Object[] values = new Object[3];
+        fetchSimpleCounterValues(entityMeta, pm, primaryKey, values, 0);
+        return values;
+    }
 
-        return new Object[] { fqcn, primaryKeyAsString, cql3ColumnName };
+    private Object[] extractValuesForSimpleCounterBinding(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey, Long increment) {
+        final Object[] values = new Object[4];
+        values[0] = increment;
+        fetchSimpleCounterValues(entityMeta, pm, primaryKey, values, 1);
+        return values;
+    }
+
+    private int fetchSimpleCounterValues(EntityMeta entityMeta, PropertyMeta pm, Object primaryKey, Object[] values, int index) {
+        PropertyMeta idMeta = entityMeta.getIdMeta();
+        values[index++] = entityMeta.getClassName();
+        values[index++] = idMeta.forTranscoding().forceEncodeToJSONForCounter(primaryKey);
+        values[index++] = pm.getCQL3ColumnName();
+        return index;
     }
 }
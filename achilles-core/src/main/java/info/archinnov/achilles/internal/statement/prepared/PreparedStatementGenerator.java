@@ -68,6 +68,10 @@ public class PreparedStatementGenerator {
     private static final Logger log = LoggerFactory.getLogger(PreparedStatementGenerator.class);
 
     public PreparedStatement prepareInsert(Session session, EntityMeta entityMeta, List<PropertyMeta> pms, Options options) {
+        return session.prepare(generateInsert(entityMeta, pms, options).getQueryString());
+    }
+
+    public RegularStatement generateInsert(EntityMeta entityMeta, List<PropertyMeta> pms, Options options) {
         log.trace("Generate prepared statement for INSERT on {}", entityMeta);
         PropertyMeta idMeta = entityMeta.getIdMeta();
         Insert insert = insertInto(entityMeta.config().getTableName());
@@ -86,10 +90,14 @@ public class PreparedStatementGenerator {
         if (options.getTimestamp().isPresent()) {
             insertOptions.and(timestamp(bindMarker("timestamp")));
         }
-        return session.prepare(insert.getQueryString());
+        return insert;
     }
 
     public PreparedStatement prepareSelectField(Session session, EntityMeta entityMeta, PropertyMeta pm) {
+        return session.prepare(generateSelectField(entityMeta, pm).getQueryString());
+    }
+
+    public RegularStatement generateSelectField(EntityMeta entityMeta, PropertyMeta pm) {
         log.trace("Generate prepared statement for SELECT property {}", pm);
 
         PropertyMeta idMeta = entityMeta.getIdMeta();
@@ -99,12 +107,15 @@ public class PreparedStatementGenerator {
         } else {
             Selection select = pm.forStatementGeneration().prepareSelectField(select());
             Select from = select.from(entityMeta.config().getTableName());
-            RegularStatement statement = idMeta.forStatementGeneration().generateWhereClauseForSelect(Optional.fromNullable(pm), from);
-            return session.prepare(statement.getQueryString());
+            return idMeta.forStatementGeneration().generateWhereClauseForSelect(Optional.fromNullable(pm), from);
         }
     }
 
     public PreparedStatement prepareUpdateFields(Session session, EntityMeta entityMeta, List<PropertyMeta> pms, Options options) {
+        return session.prepare(generateUpdateFields(entityMeta, pms, options).getQueryString());
+    }
+
+    public RegularStatement generateUpdateFields(EntityMeta entityMeta, List<PropertyMeta> pms, Options options) {
 
         log.trace("Generate prepared statement for UPDATE properties {}", pms);
 
@@ -131,8 +142,7 @@ public class PreparedStatementGenerator {
                 assignments = pm.forStatementGeneration().prepareUpdateField(assignments);
             }
         }
-        RegularStatement statement = prepareWhereClauseWithTTLForUpdate(idMeta, assignments, onlyStaticColumns, options);
-        return session.prepare(statement.getQueryString());
+        return prepareWhereClauseWithTTLForUpdate(idMeta, assignments, onlyStaticColumns, options);
     }
 
     public PreparedStatement prepareSelectAll(Session session, EntityMeta entityMeta) {
@@ -156,6 +166,20 @@ public class PreparedStatementGenerator {
         return session.prepare(statement.getQueryString());
     }
 
+    public PreparedStatement prepareSelectTokenRange(Session session, EntityMeta entityMeta) {
+        log.trace("Generate prepared statement for SELECT on token range of {}", entityMeta);
+
+        Selection select = select();
+
+        for (PropertyMeta pm : entityMeta.forOperations().getColumnsMetaToLoad()) {
+            select = pm.forStatementGeneration().prepareSelectField(select);
+        }
+        Select from = select.from(entityMeta.config().getTableName());
+
+        RegularStatement statement = entityMeta.getIdMeta().forStatementGeneration().generateWhereClauseForTokenRangeSelect(from);
+        return session.prepare(statement.getQueryString());
+    }
+
     public Map<CQLQueryType, PreparedStatement> prepareSimpleCounterQueryMap(Session session) {
 
         final String incr = update(ACHILLES_COUNTER_TABLE)
@@ -260,6 +284,10 @@ public class PreparedStatementGenerator {
     }
 
     public PreparedStatement prepareCollectionAndMapUpdate(Session session, EntityMeta meta, DirtyCheckChangeSet changeSet, Options options) {
+        return session.prepare(generateCollectionAndMapUpdate(meta, changeSet, options));
+    }
+
+    public RegularStatement generateCollectionAndMapUpdate(EntityMeta meta, DirtyCheckChangeSet changeSet, Options options) {
 
         final Update.Conditions conditions = update(meta.config().getTableName()).onlyIf();
 
@@ -305,9 +333,7 @@ public class PreparedStatementGenerator {
                 break;
         }
 
-        final RegularStatement regularStatement = prepareWhereClauseWithTTLForUpdate(meta.getIdMeta(), assignments,changeSet.getPropertyMeta().structure().isStaticColumn(), options);
-        final PreparedStatement preparedStatement = session.prepare(regularStatement);
-        return preparedStatement;
+        return prepareWhereClauseWithTTLForUpdate(meta.getIdMeta(), assignments,changeSet.getPropertyMeta().structure().isStaticColumn(), options);
     }
 
     // Slice Queries
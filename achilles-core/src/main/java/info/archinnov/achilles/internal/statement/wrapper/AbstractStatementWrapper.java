@@ -17,7 +17,6 @@
 package info.archinnov.achilles.internal.statement.wrapper;
 
 import static com.datastax.driver.core.BatchStatement.Type.LOGGED;
-import static com.datastax.driver.core.ColumnDefinitions.Definition;
 import static info.archinnov.achilles.listener.CASResultListener.CASResult;
 import static info.archinnov.achilles.listener.CASResultListener.CASResult.Operation;
 import static info.archinnov.achilles.listener.CASResultListener.CASResult.Operation.INSERT;
@@ -28,22 +27,27 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 
 import info.archinnov.achilles.exception.AchillesLightWeightTransactionException;
 import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.BatchStatement;
-import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ExecutionInfo;
 import com.datastax.driver.core.QueryTrace;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.TraceRetrievalException;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
-import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.internal.cql.RowColumnReader;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.TypedMap;
@@ -56,7 +60,6 @@ public abstract class AbstractStatementWrapper {
     protected static final String CAS_RESULT_COLUMN = "[applied]";
 
     protected static final Logger dmlLogger = LoggerFactory.getLogger(ACHILLES_DML_STATEMENT);
-    protected RowMethodInvoker invoker = new RowMethodInvoker();
 
     protected Optional<CASResultListener> casResultListener = Optional.absent();
 
@@ -64,6 +67,7 @@ public abstract class AbstractStatementWrapper {
     protected boolean traceQueryForEntity = false;
     protected boolean displayDMLForEntity = false;
     protected Logger entityLogger;
+    protected Optional<Object> routingKey = Optional.absent();
 
     protected AbstractStatementWrapper(Class<?> entityClass, Object[] values) {
         if (ArrayUtils.isNotEmpty(values)) {
@@ -81,10 +85,34 @@ public abstract class AbstractStatementWrapper {
         return values;
     }
 
+    public Optional<Object> getRoutingKey() {
+        return routingKey;
+    }
+
+    public void setRoutingKey(Object routingKey) {
+        this.routingKey = Optional.fromNullable(routingKey);
+    }
+
     public abstract ResultSet execute(Session session);
 
+    public ListenableFuture<ResultSet> executeAsync(Session session, ExecutorService executorService) {
+        logDMLStatement("");
+        final Statement statement = activateQueryTracing(getStatement());
+        final ResultSetFuture resultSetFuture = session.executeAsync(statement);
+        return Futures.transform(resultSetFuture, new Function<ResultSet, ResultSet>() {
+            @Override
+            public ResultSet apply(ResultSet resultSet) {
+                tracing(resultSet);
+                checkForCASSuccess(getQueryString(), resultSet);
+                return resultSet;
+            }
+        }, executorService);
+    }
+
     public abstract Statement getStatement();
 
+    public abstract String getQueryString();
+
     public abstract void logDMLStatement(String indentation);
 
     public static void writeDMLStartBatch(BatchStatement.Type batchType) {
@@ -144,27 +172,10 @@ public abstract class AbstractStatementWrapper {
             final Row casResult = resultSet.one();
             if (!casResult.getBool(CAS_RESULT_COLUMN)) {
                 TreeMap<String, Object> currentValues = new TreeMap<>();
-                for (Definition columnDef : casResult.getColumnDefinitions()) {
-                    final String columnDefName = columnDef.getName();
-                    final DataType dataType = columnDef.getType();
-                    final DataType.Name name = dataType.getName();
-
-                    Object columnValue;
-                    switch (name) {
-                        case LIST:
-                            columnValue = casResult.getList(columnDefName, dataType.getTypeArguments().get(0).asJavaClass());
-                            break;
-                        case SET:
-                            columnValue = casResult.getSet(columnDefName, dataType.getTypeArguments().get(0).asJavaClass());
-                            break;
-                        case MAP:
-                            final List<DataType> typeArguments = dataType.getTypeArguments();
-                            columnValue = casResult.getMap(columnDefName, typeArguments.get(0).asJavaClass(), typeArguments.get(1).asJavaClass());
-                            break;
-                        default:
-                            columnValue = invoker.invokeOnRowForType(casResult, name.asJavaClass(), columnDefName);
-                    }
-                    currentValues.put(columnDefName, columnValue);
+                final ColumnDefinitions definitions = casResult.getColumnDefinitions();
+                final RowColumnReader[] readers = RowColumnReader.forDefinitions(definitions);
+                for (int i = 0; i < readers.length; i++) {
+                    currentValues.put(definitions.getName(i), readers[i].read(casResult, i));
                 }
 
                 Operation operation = UPDATE;
@@ -54,6 +54,11 @@ public class BoundStatementWrapper extends AbstractStatementWrapper {
         return boundStatement;
     }
 
+    @Override
+    public String getQueryString() {
+        return boundStatement.preparedStatement().getQueryString();
+    }
+
     @Override
     public void logDMLStatement(String indentation) {
         if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
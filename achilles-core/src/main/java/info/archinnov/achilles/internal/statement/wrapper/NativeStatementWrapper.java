@@ -16,14 +16,16 @@
 
 package info.archinnov.achilles.internal.statement.wrapper;
 
-import com.datastax.driver.core.Statement;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ArrayUtils;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.statement.cache.NativeStatementCache;
 import info.archinnov.achilles.listener.CASResultListener;
 
 public class NativeStatementWrapper extends AbstractStatementWrapper {
@@ -31,21 +33,43 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
 
     private RegularStatement regularStatement;
 
+    private Optional<NativeStatementCache> statementCache = Optional.absent();
+
+    private boolean prepared = false;
+
     public NativeStatementWrapper(Class<?> entityClass, RegularStatement regularStatement, Object[] values, Optional<CASResultListener> casResultListener) {
         super(entityClass, values);
         this.regularStatement = regularStatement;
         super.casResultListener = casResultListener;
     }
 
+    public NativeStatementWrapper(Class<?> entityClass, RegularStatement regularStatement, Object[] values, Optional<CASResultListener> casResultListener,
+            Optional<NativeStatementCache> statementCache) {
+        this(entityClass, regularStatement, values, casResultListener);
+        this.statementCache = statementCache;
+        this.prepared = statementCache.isPresent() && statementCache.get().isPreparedByDefault();
+    }
+
+    /**
+     * Whether to execute the statement as a cached prepared statement. Ignored when no statement cache is available
+     */
+    public void setPrepared(boolean prepared) {
+        this.prepared = prepared;
+    }
+
     @Override
     public ResultSet execute(Session session) {
         logDMLStatement("");
-        activateQueryTracing(regularStatement);
         ResultSet resultSet;
-        if (ArrayUtils.isNotEmpty(super.values)) {
-            resultSet = session.execute(regularStatement.getQueryString(), super.values);
+        if (isPrepared()) {
+            resultSet = session.execute(activateQueryTracing(buildBoundStatement()));
         } else {
-            resultSet = session.execute(regularStatement);
+            activateQueryTracing(regularStatement);
+            if (ArrayUtils.isNotEmpty(super.values)) {
+                resultSet = session.execute(regularStatement.getQueryString(), super.values);
+            } else {
+                resultSet = session.execute(regularStatement);
+            }
         }
 
         tracing(resultSet);
@@ -55,13 +79,18 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
 
     @Override
     public Statement getStatement() {
-        return buildParameterizedStatement();
+        return isPrepared() ? buildBoundStatement() : buildParameterizedStatement();
+    }
+
+    @Override
+    public String getQueryString() {
+        return regularStatement.getQueryString();
     }
 
     @Override
     public void logDMLStatement(String indentation) {
         if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
-            String queryType = "Parameterized statement";
+            String queryType = isPrepared() ? "Prepared statement" : "Parameterized statement";
             String queryString = regularStatement.getQueryString();
             String consistencyLevel = regularStatement.getConsistencyLevel() == null ? "DEFAULT" : regularStatement
                     .getConsistencyLevel().name();
@@ -86,4 +115,25 @@ public class NativeStatementWrapper extends AbstractStatementWrapper {
         }
 
     }
+
+    boolean isPrepared() {
+        return prepared && statementCache.isPresent() && statementCache.get().isPreparable(regularStatement);
+    }
+
+    private BoundStatement buildBoundStatement() {
+        final BoundStatement boundStatement = statementCache.get().getOrPrepare(regularStatement.getQueryString()).bind(values);
+        if (regularStatement.getConsistencyLevel() != null) {
+            boundStatement.setConsistencyLevel(regularStatement.getConsistencyLevel());
+        }
+        if (regularStatement.getSerialConsistencyLevel() != null) {
+            boundStatement.setSerialConsistencyLevel(regularStatement.getSerialConsistencyLevel());
+        }
+        if (regularStatement.getFetchSize() > 0) {
+            boundStatement.setFetchSize(regularStatement.getFetchSize());
+        }
+        if (regularStatement.getRetryPolicy() != null) {
+            boundStatement.setRetryPolicy(regularStatement.getRetryPolicy());
+        }
+        return boundStatement;
+    }
 }
@@ -53,6 +53,11 @@ public class RegularStatementWrapper extends AbstractStatementWrapper {
         return regularStatement;
     }
 
+    @Override
+    public String getQueryString() {
+        return regularStatement.getQueryString();
+    }
+
     @Override
     public void logDMLStatement(String indentation) {
         if (dmlLogger.isDebugEnabled() || displayDMLForEntity) {
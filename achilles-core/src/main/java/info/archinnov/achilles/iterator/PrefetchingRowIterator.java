@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import java.util.Iterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ *
+ * Iterator over the rows of a paged <strong>CQL3</strong> result set which requests the next page
+ * in background as soon as the number of locally available rows drops to the prefetch threshold.
+ * <br/>
+ * Rows of the current page can be mapped to entities while the next page is travelling on the network
+ *
+ */
+public class PrefetchingRowIterator implements Iterator<Row> {
+
+    private static final Logger log = LoggerFactory.getLogger(PrefetchingRowIterator.class);
+
+    private final ResultSet resultSet;
+    private final Iterator<Row> iterator;
+    private final int prefetchThreshold;
+
+    public PrefetchingRowIterator(ResultSet resultSet, int prefetchThreshold) {
+        this.resultSet = resultSet;
+        this.iterator = resultSet.iterator();
+        this.prefetchThreshold = prefetchThreshold;
+    }
+
+    @Override
+    public boolean hasNext() {
+        prefetchIfNeeded();
+        return iterator.hasNext();
+    }
+
+    @Override
+    public Row next() {
+        prefetchIfNeeded();
+        return iterator.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Cannot remove row with iterator");
+    }
+
+    private void prefetchIfNeeded() {
+        if (resultSet.getAvailableWithoutFetching() <= prefetchThreshold && !resultSet.isFullyFetched()) {
+            log.trace("Only {} rows available, prefetching next page", resultSet.getAvailableWithoutFetching());
+            resultSet.fetchMoreResults();
+        }
+    }
+}
@@ -24,6 +24,8 @@ import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.Entity
 import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
 import static info.archinnov.achilles.type.OptionsBuilder.withConsistency;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,17 +35,22 @@ import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.querybuilder.Select;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.facade.PersistenceManagerOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.BulkEntityLoader;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
 import info.archinnov.achilles.internal.persistence.operations.OptionsValidator;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
+import info.archinnov.achilles.internal.persistence.operations.TokenRangeScanExecutor;
 import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.listener.EntityScanListener;
 import info.archinnov.achilles.query.cql.NativeQuery;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQuery;
@@ -65,9 +72,12 @@ abstract class AbstractPersistenceManager {
 
     protected EntityValidator entityValidator = new EntityValidator();
     protected TypedQueryValidator typedQueryValidator = new TypedQueryValidator();
+    protected BulkEntityLoader bulkLoader = new BulkEntityLoader();
 
     protected SliceQueryExecutor sliceQueryExecutor;
 
+    protected TokenRangeScanExecutor tokenRangeScanExecutor;
+
     protected DaoContext daoContext;
 
     protected AbstractPersistenceManager(Map<Class<?>, EntityMeta> entityMetaMap, //
@@ -77,6 +87,7 @@ abstract class AbstractPersistenceManager {
         this.daoContext = daoContext;
         this.contextFactory = contextFactory;
         this.sliceQueryExecutor = new SliceQueryExecutor(contextFactory, configContext, daoContext);
+        this.tokenRangeScanExecutor = new TokenRangeScanExecutor(contextFactory, daoContext);
     }
 
     protected <T> T insert(final T entity, Options options) {
@@ -89,7 +100,7 @@ abstract class AbstractPersistenceManager {
     }
 
     protected void update(Object entity, Options options) {
-        proxifier.ensureProxy(entity);
+        proxifier.ensureManaged(entity, entityMetaMap);
         Object realObject = proxifier.getRealObject(entity);
         entityValidator.validateEntity(realObject, entityMetaMap);
         optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
@@ -123,6 +134,82 @@ abstract class AbstractPersistenceManager {
         return context.find(entityClass);
     }
 
+    protected <T> ListenableFuture<T> insertAsync(final T entity, Options options) {
+        entityValidator.validateEntity(entity, entityMetaMap);
+
+        optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
+        proxifier.ensureNotProxy(entity);
+        PersistenceManagerOperations context = initPersistenceContext(entity, options);
+        return context.persistAsync(entity);
+    }
+
+    protected <T> ListenableFuture<T> updateAsync(T entity, Options options) {
+        proxifier.ensureManaged(entity, entityMetaMap);
+        Object realObject = proxifier.getRealObject(entity);
+        entityValidator.validateEntity(realObject, entityMetaMap);
+        optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
+        PersistenceManagerOperations context = initPersistenceContext(realObject, options);
+        return context.updateAsync(entity);
+    }
+
+    protected ListenableFuture<Void> removeAsync(final Object entity, Options options) {
+        Object realObject = proxifier.getRealObject(entity);
+        entityValidator.validateEntity(realObject, entityMetaMap);
+        PersistenceManagerOperations context = initPersistenceContext(realObject, options);
+        return context.removeAsync();
+    }
+
+    protected ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey, Options options) {
+        Validator.validateNotNull(entityClass, "The entity class should not be null for removal by id");
+        Validator.validateNotNull(primaryKey, "The primary key should not be null for removal by id");
+        PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, options);
+        entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+        return context.removeAsync();
+    }
+
+    protected <T> ListenableFuture<T> findAsync(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
+        Validator.validateNotNull(entityClass, "Entity class should not be null for find by id");
+        Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find by id");
+        Validator.validateTrue(entityMetaMap.containsKey(entityClass),"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+
+        PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, withConsistency(readLevel));
+        entityValidator.validatePrimaryKey(context.getIdMeta(), primaryKey);
+        return context.findAsync(entityClass);
+    }
+
+    protected <T> List<T> findAll(final Class<T> entityClass, Collection<?> primaryKeys, final ConsistencyLevel readLevel) {
+        Validator.validateNotNull(entityClass, "Entity class should not be null for find all by ids");
+        Validator.validateNotNull(primaryKeys, "Entity primary keys should not be null for find all by ids");
+        Validator.validateTrue(entityMetaMap.containsKey(entityClass),"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+
+        final EntityMeta meta = entityMetaMap.get(entityClass);
+        final List<Object> keys = new ArrayList<>(primaryKeys);
+        for (Object primaryKey : keys) {
+            Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for find all by ids");
+            entityValidator.validatePrimaryKey(meta.getIdMeta(), primaryKey);
+        }
+
+        final Function<Object, ListenableFuture<T>> asyncFind = new Function<Object, ListenableFuture<T>>() {
+            @Override
+            public ListenableFuture<T> apply(Object primaryKey) {
+                PersistenceManagerOperations context = initPersistenceContext(entityClass, primaryKey, withConsistency(readLevel));
+                return context.findAsync(entityClass);
+            }
+        };
+        return bulkLoader.loadAll(keys, asyncFind, configContext.getBulkFindMaxInFlight());
+    }
+
+    protected <T> long scan(Class<T> entityClass, EntityScanListener<T> listener, int parallelism, ConsistencyLevel readLevel) {
+        Validator.validateNotNull(entityClass, "Entity class should not be null for scan");
+        Validator.validateNotNull(listener, "Scan listener should not be null for scan");
+        Validator.validateTrue(entityMetaMap.containsKey(entityClass),"The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        Validator.validateTrue(parallelism > 0, "The scan parallelism '%s' should be strictly positive", parallelism);
+
+        final EntityMeta meta = entityMetaMap.get(entityClass);
+        final ConsistencyLevel level = readLevel != null ? readLevel : meta.config().getReadConsistencyLevel();
+        return tokenRangeScanExecutor.scan(meta, level, listener, parallelism);
+    }
+
     protected <T> T getProxy(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
         Validator.validateNotNull(entityClass, "Entity class should not be null for get reference");
         Validator.validateNotNull(primaryKey, "Entity primaryKey should not be null for get reference");
@@ -135,7 +222,7 @@ abstract class AbstractPersistenceManager {
     }
 
     protected void refresh(final Object entity, ConsistencyLevel readLevel) throws AchillesStaleObjectStateException {
-        proxifier.ensureProxy(entity);
+        proxifier.ensureManaged(entity, entityMetaMap);
         Object realObject = proxifier.getRealObject(entity);
         entityValidator.validateEntity(realObject, entityMetaMap);
         PersistenceManagerOperations context = initPersistenceContext(realObject, withConsistency(readLevel));
@@ -143,7 +230,11 @@ abstract class AbstractPersistenceManager {
     }
 
     protected <T> T initialize(final T entity) {
-        proxifier.ensureProxy(entity);
+        proxifier.ensureManaged(entity, entityMetaMap);
+        if (!proxifier.isProxy(entity)) {
+            // Detached entities are returned with all their columns loaded, there is nothing left to initialize
+            return entity;
+        }
         T realObject = proxifier.getRealObject(entity);
         PersistenceManagerOperations context = initPersistenceContext(realObject, noOptions());
         return context.initialize(entity);
@@ -18,6 +18,7 @@ package info.archinnov.achilles.persistence;
 import com.datastax.driver.core.RegularStatement;
 import com.google.common.base.Optional;
 import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.BatchChunker;
 import info.archinnov.achilles.internal.context.BatchingFlushContext;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
@@ -90,10 +91,18 @@ public class Batch extends CommonPersistenceManager {
 
     Batch(Map<Class<?>, EntityMeta> entityMetaMap, PersistenceContextFactory contextFactory,
             DaoContext daoContext, ConfigurationContext configContext, boolean orderedBatch) {
+        this(entityMetaMap, contextFactory, daoContext, configContext, orderedBatch, false);
+    }
+
+    Batch(Map<Class<?>, EntityMeta> entityMetaMap, PersistenceContextFactory contextFactory,
+            DaoContext daoContext, ConfigurationContext configContext, boolean orderedBatch, boolean partitionAware) {
         super(entityMetaMap, contextFactory, daoContext, configContext);
         this.defaultConsistencyLevel = configContext.getDefaultWriteConsistencyLevel();
         this.orderedBatch = orderedBatch;
-        this.flushContext = new BatchingFlushContext(daoContext, defaultConsistencyLevel, Optional.<com.datastax.driver.core.ConsistencyLevel>absent());
+        this.flushContext = new BatchingFlushContext(daoContext, defaultConsistencyLevel, Optional.<com.datastax.driver.core.ConsistencyLevel>absent(),
+                partitionAware, new BatchChunker(configContext.getBatchMaxStatements(), configContext.getBatchMaxSizeInBytes(),
+                        configContext.isBatchSplitLogged()),
+                configContext.isBatchCoalesceMutations() && !orderedBatch);
     }
 
     /**
@@ -287,7 +296,7 @@ public class Batch extends CommonPersistenceManager {
         } else {
             entityValidator.validateEntity(entity, entityMetaMap);
 
-            if (proxifier.isProxy(entity)) {
+            if (proxifier.isManaged(entity, entityMetaMap)) {
                 super.update(entity, maybeAddTimestampToStatement(options));
                 return entity;
             } else {
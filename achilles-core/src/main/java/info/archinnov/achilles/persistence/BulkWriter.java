@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import static com.google.common.util.concurrent.MoreExecutors.sameThreadExecutor;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
+import info.archinnov.achilles.internal.persistence.operations.OptionsValidator;
+import info.archinnov.achilles.internal.validation.Validator;
+import info.archinnov.achilles.listener.BulkWriteListener;
+import info.archinnov.achilles.type.Options;
+
+/**
+ * <p>
+ * Streaming writer to load large volumes of entities.
+ * <br/>
+ * Each <em>add()</em> sends an asynchronous insert, no proxy is built for the written entities.
+ * At most <em>achilles.bulk.writer.max.in.flight</em> inserts are pending at any time; beyond this limit,
+ * <em>add()</em> blocks until a pending insert completes.
+ * Failures are reported entity by entity to the {@link info.archinnov.achilles.listener.BulkWriteListener}
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   BulkWriter&lt;User&gt; writer = persistenceManagerFactory.createBulkWriter(User.class);
+ *
+ *   for(User user: users) {
+ *      writer.add(user);
+ *   }
+ *
+ *   writer.close(); // wait for all pending inserts
+ *
+ * </code></pre>
+ *
+ * This BulkWriter is <strong>thread-safe</strong>
+ * </p>
+ *
+ * @param <T>: type of entity to write
+ */
+public class BulkWriter<T> implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkWriter.class);
+
+    private final Class<T> entityClass;
+    private final Options options;
+    private final BulkWriteListener<T> listener;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final AtomicLong writtenCount = new AtomicLong(0);
+    private final AtomicLong failedCount = new AtomicLong(0);
+    private volatile boolean closed = false;
+
+    protected Map<Class<?>, EntityMeta> entityMetaMap;
+    protected PersistenceContextFactory contextFactory;
+
+    protected EntityProxifier proxifier = new EntityProxifier();
+    protected EntityValidator entityValidator = new EntityValidator();
+    protected OptionsValidator optionsValidator = new OptionsValidator();
+
+    BulkWriter(Map<Class<?>, EntityMeta> entityMetaMap, PersistenceContextFactory contextFactory, Class<T> entityClass,
+            Options options, BulkWriteListener<T> listener, int maxInFlight) {
+        Validator.validateTrue(entityMetaMap.containsKey(entityClass), "The entity class '%s' is not managed by Achilles", entityClass.getCanonicalName());
+        Validator.validateTrue(maxInFlight > 0, "The max in-flight writes '%s' should be strictly positive", maxInFlight);
+        this.entityMetaMap = entityMetaMap;
+        this.contextFactory = contextFactory;
+        this.entityClass = entityClass;
+        this.options = options;
+        this.listener = listener;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Send an asynchronous insert for the entity. Blocks if the max number of in-flight
+     * inserts is reached
+     *
+     * @param entity
+     *            Entity to be inserted
+     */
+    public void add(final T entity) {
+        log.trace("Add entity {} to bulk writer", entity);
+        Validator.validateFalse(closed, "Cannot add entity to a closed BulkWriter");
+        Validator.validateInstanceOf(entity, entityClass, "The entity '%s' should be of type '%s'", entity, entityClass.getCanonicalName());
+        entityValidator.validateEntity(entity, entityMetaMap);
+        optionsValidator.validateOptionsForUpsert(entity, entityMetaMap, options);
+        proxifier.ensureNotProxy(entity);
+
+        acquire(1);
+        final ListenableFuture<Void> future;
+        try {
+            future = contextFactory.newContext(entity, options).getPersistenceManagerFacade().insertAsync(entity);
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+        Futures.addCallback(future, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                try {
+                    writtenCount.incrementAndGet();
+                    listener.onSuccess(entity);
+                } finally {
+                    inFlight.release();
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                try {
+                    failedCount.incrementAndGet();
+                    listener.onFailure(entity, throwable);
+                } finally {
+                    inFlight.release();
+                }
+            }
+        }, sameThreadExecutor());
+    }
+
+    /**
+     * Wait until all pending inserts are completed
+     */
+    public void flush() {
+        log.debug("Flush bulk writer for entity class {}", entityClass);
+        acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    /**
+     * Wait until all pending inserts are completed and forbid further <em>add()</em>
+     */
+    @Override
+    public void close() {
+        log.debug("Close bulk writer for entity class {}", entityClass);
+        closed = true;
+        flush();
+    }
+
+    /**
+     * @return number of entities written successfully so far
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * @return number of entities whose write failed so far
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void acquire(int permits) {
+        try {
+            inFlight.acquire(permits);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AchillesException("Interrupted while waiting for pending writes of bulk writer", ex);
+        }
+    }
+
+    static class LoggingBulkWriteListener<T> implements BulkWriteListener<T> {
+
+        @Override
+        public void onSuccess(T entity) {
+        }
+
+        @Override
+        public void onFailure(T entity, Throwable throwable) {
+            log.error(String.format("Fail to write entity %s", entity), throwable);
+        }
+    }
+}
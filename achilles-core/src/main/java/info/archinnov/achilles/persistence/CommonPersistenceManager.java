@@ -138,7 +138,7 @@ public class CommonPersistenceManager extends AbstractPersistenceManager {
         entityValidator.validateEntity(entity, entityMetaMap);
         log.debug("Inserting or updating entity '{}' with options {}", proxifier.getRealObject(entity), options);
 
-        if (proxifier.isProxy(entity)) {
+        if (proxifier.isManaged(entity, entityMetaMap)) {
             super.update(entity, options);
             return entity;
         } else {
@@ -17,6 +17,7 @@ package info.archinnov.achilles.persistence;
 
 import static info.archinnov.achilles.type.OptionsBuilder.noOptions;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -24,11 +25,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.listener.EntityScanListener;
 import info.archinnov.achilles.query.cql.NativeQuery;
 import info.archinnov.achilles.query.slice.SliceQueryBuilder;
 import info.archinnov.achilles.query.typed.TypedQuery;
@@ -150,6 +153,15 @@ import info.archinnov.achilles.type.Options;
  *      // Load all other lazy fields
  *      manager.initialize(userProxy);
  *  </code></pre>
+ *
+ *  <h3>XII Asynchronous operations</h3>
+ *  <pre class="code"><code class="java">
+ *      ListenableFuture&lt;User&gt; futureUser = manager.findAsync(User.class,1L);
+ *      ...
+ *
+ *      // Mapping, proxy creation and interceptors are executed on the configured executor service
+ *      User managedUser = futureUser.get();
+ *  </code></pre>
  * </p>
  *
  *
@@ -202,6 +214,284 @@ public class PersistenceManager extends CommonPersistenceManager {
         return super.find(entityClass, primaryKey, readLevel);
     }
 
+    /**
+     * Find a list of entities by their primary keys. The lookups are sent concurrently, with at most
+     * <em>achilles.bulk.find.max.in.flight</em> pending lookups at a time
+     *
+     *  <pre class="code"><code class="java">
+     *      // Read data from Cassandra
+     *      List&lt;User&gt; managedUsers = manager.findAll(User.class,Arrays.asList(1L,2L,3L));
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param primaryKeys
+     *            Primary keys (Cassandra row keys) of the entities to load
+     * @return list of managed entities, in the same order as the primary keys. Entities not found are marked as null
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys) {
+        log.debug("Find all entities of class '{}' with primary keys {}", entityClass, primaryKeys);
+        return super.findAll(entityClass, primaryKeys, null);
+    }
+
+    /**
+     * Find a list of entities by their primary keys with the given Consistency Level for read
+     *
+     *  <pre class="code"><code class="java">
+     *      // Read data from Cassandra
+     *      List&lt;User&gt; managedUsers = manager.findAll(User.class,Arrays.asList(1L,2L,3L),QUORUM);
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param primaryKeys
+     *            Primary keys (Cassandra row keys) of the entities to load
+     * @param readLevel
+     *            Consistency Level for read
+     * @return list of managed entities, in the same order as the primary keys. Entities not found are marked as null
+     */
+    public <T> List<T> findAll(Class<T> entityClass, Collection<?> primaryKeys, ConsistencyLevel readLevel) {
+        log.debug("Find all entities of class '{}' with primary keys {} and read consistency level {}", entityClass, primaryKeys, readLevel);
+        return super.findAll(entityClass, primaryKeys, readLevel);
+    }
+
+    /**
+     * Scan the whole table of an entity. The ring is split into token ranges which are queried
+     * in parallel, each scanned entity being handed to the listener
+     *
+     *  <pre class="code"><code class="java">
+     *      long count = manager.scan(User.class, new EntityScanListener&lt;User&gt;() {
+     *          public void onEntity(User user) {
+     *              exporter.export(user);
+     *          }
+     *      });
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param listener
+     *            Listener called for each scanned entity, from several threads concurrently
+     * @return number of scanned entities
+     */
+    public <T> long scan(Class<T> entityClass, EntityScanListener<T> listener) {
+        log.debug("Scan table of entity class '{}'", entityClass);
+        return super.scan(entityClass, listener, configContext.getScanParallelism(), null);
+    }
+
+    /**
+     * Scan the whole table of an entity with the given parallelism and Consistency Level for read
+     *
+     *  <pre class="code"><code class="java">
+     *      long count = manager.scan(User.class, listener, 16, ONE);
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param listener
+     *            Listener called for each scanned entity, from several threads concurrently
+     * @param parallelism
+     *            Number of token ranges queried concurrently
+     * @param readLevel
+     *            Consistency Level for read
+     * @return number of scanned entities
+     */
+    public <T> long scan(Class<T> entityClass, EntityScanListener<T> listener, int parallelism, ConsistencyLevel readLevel) {
+        log.debug("Scan table of entity class '{}' with parallelism {} and read consistency level {}", entityClass, parallelism, readLevel);
+        return super.scan(entityClass, listener, parallelism, readLevel);
+    }
+
+    /**
+     * Find an entity asynchronously.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Read data from Cassandra
+     *      ListenableFuture&lt;User&gt; futureUser = manager.findAsync(User.class,1L);
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param primaryKey
+     *            Primary key (Cassandra row key) of the entity to load
+     * @return future of the managed entity, or of null if not found
+     */
+    public <T> ListenableFuture<T> findAsync(Class<T> entityClass, Object primaryKey) {
+        log.debug("Find asynchronously entity class '{}' with primary key {}", entityClass, primaryKey);
+        return super.findAsync(entityClass, primaryKey, null);
+    }
+
+    /**
+     * Find an entity asynchronously with the given Consistency Level for read
+     *
+     *  <pre class="code"><code class="java">
+     *      // Read data from Cassandra
+     *      ListenableFuture&lt;User&gt; futureUser = manager.findAsync(User.class,1L,QUORUM);
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param primaryKey
+     *            Primary key (Cassandra row key) of the entity to load
+     * @param readLevel
+     *            Consistency Level for read
+     * @return future of the managed entity, or of null if not found
+     */
+    public <T> ListenableFuture<T> findAsync(final Class<T> entityClass, final Object primaryKey, ConsistencyLevel readLevel) {
+        log.debug("Find asynchronously entity class '{}' with primary key {} and read consistency level {}", entityClass, primaryKey, readLevel);
+        return super.findAsync(entityClass, primaryKey, readLevel);
+    }
+
+    /**
+     * Insert an entity asynchronously.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Persist
+     *      ListenableFuture&lt;MyEntity&gt; futureManagedEntity = manager.insertAsync(myEntity);
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be inserted
+     * @return future of the proxified entity
+     */
+    public <T> ListenableFuture<T> insertAsync(T entity) {
+        log.debug("Inserting asynchronously entity '{}'", entity);
+        return super.insertAsync(entity, noOptions());
+    }
+
+    /**
+     * Insert an entity asynchronously with the given options.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Persist
+     *      ListenableFuture&lt;MyEntity&gt; futureManagedEntity = manager.insertAsync(myEntity, OptionsBuilder.withTtl(3600));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be inserted
+     * @param options
+     *            options
+     * @return future of the proxified entity
+     */
+    public <T> ListenableFuture<T> insertAsync(final T entity, Options options) {
+        log.debug("Inserting asynchronously entity '{}' with options {} ", entity, options);
+        return super.insertAsync(entity, options);
+    }
+
+    /**
+     * Update asynchronously a "managed" entity
+     *
+     *  <pre class="code"><code class="java">
+     *      User managedUser = manager.find(User.class,1L);
+     *      user.setFirstname("DuyHai");
+     *
+     *      ListenableFuture&lt;User&gt; futureUser = manager.updateAsync(user);
+     *  </code></pre>
+     *
+     * @param entity
+     *            Managed entity to be updated
+     * @return future of the managed entity
+     */
+    public <T> ListenableFuture<T> updateAsync(T entity) {
+        log.debug("Updating asynchronously entity '{}'", proxifier.getRealObject(entity));
+        return super.updateAsync(entity, noOptions());
+    }
+
+    /**
+     * Update asynchronously a "managed" entity with options
+     *
+     *  <pre class="code"><code class="java">
+     *      User managedUser = manager.find(User.class,1L);
+     *      user.setFirstname("DuyHai");
+     *
+     *      ListenableFuture&lt;User&gt; futureUser = manager.updateAsync(user, OptionsBuilder.withTtl(10));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Managed entity to be updated
+     * @param options
+     *            options
+     * @return future of the managed entity
+     */
+    public <T> ListenableFuture<T> updateAsync(T entity, Options options) {
+        log.debug("Updating asynchronously entity '{}' with options {} ", proxifier.getRealObject(entity), options);
+        return super.updateAsync(entity, options);
+    }
+
+    /**
+     * Remove an entity asynchronously.
+     *
+     *  <pre class="code"><code class="java">
+     *      User managedUser = manager.find(User.class,1L);
+     *      ListenableFuture&lt;Void&gt; futureRemoval = manager.removeAsync(managedUser);
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be removed
+     * @return future completed when the removal is done
+     */
+    public ListenableFuture<Void> removeAsync(Object entity) {
+        log.debug("Removing asynchronously entity '{}'", proxifier.getRealObject(entity));
+        return super.removeAsync(entity, noOptions());
+    }
+
+    /**
+     * Remove an entity asynchronously with the given options.
+     *
+     *  <pre class="code"><code class="java">
+     *      User managedUser = manager.find(User.class,1L);
+     *      ListenableFuture&lt;Void&gt; futureRemoval = manager.removeAsync(managedUser, OptionsBuilder.withConsistency(QUORUM));
+     *  </code></pre>
+     *
+     * @param entity
+     *            Entity to be removed
+     * @param options
+     *            options for consistency level and timestamp
+     * @return future completed when the removal is done
+     */
+    public ListenableFuture<Void> removeAsync(final Object entity, Options options) {
+        log.debug("Removing asynchronously entity '{}' with options {}", proxifier.getRealObject(entity), options);
+        return super.removeAsync(entity, options);
+    }
+
+    /**
+     * Remove an entity asynchronously by its id.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Direct remove without read-before-write
+     *      ListenableFuture&lt;Void&gt; futureRemoval = manager.removeByIdAsync(User.class,1L);
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity class
+     *
+     * @param primaryKey
+     *            Primary key
+     * @return future completed when the removal is done
+     */
+    public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey) {
+        log.debug("Removing asynchronously entity of type '{}' by its id '{}'", entityClass, primaryKey);
+        return super.removeByIdAsync(entityClass, primaryKey, noOptions());
+    }
+
+    /**
+     * Remove an entity asynchronously by its id with the given options.
+     *
+     *  <pre class="code"><code class="java">
+     *      // Direct remove without read-before-write
+     *      ListenableFuture&lt;Void&gt; futureRemoval = manager.removeByIdAsync(User.class,1L,OptionsBuilder.withConsistency(QUORUM));
+     *  </code></pre>
+     *
+     * @param entityClass
+     *            Entity class
+     *
+     * @param primaryKey
+     *            Primary key
+     * @return future completed when the removal is done
+     */
+    public ListenableFuture<Void> removeByIdAsync(Class<?> entityClass, Object primaryKey, Options options) {
+        log.debug("Removing asynchronously entity of type '{}' by its id '{}'", entityClass, primaryKey);
+        return super.removeByIdAsync(entityClass, primaryKey, options);
+    }
+
     /**
      * Create a proxy for the entity. An new empty entity will be created,
      * populated with the provided primary key and then proxified. This method
@@ -713,4 +1003,23 @@ public class PersistenceManager extends CommonPersistenceManager {
         log.debug("Create new ordered Batch");
         return new Batch(entityMetaMap, contextFactory, daoContext, configContext, true);
     }
+
+    /**
+     * Create a new state-full <strong>partition aware</strong> Batch <br/>
+     * <br/>
+     * <p>
+     * At <em>endBatch()</em>, statements are grouped by partition. Each group is sent as an <strong>UNLOGGED</strong>
+     * batch, all groups in parallel. A group with a single statement is sent as a plain statement.
+     * Atomicity is only guaranteed within a partition
+     * </p>
+     * <strong>WARNING : This Batch is state-full and not
+     * thread-safe. In case of exception, you MUST not re-use it but create
+     * another one</strong>
+     *
+     * @return a new state-full PersistenceManager
+     */
+    public Batch createPartitionAwareBatch() {
+        log.debug("Create new partition aware Batch");
+        return new Batch(entityMetaMap, contextFactory, daoContext, configContext, false, true);
+    }
 }
@@ -17,6 +17,8 @@ package info.archinnov.achilles.persistence;
 
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_FIND_MAX_IN_FLIGHT;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_WRITER_MAX_IN_FLIGHT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
@@ -25,7 +27,10 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.ENAB
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE_FOR_TABLES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCANNING_FALLBACK;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCAN_INDEXED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.EXECUTOR_SERVICE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
@@ -33,21 +38,39 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.NATI
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.JACKSON_MAPPER_FACTORY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_FILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DETACHED_ENTITIES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PARALLELISM;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_SPLIT_LOGGED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_COALESCE_MUTATIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_MAX_PENDING_COUNTERS;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.CounterDeltaAggregator;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
@@ -58,8 +81,11 @@ import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.internal.validation.Validator;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.listener.BulkWriteListener;
 import info.archinnov.achilles.type.ConsistencyLevel;
 import info.archinnov.achilles.type.InsertStrategy;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 
 /**
  * <p>
@@ -79,6 +105,8 @@ public class PersistenceManagerFactory {
 
     PersistenceContextFactory contextFactory;
 
+    Optional<CounterDeltaAggregator> counterAggregator = Optional.absent();
+
     ConfigMap configurationMap;
 
     private ArgumentExtractor argumentExtractor = new ArgumentExtractor();
@@ -116,7 +144,8 @@ public class PersistenceManagerFactory {
         bootstrapper.validateOrCreateTables(schemaContext);
 
         daoContext = bootstrapper.buildDaoContext(session, parsingResult, configContext);
-        contextFactory = new PersistenceContextFactory(daoContext, configContext, parsingResult.getMetaMap());
+        counterAggregator = CounterDeltaAggregator.create(daoContext, configContext);
+        contextFactory = new PersistenceContextFactory(daoContext, configContext, parsingResult.getMetaMap(), counterAggregator);
 
         warmUpProxies();
 
@@ -186,6 +215,94 @@ public class PersistenceManagerFactory {
         return new Batch(entityMetaMap, contextFactory, daoContext, configContext, true);
     }
 
+    /**
+     * Create a new state-full <strong>partition aware</strong> Batch <br/>
+     * <br/>
+     * <p>
+     * At <em>endBatch()</em>, statements are grouped by partition. Each group is sent as an <strong>UNLOGGED</strong>
+     * batch, all groups in parallel. A group with a single statement is sent as a plain statement.
+     * Atomicity is only guaranteed within a partition
+     * </p>
+     * <strong>WARNING : This Batch is state-full and not
+     * thread-safe. In case of exception, you MUST not re-use it but create
+     * another one</strong>
+     *
+     * @return a new state-full PersistenceManager
+     */
+    public Batch createPartitionAwareBatch() {
+        log.debug("Spawn new partition aware BatchingPersistenceManager");
+        return new Batch(entityMetaMap, contextFactory, daoContext, configContext, false, true);
+    }
+
+    /**
+     * Create a new BulkWriter for the entity class. Failed writes are logged. This BulkWriter
+     * is <strong>thread-safe</strong>
+     *
+     * @param entityClass
+     *            Entity type
+     * @return a new BulkWriter
+     */
+    public <T> BulkWriter<T> createBulkWriter(Class<T> entityClass) {
+        return createBulkWriter(entityClass, OptionsBuilder.noOptions(), new BulkWriter.LoggingBulkWriteListener<T>());
+    }
+
+    /**
+     * Create a new BulkWriter for the entity class with options and listener. This BulkWriter
+     * is <strong>thread-safe</strong>
+     *
+     * @param entityClass
+     *            Entity type
+     * @param options
+     *            Options (ttl, timestamp, consistency) applied to each insert
+     * @param listener
+     *            Listener notified of the outcome of each insert
+     * @return a new BulkWriter
+     */
+    public <T> BulkWriter<T> createBulkWriter(Class<T> entityClass, Options options, BulkWriteListener<T> listener) {
+        log.debug("Spawn new BulkWriter for entity class {}", entityClass);
+        Validator.validateNotNull(entityClass, "Entity class should not be null for bulk writer");
+        Validator.validateNotNull(options, "Options should not be null for bulk writer");
+        Validator.validateNotNull(listener, "Bulk write listener should not be null for bulk writer");
+        return new BulkWriter<>(entityMetaMap, contextFactory, entityClass, options, listener, configContext.getBulkWriterMaxInFlight());
+    }
+
+    /**
+     * Send immediately the counter deltas aggregated so far. Does nothing unless
+     * <em>achilles.counter.aggregation.flush.interval.ms</em> is strictly positive
+     */
+    public void flushAggregatedCounters() {
+        if (counterAggregator.isPresent()) {
+            counterAggregator.get().flush();
+        }
+    }
+
+    /**
+     * Stop the background tasks started at bootstrap and remove their JVM shutdown hooks. The counter
+     * deltas aggregated so far are sent and the prepared statements manifest is saved a last time.
+     * The default executor service created by Achilles is shut down, pending tasks are still executed.
+     * An executor service provided with <em>withExecutorService()</em> is left untouched.
+     * The factory and its managers should not be used afterwards
+     */
+    public void shutDown() {
+        log.info("Shutting down Achilles PersistenceManagerFactory");
+        if (counterAggregator.isPresent()) {
+            counterAggregator.get().shutDown();
+        }
+        if (daoContext != null) {
+            daoContext.shutDown();
+        }
+        if (configContext != null && configContext.isExecutorServiceOwned()) {
+            configContext.getExecutorService().shutdown();
+        }
+    }
+
+    /**
+     * @return hit and miss statistics of the prepared statements cache of native and typed queries
+     */
+    public CacheStats getNativeQueriesCacheStats() {
+        return daoContext.getNativeStatementCache().stats();
+    }
+
     /**
      * Serialize the entity in JSON using a registered Object Mapper or default Achilles Object Mapper
      * @param entity
@@ -274,6 +391,35 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Scan the classpath for the entity packages having no entity listed in the <em>META-INF/achilles/entities.idx</em>
+         * index files written by the achilles-processor annotation processor. Packages having indexed entities are read
+         * from the index only. When disabled, the classpath is never scanned.
+         * Default = true
+         *
+         * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Configuration-Parameters#entity-parsing" target="_blank">Entity parsing</a>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withEntityPackagesScanningFallback(boolean scanningFallback) {
+            configMap.put(ENTITY_PACKAGES_SCANNING_FALLBACK, scanningFallback);
+            return this;
+        }
+
+        /**
+         * Also scan the entity packages having indexed entities and merge the result with the index, to discover
+         * entities missing from a stale index. Costs a full classpath scan, ignored when the scanning fallback is disabled.
+         * Default = false
+         *
+         * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Configuration-Parameters#entity-parsing" target="_blank">Entity parsing</a>
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withIndexedEntityPackagesScanning(boolean scanIndexed) {
+            configMap.put(ENTITY_PACKAGES_SCAN_INDEXED, scanIndexed);
+            return this;
+        }
+
         /**
          * Define a pre-configured Jackson Object Mapper for serialization of
          * non-primitive types
@@ -463,6 +609,80 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Prepare at bootstrap the insert, update, select and collection statements of each entity and
+         * load them into the prepared statements cache. Default = false
+         *
+         * @param preparedStatementsWarmUp
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder warmUpPreparedStatements(boolean preparedStatementsWarmUp) {
+            configMap.put(PREPARED_STATEMENTS_WARM_UP, preparedStatementsWarmUp);
+            return this;
+        }
+
+        /**
+         * Define the max number of statements prepared concurrently during the warm-up. Default = 16
+         *
+         * @param warmUpParallelism
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withPreparedStatementsWarmUpParallelism(int warmUpParallelism) {
+            configMap.put(PREPARED_STATEMENTS_WARM_UP_PARALLELISM, warmUpParallelism);
+            return this;
+        }
+
+        /**
+         * Record the shapes of the prepared statements used at runtime into a file and prepare them
+         * again at the next bootstrap. Default = none
+         *
+         * @param manifestFile
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withPreparedStatementsManifestFile(String manifestFile) {
+            configMap.put(PREPARED_STATEMENTS_MANIFEST_FILE, manifestFile);
+            return this;
+        }
+
+        /**
+         * Define the interval in milliseconds between two saves of the prepared statements manifest. Default = 60000
+         *
+         * @param saveIntervalMillis
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withPreparedStatementsManifestSaveIntervalMillis(long saveIntervalMillis) {
+            configMap.put(PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS, saveIntervalMillis);
+            return this;
+        }
+
+        /**
+         * Execute native and typed queries as prepared statements cached by query string. Default = false
+         *
+         * @param nativeQueriesPrepared
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder prepareNativeQueries(boolean nativeQueriesPrepared) {
+            configMap.put(NATIVE_QUERIES_PREPARED, nativeQueriesPrepared);
+            return this;
+        }
+
+        /**
+         * Define the max number of prepared statements cached for native and typed queries. Default = 1000
+         *
+         * @param cacheSize
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withNativeQueriesPreparedStatementsCacheSize(int cacheSize) {
+            configMap.put(NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE, cacheSize);
+            return this;
+        }
+
         /**
          * Whether to disable proxies warm up or not.
          *
@@ -476,6 +696,19 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Return loaded entities as plain objects instead of proxies. <em>update()</em> then writes
+         * the columns which differ from the snapshot taken at load time. Default = false
+         *
+         * @param detachedEntities
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withDetachedEntities(boolean detachedEntities) {
+            configMap.put(DETACHED_ENTITIES, detachedEntities);
+            return this;
+        }
+
 
         /**
          * Define the global insert strategy
@@ -503,6 +736,134 @@ public class PersistenceManagerFactory {
             return this;
         }
 
+        /**
+         * Define the executor service used for asynchronous operations. If not
+         * provided, Achilles creates a default bounded thread pool.
+         * A provided executor service is never shut down by Achilles
+         *
+         * @param executorService
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withExecutorService(ExecutorService executorService) {
+            configMap.put(EXECUTOR_SERVICE, executorService);
+            return this;
+        }
+
+        /**
+         * Define the max number of concurrent lookups sent by <em>findAll()</em>. Default = 64
+         *
+         * @param bulkFindMaxInFlight
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBulkFindMaxInFlight(int bulkFindMaxInFlight) {
+            configMap.put(BULK_FIND_MAX_IN_FLIGHT, bulkFindMaxInFlight);
+            return this;
+        }
+
+        /**
+         * Define the number of token ranges queried concurrently by <em>scan()</em>. Default = 8
+         *
+         * @param scanParallelism
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withScanParallelism(int scanParallelism) {
+            configMap.put(SCAN_PARALLELISM, scanParallelism);
+            return this;
+        }
+
+        /**
+         * Define the max number of statements in a single batch sent by <em>endBatch()</em>.
+         * Bigger unlogged and counter batches are split into chunks. 0 means no limit. Default = 500
+         *
+         * @param batchMaxStatements
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchMaxStatements(int batchMaxStatements) {
+            configMap.put(BATCH_MAX_STATEMENTS, batchMaxStatements);
+            return this;
+        }
+
+        /**
+         * Define the max estimated size in bytes of a single batch sent by <em>endBatch()</em>.
+         * Bigger unlogged and counter batches are split into chunks. 0 means no limit. Default = 50kb
+         *
+         * @param batchMaxSizeInBytes
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchMaxSizeInBytes(int batchMaxSizeInBytes) {
+            configMap.put(BATCH_MAX_SIZE_IN_BYTES, batchMaxSizeInBytes);
+            return this;
+        }
+
+        /**
+         * Also split logged batches into chunks, each chunk being atomic on its own.
+         * Default = false: logged batches are never split
+         *
+         * @param batchSplitLogged
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchSplitLogged(boolean batchSplitLogged) {
+            configMap.put(BATCH_SPLIT_LOGGED, batchSplitLogged);
+            return this;
+        }
+
+        /**
+         * Merge the mutations of a batch on the same entity before binding statements at <em>endBatch()</em>.
+         * Ignored for ordered batches. Default = false
+         *
+         * @param batchCoalesceMutations
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBatchCoalesceMutations(boolean batchCoalesceMutations) {
+            configMap.put(BATCH_COALESCE_MUTATIONS, batchCoalesceMutations);
+            return this;
+        }
+
+        /**
+         * Define the max number of pending asynchronous inserts of a <em>BulkWriter</em>. Default = 256
+         *
+         * @param bulkWriterMaxInFlight
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withBulkWriterMaxInFlight(int bulkWriterMaxInFlight) {
+            configMap.put(BULK_WRITER_MAX_IN_FLIGHT, bulkWriterMaxInFlight);
+            return this;
+        }
+
+        /**
+         * Aggregate simple counter increments in memory and flush them every <em>counterAggregationFlushIntervalMillis</em>.
+         * Counter reads do not see pending deltas. The increments of a failed flush are logged and lost, they are
+         * not retried since counter increments are not idempotent. 0 disables aggregation. Default = 0
+         *
+         * @param counterAggregationFlushIntervalMillis
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withCounterAggregationFlushIntervalMillis(long counterAggregationFlushIntervalMillis) {
+            configMap.put(COUNTER_AGGREGATION_FLUSH_INTERVAL_MS, counterAggregationFlushIntervalMillis);
+            return this;
+        }
+
+        /**
+         * Define the number of counters with pending deltas which triggers an early flush of the counter aggregator. Default = 10000
+         *
+         * @param counterAggregationMaxPendingCounters
+         *
+         * @return PersistenceManagerFactoryBuilder
+         */
+        public PersistenceManagerFactoryBuilder withCounterAggregationMaxPendingCounters(int counterAggregationMaxPendingCounters) {
+            configMap.put(COUNTER_AGGREGATION_MAX_PENDING_COUNTERS, counterAggregationMaxPendingCounters);
+            return this;
+        }
+
         /**
          * Build a new PersistenceManagerFactory
          *
@@ -19,7 +19,12 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
 import info.archinnov.achilles.internal.statement.wrapper.NativeQueryLog;
@@ -53,11 +58,25 @@ public class NativeQuery {
 
     public NativeQuery(DaoContext daoContext, RegularStatement regularStatement, Options options, Object... boundValues) {
         this.daoContext = daoContext;
-        this.nativeStatementWrapper = new NativeStatementWrapper(NativeQueryLog.class, regularStatement, boundValues, options.getCasResultListener());
+        this.nativeStatementWrapper = new NativeStatementWrapper(NativeQueryLog.class, regularStatement, boundValues, options.getCasResultListener(),
+                Optional.fromNullable(daoContext.getNativeStatementCache()));
         this.options = options;
         this.boundValues = boundValues;
     }
 
+    /**
+     * Execute this query as a prepared statement cached by query string, or as a plain statement.
+     * Default to <em>achilles.native.queries.prepared</em>
+     *
+     * @param prepared
+     *
+     * @return NativeQuery
+     */
+    public NativeQuery withPreparedStatement(boolean prepared) {
+        nativeStatementWrapper.setPrepared(prepared);
+        return this;
+    }
+
     /**
      * Return found rows. The list represents the number of returned rows The
      * map contains the (column name, column value) of each row. The map is
@@ -67,11 +86,28 @@ public class NativeQuery {
      * @return List<TypedMap>
      */
     public List<TypedMap> get() {
-        log.debug("Get results for native query {}", nativeStatementWrapper.getStatement());
+        log.debug("Get results for native query {}", nativeStatementWrapper.getQueryString());
         List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
         return mapper.mapRows(rows);
     }
 
+    /**
+     * Return asynchronously found rows. The rows are mapped on the executor
+     * service configured for Achilles
+     *
+     * @return ListenableFuture<List<TypedMap>>
+     */
+    public ListenableFuture<List<TypedMap>> getAsync() {
+        log.debug("Get results asynchronously for native query {}", nativeStatementWrapper.getQueryString());
+        Function<ResultSet, List<TypedMap>> rowsToTypedMaps = new Function<ResultSet, List<TypedMap>>() {
+            @Override
+            public List<TypedMap> apply(ResultSet resultSet) {
+                return mapper.mapRows(resultSet.all());
+            }
+        };
+        return Futures.transform(daoContext.executeAsync(nativeStatementWrapper), rowsToTypedMaps, daoContext.getExecutorService());
+    }
+
     /**
      * Return the first found row. The map contains the (column name, column
      * value) of each row. The map is backed by a LinkedHashMap and thus
@@ -80,7 +116,7 @@ public class NativeQuery {
      * @return TypedMap
      */
     public TypedMap first() {
-        log.debug("Get first result for native query {}", nativeStatementWrapper.getStatement());
+        log.debug("Get first result for native query {}", nativeStatementWrapper.getQueryString());
         List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
         List<TypedMap> result = mapper.mapRows(rows);
         if (result.isEmpty())
@@ -89,12 +125,39 @@ public class NativeQuery {
             return result.get(0);
     }
 
+    /**
+     * Return asynchronously the first found row
+     *
+     * @return ListenableFuture<TypedMap>
+     */
+    public ListenableFuture<TypedMap> firstAsync() {
+        log.debug("Get first result asynchronously for native query {}", nativeStatementWrapper.getQueryString());
+        Function<List<TypedMap>, TypedMap> firstTypedMap = new Function<List<TypedMap>, TypedMap>() {
+            @Override
+            public TypedMap apply(List<TypedMap> result) {
+                return result.isEmpty() ? null : result.get(0);
+            }
+        };
+        return Futures.transform(getAsync(), firstTypedMap);
+    }
+
     /**
      * Execute statement without returning result. Useful for
      * INSERT/UPDATE/DELETE and DDL statements
      */
     public void execute() {
-        log.debug("Execute native query {}", nativeStatementWrapper.getStatement());
+        log.debug("Execute native query {}", nativeStatementWrapper.getQueryString());
         daoContext.execute(nativeStatementWrapper);
     }
+
+    /**
+     * Execute statement asynchronously without returning result. Useful for
+     * INSERT/UPDATE/DELETE and DDL statements
+     *
+     * @return ListenableFuture<ResultSet> future of the raw result set
+     */
+    public ListenableFuture<ResultSet> executeAsync() {
+        log.debug("Execute asynchronously native query {}", nativeStatementWrapper.getQueryString());
+        return daoContext.executeAsync(nativeStatementWrapper);
+    }
 }
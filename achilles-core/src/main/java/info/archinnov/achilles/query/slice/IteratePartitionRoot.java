@@ -88,6 +88,36 @@ public abstract class IteratePartitionRoot<TYPE, T extends IteratePartitionRoot<
         return super.iteratorInternal();
     }
 
+    /**
+     *
+     * Iterate over selected entities without filtering clustering keys using provided fetch size.
+     * The next page is requested in background as soon as the number of locally available rows
+     * drops to the prefetch threshold, so that entity mapping overlaps with network I/O
+     *
+     * <pre class="code"><code class="java">
+     *
+     *  manager.sliceQuery(ArticleRating.class)
+     *      .forIterate()
+     *      .withPartitionComponents(articleId)
+     *      .iteratorWithPrefetch(100, 50);
+     *
+     * </code></pre>
+     *
+     * Generated CQL3 query:
+     *
+     * <br/>
+     *  SELECT * FROM article_rating WHERE article_id=... ORDER BY rating ASC LIMIT 100
+     *
+     * @param batchSize fetch size of each page
+     * @param prefetchThreshold number of remaining available rows below which the next page is fetched
+     * @return slice DSL
+     */
+    public Iterator<TYPE> iteratorWithPrefetch(int batchSize, int prefetchThreshold) {
+        super.properties.fetchSize(batchSize);
+        super.properties.prefetchThreshold(prefetchThreshold);
+        return super.iteratorInternal();
+    }
+
     /**
      *
      * Iterate over entities with matching clustering keys
@@ -385,6 +415,32 @@ public abstract class IteratePartitionRoot<TYPE, T extends IteratePartitionRoot<
             IteratePartitionRoot.super.properties.fetchSize(batchSize);
             return IteratePartitionRoot.super.iteratorInternal();
         }
+
+        /**
+         *
+         * Iterate over entities with filtering clustering keys, fetch size and prefetch threshold.
+         * The next page is requested in background as soon as the number of locally available rows
+         * drops to the prefetch threshold
+         *
+         * <pre class="code"><code class="java">
+         *
+         *  manager.sliceQuery(ArticleRating.class)
+         *      .forIterate()
+         *      .withPartitionComponents(articleId)
+         *      .fromClusterings(2)
+         *      .iteratorWithPrefetch(100, 50);
+         *
+         * </code></pre>
+         *
+         * @param batchSize fetch size of each page
+         * @param prefetchThreshold number of remaining available rows below which the next page is fetched
+         * @return slice DSL
+         */
+        public Iterator<TYPE> iteratorWithPrefetch(int batchSize, int prefetchThreshold) {
+            IteratePartitionRoot.super.properties.fetchSize(batchSize);
+            IteratePartitionRoot.super.properties.prefetchThreshold(prefetchThreshold);
+            return IteratePartitionRoot.super.iteratorInternal();
+        }
     }
 
     public abstract class IterateClusteringsRoot<ENTITY_TYPE, T extends IterateClusteringsRoot<ENTITY_TYPE, T>> extends IterateClusteringsRootWithLimitation<ENTITY_TYPE, T> {
@@ -25,6 +25,7 @@ import static info.archinnov.achilles.query.slice.OrderingMode.ASCENDING;
 import static info.archinnov.achilles.query.slice.OrderingMode.DESCENDING;
 import java.util.List;
 import com.google.common.collect.FluentIterable;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.type.ConsistencyLevel;
@@ -84,6 +85,45 @@ public abstract class SelectPartitionRoot<TYPE, T extends SelectPartitionRoot<TY
         return super.getInternal();
     }
 
+    /**
+     *
+     * Get selected entities asynchronously without filtering clustering keys. If no limit has been set, the default LIMIT 100 applies
+     *
+     * <pre class="code"><code class="java">
+     *
+     *  ListenableFuture&lt;List&lt;ArticleRating&gt;&gt; futureRatings = manager.sliceQuery(ArticleRating.class)
+     *      .forSelect()
+     *      .withPartitionComponents(articleId)
+     *      .getAsync();
+     *
+     * </code></pre>
+     *
+     * @return future of the found entities
+     */
+    public ListenableFuture<List<TYPE>> getAsync() {
+        return super.getInternalAsync();
+    }
+
+    /**
+     *
+     * Get selected entities asynchronously without filtering clustering keys using provided limit
+     *
+     * <pre class="code"><code class="java">
+     *
+     *  ListenableFuture&lt;List&lt;ArticleRating&gt;&gt; futureRatings = manager.sliceQuery(ArticleRating.class)
+     *      .forSelect()
+     *      .withPartitionComponents(articleId)
+     *      .getAsync(23);
+     *
+     * </code></pre>
+     *
+     * @return future of the found entities
+     */
+    public ListenableFuture<List<TYPE>> getAsync(int limit) {
+        super.properties.limit(limit);
+        return super.getInternalAsync();
+    }
+
     /**
      *
      * Get first entity without filtering clustering keys
@@ -481,6 +521,47 @@ public abstract class SelectPartitionRoot<TYPE, T extends SelectPartitionRoot<TY
             SelectPartitionRoot.super.properties.limit(limit);
             return SelectPartitionRoot.super.getInternal();
         }
+
+        /**
+         *
+         * Get asynchronously entities with filtering clustering keys
+         *
+         * <pre class="code"><code class="java">
+         *
+         *  manager.sliceQuery(ArticleRating.class)
+         *      .forSelect()
+         *      .withPartitionComponents(articleId)
+         *      .fromClusterings(2)
+         *      .getAsync();
+         *
+         * </code></pre>
+         *
+         * @return future of the found entities
+         */
+        public ListenableFuture<List<TYPE>> getAsync() {
+            return SelectPartitionRoot.super.getInternalAsync();
+        }
+
+        /**
+         *
+         * Get asynchronously entities with filtering clustering keys with provided limit
+         *
+         * <pre class="code"><code class="java">
+         *
+         *  manager.sliceQuery(ArticleRating.class)
+         *      .forSelect()
+         *      .withPartitionComponents(articleId)
+         *      .fromClusterings(2)
+         *      .getAsync(23);
+         *
+         * </code></pre>
+         *
+         * @return future of the found entities
+         */
+        public ListenableFuture<List<TYPE>> getAsync(int limit) {
+            SelectPartitionRoot.super.properties.limit(limit);
+            return SelectPartitionRoot.super.getInternalAsync();
+        }
     }
 
     public abstract class SelectClusteringsRoot<ENTITY_TYPE, T extends SelectClusteringsRoot<ENTITY_TYPE, T>> extends SelectClusteringsRootWithLimitation<ENTITY_TYPE, T> {
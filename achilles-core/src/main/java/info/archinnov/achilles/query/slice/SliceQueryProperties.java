@@ -66,6 +66,7 @@ public class SliceQueryProperties<T> {
 
     private Optional<Integer> limitO = Optional.fromNullable(DEFAULT_LIMIT);
     protected Optional<Integer> fetchSizeO = Optional.absent();
+    protected Optional<Integer> prefetchThresholdO = Optional.absent();
     private BoundingMode boundingMode = BoundingMode.INCLUSIVE_BOUNDS;
     private Optional<OrderingMode> orderingModeO = Optional.fromNullable(OrderingMode.ASCENDING);
 
@@ -118,6 +119,12 @@ public class SliceQueryProperties<T> {
         return this;
     }
 
+    protected SliceQueryProperties<T>  prefetchThreshold(int prefetchThreshold) {
+        Validator.validateTrue(prefetchThreshold > 0, "The prefetch threshold '%s' should be strictly positive", prefetchThreshold);
+        this.prefetchThresholdO = Optional.fromNullable(prefetchThreshold);
+        return this;
+    }
+
     protected SliceQueryProperties<T>  bounding(BoundingMode boundingMode) {
         this.boundingMode = boundingMode;
         return this;
@@ -323,6 +330,10 @@ public class SliceQueryProperties<T> {
         }
     }
 
+    public Optional<Integer> getPrefetchThreshold() {
+        return prefetchThresholdO;
+    }
+
     public ConsistencyLevel getConsistencyLevelOr(ConsistencyLevel defaultConsistencyLevel) {
         return consistencyLevelO.or(defaultConsistencyLevel);
     }
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.persistence.operations.SliceQueryExecutor;
 import info.archinnov.achilles.internal.validation.Validator;
@@ -131,6 +132,10 @@ public abstract class SliceQueryRoot<TYPE, T extends SliceQueryRoot<TYPE, T>> {
         return this.sliceQueryExecutor.get(this.properties);
     }
 
+    protected ListenableFuture<List<TYPE>> getInternalAsync() {
+        return this.sliceQueryExecutor.getAsync(this.properties);
+    }
+
     protected Iterator<TYPE> iteratorInternal() {
         return this.sliceQueryExecutor.iterator(this.properties);
     }
@@ -24,8 +24,12 @@ import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
@@ -55,13 +59,27 @@ public class TypedQuery<T> {
             PersistenceContextFactory contextFactory, EntityState entityState, Object[] boundValues) {
         this.daoContext = daoContext;
         this.boundValues = boundValues;
-        this.nativeStatementWrapper = new NativeStatementWrapper(entityClass, regularStatement, this.boundValues, Optional.<CASResultListener>absent());
+        this.nativeStatementWrapper = new NativeStatementWrapper(entityClass, regularStatement, this.boundValues, Optional.<CASResultListener>absent(),
+                Optional.fromNullable(daoContext.getNativeStatementCache()));
         this.meta = meta;
         this.contextFactory = contextFactory;
         this.entityState = entityState;
         this.propertiesMap = transformPropertiesMap(meta);
     }
 
+    /**
+     * Execute this query as a prepared statement cached by query string, or as a plain statement.
+     * Default to <em>achilles.native.queries.prepared</em>
+     *
+     * @param prepared
+     *
+     * @return TypedQuery<T>
+     */
+    public TypedQuery<T> withPreparedStatement(boolean prepared) {
+        nativeStatementWrapper.setPrepared(prepared);
+        return this;
+    }
+
     /**
      * Executes the query and returns entities
      * <p/>
@@ -74,9 +92,62 @@ public class TypedQuery<T> {
      * @return List<T> list of found entities or empty list
      */
     public List<T> get() {
-        log.debug("Get results for typed query {}", nativeStatementWrapper.getStatement());
-        List<T> result = new ArrayList<>();
+        log.debug("Get results for typed query {}", nativeStatementWrapper.getQueryString());
         List<Row> rows = daoContext.execute(nativeStatementWrapper).all();
+        return mapRows(rows);
+    }
+
+    /**
+     * Executes the query asynchronously and returns a future of the entities
+     * <p/>
+     * Matching CQL rows are mapped to entities on the executor service configured
+     * for Achilles
+     *
+     * @return ListenableFuture<List<T>> future of the list of found entities or empty list
+     */
+    public ListenableFuture<List<T>> getAsync() {
+        log.debug("Get results asynchronously for typed query {}", nativeStatementWrapper.getQueryString());
+        Function<ResultSet, List<T>> rowsToEntities = new Function<ResultSet, List<T>>() {
+            @Override
+            public List<T> apply(ResultSet resultSet) {
+                return mapRows(resultSet.all());
+            }
+        };
+        return Futures.transform(daoContext.executeAsync(nativeStatementWrapper), rowsToEntities, daoContext.getExecutorService());
+    }
+
+    /**
+     * Executes the query and returns first entity
+     * <p/>
+     * Matching CQL row is mapped to entity by reflection. All un-mapped columns
+     * are ignored.
+     *
+     * @return T first found entity or null
+     */
+    public T getFirst() {
+        log.debug("Get first result for typed query {}", nativeStatementWrapper.getQueryString());
+        Row row = daoContext.execute(nativeStatementWrapper).one();
+        return mapRow(row);
+    }
+
+    /**
+     * Executes the query asynchronously and returns a future of the first entity
+     *
+     * @return ListenableFuture<T> future of the first found entity or null
+     */
+    public ListenableFuture<T> getFirstAsync() {
+        log.debug("Get first result asynchronously for typed query {}", nativeStatementWrapper.getQueryString());
+        Function<ResultSet, T> rowToEntity = new Function<ResultSet, T>() {
+            @Override
+            public T apply(ResultSet resultSet) {
+                return mapRow(resultSet.one());
+            }
+        };
+        return Futures.transform(daoContext.executeAsync(nativeStatementWrapper), rowToEntity, daoContext.getExecutorService());
+    }
+
+    private List<T> mapRows(List<Row> rows) {
+        List<T> result = new ArrayList<>();
         for (Row row : rows) {
             T entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, entityState);
             if (entity != null) {
@@ -90,18 +161,8 @@ public class TypedQuery<T> {
         return result;
     }
 
-    /**
-     * Executes the query and returns first entity
-     * <p/>
-     * Matching CQL row is mapped to entity by reflection. All un-mapped columns
-     * are ignored.
-     *
-     * @return T first found entity or null
-     */
-    public T getFirst() {
-        log.debug("Get first result for typed query {}", nativeStatementWrapper.getStatement());
+    private T mapRow(Row row) {
         T entity = null;
-        Row row = daoContext.execute(nativeStatementWrapper).one();
         if (row != null) {
             entity = mapper.mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, entityState);
             meta.forInterception().intercept(entity, Event.POST_LOAD);
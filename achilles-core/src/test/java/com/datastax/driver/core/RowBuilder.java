@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RowBuilder {
+
+	public static Row buildRow(ColumnDefinitions definitions, Object... values) {
+		List<ByteBuffer> data = new ArrayList<>(values.length);
+		for (int i = 0; i < values.length; i++) {
+			data.add(values[i] == null ? null : definitions.getType(i).serialize(values[i]));
+		}
+		return ArrayBackedRow.fromData(definitions, data);
+	}
+}
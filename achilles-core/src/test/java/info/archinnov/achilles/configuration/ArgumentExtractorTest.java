@@ -18,6 +18,21 @@ package info.archinnov.achilles.configuration;
 import static info.archinnov.achilles.configuration.ArgumentExtractor.DEFAULT_LRU_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_ENABLE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.BEAN_VALIDATION_VALIDATOR;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_FIND_MAX_IN_FLIGHT;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BULK_WRITER_MAX_IN_FLIGHT;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_STATEMENTS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_MAX_SIZE_IN_BYTES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_SPLIT_LOGGED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.BATCH_COALESCE_MUTATIONS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_FLUSH_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.COUNTER_AGGREGATION_MAX_PENDING_COUNTERS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DETACHED_ENTITIES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_FILE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_WARM_UP_PARALLELISM;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_DEFAULT;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_READ_MAP;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.CONSISTENCY_LEVEL_WRITE_DEFAULT;
@@ -25,8 +40,14 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.CONS
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENABLE_SCHEMA_UPDATE_FOR_TABLES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITIES_LIST;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCANNING_FALLBACK;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCAN_INDEXED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.EVENT_INTERCEPTORS;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_MAX_THREAD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_MIN_THREAD;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.EXECUTOR_SERVICE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.FORCE_TABLE_CREATION;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.INSERT_STRATEGY;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYSPACE_NAME;
@@ -37,6 +58,7 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.OSGI
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PREPARED_STATEMENTS_CACHE_SIZE;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.PROXIES_WARM_UP_DISABLED;
 import static info.archinnov.achilles.configuration.ConfigurationParameters.RELAX_INDEX_VALIDATION;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SCAN_PARALLELISM;
 import static info.archinnov.achilles.type.ConsistencyLevel.ALL;
 import static info.archinnov.achilles.type.ConsistencyLevel.ANY;
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
@@ -47,6 +69,7 @@ import static info.archinnov.achilles.type.InsertStrategy.ALL_FIELDS;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.Collection;
@@ -54,6 +77,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import javax.validation.Validator;
 import org.fest.assertions.data.MapEntry;
 import org.hibernate.validator.internal.engine.ValidatorImpl;
@@ -65,6 +92,7 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -73,12 +101,15 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import com.fasterxml.jackson.module.jaxb.JaxbAnnotationIntrospector;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.bean.validation.FakeValidator;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.metadata.discovery.EntityIndexReader;
 import info.archinnov.achilles.internal.utils.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.test.more.entity.Entity3;
@@ -495,4 +526,315 @@ public class ArgumentExtractorTest {
 
 
     }
+
+    @Test
+    public void should_init_provided_executor_service() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        params.put(EXECUTOR_SERVICE, executorService);
+
+        //When
+        final ExecutorService actual = extractor.initExecutorService(params);
+
+        //Then
+        assertThat(actual).isSameAs(executorService);
+        executorService.shutdown();
+    }
+
+    @Test
+    public void should_own_only_default_executor_service() throws Exception {
+        //Given
+        ConfigMap provided = new ConfigMap();
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        provided.put(EXECUTOR_SERVICE, executorService);
+
+        //When
+        final boolean providedOwned = extractor.initExecutorServiceOwned(provided);
+        final boolean defaultOwned = extractor.initExecutorServiceOwned(new ConfigMap());
+
+        //Then
+        assertThat(providedOwned).isFalse();
+        assertThat(defaultOwned).isTrue();
+        executorService.shutdown();
+    }
+
+    @Test
+    public void should_init_default_executor_service() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(DEFAULT_EXECUTOR_SERVICE_MIN_THREAD, 2);
+        params.put(DEFAULT_EXECUTOR_SERVICE_MAX_THREAD, 4);
+        params.put(DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE, 20);
+
+        //When
+        final ExecutorService actual = extractor.initExecutorService(params);
+
+        //Then
+        assertThat(actual).isInstanceOf(ThreadPoolExecutor.class);
+        final ThreadPoolExecutor threadPool = (ThreadPoolExecutor) actual;
+        assertThat(threadPool.getCorePoolSize()).isEqualTo(2);
+        assertThat(threadPool.getMaximumPoolSize()).isEqualTo(4);
+        assertThat(threadPool.getQueue().remainingCapacity()).isEqualTo(20);
+        assertThat(threadPool.getRejectedExecutionHandler()).isInstanceOf(ThreadPoolExecutor.CallerRunsPolicy.class);
+        threadPool.shutdown();
+    }
+
+    @Test
+    public void should_init_bulk_find_max_in_flight() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BULK_FIND_MAX_IN_FLIGHT, 16);
+
+        //When
+        final int actual = extractor.initBulkFindMaxInFlight(params);
+
+        //Then
+        assertThat(actual).isEqualTo(16);
+        assertThat(extractor.initBulkFindMaxInFlight(new ConfigMap())).isEqualTo(64);
+    }
+
+    @Test
+    public void should_init_scan_parallelism() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(SCAN_PARALLELISM, 3);
+
+        //When
+        final int actual = extractor.initScanParallelism(params);
+
+        //Then
+        assertThat(actual).isEqualTo(3);
+        assertThat(extractor.initScanParallelism(new ConfigMap())).isEqualTo(8);
+    }
+
+    @Test
+    public void should_init_bulk_writer_max_in_flight() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BULK_WRITER_MAX_IN_FLIGHT, 32);
+
+        //When
+        final int actual = extractor.initBulkWriterMaxInFlight(params);
+
+        //Then
+        assertThat(actual).isEqualTo(32);
+        assertThat(extractor.initBulkWriterMaxInFlight(new ConfigMap())).isEqualTo(256);
+    }
+
+    @Test
+    public void should_init_batch_chunking_limits() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BATCH_MAX_STATEMENTS, 100);
+        params.put(BATCH_MAX_SIZE_IN_BYTES, 0);
+
+        //When
+        final int maxStatements = extractor.initBatchMaxStatements(params);
+        final int maxSizeInBytes = extractor.initBatchMaxSizeInBytes(params);
+
+        //Then
+        assertThat(maxStatements).isEqualTo(100);
+        assertThat(maxSizeInBytes).isEqualTo(0);
+        assertThat(extractor.initBatchMaxStatements(new ConfigMap())).isEqualTo(500);
+        assertThat(extractor.initBatchMaxSizeInBytes(new ConfigMap())).isEqualTo(50 * 1024);
+    }
+
+    @Test
+    public void should_init_batch_split_logged() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BATCH_SPLIT_LOGGED, true);
+
+        //When
+        final boolean actual = extractor.initBatchSplitLogged(params);
+
+        //Then
+        assertThat(actual).isTrue();
+        assertThat(extractor.initBatchSplitLogged(new ConfigMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_batch_coalesce_mutations() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(BATCH_COALESCE_MUTATIONS, true);
+
+        //When
+        final boolean actual = extractor.initBatchCoalesceMutations(params);
+
+        //Then
+        assertThat(actual).isTrue();
+        assertThat(extractor.initBatchCoalesceMutations(new ConfigMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_counter_aggregation_flush_interval() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(COUNTER_AGGREGATION_FLUSH_INTERVAL_MS, 500L);
+
+        //When
+        final long actual = extractor.initCounterAggregationFlushIntervalMillis(params);
+
+        //Then
+        assertThat(actual).isEqualTo(500L);
+        assertThat(extractor.initCounterAggregationFlushIntervalMillis(new ConfigMap())).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_init_counter_aggregation_max_pending_counters() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(COUNTER_AGGREGATION_MAX_PENDING_COUNTERS, 100);
+
+        //When
+        final int actual = extractor.initCounterAggregationMaxPendingCounters(params);
+
+        //Then
+        assertThat(actual).isEqualTo(100);
+        assertThat(extractor.initCounterAggregationMaxPendingCounters(new ConfigMap())).isEqualTo(10000);
+    }
+
+    @Test
+    public void should_init_prepared_statements_warm_up() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(PREPARED_STATEMENTS_WARM_UP, true);
+        params.put(PREPARED_STATEMENTS_WARM_UP_PARALLELISM, 4);
+
+        //When
+        final boolean warmUp = extractor.initPreparedStatementsWarmUp(params);
+        final int parallelism = extractor.initPreparedStatementsWarmUpParallelism(params);
+
+        //Then
+        assertThat(warmUp).isTrue();
+        assertThat(parallelism).isEqualTo(4);
+        assertThat(extractor.initPreparedStatementsWarmUp(new ConfigMap())).isFalse();
+        assertThat(extractor.initPreparedStatementsWarmUpParallelism(new ConfigMap())).isEqualTo(16);
+    }
+
+    @Test
+    public void should_init_prepared_statements_manifest() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(PREPARED_STATEMENTS_MANIFEST_FILE, "/tmp/manifest.txt");
+        params.put(PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS, 5000L);
+
+        //When
+        final String manifestFile = extractor.initPreparedStatementsManifestFile(params);
+        final long saveInterval = extractor.initPreparedStatementsManifestSaveIntervalMillis(params);
+
+        //Then
+        assertThat(manifestFile).isEqualTo("/tmp/manifest.txt");
+        assertThat(saveInterval).isEqualTo(5000L);
+        assertThat(extractor.initPreparedStatementsManifestFile(new ConfigMap())).isNull();
+        assertThat(extractor.initPreparedStatementsManifestSaveIntervalMillis(new ConfigMap())).isEqualTo(60000L);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_exception_when_manifest_save_interval_not_positive() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(PREPARED_STATEMENTS_MANIFEST_SAVE_INTERVAL_MS, 0L);
+
+        //When
+        extractor.initPreparedStatementsManifestSaveIntervalMillis(params);
+    }
+
+    @Test
+    public void should_init_native_queries_prepared_statements() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(NATIVE_QUERIES_PREPARED, true);
+        params.put(NATIVE_QUERIES_PREPARED_STATEMENTS_CACHE_SIZE, 50);
+
+        //When
+        final boolean prepared = extractor.initNativeQueriesPrepared(params);
+        final int cacheSize = extractor.initNativeQueriesPreparedStatementsCacheSize(params);
+
+        //Then
+        assertThat(prepared).isTrue();
+        assertThat(cacheSize).isEqualTo(50);
+        assertThat(extractor.initNativeQueriesPrepared(new ConfigMap())).isFalse();
+        assertThat(extractor.initNativeQueriesPreparedStatementsCacheSize(new ConfigMap())).isEqualTo(1000);
+    }
+
+    @Test
+    public void should_init_detached_entities() throws Exception {
+        //Given
+        ConfigMap params = new ConfigMap();
+        params.put(DETACHED_ENTITIES, true);
+
+        //When
+        final boolean detached = extractor.initDetachedEntities(params);
+
+        //Then
+        assertThat(detached).isTrue();
+        assertThat(extractor.initDetachedEntities(new ConfigMap())).isFalse();
+    }
+
+    @Test
+    public void should_init_entities_from_index_and_scan_only_packages_without_indexed_entity() throws Exception {
+        //Given
+        final ClassLoader classLoader = this.getClass().getClassLoader();
+        final Set<String> indexedClassNames = Sets.newHashSet(Entity1.class.getName());
+        final EntityIndexReader entityIndexReader = mock(EntityIndexReader.class);
+        Whitebox.setInternalState(extractor, "entityIndexReader", entityIndexReader);
+        configMap.put(ENTITY_PACKAGES, "info.archinnov.achilles.test.sample.entity,info.archinnov.achilles.test.more.entity");
+
+        when(entityIndexReader.readEntityClassNames(classLoader)).thenReturn(Optional.of(indexedClassNames));
+        when(entityIndexReader.loadEntitiesOfPackage(indexedClassNames, "info.archinnov.achilles.test.sample.entity", classLoader))
+                .thenReturn(Arrays.<Class<?>>asList(Entity1.class));
+
+        //When
+        Collection<Class<?>> actual = extractor.initEntities(configMap, classLoader);
+
+        //Then
+        assertThat(actual).containsOnly(Entity1.class, Entity3.class);
+        assertThat(extractor.initEntityPackagesScanIndexed(new ConfigMap())).isFalse();
+    }
+
+    @Test
+    public void should_also_scan_indexed_packages_when_enabled() throws Exception {
+        //Given
+        final ClassLoader classLoader = this.getClass().getClassLoader();
+        final Set<String> indexedClassNames = Sets.newHashSet(Entity1.class.getName());
+        final EntityIndexReader entityIndexReader = mock(EntityIndexReader.class);
+        Whitebox.setInternalState(extractor, "entityIndexReader", entityIndexReader);
+        configMap.put(ENTITY_PACKAGES, "info.archinnov.achilles.test.sample.entity,info.archinnov.achilles.test.more.entity");
+        configMap.put(ENTITY_PACKAGES_SCAN_INDEXED, true);
+
+        when(entityIndexReader.readEntityClassNames(classLoader)).thenReturn(Optional.of(indexedClassNames));
+        when(entityIndexReader.loadEntitiesOfPackage(indexedClassNames, "info.archinnov.achilles.test.sample.entity", classLoader))
+                .thenReturn(Arrays.<Class<?>>asList(Entity1.class));
+
+        //When
+        Collection<Class<?>> actual = extractor.initEntities(configMap, classLoader);
+
+        //Then
+        assertThat(actual).containsOnly(Entity1.class, Entity2.class, Entity3.class);
+    }
+
+    @Test
+    public void should_init_entities_from_index_only_when_scanning_fallback_disabled() throws Exception {
+        //Given
+        final ClassLoader classLoader = this.getClass().getClassLoader();
+        final Set<String> indexedClassNames = Sets.newHashSet(Entity1.class.getName());
+        final EntityIndexReader entityIndexReader = mock(EntityIndexReader.class);
+        Whitebox.setInternalState(extractor, "entityIndexReader", entityIndexReader);
+        configMap.put(ENTITY_PACKAGES, "info.archinnov.achilles.test.sample.entity,info.archinnov.achilles.test.more.entity");
+        configMap.put(ENTITY_PACKAGES_SCANNING_FALLBACK, false);
+
+        when(entityIndexReader.readEntityClassNames(classLoader)).thenReturn(Optional.of(indexedClassNames));
+        when(entityIndexReader.loadEntitiesOfPackage(indexedClassNames, "info.archinnov.achilles.test.sample.entity", classLoader))
+                .thenReturn(Arrays.<Class<?>>asList(Entity1.class));
+
+        //When
+        Collection<Class<?>> actual = extractor.initEntities(configMap, classLoader);
+
+        //Then
+        assertThat(actual).containsOnly(Entity1.class);
+        assertThat(extractor.initEntityPackagesScanningFallback(new ConfigMap())).isTrue();
+    }
 }
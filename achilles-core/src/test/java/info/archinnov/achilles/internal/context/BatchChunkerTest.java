@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Test;
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
+
+public class BatchChunkerTest {
+
+    @Test
+    public void should_not_chunk_when_no_limit() throws Exception {
+        //Given
+        List<AbstractStatementWrapper> wrappers = Arrays.<AbstractStatementWrapper>asList(boundWithValues(), boundWithValues(), boundWithValues());
+
+        //When
+        final List<List<AbstractStatementWrapper>> chunks = BatchChunker.NO_LIMIT.chunk(wrappers);
+
+        //Then
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0)).isSameAs(wrappers);
+    }
+
+    @Test
+    public void should_return_no_chunk_for_empty_statements() throws Exception {
+        assertThat(new BatchChunker(10, 100, false).chunk(Arrays.<AbstractStatementWrapper>asList())).isEmpty();
+    }
+
+    @Test
+    public void should_chunk_by_statements_count() throws Exception {
+        //Given
+        final BoundStatementWrapper wrapper1 = boundWithValues();
+        final BoundStatementWrapper wrapper2 = boundWithValues();
+        final BoundStatementWrapper wrapper3 = boundWithValues();
+
+        //When
+        final List<List<AbstractStatementWrapper>> chunks = new BatchChunker(2, 0, false).chunk(Arrays.<AbstractStatementWrapper>asList(wrapper1, wrapper2, wrapper3));
+
+        //Then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly(wrapper1, wrapper2);
+        assertThat(chunks.get(1)).containsExactly(wrapper3);
+    }
+
+    @Test
+    public void should_chunk_by_size() throws Exception {
+        //Given
+        // 16 bytes statement id + 4 bytes length + 8 bytes long = 28 bytes each
+        final BoundStatementWrapper wrapper1 = boundWithValues(10L);
+        final BoundStatementWrapper wrapper2 = boundWithValues(11L);
+        final BoundStatementWrapper wrapper3 = boundWithValues(12L);
+
+        //When
+        final List<List<AbstractStatementWrapper>> chunks = new BatchChunker(0, 60, false).chunk(Arrays.<AbstractStatementWrapper>asList(wrapper1, wrapper2, wrapper3));
+
+        //Then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly(wrapper1, wrapper2);
+        assertThat(chunks.get(1)).containsExactly(wrapper3);
+    }
+
+    @Test
+    public void should_put_oversized_statement_in_its_own_chunk() throws Exception {
+        //Given
+        final BoundStatementWrapper small = boundWithValues(10L);
+        final BoundStatementWrapper big = boundWithValues(ByteBuffer.allocate(1000));
+
+        //When
+        final List<List<AbstractStatementWrapper>> chunks = new BatchChunker(0, 100, false).chunk(Arrays.<AbstractStatementWrapper>asList(small, big, small));
+
+        //Then
+        assertThat(chunks).hasSize(3);
+        assertThat(chunks.get(1)).containsExactly(big);
+    }
+
+    @Test
+    public void should_chunk_each_group() throws Exception {
+        //Given
+        final BoundStatementWrapper wrapper1 = boundWithValues();
+        final BoundStatementWrapper wrapper2 = boundWithValues();
+        final BoundStatementWrapper wrapper3 = boundWithValues();
+
+        //When
+        final List<List<AbstractStatementWrapper>> chunks = new BatchChunker(2, 0, false).chunk(Arrays.asList(
+                Arrays.<AbstractStatementWrapper>asList(wrapper1), Arrays.<AbstractStatementWrapper>asList(wrapper2, wrapper3)));
+
+        //Then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).containsExactly(wrapper1);
+        assertThat(chunks.get(1)).containsExactly(wrapper2, wrapper3);
+    }
+
+    @Test
+    public void should_estimate_size_of_regular_statement_with_query_string() throws Exception {
+        //Given
+        final RegularStatementWrapper wrapper = mock(RegularStatementWrapper.class);
+        when(wrapper.getQueryString()).thenReturn("SELECT * FROM table");
+        when(wrapper.getValues()).thenReturn(new Object[] { "name" });
+
+        //When
+        final long size = BatchChunker.NO_LIMIT.estimateSize(wrapper);
+
+        //Then
+        assertThat(size).isEqualTo(19 + 4 + 4);
+    }
+
+    @Test
+    public void should_estimate_values_size() throws Exception {
+        final BatchChunker chunker = BatchChunker.NO_LIMIT;
+
+        assertThat(chunker.estimateValueSize(null)).isEqualTo(0);
+        assertThat(chunker.estimateValueSize(10)).isEqualTo(4);
+        assertThat(chunker.estimateValueSize(UUID.randomUUID())).isEqualTo(16);
+        assertThat(chunker.estimateValueSize(new byte[12])).isEqualTo(12);
+        assertThat(chunker.estimateValueSize(Arrays.asList("a", "bc"))).isEqualTo(4 + 4 + 1 + 4 + 2);
+        assertThat(chunker.estimateValueSize(ImmutableMap.of(1, "abc"))).isEqualTo(4 + 8 + 4 + 3);
+    }
+
+    @Test
+    public void should_estimate_strings_size_in_utf8_bytes() throws Exception {
+        final BatchChunker chunker = BatchChunker.NO_LIMIT;
+
+        assertThat(chunker.estimateValueSize("abc")).isEqualTo(3);
+        assertThat(chunker.estimateValueSize("\u00e9t\u00e9")).isEqualTo(5);
+        assertThat(chunker.estimateValueSize("\u20ac")).isEqualTo(3);
+        assertThat(chunker.estimateValueSize("\ud83d\ude00")).isEqualTo(4);
+    }
+
+    @Test
+    public void should_keep_logged_batch_in_one_chunk_unless_split_allowed() throws Exception {
+        //Given
+        final BoundStatementWrapper wrapper1 = boundWithValues();
+        final BoundStatementWrapper wrapper2 = boundWithValues();
+        final BoundStatementWrapper wrapper3 = boundWithValues();
+        final List<AbstractStatementWrapper> wrappers = Arrays.<AbstractStatementWrapper>asList(wrapper1, wrapper2, wrapper3);
+
+        //When
+        final List<List<AbstractStatementWrapper>> notSplit = new BatchChunker(2, 0, false).chunkLogged(wrappers);
+        final List<List<AbstractStatementWrapper>> split = new BatchChunker(2, 0, true).chunkLogged(wrappers);
+
+        //Then
+        assertThat(notSplit).hasSize(1);
+        assertThat(notSplit.get(0)).containsExactly(wrapper1, wrapper2, wrapper3);
+        assertThat(split).hasSize(2);
+        assertThat(new BatchChunker(2, 0, false).chunkLogged(Arrays.<AbstractStatementWrapper>asList())).isEmpty();
+    }
+
+    private BoundStatementWrapper boundWithValues(Object... values) {
+        final BoundStatementWrapper wrapper = mock(BoundStatementWrapper.class);
+        when(wrapper.getValues()).thenReturn(values);
+        return wrapper;
+    }
+}
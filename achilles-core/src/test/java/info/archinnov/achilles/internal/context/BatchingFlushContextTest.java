@@ -17,11 +17,13 @@ package info.archinnov.achilles.internal.context;
 
 import static info.archinnov.achilles.type.ConsistencyLevel.EACH_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
@@ -33,14 +35,19 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.internal.WhiteboxImpl;
 import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
 import info.archinnov.achilles.internal.interceptor.EventHolder;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.RegularStatementWrapper;
@@ -126,6 +133,123 @@ public class BatchingFlushContextTest {
         assertThat(statements2).contains(statement1, statement2);
     }
 
+    @Test
+    public void should_end_batch_with_one_unlogged_batch_per_partition() throws Exception {
+        //Given
+        context = new BatchingFlushContext(daoContext, EACH_QUORUM, NO_SERIAL_CONSISTENCY, true, BatchChunker.NO_LIMIT, false);
+        RegularStatement statement1 = QueryBuilder.select().from("table1");
+        RegularStatement statement2 = QueryBuilder.select().from("table2");
+        RegularStatement statement3 = QueryBuilder.select().from("table3");
+        AbstractStatementWrapper wrapper1 = new RegularStatementWrapper(CompleteBean.class, statement1, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper2 = new RegularStatementWrapper(CompleteBean.class, statement2, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper3 = new RegularStatementWrapper(CompleteBean.class, statement3, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        wrapper1.setRoutingKey(Arrays.<Object>asList("table", 10L));
+        wrapper2.setRoutingKey(Arrays.<Object>asList("table", 11L));
+        wrapper3.setRoutingKey(Arrays.<Object>asList("table", 10L));
+        context.statementWrappers = Arrays.asList(wrapper1, wrapper2, wrapper3);
+
+        final ListenableFuture<ResultSet> done = Futures.immediateFuture(null);
+        when(daoContext.executeBatchAsync(batchCaptor.capture())).thenReturn(done);
+        when(daoContext.executeAsync(wrapper2)).thenReturn(done);
+
+        //When
+        context.endBatch();
+
+        //Then
+        verify(daoContext).executeAsync(wrapper2);
+        final BatchStatement batchStatement = batchCaptor.getValue();
+        assertThat(WhiteboxImpl.getInternalState(batchStatement, "batchType")).isSameAs(BatchStatement.Type.UNLOGGED);
+        final List<Statement> statements = WhiteboxImpl.getInternalState(batchStatement, "statements");
+        assertThat(statements).containsExactly(statement1, statement3);
+        verify(daoContext, never()).executeBatch(any(BatchStatement.class));
+    }
+
+    @Test
+    public void should_end_batch_with_logged_chunks_sent_sequentially() throws Exception {
+        //Given
+        context = new BatchingFlushContext(daoContext, EACH_QUORUM, NO_SERIAL_CONSISTENCY, false, new BatchChunker(2, 0, true), false);
+        RegularStatement statement1 = QueryBuilder.select().from("table1");
+        RegularStatement statement2 = QueryBuilder.select().from("table2");
+        RegularStatement statement3 = QueryBuilder.select().from("table3");
+        AbstractStatementWrapper wrapper1 = new RegularStatementWrapper(CompleteBean.class, statement1, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper2 = new RegularStatementWrapper(CompleteBean.class, statement2, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper3 = new RegularStatementWrapper(CompleteBean.class, statement3, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        context.statementWrappers = Arrays.asList(wrapper1, wrapper2, wrapper3);
+
+        //When
+        context.endBatch();
+
+        //Then
+        verify(daoContext).executeBatch(batchCaptor.capture());
+        verify(daoContext).execute(wrapper3);
+        final BatchStatement batchStatement = batchCaptor.getValue();
+        assertThat(WhiteboxImpl.getInternalState(batchStatement, "batchType")).isSameAs(BatchStatement.Type.LOGGED);
+        final List<Statement> statements = WhiteboxImpl.getInternalState(batchStatement, "statements");
+        assertThat(statements).containsExactly(statement1, statement2);
+        verify(daoContext, never()).executeBatchAsync(any(BatchStatement.class));
+    }
+
+    @Test
+    public void should_not_split_logged_batch_unless_allowed() throws Exception {
+        //Given
+        context = new BatchingFlushContext(daoContext, EACH_QUORUM, NO_SERIAL_CONSISTENCY, false, new BatchChunker(2, 0, false), false);
+        RegularStatement statement1 = QueryBuilder.select().from("table1");
+        RegularStatement statement2 = QueryBuilder.select().from("table2");
+        RegularStatement statement3 = QueryBuilder.select().from("table3");
+        AbstractStatementWrapper wrapper1 = new RegularStatementWrapper(CompleteBean.class, statement1, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper2 = new RegularStatementWrapper(CompleteBean.class, statement2, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        AbstractStatementWrapper wrapper3 = new RegularStatementWrapper(CompleteBean.class, statement3, null, com.datastax.driver.core.ConsistencyLevel.ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
+        context.statementWrappers = Arrays.asList(wrapper1, wrapper2, wrapper3);
+
+        //When
+        context.endBatch();
+
+        //Then
+        verify(daoContext).executeBatch(batchCaptor.capture());
+        final BatchStatement batchStatement = batchCaptor.getValue();
+        assertThat(WhiteboxImpl.getInternalState(batchStatement, "batchType")).isSameAs(BatchStatement.Type.LOGGED);
+        final List<Statement> statements = WhiteboxImpl.getInternalState(batchStatement, "statements");
+        assertThat(statements).containsExactly(statement1, statement2, statement3);
+        verify(daoContext, never()).execute(any(AbstractStatementWrapper.class));
+    }
+
+    @Test
+    public void should_bind_coalesced_mutations_at_end_of_batch() throws Exception {
+        //Given
+        context = new BatchingFlushContext(daoContext, EACH_QUORUM, NO_SERIAL_CONSISTENCY, false, BatchChunker.NO_LIMIT, true);
+        final MutationCoalescer coalescer = mock(MutationCoalescer.class);
+        WhiteboxImpl.setInternalState(context, "coalescer", Optional.of(coalescer));
+        final DaoOperations daoOperations = mock(DaoOperations.class);
+        final List<PropertyMeta> pms = Arrays.asList(mock(PropertyMeta.class));
+        when(coalescer.coalesceUpdate(daoOperations, pms)).thenReturn(true);
+
+        //When
+        final boolean coalesced = context.coalesceUpdate(daoOperations, pms);
+        context.endBatch();
+
+        //Then
+        assertThat(coalesced).isTrue();
+        verify(coalescer).bindPendingMutations();
+    }
+
+    @Test
+    public void should_not_coalesce_when_disabled() throws Exception {
+        assertThat(context.coalesceUpdate(mock(DaoOperations.class), Arrays.<PropertyMeta>asList())).isFalse();
+    }
+
+    @Test
+    public void should_keep_partition_awareness_when_duplicating() throws Exception {
+        //Given
+        context = new BatchingFlushContext(daoContext, EACH_QUORUM, NO_SERIAL_CONSISTENCY, true, BatchChunker.NO_LIMIT, false);
+
+        //When
+        final BatchingFlushContext newContext = context.duplicateWithNoData();
+
+        //Then
+        assertThat(newContext.isPartitionAware()).isTrue();
+        assertThat(context.duplicate().isPartitionAware()).isTrue();
+    }
+
     @Test
     public void should_get_type() throws Exception {
         assertThat(context.type()).isSameAs(FlushType.BATCH);
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.type.ConsistencyLevel.ONE;
+import static info.archinnov.achilles.type.ConsistencyLevel.QUORUM;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CounterDeltaAggregatorTest {
+
+    @Mock
+    private DaoContext daoContext;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityMeta meta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta counterMeta;
+
+    @Mock
+    private BoundStatementWrapper bsWrapper;
+
+    private CounterDeltaAggregator aggregator;
+
+    @Before
+    public void setUp() {
+        aggregator = new CounterDeltaAggregator(daoContext, BatchChunker.NO_LIMIT, 2, scheduler);
+        when(meta.getEntityClass()).thenReturn((Class) CompleteBean.class);
+        when(meta.forOperations().encodePrimaryKey(10L)).thenReturn(10L);
+        when(meta.forOperations().encodePrimaryKey(11L)).thenReturn(11L);
+        when(counterMeta.getPropertyName()).thenReturn("count");
+        when(counterMeta.structure().getWriteConsistencyLevel()).thenReturn(ONE);
+    }
+
+    @Test
+    public void should_sum_deltas_of_same_counter() throws Exception {
+        //Given
+        DaoOperations context1 = context(10L, Optional.<ConsistencyLevel>absent());
+        DaoOperations context2 = context(10L, Optional.<ConsistencyLevel>absent());
+        when(daoContext.bindSimpleCounterIncrement(context1, counterMeta, 5L, ONE)).thenReturn(bsWrapper);
+
+        //When
+        aggregator.add(context1, counterMeta, 3L);
+        aggregator.add(context2, counterMeta, 2L);
+        aggregator.flush();
+
+        //Then
+        verify(daoContext).execute(bsWrapper);
+        verifyZeroInteractions(scheduler);
+    }
+
+    @Test
+    public void should_flush_counters_with_different_consistency_separately() throws Exception {
+        //Given
+        DaoOperations context1 = context(10L, Optional.<ConsistencyLevel>absent());
+        DaoOperations context2 = context(10L, Optional.of(QUORUM));
+        BoundStatementWrapper quorumWrapper = mock(BoundStatementWrapper.class);
+        when(daoContext.bindSimpleCounterIncrement(context1, counterMeta, 3L, ONE)).thenReturn(bsWrapper);
+        when(daoContext.bindSimpleCounterIncrement(context2, counterMeta, 2L, QUORUM)).thenReturn(quorumWrapper);
+
+        //When
+        aggregator.add(context1, counterMeta, 3L);
+        aggregator.add(context2, counterMeta, 2L);
+        aggregator.flush();
+
+        //Then
+        verify(daoContext).execute(bsWrapper);
+        verify(daoContext).execute(quorumWrapper);
+    }
+
+    @Test
+    public void should_skip_counters_whose_deltas_cancel_out() throws Exception {
+        //Given
+        DaoOperations context = context(10L, Optional.<ConsistencyLevel>absent());
+
+        //When
+        aggregator.add(context, counterMeta, 3L);
+        aggregator.add(context, counterMeta, -3L);
+        aggregator.flush();
+
+        //Then
+        verify(daoContext, never()).bindSimpleCounterIncrement(any(DaoOperations.class), any(PropertyMeta.class), anyLong(), any(ConsistencyLevel.class));
+        verify(daoContext, never()).execute(any(AbstractStatementWrapper.class));
+    }
+
+    @Test
+    public void should_not_flush_deltas_twice() throws Exception {
+        //Given
+        DaoOperations context = context(10L, Optional.<ConsistencyLevel>absent());
+        when(daoContext.bindSimpleCounterIncrement(context, counterMeta, 3L, ONE)).thenReturn(bsWrapper);
+        aggregator.add(context, counterMeta, 3L);
+
+        //When
+        aggregator.flush();
+        aggregator.flush();
+
+        //Then
+        verify(daoContext, times(1)).execute(bsWrapper);
+    }
+
+    @Test
+    public void should_request_early_flush_when_max_pending_counters_reached() throws Exception {
+        //Given
+        DaoOperations context1 = context(10L, Optional.<ConsistencyLevel>absent());
+        DaoOperations context2 = context(11L, Optional.<ConsistencyLevel>absent());
+
+        //When
+        aggregator.add(context1, counterMeta, 1L);
+        aggregator.add(context2, counterMeta, 1L);
+        aggregator.add(context2, counterMeta, 1L);
+
+        //Then
+        verify(scheduler, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void should_drain_pending_deltas_once_on_shut_down() throws Exception {
+        //Given
+        DaoOperations context = context(10L, Optional.<ConsistencyLevel>absent());
+        when(daoContext.bindSimpleCounterIncrement(context, counterMeta, 3L, ONE)).thenReturn(bsWrapper);
+        aggregator.add(context, counterMeta, 3L);
+
+        //When
+        aggregator.shutDown();
+        aggregator.shutDown();
+
+        //Then
+        verify(scheduler, times(1)).shutdown();
+        verify(daoContext, times(1)).execute(bsWrapper);
+    }
+
+    @Test
+    public void should_refuse_deltas_after_shut_down() throws Exception {
+        //Given
+        DaoOperations context = context(10L, Optional.<ConsistencyLevel>absent());
+        aggregator.shutDown();
+
+        //When
+        final boolean added = aggregator.add(context, counterMeta, 3L);
+        aggregator.flush();
+
+        //Then
+        assertThat(added).isFalse();
+        verify(daoContext, never()).bindSimpleCounterIncrement(any(DaoOperations.class), any(PropertyMeta.class), anyLong(), any(ConsistencyLevel.class));
+    }
+
+    @Test
+    public void should_not_propagate_rejected_early_flush() throws Exception {
+        //Given
+        DaoOperations context1 = context(10L, Optional.<ConsistencyLevel>absent());
+        DaoOperations context2 = context(11L, Optional.<ConsistencyLevel>absent());
+        doThrow(new RejectedExecutionException()).when(scheduler).execute(any(Runnable.class));
+
+        //When
+        aggregator.add(context1, counterMeta, 1L);
+        final boolean added = aggregator.add(context2, counterMeta, 1L);
+
+        //Then
+        assertThat(added).isTrue();
+    }
+
+    @Test
+    public void should_stop_scheduler_and_remove_shutdown_hook_on_shut_down() throws Exception {
+        //Given
+        ConfigurationContext configContext = mock(ConfigurationContext.class);
+        when(configContext.getCounterAggregationFlushIntervalMillis()).thenReturn(60000L);
+        when(configContext.getCounterAggregationMaxPendingCounters()).thenReturn(100);
+        CounterDeltaAggregator created = CounterDeltaAggregator.create(daoContext, configContext).get();
+        Thread shutdownHook = Whitebox.getInternalState(created, "shutdownHook");
+        ScheduledExecutorService createdScheduler = Whitebox.getInternalState(created, "scheduler");
+
+        //When
+        created.shutDown();
+
+        //Then
+        assertThat(createdScheduler.isShutdown()).isTrue();
+        assertThat(Runtime.getRuntime().removeShutdownHook(shutdownHook)).isFalse();
+    }
+
+    private DaoOperations context(Long primaryKey, Optional<ConsistencyLevel> consistencyLevel) {
+        DaoOperations context = mock(DaoOperations.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getPrimaryKey()).thenReturn(primaryKey);
+        when(context.getConsistencyLevel()).thenReturn(consistencyLevel);
+        return context;
+    }
+}
@@ -18,6 +18,7 @@ package info.archinnov.achilles.internal.context;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyMetaTestBuilder.completeBean;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -41,6 +42,7 @@ import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.parsing.context.ParsingResult;
 import info.archinnov.achilles.internal.statement.cache.StatementCacheKey;
+import info.archinnov.achilles.internal.statement.cache.StatementCacheWarmUp;
 import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
@@ -79,6 +81,9 @@ public class DaoContextFactoryTest {
     @Mock
     private ConfigurationContext configContext;
 
+    @Mock
+    private StatementCacheWarmUp warmUp;
+
     @Before
     public void setUp() {
         Whitebox.setInternalState(builder, PreparedStatementGenerator.class, queryGenerator);
@@ -179,4 +184,27 @@ public class DaoContextFactoryTest {
         assertThat(Whitebox.<Cache<StatementCacheKey, PreparedStatement>>getInternalState(actual, "dynamicPSCache")).isInstanceOf(Cache.class);
         assertThat(Whitebox.<Map<CQLQueryType, PreparedStatement>>getInternalState(actual, "counterQueryMap")).isEmpty();
     }
+
+    @Test
+    public void should_warm_up_prepared_statements_when_enabled() throws Exception {
+        // Given
+        Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+        EntityMeta meta = new EntityMeta();
+        entityMetaMap.put(CompleteBean.class, meta);
+
+        when(queryGenerator.prepareSelectAll(session, meta)).thenReturn(selectEagerPS);
+        when(queryGenerator.prepareRemovePSs(session, meta)).thenReturn(removePSs);
+        when(parsingResult.getMetaMap()).thenReturn(entityMetaMap);
+        when(configContext.getPreparedStatementLRUCacheSize()).thenReturn(100);
+        when(configContext.isPreparedStatementsWarmUp()).thenReturn(true);
+        when(configContext.getPreparedStatementsWarmUpParallelism()).thenReturn(4);
+
+        // When
+        DaoContext actual = builder.create(session, parsingResult, configContext);
+
+        // Then
+        verify(warmUp).warmUp(session, Whitebox.<Cache<StatementCacheKey, PreparedStatement>>getInternalState(actual, "dynamicPSCache"),
+                entityMetaMap.values(), 4);
+    }
 }
+
@@ -196,7 +196,7 @@ public class DaoContextTest {
         List<PropertyMeta> pms = new ArrayList<>();
 
         when(cacheManager.getCacheForEntityInsert(session, dynamicPSCache, context, pms)).thenReturn(ps);
-        when(binder.bindForInsert(context, ps, pms)).thenReturn(bsWrapper);
+        when(binder.bindForInsert(context, ps, pms, null)).thenReturn(bsWrapper);
         when(context.getConsistencyLevel()).thenReturn(Optional.<ConsistencyLevel>fromNullable(null));
 
         // When
@@ -212,7 +212,7 @@ public class DaoContextTest {
         List<PropertyMeta> pms = new ArrayList<>();
 
         when(cacheManager.getCacheForFieldsUpdate(session, dynamicPSCache, context, pms)).thenReturn(ps);
-        when(binder.bindForUpdate(context, ps, pms)).thenReturn(bsWrapper);
+        when(binder.bindForUpdate(context, ps, pms, null)).thenReturn(bsWrapper);
 
         // When
         daoContext.pushUpdateStatement(context, pms);
@@ -22,6 +22,7 @@ import static info.archinnov.achilles.type.InsertStrategy.ALL_FIELDS;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import java.util.ArrayList;
@@ -123,6 +124,16 @@ public class EntityFacadeTest {
         verify(daoContext).pushUpdateStatement(context.daoFacade, pms);
     }
 
+    @Test
+    public void should_not_push_update_coalesced_by_flush_context() throws Exception {
+        List<PropertyMeta> pms = Arrays.asList();
+        when(flushContext.coalesceUpdate(context.daoFacade, pms)).thenReturn(true);
+
+        facade.pushUpdateStatement(pms);
+
+        verify(daoContext, never()).pushUpdateStatement(context.daoFacade, pms);
+    }
+
     @Test
     public void should_push_for_collection_and_map_update() throws Exception {
         facade.pushCollectionAndMapUpdateStatements(changeSet);
@@ -19,7 +19,9 @@ import static info.archinnov.achilles.type.ConsistencyLevel.LOCAL_QUORUM;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.context.AbstractFlushContext.FlushType;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.statement.wrapper.AbstractStatementWrapper;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
@@ -39,6 +41,8 @@ import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Statement;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ImmediateFlushContextTest {
@@ -98,6 +102,19 @@ public class ImmediateFlushContextTest {
 		verify(daoContext).execute(bsWrapper);
 	}
 
+	@Test
+	public void should_flush_async() throws Exception {
+		List<AbstractStatementWrapper> statementWrappers = new ArrayList<AbstractStatementWrapper>();
+		statementWrappers.add(bsWrapper);
+		Whitebox.setInternalState(context, "statementWrappers", statementWrappers);
+		ResultSet result = mock(ResultSet.class);
+		when(daoContext.executeAsync(bsWrapper)).thenReturn(Futures.immediateFuture(result));
+
+		ListenableFuture<List<ResultSet>> actual = context.flushAsync();
+
+		assertThat(actual.get()).containsExactly(result, null);
+	}
+
 	@Test
 	public void should_duplicate() throws Exception {
 		context = new ImmediateFlushContext(daoContext, LOCAL_QUORUM,
@@ -132,4 +149,42 @@ public class ImmediateFlushContextTest {
         verify(meta.forInterception()).intercept(entity,Event.POST_PERSIST);
 
     }
+
+    @Test
+    public void should_hand_simple_counter_increment_to_aggregator() throws Exception {
+        //Given
+        CounterDeltaAggregator aggregator = mock(CounterDeltaAggregator.class);
+        DaoOperations daoOperations = mock(DaoOperations.class);
+        PropertyMeta counterMeta = mock(PropertyMeta.class);
+        context = new ImmediateFlushContext(daoContext, null, NO_SERIAL_CONSISTENCY, Optional.of(aggregator));
+        when(aggregator.add(daoOperations, counterMeta, 2L)).thenReturn(true);
+
+        //When
+        final boolean coalesced = context.duplicate().coalesceSimpleCounterIncrement(daoOperations, counterMeta, 2L);
+
+        //Then
+        assertThat(coalesced).isTrue();
+        verify(aggregator).add(daoOperations, counterMeta, 2L);
+    }
+
+    @Test
+    public void should_not_coalesce_simple_counter_increment_when_aggregator_shut_down() throws Exception {
+        //Given
+        CounterDeltaAggregator aggregator = mock(CounterDeltaAggregator.class);
+        DaoOperations daoOperations = mock(DaoOperations.class);
+        PropertyMeta counterMeta = mock(PropertyMeta.class);
+        context = new ImmediateFlushContext(daoContext, null, NO_SERIAL_CONSISTENCY, Optional.of(aggregator));
+        when(aggregator.add(daoOperations, counterMeta, 2L)).thenReturn(false);
+
+        //When
+        final boolean coalesced = context.coalesceSimpleCounterIncrement(daoOperations, counterMeta, 2L);
+
+        //Then
+        assertThat(coalesced).isFalse();
+    }
+
+    @Test
+    public void should_not_coalesce_simple_counter_increment_without_aggregator() throws Exception {
+        assertThat(context.coalesceSimpleCounterIncrement(mock(DaoOperations.class), mock(PropertyMeta.class), 2L)).isFalse();
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.context;
+
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_SET;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.context.facade.DaoOperations;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
+import info.archinnov.achilles.listener.CASResultListener;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MutationCoalescerTest {
+
+    @Mock
+    private DaoContext daoContext;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityMeta meta;
+
+    @Mock
+    private PropertyMeta nameMeta;
+
+    @Mock
+    private PropertyMeta ageMeta;
+
+    @Mock
+    private PropertyMeta followersMeta;
+
+    @Mock
+    private PropertyMeta counterMeta;
+
+    @Captor
+    private ArgumentCaptor<List<PropertyMeta>> pmsCaptor;
+
+    private MutationCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        coalescer = new MutationCoalescer(daoContext);
+        when(meta.getEntityClass()).thenReturn((Class) CompleteBean.class);
+        when(meta.forOperations().encodePrimaryKey(10L)).thenReturn(10L);
+        when(meta.forOperations().encodePrimaryKey(11L)).thenReturn(11L);
+    }
+
+    @Test
+    public void should_merge_insert_and_update_into_one_insert() throws Exception {
+        //Given
+        DaoOperations insertContext = context(10L);
+        DaoOperations updateContext = context(10L);
+
+        //When
+        assertThat(coalescer.coalesceInsert(insertContext, Arrays.asList(nameMeta))).isTrue();
+        assertThat(coalescer.coalesceUpdate(updateContext, Arrays.asList(ageMeta, nameMeta))).isTrue();
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).pushInsertStatement(any(DaoOperations.class), pmsCaptor.capture(), any(Object[].class));
+        assertThat(pmsCaptor.getValue()).containsExactly(nameMeta, ageMeta);
+        verify(daoContext, never()).pushUpdateStatement(any(DaoOperations.class), anyListOf(PropertyMeta.class), any(Object[].class));
+        assertThat(coalescer.hasPendingMutations()).isFalse();
+    }
+
+    @Test
+    public void should_not_merge_mutations_on_different_primary_keys() throws Exception {
+        //Given
+        DaoOperations context1 = context(10L);
+        DaoOperations context2 = context(11L);
+
+        //When
+        coalescer.coalesceUpdate(context1, Arrays.asList(nameMeta));
+        coalescer.coalesceUpdate(context2, Arrays.asList(nameMeta));
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).pushUpdateStatement(eq(context1), eq(Arrays.asList(nameMeta)), any(Object[].class));
+        verify(daoContext).pushUpdateStatement(eq(context2), eq(Arrays.asList(nameMeta)), any(Object[].class));
+    }
+
+    @Test
+    public void should_bind_latest_values_of_distinct_instances_with_same_primary_key() throws Exception {
+        //Given
+        CompleteBean entity1 = new CompleteBean();
+        CompleteBean entity2 = new CompleteBean();
+        DaoOperations context1 = context(10L);
+        DaoOperations context2 = context(10L);
+        when(context1.getEntity()).thenReturn(entity1);
+        when(context2.getEntity()).thenReturn(entity2);
+        when(meta.forSnapshots().encodeColumn(nameMeta, entity1)).thenReturn("John");
+        when(meta.forSnapshots().encodeColumn(ageMeta, entity1)).thenReturn(30L);
+        when(meta.forSnapshots().encodeColumn(nameMeta, entity2)).thenReturn("Helen");
+
+        //When
+        coalescer.coalesceUpdate(context1, Arrays.asList(nameMeta, ageMeta));
+        coalescer.coalesceUpdate(context2, Arrays.asList(nameMeta));
+        // Changes after the update must not leak into the batch
+        when(meta.forSnapshots().encodeColumn(nameMeta, entity2)).thenReturn("changed");
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).pushUpdateStatement(context2, Arrays.asList(nameMeta, ageMeta), new Object[] { "Helen", 30L });
+    }
+
+    @Test
+    public void should_merge_collection_change_sets() throws Exception {
+        //Given
+        DaoOperations context = context(10L);
+        DirtyCheckChangeSet changeSet1 = mock(DirtyCheckChangeSet.class);
+        DirtyCheckChangeSet changeSet2 = mock(DirtyCheckChangeSet.class);
+        DirtyCheckChangeSet merged = new DirtyCheckChangeSet(followersMeta, ADD_TO_SET);
+        when(changeSet1.getPropertyMeta()).thenReturn(followersMeta);
+        when(changeSet2.getPropertyMeta()).thenReturn(followersMeta);
+        when(changeSet1.merge(changeSet2)).thenReturn(Optional.of(merged));
+
+        //When
+        coalescer.coalesceCollectionAndMapUpdate(context, changeSet1);
+        coalescer.coalesceCollectionAndMapUpdate(context, changeSet2);
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).pushCollectionAndMapUpdateStatement(context, merged);
+        verify(daoContext, never()).pushCollectionAndMapUpdateStatement(context, changeSet1);
+        verify(daoContext, never()).pushCollectionAndMapUpdateStatement(context, changeSet2);
+    }
+
+    @Test
+    public void should_drop_change_sets_on_columns_written_in_full() throws Exception {
+        //Given
+        DaoOperations context = context(10L);
+        DirtyCheckChangeSet changeSet = mock(DirtyCheckChangeSet.class);
+        when(changeSet.getPropertyMeta()).thenReturn(followersMeta);
+
+        //When
+        coalescer.coalesceCollectionAndMapUpdate(context, changeSet);
+        coalescer.coalesceUpdate(context, Arrays.asList(followersMeta));
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).pushUpdateStatement(eq(context), eq(Arrays.asList(followersMeta)), any(Object[].class));
+        verify(daoContext, never()).pushCollectionAndMapUpdateStatement(context, changeSet);
+    }
+
+    @Test
+    public void should_sum_counter_deltas() throws Exception {
+        //Given
+        DaoOperations context = context(10L);
+
+        //When
+        coalescer.coalesceSimpleCounterIncrement(context, counterMeta, 3L);
+        coalescer.coalesceSimpleCounterIncrement(context, counterMeta, -1L);
+        coalescer.coalesceClusteredCounterIncrement(context, counterMeta, 2L);
+        coalescer.coalesceClusteredCounterIncrement(context, counterMeta, -2L);
+        coalescer.bindPendingMutations();
+
+        //Then
+        verify(daoContext).bindForSimpleCounterIncrement(context, counterMeta, 2L);
+        verify(daoContext, never()).pushClusteredCounterIncrementStatement(any(DaoOperations.class), any(PropertyMeta.class), any(Long.class));
+    }
+
+    @Test
+    public void should_not_coalesce_mutation_with_cas_result_listener() throws Exception {
+        //Given
+        DaoOperations context = context(10L);
+        when(context.getCASResultListener()).thenReturn(Optional.of(mock(CASResultListener.class)));
+
+        //When
+        final boolean coalesced = coalescer.coalesceUpdate(context, Arrays.asList(nameMeta));
+
+        //Then
+        assertThat(coalesced).isFalse();
+        assertThat(coalescer.hasPendingMutations()).isFalse();
+    }
+
+    private DaoOperations context(Long primaryKey) {
+        DaoOperations context = mock(DaoOperations.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getPrimaryKey()).thenReturn(primaryKey);
+        when(context.getTtl()).thenReturn(Optional.<Integer>absent());
+        when(context.getTimestamp()).thenReturn(Optional.<Long>absent());
+        when(context.getOptions()).thenReturn(OptionsBuilder.noOptions());
+        when(context.getCASResultListener()).thenReturn(Optional.absent());
+        return context;
+    }
+}
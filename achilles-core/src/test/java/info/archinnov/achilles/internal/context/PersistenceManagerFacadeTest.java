@@ -41,7 +41,11 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.ResultSet;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityInitializer;
@@ -121,6 +125,52 @@ public class PersistenceManagerFacadeTest {
         Whitebox.setInternalState(context, "updater", updater);
     }
 
+    @Test
+    public void should_persist_async() throws Exception {
+        //Given
+        Object entity = new Object();
+        context.entity = entity;
+        when(configurationContext.getExecutorService()).thenReturn(MoreExecutors.sameThreadExecutor());
+        when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet>asList()));
+        when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context.entityFacade)).thenReturn(entity);
+
+        //When
+        ListenableFuture<Object> actual = facade.persistAsync(entity);
+
+        //Then
+        assertThat(actual.get()).isSameAs(entity);
+
+        InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_PERSIST);
+        inOrder.verify(persister).persist(context.entityFacade);
+        inOrder.verify(flushContext).flushAsync();
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+    }
+
+    @Test
+    public void should_insert_async_without_proxy() throws Exception {
+        //Given
+        Object entity = new Object();
+        context.entity = entity;
+        when(configurationContext.getExecutorService()).thenReturn(MoreExecutors.sameThreadExecutor());
+        when(flushContext.flushAsync()).thenReturn(Futures.immediateFuture(Arrays.<ResultSet>asList()));
+
+        //When
+        ListenableFuture<Void> actual = facade.insertAsync(entity);
+
+        //Then
+        assertThat(actual.get()).isNull();
+
+        InOrder inOrder = Mockito.inOrder(flushContext, persister);
+
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, PRE_PERSIST);
+        inOrder.verify(persister).persist(context.entityFacade);
+        inOrder.verify(flushContext).flushAsync();
+        inOrder.verify(flushContext).triggerInterceptor(meta, entity, POST_PERSIST);
+        verifyZeroInteractions(proxifier);
+    }
+
     @Test
     public void should_persist() throws Exception {
         //Given
@@ -81,12 +81,10 @@ public class StateHolderFacadeTest {
     @Test
     public void should_get_state() throws Exception {
         //Given
-        PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").accessors().build();
         PropertyMeta counterMeta = PropertyMetaTestBuilder.completeBean(Void.class, Counter.class).field("count").accessors().build();
 
         when(meta.structure().isClusteredCounter()).thenReturn(true);
         when(meta.getAllCounterMetas()).thenReturn(asList(counterMeta));
-        when(meta.getAllMetasExceptCounters()).thenReturn(asList(nameMeta));
 
         Options.CASCondition casCondition = new Options.CASCondition("test", "test");
         CASResultListener listener = mock(CASResultListener.class);
@@ -118,7 +116,6 @@ public class StateHolderFacadeTest {
         assertThat(facade.getCASResultListener().get()).isSameAs(listener);
 
         assertThat(facade.getAllCountersMeta()).containsExactly(counterMeta);
-        assertThat(facade.getAllGettersExceptCounters()).containsExactly(nameMeta.getGetter());
     }
 
 
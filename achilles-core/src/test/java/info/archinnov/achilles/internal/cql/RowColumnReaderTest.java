@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cql;
+
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDef;
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDefinitions;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+public class RowColumnReaderTest {
+
+    @Test
+    public void should_resolve_readers_for_definitions() throws Exception {
+        //Given
+        ColumnDefinitions definitions = buildColumnDefinitions(
+                buildColumnDef("keyspace", "table", "id", DataType.bigint()),
+                buildColumnDef("keyspace", "table", "friends", DataType.list(DataType.text())),
+                buildColumnDef("keyspace", "table", "preferences", DataType.map(DataType.cint(), DataType.text())));
+        Row row = mock(Row.class);
+        List<String> friends = Arrays.asList("John", "Helen");
+        Map<Integer, String> preferences = new HashMap<>();
+        when(row.getLong(0)).thenReturn(10L);
+        when(row.getList(1, String.class)).thenReturn(friends);
+        when(row.getMap(2, Integer.class, String.class)).thenReturn(preferences);
+
+        //When
+        final RowColumnReader[] readers = RowColumnReader.forDefinitions(definitions);
+
+        //Then
+        assertThat(readers).hasSize(3);
+        assertThat(readers[0].read(row, 0)).isEqualTo(10L);
+        assertThat(readers[1].read(row, 1)).isSameAs(friends);
+        assertThat(readers[2].read(row, 2)).isSameAs(preferences);
+    }
+
+    @Test
+    public void should_read_set_with_element_class() throws Exception {
+        //Given
+        Row row = mock(Row.class);
+        Set<String> followers = new HashSet<>();
+        when(row.getSet(3, String.class)).thenReturn(followers);
+
+        //When
+        final Object actual = RowColumnReader.forType(DataType.set(DataType.text())).read(row, 3);
+
+        //Then
+        assertThat(actual).isSameAs(followers);
+    }
+}
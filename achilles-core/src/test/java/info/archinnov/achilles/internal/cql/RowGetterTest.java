@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.cql;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.util.UUID;
+import org.junit.Test;
+import com.datastax.driver.core.Row;
+import info.archinnov.achilles.internal.metadata.holder.InternalTimeUUID;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+public class RowGetterTest {
+
+    @Test
+    public void should_find_getter_for_type() throws Exception {
+        assertThat(RowGetter.forType(Long.class)).isSameAs(RowGetter.LONG);
+        assertThat(RowGetter.forType(int.class)).isSameAs(RowGetter.INT);
+        assertThat(RowGetter.forType(byte[].class)).isSameAs(RowGetter.BYTES);
+        assertThat(RowGetter.forType(InternalTimeUUID.class)).isSameAs(RowGetter.UUID_TYPE);
+    }
+
+    @Test
+    public void should_read_custom_type_as_string() throws Exception {
+        assertThat(RowGetter.forType(UserBean.class)).isSameAs(RowGetter.STRING);
+    }
+
+    @Test
+    public void should_read_value_by_index() throws Exception {
+        //Given
+        Row row = mock(Row.class);
+        UUID uuid = UUID.randomUUID();
+        when(row.getUUID(1)).thenReturn(uuid);
+        when(row.getInt(2)).thenReturn(12);
+
+        //When
+        final Object actualUUID = RowGetter.UUID_TYPE.getValue(row, 1);
+        final Object actualInt = RowGetter.INT.getValue(row, 2);
+
+        //Then
+        assertThat(actualUUID).isSameAs(uuid);
+        assertThat(actualInt).isEqualTo(12);
+    }
+
+    @Test
+    public void should_read_value_by_name() throws Exception {
+        //Given
+        Row row = mock(Row.class);
+        when(row.getString("name")).thenReturn("DuyHai");
+
+        //When
+        final Object actual = RowGetter.STRING.getValue(row, "name");
+
+        //Then
+        assertThat(actual).isEqualTo("DuyHai");
+    }
+}
@@ -18,13 +18,11 @@ package info.archinnov.achilles.internal.cql;
 import static com.datastax.driver.core.DataType.Name.*;
 import static info.archinnov.achilles.internal.cql.TypeMapper.*;
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Mockito.*;
 import info.archinnov.achilles.internal.metadata.holder.InternalTimeUUID;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.test.mapping.entity.UserBean;
 import info.archinnov.achilles.type.Counter;
 
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
@@ -37,8 +35,6 @@ import java.util.UUID;
 
 import org.junit.Test;
 
-import com.datastax.driver.core.Row;
-
 public class TypeMapperTest {
 
 	@Test
@@ -100,26 +96,6 @@ public class TypeMapperTest {
 		assertThat((Class) toJavaType(CUSTOM)).isSameAs(ByteBuffer.class);
 	}
 
-	@Test
-	public void should_get_string_value_from_row() throws Exception {
-		Row row = mock(Row.class);
-		when(row.getString("name")).thenReturn("value");
-
-		Method method = getRowMethod(String.class);
-
-		assertThat(method.invoke(row, "name")).isEqualTo("value");
-	}
-
-	@Test
-	public void should_get_string_value_from_row_for_object_type() throws Exception {
-		Row row = mock(Row.class);
-		when(row.getString("object")).thenReturn("object_value");
-
-		Method method = getRowMethod(UserBean.class);
-
-		assertThat(method.invoke(row, "object")).isEqualTo("object_value");
-	}
-
 	@SuppressWarnings("rawtypes")
 	@Test
 	public void should_return_long_as_compatible_java_type() throws Exception {
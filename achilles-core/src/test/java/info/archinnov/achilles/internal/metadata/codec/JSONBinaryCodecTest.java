@@ -0,0 +1,76 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import static org.fest.assertions.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.archinnov.achilles.internal.metadata.codec.JSONCodecTest.MyPojo;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class JSONBinaryCodecTest {
+
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void should_encode_and_decode() throws Exception {
+        //Given
+        JSONBinaryCodec<MyPojo> codec = JSONBinaryCodec.create(mapper, MyPojo.class);
+
+        //When
+        ByteBuffer encoded = codec.encode(new MyPojo(10L, "name"));
+        MyPojo decoded = codec.decode(ByteBuffer.wrap("{\"id\":11,\"name\":\"Test\"}".getBytes()));
+
+        //Then
+        assertThat(new String(encoded.array())).isEqualTo("{\"id\":10,\"name\":\"name\"}");
+        assertThat(decoded.getId()).isEqualTo(11L);
+        assertThat(decoded.getName()).isEqualTo("Test");
+    }
+
+    @Test
+    public void should_decode_slice_without_moving_position() throws Exception {
+        //Given
+        JSONBinaryCodec<MyPojo> codec = JSONBinaryCodec.create(mapper, MyPojo.class);
+        ByteBuffer buffer = ByteBuffer.wrap("xx{\"id\":12,\"name\":\"Slice\"}".getBytes());
+        buffer.position(2);
+        ByteBuffer slice = buffer.slice();
+
+        //When
+        MyPojo decoded = codec.decode(slice);
+
+        //Then
+        assertThat(decoded.getId()).isEqualTo(12L);
+        assertThat(decoded.getName()).isEqualTo("Slice");
+        assertThat(slice.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_decode_direct_buffer() throws Exception {
+        //Given
+        JSONBinaryCodec<MyPojo> codec = JSONBinaryCodec.create(mapper, MyPojo.class);
+        final byte[] bytes = "{\"id\":13,\"name\":\"Direct\"}".getBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+
+        //When
+        MyPojo decoded = codec.decode(buffer);
+
+        //Then
+        assertThat(decoded.getId()).isEqualTo(13L);
+        assertThat(buffer.remaining()).isEqualTo(bytes.length);
+    }
+
+    @Test
+    public void should_encode_and_decode_null() throws Exception {
+        //Given
+        JSONBinaryCodec<MyPojo> codec = JSONBinaryCodec.create(mapper, MyPojo.class);
+
+        //When
+        //Then
+        assertThat(codec.encode(null)).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+}
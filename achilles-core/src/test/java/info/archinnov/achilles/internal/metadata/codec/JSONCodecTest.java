@@ -29,6 +29,32 @@ public class JSONCodecTest {
         assertThat(decoded.getName()).isEqualTo("Test");
     }
 
+    @Test
+    public void should_encode_runtime_type_of_value() throws Exception {
+        //Given
+        JSONCodec<MyPojo> codec = JSONCodec.create(mapper, MyPojo.class);
+
+        //When
+        String encoded = codec.encode(new MyExtendedPojo(10L, "name", "extra"));
+
+        //Then
+        assertThat(encoded).isEqualTo("{\"id\":10,\"name\":\"name\",\"extra\":\"extra\"}");
+    }
+
+    public static class MyExtendedPojo extends MyPojo {
+
+        private String extra;
+
+        public MyExtendedPojo(Long id, String name, String extra) {
+            super(id, name);
+            this.extra = extra;
+        }
+
+        public String getExtra() {
+            return extra;
+        }
+    }
+
     @JsonAutoDetect
     public static class MyPojo {
 
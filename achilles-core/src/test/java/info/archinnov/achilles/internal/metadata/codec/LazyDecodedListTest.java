@@ -0,0 +1,106 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LazyDecodedListTest {
+
+    @Mock
+    private SimpleCodec<Integer, String> valueCodec;
+
+    @Before
+    public void setUp() {
+        when(valueCodec.decode("1")).thenReturn(1);
+        when(valueCodec.decode("2")).thenReturn(2);
+        when(valueCodec.decode("3")).thenReturn(3);
+    }
+
+    @Test
+    public void should_decode_element_on_first_read_only() throws Exception {
+        //Given
+        LazyDecodedList<Integer, String> list = new LazyDecodedList<>(Arrays.asList("1", "2", "3"), valueCodec);
+
+        //When
+        final int size = list.size();
+        final Integer first = list.get(0);
+        final Integer firstAgain = list.get(0);
+
+        //Then
+        assertThat(size).isEqualTo(3);
+        assertThat(first).isEqualTo(1);
+        assertThat(firstAgain).isEqualTo(1);
+        verify(valueCodec, times(1)).decode("1");
+        verify(valueCodec, never()).decode("2");
+        assertThat(list.isMaterialized()).isFalse();
+    }
+
+    @Test
+    public void should_materialize_on_modification() throws Exception {
+        //Given
+        LazyDecodedList<Integer, String> list = new LazyDecodedList<>(Arrays.asList("1", "2"), valueCodec);
+
+        //When
+        list.add(4);
+        list.remove(0);
+
+        //Then
+        assertThat(list).containsExactly(2, 4);
+        assertThat(list.isMaterialized()).isTrue();
+    }
+
+    @Test
+    public void should_clear_without_decoding() throws Exception {
+        //Given
+        LazyDecodedList<Integer, String> list = new LazyDecodedList<>(Arrays.asList("1", "2"), valueCodec);
+
+        //When
+        list.clear();
+
+        //Then
+        assertThat(list).isEmpty();
+        verifyZeroInteractions(valueCodec);
+    }
+
+    @Test
+    public void should_be_equal_to_decoded_list() throws Exception {
+        //Given
+        LazyDecodedList<Integer, String> list = new LazyDecodedList<>(Arrays.asList("1", "2"), valueCodec);
+
+        //When
+        //Then
+        assertThat(list).isEqualTo(Arrays.asList(1, 2));
+        assertThat(list.hashCode()).isEqualTo(Arrays.asList(1, 2).hashCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void should_serialize_as_array_list() throws Exception {
+        //Given
+        LazyDecodedList<Integer, String> list = new LazyDecodedList<>(Arrays.asList("1", "2"), valueCodec);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        //When
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        final Object deserialized = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+        //Then
+        assertThat(deserialized).isInstanceOf(ArrayList.class);
+        assertThat((List<Integer>) deserialized).containsExactly(1, 2);
+    }
+}
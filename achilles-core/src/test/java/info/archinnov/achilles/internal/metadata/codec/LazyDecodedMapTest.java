@@ -0,0 +1,40 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.internal.metadata.holder.PropertyType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LazyDecodedMapTest {
+
+    @Mock
+    private SimpleCodec<Integer, String> keyCodec;
+
+    @Mock
+    private SimpleCodec<PropertyType, String> valueCodec;
+
+    @Test
+    public void should_decode_all_entries_on_first_access() throws Exception {
+        //Given
+        when(keyCodec.decode("1")).thenReturn(1);
+        when(valueCodec.decode("ID")).thenReturn(PropertyType.ID);
+        LazyDecodedMap<Integer, PropertyType, String, String> map = new LazyDecodedMap<>(ImmutableMap.of("1", "ID"), keyCodec, valueCodec);
+        verifyZeroInteractions(keyCodec, valueCodec);
+
+        //When
+        final PropertyType value = map.get(1);
+        map.put(2, PropertyType.LIST);
+
+        //Then
+        assertThat(value).isEqualTo(PropertyType.ID);
+        assertThat(map.isDecoded()).isTrue();
+        assertThat(map).hasSize(2);
+        verify(valueCodec, times(1)).decode("ID");
+    }
+}
@@ -0,0 +1,39 @@
+package info.archinnov.achilles.internal.metadata.codec;
+
+import static org.fest.assertions.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Set;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LazyDecodedSetTest {
+
+    @Mock
+    private SimpleCodec<Integer, String> valueCodec;
+
+    @Test
+    public void should_decode_all_elements_on_first_access() throws Exception {
+        //Given
+        when(valueCodec.decode("1")).thenReturn(1);
+        when(valueCodec.decode("2")).thenReturn(2);
+        LazyDecodedSet<Integer, String> set = new LazyDecodedSet<>(Sets.newHashSet("1", "2"), valueCodec);
+        verifyZeroInteractions(valueCodec);
+
+        //When
+        final boolean containsOne = set.contains(1);
+        set.add(3);
+        set.remove(2);
+
+        //Then
+        assertThat(containsOne).isTrue();
+        assertThat(set.isDecoded()).isTrue();
+        assertThat((Set<Integer>) set).containsOnly(1, 3);
+        verify(valueCodec, times(1)).decode("1");
+        verify(valueCodec, times(1)).decode("2");
+    }
+}
@@ -55,5 +55,16 @@ public class ListCodecImplTest {
         assertThat(decoded).containsExactly(3, 4);
     }
 
+    @Test
+    public void should_decode_lazily() throws Exception {
+        //Given
+        ListCodec<Integer, Integer> codec = new ListCodecImpl<>(Integer.class, Integer.class, new NativeCodec<>(Integer.class), true);
+
+        //When
+        List<Integer> decoded = codec.decode(Arrays.asList(3, 4));
 
-}
\ No newline at end of file
+        //Then
+        assertThat(decoded).isInstanceOf(LazyDecodedList.class);
+        assertThat(decoded).containsExactly(3, 4);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.discovery;
+
+import static info.archinnov.achilles.internal.metadata.discovery.EntityIndexReader.ENTITY_INDEX_RESOURCE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.common.base.Optional;
+import info.archinnov.achilles.test.more.entity.Entity3;
+import info.archinnov.achilles.test.sample.entity.Entity1;
+
+public class EntityIndexReaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private EntityIndexReader reader = new EntityIndexReader();
+
+    @Test
+    public void should_return_absent_when_no_index_in_classpath() throws Exception {
+        //When
+        final Optional<Set<String>> actual = reader.readEntityClassNames(this.getClass().getClassLoader());
+
+        //Then
+        assertThat(actual.isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_read_entity_class_names_from_index() throws Exception {
+        //Given
+        final ClassLoader classLoader = classLoaderWithIndex("# comment", Entity1.class.getName(), "", "  " + Entity3.class.getName() + "  ");
+
+        //When
+        final Optional<Set<String>> actual = reader.readEntityClassNames(classLoader);
+
+        //Then
+        assertThat(actual.isPresent()).isTrue();
+        assertThat(actual.get()).containsOnly(Entity1.class.getName(), Entity3.class.getName());
+    }
+
+    @Test
+    public void should_load_indexed_entities_of_package_and_skip_stale_entries() throws Exception {
+        //Given
+        final ClassLoader classLoader = classLoaderWithIndex(Entity1.class.getName(), Entity3.class.getName(),
+                "info.archinnov.achilles.test.sample.entity.RemovedEntity",
+                "info.archinnov.achilles.test.sample.entity.Entity1Test");
+        final Set<String> classNames = reader.readEntityClassNames(classLoader).get();
+
+        //When
+        final List<Class<?>> actual = reader.loadEntitiesOfPackage(classNames, " info.archinnov.achilles.test.sample", classLoader);
+
+        //Then
+        assertThat(actual).containsExactly(Entity1.class);
+    }
+
+    private ClassLoader classLoaderWithIndex(String... lines) throws Exception {
+        final File classes = temporaryFolder.newFolder("classes");
+        final File index = new File(classes, ENTITY_INDEX_RESOURCE);
+        index.getParentFile().mkdirs();
+        Files.write(index.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return new URLClassLoader(new URL[] { classes.toURI().toURL() }, this.getClass().getClassLoader());
+    }
+}
@@ -25,6 +25,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.Test;
@@ -145,4 +146,21 @@ public class EntityMetaBuilderTest {
         assertThat(meta.structure().isClusteredCounter()).isTrue();
     }
 
+    @Test
+    public void should_assign_ordinals_to_properties() throws Exception {
+        Map<String, PropertyMeta> propertyMetas = new LinkedHashMap<>();
+        PropertyMeta nameMeta = new PropertyMeta();
+        nameMeta.setType(SIMPLE);
+        PropertyMeta ageMeta = new PropertyMeta();
+        ageMeta.setType(SIMPLE);
+        propertyMetas.put("name", nameMeta);
+        propertyMetas.put("age", ageMeta);
+
+        when(idMeta.<Long>getValueClass()).thenReturn(Long.class);
+
+        entityMetaBuilder(idMeta).entityClass(CompleteBean.class).className("Bean").tableName("cfName").propertyMetas(propertyMetas).build();
+
+        assertThat(nameMeta.getOrdinal()).isEqualTo(0);
+        assertThat(ageMeta.getOrdinal()).isEqualTo(1);
+    }
 }
@@ -51,6 +51,52 @@ public class EntityMetaOperationsTest {
         assertThat(actual).isSameAs(id);
     }
 
+    @Test
+    public void should_encode_compound_primary_key_to_components() throws Exception {
+        //Given
+        Object compoundKey = new Object();
+        when(meta.getIdMeta()).thenReturn(idMeta);
+        when(idMeta.structure().isEmbeddedId()).thenReturn(true);
+        when(idMeta.forTranscoding().encodeToComponents(compoundKey, false)).thenReturn(Arrays.<Object>asList(10L, "type", 3));
+
+        //When
+        final Object actual = view.encodePrimaryKey(compoundKey);
+
+        //Then
+        assertThat(actual).isEqualTo(Arrays.<Object>asList(10L, "type", 3));
+    }
+
+    @Test
+    public void should_get_routing_key_for_simple_id() throws Exception {
+        //Given
+        when(meta.getIdMeta()).thenReturn(idMeta);
+        when(meta.config().getTableName()).thenReturn("table");
+        when(idMeta.structure().isEmbeddedId()).thenReturn(false);
+        when(idMeta.forTranscoding().encodeToCassandra(10L)).thenReturn(10L);
+
+        //When
+        final List<Object> actual = view.getRoutingKey(10L);
+
+        //Then
+        assertThat(actual).containsExactly("table", 10L);
+    }
+
+    @Test
+    public void should_get_routing_key_for_compound_id() throws Exception {
+        //Given
+        Object compoundKey = new Object();
+        when(meta.getIdMeta()).thenReturn(idMeta);
+        when(meta.config().getTableName()).thenReturn("table");
+        when(idMeta.structure().isEmbeddedId()).thenReturn(true);
+        when(idMeta.forTranscoding().encodeToComponents(compoundKey, true)).thenReturn(Arrays.<Object>asList(10L, "type"));
+
+        //When
+        final List<Object> actual = view.getRoutingKey(compoundKey);
+
+        //Then
+        assertThat(actual).containsExactly("table", 10L, "type");
+    }
+
     @Test
     public void should_instantiate_entity() throws Exception {
         //Given
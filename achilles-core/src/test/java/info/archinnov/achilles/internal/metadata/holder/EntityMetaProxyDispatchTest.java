@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind.GETTER;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind.ID_GETTER;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind.ID_SETTER;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind.SETTER;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyMetaTestBuilder.completeBean;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Dispatch;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Counter;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityMetaProxyDispatchTest {
+
+    @Mock
+    private EntityMeta meta;
+
+    private PropertyMeta idMeta;
+    private PropertyMeta nameMeta;
+    private PropertyMeta countMeta;
+
+    private EntityMetaProxyDispatch view;
+
+    @Before
+    public void setUp() throws Exception {
+        idMeta = completeBean(Void.class, Long.class).field("id").accessors().type(PropertyType.ID).build();
+        nameMeta = completeBean(Void.class, String.class).field("name").accessors().type(PropertyType.SIMPLE).build();
+        countMeta = completeBean(Void.class, Counter.class).field("count").accessors().type(PropertyType.COUNTER).build();
+
+        Map<Method, PropertyMeta> getterMetas = new HashMap<>();
+        getterMetas.put(nameMeta.getGetter(), nameMeta);
+        getterMetas.put(countMeta.getGetter(), countMeta);
+        Map<Method, PropertyMeta> setterMetas = new HashMap<>();
+        setterMetas.put(nameMeta.getSetter(), nameMeta);
+
+        when(meta.getIdMeta()).thenReturn(idMeta);
+        when(meta.getGetterMetas()).thenReturn(getterMetas);
+        when(meta.getSetterMetas()).thenReturn(setterMetas);
+        when(meta.getAllMetasExceptCounters()).thenReturn(asList(idMeta, nameMeta));
+
+        view = new EntityMetaProxyDispatch(meta);
+    }
+
+    @Test
+    public void should_dispatch_accessors_with_shared_ordinal_per_property() throws Exception {
+        //When
+        final Dispatch nameGetter = view.dispatch(nameMeta.getGetter());
+        final Dispatch nameSetter = view.dispatch(nameMeta.getSetter());
+        final Dispatch countGetter = view.dispatch(countMeta.getGetter());
+
+        //Then
+        assertThat(nameGetter.kind()).isEqualTo(GETTER);
+        assertThat(nameSetter.kind()).isEqualTo(SETTER);
+        assertThat(nameSetter.ordinal()).isEqualTo(nameGetter.ordinal());
+        assertThat(countGetter.ordinal()).isNotEqualTo(nameGetter.ordinal());
+        assertThat(view.propertyMetaAt(nameGetter.ordinal())).isSameAs(nameMeta);
+        assertThat(view.propertyMetaAt(countGetter.ordinal())).isSameAs(countMeta);
+        assertThat(view.dispatch(idMeta.getGetter()).kind()).isEqualTo(ID_GETTER);
+        assertThat(view.dispatch(idMeta.getSetter()).kind()).isEqualTo(ID_SETTER);
+        assertThat(view.dispatch(CompleteBean.class.getMethod("toString"))).isNull();
+        assertThat(view.propertyCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_return_new_bit_set_of_all_properties_except_counters() throws Exception {
+        //When
+        final BitSet first = view.allLoadedExceptCounters();
+        first.clear();
+        final BitSet second = view.allLoadedExceptCounters();
+
+        //Then
+        assertThat(second.get(view.dispatch(nameMeta.getGetter()).ordinal())).isTrue();
+        assertThat(second.get(view.dispatch(idMeta.getGetter()).ordinal())).isTrue();
+        assertThat(second.get(view.dispatch(countMeta.getGetter()).ordinal())).isFalse();
+    }
+
+    @Test
+    public void should_build_dispatch_table_once() throws Exception {
+        //When
+        view.dispatch(nameMeta.getGetter());
+        view.propertyMetaAt(0);
+        view.allLoadedExceptCounters();
+
+        //Then
+        verify(meta, times(1)).getGetterMetas();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaRowMapping.NOT_FOUND;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.google.common.collect.ImmutableMap;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityMetaRowMappingTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityMeta meta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta nameMeta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta idMeta;
+
+    @Mock
+    private ColumnDefinitions definitions;
+
+    private EntityMetaRowMapping view;
+
+    @Before
+    public void setUp() {
+        view = new EntityMetaRowMapping(meta);
+    }
+
+    @Test
+    public void should_resolve_non_counter_column_indexes_once_per_definitions() throws Exception {
+        //Given
+        when(meta.getAllMetasExceptCounters()).thenReturn(asList(idMeta, nameMeta));
+        when(idMeta.structure().isEmbeddedId()).thenReturn(true);
+        when(nameMeta.structure().isEmbeddedId()).thenReturn(false);
+        when(nameMeta.getCQL3ColumnName()).thenReturn("name");
+        when(definitions.getIndexOf("name")).thenReturn(3);
+
+        //When
+        final int[] first = view.nonCounterColumnIndexes(definitions);
+        final int[] second = view.nonCounterColumnIndexes(definitions);
+
+        //Then
+        assertThat(first).containsOnly(NOT_FOUND, 3);
+        assertThat(first[0]).isEqualTo(NOT_FOUND);
+        assertThat(second).isSameAs(first);
+        verify(definitions, times(1)).getIndexOf("name");
+    }
+
+    @Test
+    public void should_resolve_again_for_other_definitions() throws Exception {
+        //Given
+        ColumnDefinitions otherDefinitions = mock(ColumnDefinitions.class);
+        when(meta.getAllMetasExceptCounters()).thenReturn(asList(nameMeta));
+        when(nameMeta.getCQL3ColumnName()).thenReturn("name");
+        when(definitions.getIndexOf("name")).thenReturn(1);
+        when(otherDefinitions.getIndexOf("name")).thenReturn(NOT_FOUND);
+
+        //When
+        final int[] first = view.nonCounterColumnIndexes(definitions);
+        final int[] second = view.nonCounterColumnIndexes(otherDefinitions);
+
+        //Then
+        assertThat(first).containsOnly(1);
+        assertThat(second).containsOnly(NOT_FOUND);
+    }
+
+    @Test
+    public void should_resolve_property_metas_by_column_index() throws Exception {
+        //Given
+        Map<String, PropertyMeta> propertiesMap = ImmutableMap.of("name", nameMeta);
+        when(definitions.size()).thenReturn(2);
+        when(definitions.getName(0)).thenReturn("id");
+        when(definitions.getName(1)).thenReturn("name");
+
+        //When
+        final PropertyMeta[] first = view.propertyMetasByColumnIndex(definitions, propertiesMap);
+        final PropertyMeta[] second = view.propertyMetasByColumnIndex(definitions, propertiesMap);
+
+        //Then
+        assertThat(first).hasSize(2);
+        assertThat(first[0]).isNull();
+        assertThat(first[1]).isSameAs(nameMeta);
+        assertThat(second).isSameAs(first);
+        verify(definitions, times(1)).getName(1);
+    }
+}
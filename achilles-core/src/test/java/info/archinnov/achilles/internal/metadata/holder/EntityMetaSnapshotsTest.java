@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.metadata.holder;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EntityMetaSnapshotsTest {
+
+    @Mock
+    private EntityMeta meta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta nameMeta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta friendsMeta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta pictureMeta;
+
+    private EntityMetaSnapshots view;
+
+    @Before
+    public void setUp() {
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(nameMeta, friendsMeta, pictureMeta));
+        view = new EntityMetaSnapshots(meta);
+    }
+
+    @Test
+    public void should_take_snapshot_isolated_from_later_changes() throws Exception {
+        //Given
+        CompleteBean entity = new CompleteBean();
+        List<String> friends = new ArrayList<>(asList("bob"));
+        ByteBuffer picture = ByteBuffer.wrap(new byte[] { 1, 2 });
+        when(nameMeta.forTranscoding().getAndEncodeValueForCassandra(entity)).thenReturn("DuyHai");
+        when(friendsMeta.forTranscoding().getAndEncodeValueForCassandra(entity)).thenReturn(friends);
+        when(pictureMeta.forTranscoding().getAndEncodeValueForCassandra(entity)).thenReturn(picture);
+
+        //When
+        view.takeSnapshot(entity);
+        friends.add("alice");
+        picture.put(0, (byte) 9);
+
+        //Then
+        final Object[] snapshot = view.getSnapshot(entity);
+        assertThat(snapshot[0]).isEqualTo("DuyHai");
+        assertThat(snapshot[1]).isEqualTo(asList("bob"));
+        assertThat(snapshot[2]).isEqualTo(ByteBuffer.wrap(new byte[] { 1, 2 }));
+    }
+
+    @Test
+    public void should_key_snapshots_by_entity_identity() throws Exception {
+        //Given
+        CompleteBean entity = new CompleteBean();
+        CompleteBean other = new CompleteBean();
+        entity.setId(10L);
+        other.setId(10L);
+
+        //When
+        view.putSnapshot(entity, new Object[] { "DuyHai", null, null });
+
+        //Then
+        assertThat(view.hasSnapshot(entity)).isTrue();
+        assertThat(view.hasSnapshot(other)).isFalse();
+        assertThat(view.getSnapshot(other)).isNull();
+    }
+}
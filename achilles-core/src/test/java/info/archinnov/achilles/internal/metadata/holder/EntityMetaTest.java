@@ -301,4 +301,17 @@ public class EntityMetaTest {
         //Then
 
     }
+
+    @Test
+    public void should_return_same_view_instances_on_each_call() throws Exception {
+        //Given
+        EntityMeta meta = new EntityMeta();
+
+        //Then
+        assertThat(meta.forOperations()).isSameAs(meta.forOperations());
+        assertThat(meta.forInterception()).isSameAs(meta.forInterception());
+        assertThat(meta.forTranscoding()).isSameAs(meta.forTranscoding());
+        assertThat(meta.structure()).isSameAs(meta.structure());
+        assertThat(meta.config()).isSameAs(meta.config());
+    }
 }
@@ -258,4 +258,54 @@ public class PropertyMetaRowExtractorTest {
         assertThat(actual).isSameAs(pk);
         verify(meta.getEmbeddedIdProperties(),times(2)).getCQL3ComponentNames();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void should_get_value_on_row_by_index() throws Exception {
+        //Given
+        when(row.isNull(2)).thenReturn(false);
+        when(meta.type()).thenReturn(PropertyType.SIMPLE);
+        when(meta.<Long>getCql3ValueClass()).thenReturn(Long.class);
+        when(row.getLong(2)).thenReturn(10L);
+        when(meta.forTranscoding().decodeFromCassandra(10L)).thenReturn(10L);
+
+        //When
+        final Object decoded = extractor.invokeOnRowForFields(row, 2);
+
+        //Then
+        assertThat(decoded).isEqualTo(10L);
+        verify(row, never()).getLong("column");
+    }
+
+    @Test
+    public void should_get_list_on_row_by_index() throws Exception {
+        //Given
+        when(row.isNull(1)).thenReturn(false);
+        when(meta.type()).thenReturn(PropertyType.LIST);
+        when(meta.<String>getCql3ValueClass()).thenReturn(String.class);
+        final List<String> rawList = Arrays.asList("a");
+        when(row.getList(1, String.class)).thenReturn(rawList);
+        when(meta.forTranscoding().decodeFromCassandra(rawList)).thenReturn(rawList);
+
+        //When
+        final Object decoded = extractor.invokeOnRowForFields(row, 1);
+
+        //Then
+        assertThat(decoded).isSameAs(rawList);
+    }
+
+    @Test
+    public void should_get_null_collection_on_null_column_by_index() throws Exception {
+        //Given
+        final Set<String> emptySet = Sets.newHashSet();
+        when(row.isNull(0)).thenReturn(true);
+        when(meta.type()).thenReturn(PropertyType.SET);
+        when(meta.forValues().nullValueForCollectionAndMap()).thenReturn(emptySet);
+
+        //When
+        final Object decoded = extractor.invokeOnRowForFields(row, 0);
+
+        //Then
+        assertThat(decoded).isSameAs(emptySet);
+        verify(row, never()).getSet(0, String.class);
+    }
+}
@@ -123,6 +123,34 @@ public class PropertyMetaStatementGeneratorTest {
     }
 
 
+    @Test
+    public void should_prepare_where_clause_for_token_range_select_with_embedded_id() throws Exception {
+        //Given
+        when(meta.structure().isEmbeddedId()).thenReturn(true);
+        when(embeddedIdProperties.getPartitionComponents().getCQL3ComponentNames()).thenReturn(asList("id", "bucket"));
+        Select select = QueryBuilder.select().from("table");
+
+        //When
+        final RegularStatement actual = view.generateWhereClauseForTokenRangeSelect(select);
+
+        //Then
+        assertThat(actual.getQueryString()).isEqualTo("SELECT * FROM table WHERE token(id,bucket)>:startToken AND token(id,bucket)<=:endToken;");
+    }
+
+    @Test
+    public void should_prepare_where_clause_for_token_range_select_with_simple_id() throws Exception {
+        //Given
+        when(meta.structure().isEmbeddedId()).thenReturn(false);
+        when(meta.getCQL3ColumnName()).thenReturn("id");
+        Select select = QueryBuilder.select().from("table");
+
+        //When
+        final RegularStatement actual = view.generateWhereClauseForTokenRangeSelect(select);
+
+        //Then
+        assertThat(actual.getQueryString()).isEqualTo("SELECT * FROM table WHERE token(id)>:startToken AND token(id)<=:endToken;");
+    }
+
     @Test
     public void should_prepare_where_clause_for_delete_with_embedded_id() throws Exception {
         //Given
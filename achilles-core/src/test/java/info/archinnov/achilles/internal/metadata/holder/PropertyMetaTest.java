@@ -90,4 +90,16 @@ public class PropertyMetaTest {
 
 		assertThat(pms).containsOnly(meta1, meta2, meta3, meta4);
 	}
+
+	@Test
+	public void should_return_same_view_instances_on_each_call() throws Exception {
+		PropertyMeta pm = new PropertyMeta();
+
+		assertThat(pm.forValues()).isSameAs(pm.forValues());
+		assertThat(pm.forRowExtraction()).isSameAs(pm.forRowExtraction());
+		assertThat(pm.forTranscoding()).isSameAs(pm.forTranscoding());
+		assertThat(pm.structure()).isSameAs(pm.structure());
+		assertThat(pm.config()).isSameAs(pm.config());
+		assertThat(pm.forCache()).isSameAs(pm.forCache());
+	}
 }
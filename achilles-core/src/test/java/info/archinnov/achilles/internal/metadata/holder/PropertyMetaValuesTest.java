@@ -53,7 +53,7 @@ public class PropertyMetaValuesTest {
         Object entity = new Object();
         Long id = 10L;
         when(meta.type()).thenReturn(ID);
-        when(invoker.getPrimaryKey(entity, meta)).thenReturn(id);
+        when(meta.getFieldAccessor().getValue(entity)).thenReturn(id);
 
         //When
         final Object actual = view.getPrimaryKey(entity);
@@ -80,8 +80,24 @@ public class PropertyMetaValuesTest {
     public void should_get_value_from_field() throws Exception {
         //Given
         CompleteBean entity = new CompleteBean();
+
+        when(meta.getFieldAccessor().getValue(entity)).thenReturn("DuyHai");
+
+        //When
+        final Object actual = view.getValueFromField(entity);
+
+        //Then
+        assertThat(actual).isEqualTo("DuyHai");
+        verifyZeroInteractions(invoker);
+    }
+
+    @Test
+    public void should_get_value_from_field_by_reflection_when_no_compiled_accessor() throws Exception {
+        //Given
+        CompleteBean entity = new CompleteBean();
         Field name = CompleteBean.class.getDeclaredField("name");
 
+        when(meta.getFieldAccessor()).thenReturn(null);
         when(meta.getField()).thenReturn(name);
         when(invoker.getValueFromField(entity, name)).thenReturn("DuyHai");
 
@@ -98,6 +114,7 @@ public class PropertyMetaValuesTest {
         CompleteBean entity = new CompleteBean();
         Field name = CompleteBean.class.getDeclaredField("name");
 
+        when(meta.getFieldAccessor()).thenReturn(null);
         when(meta.getField()).thenReturn(name);
 
         //When
@@ -107,6 +124,19 @@ public class PropertyMetaValuesTest {
         verify(invoker).setValueToField(entity, name, "DuyHai");
     }
 
+    @Test
+    public void should_set_value_to_field_with_compiled_accessor() throws Exception {
+        //Given
+        CompleteBean entity = new CompleteBean();
+
+        //When
+        view.setValueToField(entity, "DuyHai");
+
+        //Then
+        verify(meta.getFieldAccessor()).setValue(entity, "DuyHai");
+        verifyZeroInteractions(invoker);
+    }
+
     @Test
     public void should_return_empty_list_as_collection() throws Exception {
         //Given
@@ -8,12 +8,16 @@ import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import info.archinnov.achilles.annotations.BinaryJSON;
 import info.archinnov.achilles.annotations.Enumerated;
+import info.archinnov.achilles.annotations.LazyDecoding;
 import info.archinnov.achilles.internal.metadata.codec.ByteArrayCodec;
 import info.archinnov.achilles.internal.metadata.codec.ByteArrayPrimitiveCodec;
 import info.archinnov.achilles.internal.metadata.codec.ByteCodec;
 import info.archinnov.achilles.internal.metadata.codec.EnumNameCodec;
 import info.archinnov.achilles.internal.metadata.codec.EnumOrdinalCodec;
+import info.archinnov.achilles.internal.metadata.codec.JSONBinaryCodec;
+import info.archinnov.achilles.internal.metadata.codec.LazyDecodedMap;
 import info.archinnov.achilles.internal.metadata.codec.ListCodec;
 import info.archinnov.achilles.internal.metadata.codec.ListCodecImpl;
 import info.archinnov.achilles.internal.metadata.codec.MapCodec;
@@ -206,6 +210,48 @@ public class CodecFactoryTest {
         assertThat(decoded.getName()).isEqualTo("John");
     }
 
+    @Test
+    public void should_create_binary_JSON_codec() throws Exception {
+        class Test {
+            @BinaryJSON
+            private Pojo json;
+        }
+
+        Pojo bean = new Pojo(10L, "DuyHai");
+
+        Field field = Test.class.getDeclaredField("json");
+
+        //When
+        final SimpleCodec codec = factory.parseSimpleField(createContext(field));
+        final ByteBuffer encoded = (ByteBuffer) codec.encode(bean);
+        final Pojo decoded = (Pojo) codec.decode(ByteBuffer.wrap("{\"id\":11,\"name\":\"John\"}".getBytes()));
+
+        //Then
+        assertThat(codec).isInstanceOf(JSONBinaryCodec.class);
+        assertThat(factory.determineCQL3ValueType(codec, false)).isEqualTo((Class) ByteBuffer.class);
+        assertThat(new String(encoded.array())).isEqualTo("{\"id\":10,\"name\":\"DuyHai\"}");
+        assertThat(decoded.getId()).isEqualTo(11L);
+        assertThat(decoded.getName()).isEqualTo("John");
+    }
+
+    @Test
+    public void should_create_list_binary_JSON_codec() throws Exception {
+        class Test {
+            @BinaryJSON
+            private List<Pojo> pojos;
+        }
+
+        Field field = Test.class.getDeclaredField("pojos");
+
+        //When
+        final ListCodec<Object, Object> codec = factory.parseListField(createContext(field));
+        final List<Object> encoded = codec.encode(Arrays.<Object>asList(new Pojo(10L, "DuyHai")));
+
+        //Then
+        assertThat(codec.targetType()).isEqualTo((Class) ByteBuffer.class);
+        assertThat(new String(((ByteBuffer) encoded.get(0)).array())).isEqualTo("{\"id\":10,\"name\":\"DuyHai\"}");
+    }
+
 
     @Test
     public void should_create_list_codec() throws Exception {
@@ -412,6 +458,25 @@ public class CodecFactoryTest {
         assertThat(decoded.get(4)).isEqualTo(PropertyType.SET);
     }
 
+    @Test
+    public void should_create_lazy_decoding_map_codec() throws Exception {
+        class Test {
+            @LazyDecoding
+            @Enumerated(key = ORDINAL, value = NAME)
+            private Map<PropertyType, PropertyType> types;
+        }
+
+        Field field = Test.class.getDeclaredField("types");
+
+        //When
+        final MapCodec codec = factory.parseMapField(createContext(field));
+        Map<Object, Object> decoded = codec.decode(ImmutableMap.<Object, Object>of(0, "LIST"));
+
+        //Then
+        assertThat(decoded).isInstanceOf(LazyDecodedMap.class);
+        assertThat(decoded.get(PropertyType.ID)).isEqualTo(PropertyType.LIST);
+    }
+
     @Test
     public void should_determine_cql3_simple_type() throws Exception {
         //Given
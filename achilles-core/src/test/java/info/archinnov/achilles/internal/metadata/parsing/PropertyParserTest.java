@@ -41,6 +41,7 @@ import javax.validation.constraints.NotNull;
 
 import info.archinnov.achilles.annotations.Enumerated;
 import info.archinnov.achilles.annotations.Enumerated.Encoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -808,6 +809,7 @@ public class PropertyParserTest {
 
     private <T> PropertyParsingContext newContext(Class<T> entityClass, Field field) {
         entityContext = new EntityParsingContext(configContext, entityClass);
+        entityContext.setCurrentObjectMapper(new ObjectMapper());
 
         return entityContext.newPropertyContext(field);
     }
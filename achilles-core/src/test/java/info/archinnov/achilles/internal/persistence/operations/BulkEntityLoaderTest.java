@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import info.archinnov.achilles.exception.AchillesException;
+
+public class BulkEntityLoaderTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private BulkEntityLoader loader = new BulkEntityLoader();
+
+    @Test
+    public void should_load_all_in_input_order_with_null_for_misses() throws Exception {
+        //Given
+        Function<Object, ListenableFuture<String>> asyncLoader = new Function<Object, ListenableFuture<String>>() {
+            @Override
+            public ListenableFuture<String> apply(Object primaryKey) {
+                if (primaryKey.equals(2L)) {
+                    return Futures.immediateFuture(null);
+                }
+                return Futures.immediateFuture("entity" + primaryKey);
+            }
+        };
+
+        //When
+        final List<String> actual = loader.loadAll(asList(3L, 2L, 1L), asyncLoader, 2);
+
+        //Then
+        assertThat(actual).containsExactly("entity3", null, "entity1");
+    }
+
+    @Test
+    public void should_not_exceed_max_in_flight() throws Exception {
+        //Given
+        final ListeningExecutorService executor = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(8));
+        final AtomicInteger inFlight = new AtomicInteger(0);
+        final AtomicInteger maxObserved = new AtomicInteger(0);
+        Function<Object, ListenableFuture<Object>> asyncLoader = new Function<Object, ListenableFuture<Object>>() {
+            @Override
+            public ListenableFuture<Object> apply(final Object primaryKey) {
+                final int current = inFlight.incrementAndGet();
+                maxObserved.set(Math.max(maxObserved.get(), current));
+                return executor.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        Thread.sleep(5);
+                        inFlight.decrementAndGet();
+                        return primaryKey;
+                    }
+                });
+            }
+        };
+        List<Object> keys = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            keys.add(i);
+        }
+
+        //When
+        final List<Object> actual = loader.loadAll(keys, asyncLoader, 3);
+
+        //Then
+        assertThat(actual).isEqualTo(keys);
+        assertThat(maxObserved.get()).isLessThanOrEqualTo(3);
+        executor.shutdown();
+    }
+
+    @Test
+    public void should_rethrow_runtime_exception_of_failed_lookup() throws Exception {
+        //Given
+        Function<Object, ListenableFuture<Object>> asyncLoader = new Function<Object, ListenableFuture<Object>>() {
+            @Override
+            public ListenableFuture<Object> apply(Object primaryKey) {
+                return Futures.immediateFailedFuture(new AchillesException("lookup failure"));
+            }
+        };
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("lookup failure");
+
+        //When
+        loader.loadAll(asList(1L), asyncLoader, 1);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDef;
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDefinitions;
+import static com.datastax.driver.core.RowBuilder.buildRow;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState.MANAGED;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.google.common.collect.ImmutableMap;
+import com.sun.management.ThreadMXBean;
+import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.parsing.EntityParser;
+import info.archinnov.achilles.internal.metadata.parsing.context.EntityParsingContext;
+import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
+import info.archinnov.achilles.test.parser.entity.Bean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.InsertStrategy;
+
+/**
+ * Measures the heap allocated per mapped row with the thread allocation counter of the JVM. The
+ * decoding of the row values by the driver is measured alone and subtracted, so the remaining bytes
+ * are the allocation of Achilles itself. The meta views used per column are shared and must not allocate
+ */
+public class EntityMapperAllocationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityMapperAllocationTest.class);
+
+    private static final int ROWS = 20000;
+
+    private static final int COLUMNS = 6;
+
+    // Entity instance and collections rebuilt by the transcoders, measured around 700 bytes for the 6 columns of the row
+    private static final long MAX_ACHILLES_BYTES_PER_COLUMN = 160;
+
+    private final EntityMapper entityMapper = new EntityMapper();
+
+    private ThreadMXBean threadMXBean;
+
+    private EntityMeta meta;
+
+    private Row row;
+
+    // Keeps the views reachable so that their allocation cannot be optimized away
+    private Object sink;
+
+    @Before
+    public void setUp() throws Exception {
+        final java.lang.management.ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(mxBean instanceof ThreadMXBean && ((ThreadMXBean) mxBean).isThreadAllocatedMemorySupported());
+        threadMXBean = (ThreadMXBean) mxBean;
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        ConfigurationContext configContext = new ConfigurationContext();
+        configContext.setDefaultReadConsistencyLevel(ConsistencyLevel.ONE);
+        configContext.setDefaultWriteConsistencyLevel(ConsistencyLevel.ONE);
+        configContext.setEnableSchemaUpdateForTables(ImmutableMap.<String, Boolean>of());
+        configContext.setJacksonMapperFactory(new DefaultJacksonMapperFactory());
+        configContext.setInsertStrategy(InsertStrategy.ALL_FIELDS);
+        meta = new EntityParser().parseEntity(new EntityParsingContext(configContext, Bean.class));
+
+        ColumnDefinitions definitions = buildColumnDefinitions(
+                buildColumnDef("ks", "bean", "id", DataType.bigint()),
+                buildColumnDef("ks", "bean", "name", DataType.text()),
+                buildColumnDef("ks", "bean", "age_in_year", DataType.bigint()),
+                buildColumnDef("ks", "bean", "friends", DataType.list(DataType.text())),
+                buildColumnDef("ks", "bean", "followers", DataType.set(DataType.text())),
+                buildColumnDef("ks", "bean", "preferences", DataType.map(DataType.cint(), DataType.text())));
+        row = buildRow(definitions, 10L, "DuyHai", 35L, Arrays.asList("foo", "bar"), new HashSet<>(Arrays.asList("George")),
+                ImmutableMap.of(1, "FR"));
+    }
+
+    @Test
+    public void should_not_allocate_meta_views_per_mapped_row() throws Exception {
+        //Given
+        final Map<String, PropertyMeta> propertiesMap = meta.getPropertyMetas();
+        for (int i = 0; i < ROWS; i++) {
+            decodeRow(row);
+            entityMapper.<Bean>mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, MANAGED);
+        }
+
+        //When
+        final long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROWS; i++) {
+            decodeRow(row);
+        }
+        final long decodingBytesPerRow = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / ROWS;
+
+        start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROWS; i++) {
+            entityMapper.<Bean>mapRowToEntityWithPrimaryKey(meta, row, propertiesMap, MANAGED);
+        }
+        final long mappingBytesPerRow = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / ROWS;
+
+        //Then
+        final long achillesBytesPerRow = mappingBytesPerRow - decodingBytesPerRow;
+        log.info("Allocated bytes per mapped row: {} for mapping, {} for decoding, {} by Achilles", mappingBytesPerRow,
+                decodingBytesPerRow, achillesBytesPerRow);
+        assertThat(achillesBytesPerRow).isLessThan(COLUMNS * MAX_ACHILLES_BYTES_PER_COLUMN);
+    }
+
+    @Test
+    public void should_share_meta_views_without_allocation() throws Exception {
+        //Given
+        final PropertyMeta nameMeta = meta.getPropertyMetas().get("name");
+        for (int i = 0; i < ROWS; i++) {
+            getViews(nameMeta);
+        }
+
+        //When
+        final long threadId = Thread.currentThread().getId();
+        final long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < ROWS; i++) {
+            getViews(nameMeta);
+        }
+        final long bytesPerCall = (threadMXBean.getThreadAllocatedBytes(threadId) - start) / ROWS;
+
+        //Then
+        assertThat(bytesPerCall).isEqualTo(0L);
+    }
+
+    private void getViews(PropertyMeta pm) {
+        sink = pm.forValues();
+        sink = pm.forRowExtraction();
+        sink = pm.forTranscoding();
+        sink = pm.structure();
+        sink = pm.config();
+        sink = meta.forOperations();
+        sink = meta.forRowMapping();
+        sink = meta.forInterception();
+    }
+
+    private void decodeRow(Row row) {
+        row.getLong(0);
+        row.getString(1);
+        row.getLong(2);
+        row.getList(3, String.class);
+        row.getSet(4, String.class);
+        row.getMap(5, Integer.class, String.class);
+    }
+}
@@ -16,6 +16,7 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static info.archinnov.achilles.internal.metadata.holder.EntityMeta.EntityState.MANAGED;
+import static info.archinnov.achilles.internal.metadata.holder.EntityMetaRowMapping.NOT_FOUND;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.EMBEDDED_ID;
 import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -97,11 +98,28 @@ public class EntityMapperTest {
         when(pm.getPropertyName()).thenReturn("name");
         when(entityMeta.getAllMetasExceptCounters()).thenReturn(asList(pm));
 
-        when(row.isNull("name")).thenReturn(false);
+        when(row.getColumnDefinitions()).thenReturn(columnDefs);
+        when(entityMeta.forRowMapping().nonCounterColumnIndexes(columnDefs)).thenReturn(new int[] { 3 });
+        when(pm.forRowExtraction().invokeOnRowForFields(row, 3)).thenReturn("value");
+
+        entityMapper.setNonCounterPropertiesToEntity(row, entityMeta, entity);
+
+        verify(pm.forValues()).setValueToField(entity, "value");
+    }
+
+    @Test
+    public void should_set_non_counter_property_by_name_when_column_index_not_found() throws Exception {
+        //Given
+        when(pm.structure().isEmbeddedId()).thenReturn(false);
+        when(entityMeta.getAllMetasExceptCounters()).thenReturn(asList(pm));
+        when(row.getColumnDefinitions()).thenReturn(columnDefs);
+        when(entityMeta.forRowMapping().nonCounterColumnIndexes(columnDefs)).thenReturn(new int[] { NOT_FOUND });
         when(pm.forRowExtraction().invokeOnRowForFields(row)).thenReturn("value");
 
+        //When
         entityMapper.setNonCounterPropertiesToEntity(row, entityMeta, entity);
 
+        //Then
         verify(pm.forValues()).setValueToField(entity, "value");
     }
 
@@ -129,6 +147,8 @@ public class EntityMapperTest {
         when(pm.getPropertyName()).thenReturn("name");
 
         when(row.isNull("name")).thenReturn(true);
+        when(row.getColumnDefinitions()).thenReturn(columnDefs);
+        when(entityMeta.forRowMapping().nonCounterColumnIndexes(columnDefs)).thenReturn(new int[0]);
 
         entityMapper.setNonCounterPropertiesToEntity(row, entityMeta, entity);
 
@@ -174,11 +194,12 @@ public class EntityMapperTest {
 
         when(row.getColumnDefinitions()).thenReturn(columnDefs);
         when(columnDefs.iterator()).thenReturn(asList(def1, def2).iterator());
+        when(entityMeta.forRowMapping().propertyMetasByColumnIndex(columnDefs, propertiesMap)).thenReturn(new PropertyMeta[] { idMeta, valueMeta });
 
         when(entityMeta.getIdMeta()).thenReturn(idMeta);
         when(entityMeta.forOperations().instanciate()).thenReturn(entity);
-        when(idMeta.forRowExtraction().invokeOnRowForFields(row)).thenReturn(id);
-        when(valueMeta.forRowExtraction().invokeOnRowForFields(row)).thenReturn("value");
+        when(idMeta.forRowExtraction().invokeOnRowForFields(row, 0)).thenReturn(id);
+        when(valueMeta.forRowExtraction().invokeOnRowForFields(row, 1)).thenReturn("value");
         when(entityMeta.forOperations().instanciate()).thenReturn(entity);
 
         CompleteBean actual = entityMapper.mapRowToEntityWithPrimaryKey(entityMeta, row, propertiesMap, MANAGED);
@@ -200,6 +221,7 @@ public class EntityMapperTest {
 
         when(row.getColumnDefinitions()).thenReturn(columnDefs);
         when(columnDefs.iterator()).thenReturn(Arrays.<Definition>asList().iterator());
+        when(entityMeta.forRowMapping().propertyMetasByColumnIndex(columnDefs, propertiesMap)).thenReturn(new PropertyMeta[0]);
         when(entityMeta.forOperations().instanciate()).thenReturn(entity);
         when(entityMeta.getIdMeta()).thenReturn(idMeta);
         when(idMeta.forRowExtraction().extractCompoundPrimaryKeyFromRow(row, entityMeta, MANAGED)).thenReturn(embeddedKey);
@@ -17,17 +17,16 @@
 package info.archinnov.achilles.internal.persistence.operations;
 
 import static org.fest.assertions.api.Assertions.assertThat;
-import static org.mockito.Matchers.anySetOf;
-import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -48,6 +47,8 @@ import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaSnapshots;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.ProxyClassFactory;
 import info.archinnov.achilles.internal.reflection.ObjectInstantiator;
@@ -86,6 +87,12 @@ public class EntityProxifierTest {
     @Mock
     private EntityMeta entityMeta;
 
+    @Mock
+    private EntityMetaProxyDispatch proxyDispatch;
+
+    @Mock
+    private EntityMetaSnapshots snapshots;
+
     @Mock
     private PropertyMeta idMeta;
 
@@ -118,8 +125,12 @@ public class EntityProxifierTest {
         CompleteBean entity = CompleteBeanTestBuilder.builder().id(primaryKey).name("name").buid();
         proxifier = spy(proxifier);
 
-        doReturn(interceptor).when(proxifier).buildInterceptor(eq(context), eq(entity), anySetOf(Method.class));
+        BitSet alreadyLoaded = new BitSet();
+
+        doReturn(interceptor).when(proxifier).buildInterceptor(context, entity, alreadyLoaded);
         when(context.getEntityMeta()).thenReturn(entityMeta);
+        when(entityMeta.forProxy()).thenReturn(proxyDispatch);
+        when(proxyDispatch.allLoadedExceptCounters()).thenReturn(alreadyLoaded);
         when(entityMeta.getIdMeta()).thenReturn(idMeta);
         when(entityMeta.getAllMetasExceptCounters()).thenReturn(Arrays.asList(pm));
         when(entityMeta.getAllCounterMetas()).thenReturn(Arrays.asList(counterMeta));
@@ -215,6 +226,56 @@ public class EntityProxifierTest {
         proxifier.ensureProxy(proxy);
     }
 
+    @Test
+    public void should_detach_entity_instead_of_building_proxy() throws Exception {
+        //Given
+        CompleteBean entity = CompleteBeanTestBuilder.builder().randomId().name("name").buid();
+        when(context.getConfigContext()).thenReturn(configContext);
+        when(configContext.isDetachedEntities()).thenReturn(true);
+        when(context.getEntityMeta()).thenReturn(entityMeta);
+        when(entityMeta.forSnapshots()).thenReturn(snapshots);
+
+        //When
+        CompleteBean actual = proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, context);
+
+        //Then
+        assertThat(actual).isSameAs(entity);
+        verify(snapshots).takeSnapshot(entity);
+        verifyZeroInteractions(factory, instantiator);
+    }
+
+    @Test
+    public void should_ensure_managed_for_proxy_and_detached_entity() throws Exception {
+        //Given
+        CompleteBean detached = new CompleteBean();
+        Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+        entityMetaMap.put(CompleteBean.class, entityMeta);
+        when(entityMeta.forSnapshots()).thenReturn(snapshots);
+        when(snapshots.hasSnapshot(detached)).thenReturn(true);
+
+        //When
+        proxifier.ensureManaged(realProxy, entityMetaMap);
+        proxifier.ensureManaged(detached, entityMetaMap);
+
+        //Then
+        assertThat(proxifier.isManaged(new CompleteBean(), entityMetaMap)).isFalse();
+    }
+
+    @Test
+    public void should_exception_when_not_managed() throws Exception {
+        //Given
+        CompleteBean entity = new CompleteBean();
+        Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+        entityMetaMap.put(CompleteBean.class, entityMeta);
+        when(entityMeta.forSnapshots()).thenReturn(snapshots);
+
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("The entity '" + entity + "' is not in 'managed' state.");
+
+        //When
+        proxifier.ensureManaged(entity, entityMetaMap);
+    }
+
     @Test
     public void should_ensure_not_proxy() throws Exception {
         proxifier.ensureNotProxy(new CompleteBean());
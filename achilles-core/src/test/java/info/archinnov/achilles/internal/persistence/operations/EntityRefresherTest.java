@@ -16,12 +16,10 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static java.util.Arrays.asList;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
-import java.lang.reflect.Method;
-import java.util.Map;
-import java.util.Set;
-
 import info.archinnov.achilles.internal.proxy.ProxyInterceptor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,7 +29,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.exception.AchillesStaleObjectStateException;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
-import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaSnapshots;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMetaValues;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 
@@ -54,13 +54,13 @@ public class EntityRefresherTest {
     private ProxyInterceptor<CompleteBean> jpaProxyInterceptor;
 
     @Mock
-    private Map<Method, DirtyChecker> dirtyMap;
+    private EntityMetaSnapshots snapshots;
 
     @Mock
-    private Set<Method> alreadyLoaded;
+    private PropertyMeta pm;
 
     @Mock
-    private Set<Method> allGettersExceptCounters;
+    private PropertyMetaValues values;
 
     @Mock
     private PersistenceContext.EntityFacade context;
@@ -73,20 +73,17 @@ public class EntityRefresherTest {
         when(context.getPrimaryKey()).thenReturn(bean.getId());
         when(context.getEntity()).thenReturn(bean);
 
+        when(proxifier.isProxy(bean)).thenReturn(true);
         when(proxifier.getInterceptor(bean)).thenReturn(jpaProxyInterceptor);
 
         when(jpaProxyInterceptor.getTarget()).thenReturn(bean);
-        when(jpaProxyInterceptor.getDirtyMap()).thenReturn(dirtyMap);
-        when(jpaProxyInterceptor.getAlreadyLoaded()).thenReturn(alreadyLoaded);
         when(context.getEntityMeta()).thenReturn(entityMeta);
         when(loader.load(context, CompleteBean.class)).thenReturn(bean);
-        when(context.getAllGettersExceptCounters()).thenReturn(allGettersExceptCounters);
 
         refresher.refresh(bean, context);
 
-        verify(dirtyMap).clear();
-        verify(alreadyLoaded).clear();
-        verify(alreadyLoaded).addAll(allGettersExceptCounters);
+        verify(jpaProxyInterceptor).clearDirtyState();
+        verify(jpaProxyInterceptor).markAllLoadedExceptCounters();
         verify(jpaProxyInterceptor).setTarget(bean);
     }
 
@@ -98,13 +95,51 @@ public class EntityRefresherTest {
         when(context.getPrimaryKey()).thenReturn(bean.getId());
         when(context.getEntity()).thenReturn(bean);
 
+        when(proxifier.isProxy(bean)).thenReturn(true);
         when(proxifier.getInterceptor(bean)).thenReturn(jpaProxyInterceptor);
 
         when(jpaProxyInterceptor.getTarget()).thenReturn(bean);
-        when(jpaProxyInterceptor.getDirtyMap()).thenReturn(dirtyMap);
         when(context.getEntityMeta()).thenReturn(entityMeta);
         when(loader.load(context, CompleteBean.class)).thenReturn(null);
 
         refresher.refresh(bean, context);
     }
+
+    @Test
+    public void should_refresh_detached_entity_and_take_new_snapshot() throws Exception {
+        //Given
+        CompleteBean detached = CompleteBeanTestBuilder.builder().id(12L).name("stale").buid();
+        CompleteBean fresh = CompleteBeanTestBuilder.builder().id(12L).name("fresh").buid();
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getPrimaryKey()).thenReturn(detached.getId());
+        when(context.getEntityMeta()).thenReturn(entityMeta);
+        when(loader.load(context, CompleteBean.class)).thenReturn(fresh);
+        when(entityMeta.getAllMetasExceptIdAndCounters()).thenReturn(asList(pm));
+        when(entityMeta.forSnapshots()).thenReturn(snapshots);
+        when(pm.forValues()).thenReturn(values);
+        when(values.getValueFromField(fresh)).thenReturn("fresh");
+
+        //When
+        refresher.refresh(detached, context);
+
+        //Then
+        verify(values).setValueToField(detached, "fresh");
+        verify(snapshots).takeSnapshot(detached);
+        verify(proxifier).isProxy(detached);
+        verifyZeroInteractions(jpaProxyInterceptor);
+    }
+
+    @Test(expected = AchillesStaleObjectStateException.class)
+    public void should_throw_exception_when_detached_object_staled() throws Exception {
+        //Given
+        CompleteBean detached = CompleteBeanTestBuilder.builder().id(12L).buid();
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getPrimaryKey()).thenReturn(detached.getId());
+        when(loader.load(context, CompleteBean.class)).thenReturn(null);
+
+        //When
+        refresher.refresh(detached, context);
+    }
 }
@@ -16,12 +16,17 @@
 
 package info.archinnov.achilles.internal.persistence.operations;
 
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST;
 import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_LIST;
+import static java.util.Arrays.asList;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,10 +40,12 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaSnapshots;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.proxy.ProxyInterceptor;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyChecker;
-import info.archinnov.achilles.internal.proxy.dirtycheck.SimpleDirtyChecker;
 import info.archinnov.achilles.test.builders.CompleteBeanTestBuilder;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
@@ -68,6 +75,15 @@ public class EntityUpdaterTest {
     @Mock
     private EntityMeta meta;
 
+    @Mock
+    private EntityMetaProxyDispatch proxyDispatch;
+
+    @Mock
+    private EntityMetaSnapshots snapshots;
+
+    @Captor
+    private ArgumentCaptor<DirtyCheckChangeSet> changeSetCaptor;
+
     @Captor
     private ArgumentCaptor<List<PropertyMeta>> pmCaptor;
 
@@ -79,15 +95,19 @@ public class EntityUpdaterTest {
 
     private Map<Method, DirtyChecker> dirtyMap = new HashMap<>();
 
+    private BitSet dirtySimpleFields = new BitSet();
+
     @Before
     public void setUp() {
 
         when(context.getEntity()).thenReturn(entity);
         when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
         when(context.getEntityMeta()).thenReturn(meta);
+        when(meta.forProxy()).thenReturn(proxyDispatch);
 
         allMetas.clear();
         dirtyMap.clear();
+        dirtySimpleFields.clear();
     }
 
     @Test
@@ -96,12 +116,13 @@ public class EntityUpdaterTest {
         when(proxifier.getRealObject(entity)).thenReturn(entity);
         when(proxifier.getInterceptor(entity)).thenReturn(interceptor);
         when(interceptor.getDirtyMap()).thenReturn(dirtyMap);
+        when(interceptor.getDirtySimpleFields()).thenReturn(dirtySimpleFields);
         when(meta.getAllCounterMetas()).thenReturn(allCounterMetas);
 
         PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user").type(SIMPLE)
                 .accessors().build();
-        DirtyChecker dirtyChecker = new SimpleDirtyChecker(pm);
-        dirtyMap.put(pm.getGetter(), dirtyChecker);
+        dirtySimpleFields.set(3);
+        when(proxyDispatch.propertyMetaAt(3)).thenReturn(pm);
         when(context.isClusteredCounter()).thenReturn(false);
 
         entityUpdater.update(context, entity);
@@ -110,6 +131,7 @@ public class EntityUpdaterTest {
         verify(context).pushUpdateStatement(pmCaptor.capture());
 
         assertThat(pmCaptor.getValue()).containsOnly(pm);
+        verify(interceptor).clearDirtyState();
 
         verify(counterPersister).persistCounters(context, allCounterMetas);
         verify(interceptor).setEntityOperations(context);
@@ -123,11 +145,12 @@ public class EntityUpdaterTest {
         when(proxifier.getRealObject(entity)).thenReturn(entity);
         when(proxifier.getInterceptor(entity)).thenReturn(interceptor);
         when(interceptor.getDirtyMap()).thenReturn(dirtyMap);
+        when(interceptor.getDirtySimpleFields()).thenReturn(dirtySimpleFields);
 
         PropertyMeta pm = PropertyMetaTestBuilder.completeBean(Void.class, UserBean.class).field("user").type(SIMPLE)
                 .accessors().build();
-        DirtyChecker dirtyChecker = new SimpleDirtyChecker(pm);
-        dirtyMap.put(pm.getGetter(), dirtyChecker);
+        dirtySimpleFields.set(3);
+        when(proxyDispatch.propertyMetaAt(3)).thenReturn(pm);
         when(context.isClusteredCounter()).thenReturn(true);
 
         entityUpdater.update(context, entity);
@@ -136,10 +159,48 @@ public class EntityUpdaterTest {
         verify(context).pushUpdateStatement(pmCaptor.capture());
 
         assertThat(pmCaptor.getValue()).containsOnly(pm);
+        verify(interceptor).clearDirtyState();
 
         verify(counterPersister).persistClusteredCounters(context);
         verify(interceptor).setEntityOperations(context);
         verify(interceptor).setTarget(entity);
 
     }
+
+    @Test
+    public void should_update_detached_entity_with_changed_columns_only() throws Exception {
+        //Given
+        PropertyMeta nameMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("name").type(SIMPLE)
+                .accessors().build();
+        PropertyMeta friendsMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("friends").type(LIST)
+                .accessors().build();
+        PropertyMeta labelMeta = PropertyMetaTestBuilder.completeBean(Void.class, String.class).field("label").type(SIMPLE)
+                .accessors().build();
+        entity.setFriends(asList("alice", "bob"));
+        final Object[] current = new Object[] { "new name", asList("alice", "bob"), "label" };
+
+        when(proxifier.isProxy(entity)).thenReturn(false);
+        when(proxifier.getRealObject(entity)).thenReturn(entity);
+        when(meta.forSnapshots()).thenReturn(snapshots);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(asList(nameMeta, friendsMeta, labelMeta));
+        when(meta.getAllCounterMetas()).thenReturn(allCounterMetas);
+        when(snapshots.getSnapshot(entity)).thenReturn(new Object[] { "name", asList("alice"), "label" });
+        when(snapshots.encodeColumns(entity)).thenReturn(current);
+
+        //When
+        entityUpdater.update(context, entity);
+
+        //Then
+        verify(context).setEntity(entity);
+        verify(context).pushUpdateStatement(pmCaptor.capture());
+        assertThat(pmCaptor.getValue()).containsExactly(nameMeta);
+
+        verify(context).pushCollectionAndMapUpdateStatements(changeSetCaptor.capture());
+        assertThat(changeSetCaptor.getValue().getChangeType()).isEqualTo(ASSIGN_VALUE_TO_LIST);
+        assertThat(changeSetCaptor.getValue().getRawListChanges()).containsExactly("alice", "bob");
+
+        verify(snapshots).putSnapshot(entity, current);
+        verify(counterPersister).persistCounters(context, allCounterMetas);
+        verifyZeroInteractions(interceptor);
+    }
 }
@@ -17,7 +17,6 @@ package info.archinnov.achilles.internal.persistence.operations;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
-import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
 import info.archinnov.achilles.type.TypedMap;
 
 import java.math.BigInteger;
@@ -48,9 +47,6 @@ public class NativeQueryMapperTest {
 	@InjectMocks
 	private NativeQueryMapper mapper;
 
-	@Mock
-	private RowMethodInvoker cqlRowInvoker;
-
 	@Mock
 	private Row row;
 
@@ -70,13 +66,13 @@ public class NativeQueryMapperTest {
 		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1, def2);
 
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(cqlRowInvoker.invokeOnRowForType(row, Long.class, "id")).thenReturn(id);
-		when(cqlRowInvoker.invokeOnRowForType(row, String.class, "name")).thenReturn(name);
+		when(row.getLong(0)).thenReturn(id);
+		when(row.getString(1)).thenReturn(name);
 
 		List<TypedMap> result = mapper.mapRows(Arrays.asList(row));
 
-		verify(cqlRowInvoker).invokeOnRowForType(row, Long.class, "id");
-		verify(cqlRowInvoker).invokeOnRowForType(row, String.class, "name");
+		verify(row).getLong(0);
+		verify(row).getString(1);
 
 		assertThat(result).hasSize(1);
 		TypedMap line = result.get(0);
@@ -94,7 +90,7 @@ public class NativeQueryMapperTest {
 		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1);
 
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(row.getList("friends", String.class)).thenReturn(friends);
+		when(row.getList(0, String.class)).thenReturn(friends);
 
 		List<TypedMap> result = mapper.mapRows(Arrays.asList(row));
 
@@ -113,7 +109,7 @@ public class NativeQueryMapperTest {
 		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1);
 
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(row.getSet("followers", String.class)).thenReturn(followers);
+		when(row.getSet(0, String.class)).thenReturn(followers);
 		List<TypedMap> result = mapper.mapRows(Arrays.asList(row));
 
 		assertThat(result).hasSize(1);
@@ -132,7 +128,7 @@ public class NativeQueryMapperTest {
 		columnDefs = ColumnDefinitionBuilder.buildColumnDefinitions(def1);
 
 		when(row.getColumnDefinitions()).thenReturn(columnDefs);
-		when(row.getMap("preferences", BigInteger.class, String.class)).thenReturn(preferences);
+		when(row.getMap(0, BigInteger.class, String.class)).thenReturn(preferences);
 		List<TypedMap> result = mapper.mapRows(Arrays.asList(row));
 
 		assertThat(result).hasSize(1);
@@ -151,14 +147,13 @@ public class NativeQueryMapperTest {
 		List<TypedMap> result = mapper.mapRows(Arrays.asList(row));
 		assertThat(result).isEmpty();
 
-		verifyZeroInteractions(cqlRowInvoker);
+		verify(row).getColumnDefinitions();
+		verifyNoMoreInteractions(row);
 	}
 
 	@Test
 	public void should_return_empty_list_when_no_row() throws Exception {
 		List<TypedMap> result = mapper.mapRows(new ArrayList<Row>());
 		assertThat(result).isEmpty();
-
-		verifyZeroInteractions(cqlRowInvoker);
 	}
 }
@@ -35,7 +35,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
+import com.google.common.base.Optional;
 import info.archinnov.achilles.interceptor.Event;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
 import info.archinnov.achilles.internal.context.DaoContext;
@@ -44,6 +46,7 @@ import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.iterator.PrefetchingRowIterator;
 import info.archinnov.achilles.iterator.SliceQueryIterator;
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
 import info.archinnov.achilles.test.mapping.entity.ClusteredEntity;
@@ -152,6 +155,23 @@ public class SliceQueryExecutorTest {
         assertThat(iter).isInstanceOf(SliceQueryIterator.class);
     }
 
+    @Test
+    public void should_create_prefetching_iterator_for_clustered_entities() throws Exception {
+        //Given
+        Whitebox.setInternalState(sliceQueryProperties, "prefetchThresholdO", Optional.fromNullable(50));
+        ResultSet resultSet = mock(ResultSet.class);
+        when(daoContext.bindForSliceQuerySelect(sliceQueryProperties, defaultReadLevel)).thenReturn(bsWrapper);
+        when(daoContext.execute(bsWrapper)).thenReturn(resultSet);
+        when(resultSet.iterator()).thenReturn(iterator);
+
+        //When
+        Iterator<ClusteredEntity> iter = executor.iterator(sliceQueryProperties);
+
+        //Then
+        assertThat(iter).isInstanceOf(SliceQueryIterator.class);
+        assertThat(Whitebox.getInternalState(iter, "iterator")).isInstanceOf(PrefetchingRowIterator.class);
+    }
+
     @Test
     public void should_remove_clustered_entities() throws Exception {
         when(daoContext.bindForSliceQueryDelete(sliceQueryProperties, defaultWriteLevel)).thenReturn(bsWrapper);
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import info.archinnov.achilles.interceptor.Event;
+import info.archinnov.achilles.internal.context.DaoContext;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.statement.wrapper.BoundStatementWrapper;
+import info.archinnov.achilles.listener.EntityScanListener;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.ConsistencyLevel;
+import info.archinnov.achilles.type.Pair;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TokenRangeScanExecutorTest {
+
+    private TokenRangeScanExecutor executor;
+
+    @Mock
+    private DaoContext daoContext;
+
+    @Mock
+    private PersistenceContextFactory contextFactory;
+
+    @Mock
+    private PersistenceContext context;
+
+    @Mock
+    private PersistenceContext.EntityFacade entityFacade;
+
+    @Mock
+    private EntityMapper mapper;
+
+    @Mock
+    private EntityProxifier proxifier;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityMeta meta;
+
+    @Mock
+    private BoundStatementWrapper bsWrapper;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private Row row;
+
+    private CompleteBean entity = new CompleteBean();
+
+    @Before
+    public void setUp() {
+        executor = new TokenRangeScanExecutor(contextFactory, daoContext);
+        Whitebox.setInternalState(executor, EntityMapper.class, mapper);
+        Whitebox.setInternalState(executor, EntityProxifier.class, proxifier);
+
+        when(meta.forOperations().instanciate()).thenReturn(entity);
+        when(meta.structure().isClusteredCounter()).thenReturn(false);
+        when(contextFactory.newContext(entity)).thenReturn(context);
+        when(context.getEntityFacade()).thenReturn(entityFacade);
+        when(proxifier.buildProxyWithAllFieldsLoadedExceptCounters(entity, entityFacade)).thenReturn(entity);
+    }
+
+    @Test
+    public void should_scan_all_token_ranges() throws Exception {
+        //Given
+        when(daoContext.getPartitioner()).thenReturn("org.apache.cassandra.dht.Murmur3Partitioner");
+        when(daoContext.bindForTokenRangeSelect(eq(meta), any(), any(), eq(ConsistencyLevel.ONE), anyInt())).thenReturn(bsWrapper);
+        when(daoContext.execute(bsWrapper)).thenReturn(resultSet);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(resultSet.iterator()).thenReturn(asList(row).iterator(), asList(row).iterator(),
+                Collections.<Row>emptyIterator(), Collections.<Row>emptyIterator(),
+                Collections.<Row>emptyIterator(), Collections.<Row>emptyIterator(),
+                Collections.<Row>emptyIterator(), Collections.<Row>emptyIterator());
+
+        final List<CompleteBean> scanned = Collections.synchronizedList(new ArrayList<CompleteBean>());
+        EntityScanListener<CompleteBean> listener = new EntityScanListener<CompleteBean>() {
+            @Override
+            public void onEntity(CompleteBean entity) {
+                scanned.add(entity);
+            }
+        };
+
+        //When
+        final long actual = executor.scan(meta, ConsistencyLevel.ONE, listener, 2);
+
+        //Then
+        assertThat(actual).isEqualTo(2L);
+        assertThat(scanned).containsExactly(entity, entity);
+        verify(daoContext, times(2 * TokenRangeScanExecutor.RANGES_PER_THREAD))
+                .bindForTokenRangeSelect(eq(meta), any(), any(), eq(ConsistencyLevel.ONE), eq(TokenRangeScanExecutor.SCAN_FETCH_SIZE));
+        verify(mapper, times(2)).setNonCounterPropertiesToEntity(row, meta, entity);
+        verify(meta.forInterception(), times(2)).intercept(entity, Event.POST_LOAD);
+    }
+
+    @Test
+    public void should_map_clustered_counter_entity() throws Exception {
+        //Given
+        when(meta.structure().isClusteredCounter()).thenReturn(true);
+        when(daoContext.bindForTokenRangeSelect(meta, 1L, 2L, ConsistencyLevel.ONE, TokenRangeScanExecutor.SCAN_FETCH_SIZE)).thenReturn(bsWrapper);
+        when(daoContext.execute(bsWrapper)).thenReturn(resultSet);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(resultSet.iterator()).thenReturn(asList(row).iterator());
+        @SuppressWarnings("unchecked")
+        EntityScanListener<CompleteBean> listener = mock(EntityScanListener.class);
+
+        //When
+        final long actual = executor.scanRange(meta, Pair.<Object, Object>create(1L, 2L), ConsistencyLevel.ONE, listener);
+
+        //Then
+        assertThat(actual).isEqualTo(1L);
+        verify(mapper).setValuesToClusteredCounterEntity(row, meta, entity);
+        verify(mapper).setPropertyToEntity(row, meta, meta.getIdMeta(), entity);
+        verify(listener).onEntity(entity);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.persistence.operations;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.math.BigInteger;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.Pair;
+
+public class TokenRangeSplitterTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private TokenRangeSplitter splitter = new TokenRangeSplitter();
+
+    @Test
+    public void should_split_murmur3_ring_into_contiguous_ranges() throws Exception {
+        //When
+        final List<Pair<Object, Object>> actual = splitter.split("org.apache.cassandra.dht.Murmur3Partitioner", 4);
+
+        //Then
+        assertThat(actual).hasSize(4);
+        assertThat(actual.get(0).left).isEqualTo(Long.MIN_VALUE);
+        assertThat(actual.get(1).right).isEqualTo(-1L);
+        assertThat(actual.get(3).right).isEqualTo(Long.MAX_VALUE);
+        for (int i = 1; i < actual.size(); i++) {
+            assertThat(actual.get(i).left).isEqualTo(actual.get(i - 1).right);
+            assertThat((Long) actual.get(i).right).isGreaterThan((Long) actual.get(i).left);
+        }
+    }
+
+    @Test
+    public void should_split_random_partitioner_ring() throws Exception {
+        //When
+        final List<Pair<Object, Object>> actual = splitter.split("org.apache.cassandra.dht.RandomPartitioner", 2);
+
+        //Then
+        assertThat(actual).hasSize(2);
+        assertThat(actual.get(0).left).isEqualTo(BigInteger.valueOf(-1L));
+        assertThat(actual.get(1).right).isEqualTo(BigInteger.valueOf(2L).pow(127));
+    }
+
+    @Test
+    public void should_exception_for_unsupported_partitioner() throws Exception {
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Token range scan is only supported for 'Murmur3Partitioner' and 'RandomPartitioner', not for 'org.apache.cassandra.dht.ByteOrderedPartitioner'");
+
+        splitter.split("org.apache.cassandra.dht.ByteOrderedPartitioner", 2);
+    }
+}
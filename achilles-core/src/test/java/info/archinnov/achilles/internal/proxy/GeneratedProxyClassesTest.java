@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.lang.reflect.Method;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+public class GeneratedProxyClassesTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_find_generated_proxy_class() throws Exception {
+        //When
+        final Class<?> proxyClass = GeneratedProxyClasses.find(ProxiedEntity.class, getClass().getClassLoader());
+
+        //Then
+        assertThat(proxyClass == ProxiedEntity_AchillesProxy.class).isTrue();
+        assertThat(GeneratedProxyClasses.find(ProxiedEntity.class, getClass().getClassLoader()) == proxyClass).isTrue();
+    }
+
+    @Test
+    public void should_return_null_when_no_generated_proxy_class() throws Exception {
+        //When
+        final Class<?> proxyClass = GeneratedProxyClasses.find(CompleteBean.class, getClass().getClassLoader());
+
+        //Then
+        assertThat(proxyClass).isNull();
+        assertThat(GeneratedProxyClasses.find(CompleteBean.class, getClass().getClassLoader())).isNull();
+    }
+
+    @Test
+    public void should_ignore_class_with_proxy_name_not_implementing_factory() throws Exception {
+        //When
+        final Class<?> proxyClass = GeneratedProxyClasses.find(NotProxied.class, getClass().getClassLoader());
+
+        //Then
+        assertThat(proxyClass).isNull();
+    }
+
+    @Test
+    public void should_find_method_declared_in_super_class() throws Exception {
+        //When
+        final Method setter = GeneratedProxyClasses.findMethod(ProxiedEntity_AchillesProxy.class, "setName", String.class);
+        final Method toString = GeneratedProxyClasses.findMethod(ProxiedEntity.class, "toString");
+
+        //Then
+        assertThat(setter).isEqualTo(ProxiedEntity.class.getDeclaredMethod("setName", String.class));
+        assertThat(toString).isEqualTo(Object.class.getMethod("toString"));
+    }
+
+    @Test
+    public void should_fail_finding_unknown_method() throws Exception {
+        //Given
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot find method 'unknown'");
+
+        //When
+        GeneratedProxyClasses.findMethod(ProxiedEntity.class, "unknown");
+    }
+
+    public static class NotProxied {
+    }
+
+    // Named like a generated proxy but is a plain user class
+    public static class NotProxied_AchillesProxy extends NotProxied {
+    }
+}
@@ -13,18 +13,17 @@
  *  See the License for the specific language governing permissions and
  *  limitations under the License.
  */
+package info.archinnov.achilles.internal.proxy;
 
-package info.archinnov.achilles.internal.proxy.dirtycheck;
+public class ProxiedEntity {
 
-import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+    private String name;
 
-public class SimpleDirtyChecker extends DirtyChecker{
-
-    public SimpleDirtyChecker(PropertyMeta propertyMeta) {
-        super(propertyMeta);
+    public String getName() {
+        return name;
     }
 
-    public boolean isSimpleField() {
-        return true;
+    void setName(String name) {
+        this.name = name;
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.proxy;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Factory;
+
+/**
+ * Stands for a proxy class generated by achilles-processor
+ */
+public class ProxiedEntity_AchillesProxy extends ProxiedEntity implements Factory {
+
+    private Callback callback;
+
+    @Override
+    public Object newInstance(Callback callback) {
+        final ProxiedEntity_AchillesProxy proxy = new ProxiedEntity_AchillesProxy();
+        proxy.setCallback(0, callback);
+        return proxy;
+    }
+
+    @Override
+    public Object newInstance(Callback[] callbacks) {
+        return newInstance(callbacks[0]);
+    }
+
+    @Override
+    public Object newInstance(Class[] types, Object[] args, Callback[] callbacks) {
+        return newInstance(callbacks);
+    }
+
+    @Override
+    public Callback getCallback(int index) {
+        return callback;
+    }
+
+    @Override
+    public void setCallback(int index, Callback callback) {
+        this.callback = callback;
+    }
+
+    @Override
+    public void setCallbacks(Callback[] callbacks) {
+        setCallback(0, callbacks[0]);
+    }
+
+    @Override
+    public Callback[] getCallbacks() {
+        return new Callback[] { callback };
+    }
+}
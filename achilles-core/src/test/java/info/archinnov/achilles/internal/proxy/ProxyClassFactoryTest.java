@@ -55,4 +55,14 @@ public class ProxyClassFactoryTest {
         //Then
         assertThat(proxyClass1 == proxyClass2).isTrue();
     }
+
+    @Test
+    public void should_use_generated_proxy_class() throws Exception {
+        //When
+        when(configContext.selectClassLoader(ProxiedEntity.class)).thenReturn(ProxiedEntity.class.getClassLoader());
+        Class<?> proxyClass = factory.createProxyClass(ProxiedEntity.class, configContext);
+
+        //Then
+        assertThat(proxyClass == ProxiedEntity_AchillesProxy.class).isTrue();
+    }
 }
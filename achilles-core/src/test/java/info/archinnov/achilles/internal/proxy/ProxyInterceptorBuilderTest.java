@@ -20,12 +20,12 @@ import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.lang.reflect.Method;
+import java.util.BitSet;
 import java.util.HashMap;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import com.google.common.collect.Sets;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
@@ -55,13 +55,17 @@ public class ProxyInterceptorBuilderTest {
         when(context.getEntityMeta()).thenReturn(meta);
         when(context.getPrimaryKey()).thenReturn(entity.getId());
 
+        BitSet alreadyLoaded = new BitSet();
+        alreadyLoaded.set(0);
+
         ProxyInterceptor<CompleteBean> interceptor = ProxyInterceptorBuilder.builder(context, entity)
-                .alreadyLoaded(Sets.newHashSet(idMeta.getGetter())).build();
+                .alreadyLoaded(alreadyLoaded).build();
 
         assertThat(interceptor.getEntityOperations()).isSameAs(context);
         assertThat(interceptor.getTarget()).isSameAs(entity);
         assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
-        assertThat(interceptor.getAlreadyLoaded()).containsOnly(idMeta.getGetter());
+        assertThat(interceptor.getAlreadyLoaded()).isSameAs(alreadyLoaded);
+        assertThat(interceptor.getDirtySimpleFields().isEmpty()).isTrue();
     }
 
     @Test
@@ -85,6 +89,6 @@ public class ProxyInterceptorBuilderTest {
         assertThat(interceptor.getEntityOperations()).isSameAs(context);
         assertThat(interceptor.getTarget()).isSameAs(entity);
         assertThat(interceptor.getPrimaryKey()).isEqualTo(entity.getId());
-        assertThat(interceptor.getAlreadyLoaded()).isEmpty();
+        assertThat(interceptor.getAlreadyLoaded().isEmpty()).isTrue();
     }
 }
@@ -28,9 +28,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -48,6 +48,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Dispatch;
+import info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Kind;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.metadata.holder.PropertyType;
 import info.archinnov.achilles.internal.persistence.operations.CounterLoader;
@@ -82,9 +85,6 @@ public class ProxyInterceptorTest {
     @Mock
     private CounterLoader counterLoader;
 
-    @Mock
-    private ReflectionInvoker invoker;
-
     @Mock
     private MethodProxy proxy;
 
@@ -95,8 +95,10 @@ public class ProxyInterceptorTest {
 
     private Map<Method, PropertyMeta> getterMetas = new HashMap<>();
     private Map<Method, PropertyMeta> setterMetas = new HashMap<>();
-    private Set<Method> alreadyLoaded = new HashSet<>();
+    private BitSet alreadyLoaded = new BitSet();
+    private BitSet dirtySimpleFields = new BitSet();
     private Map<Method, DirtyChecker> dirtyMap = new HashMap<>();
+    private EntityMeta entityMeta;
     private CompleteBean target;
     private Long key = RandomUtils.nextLong();
     private Object rawValue = "raw";
@@ -108,27 +110,28 @@ public class ProxyInterceptorTest {
         getterMetas.clear();
         setterMetas.clear();
 
-        interceptor.setGetterMetas(getterMetas);
-        interceptor.setSetterMetas(setterMetas);
-
         target = CompleteBeanTestBuilder.builder().id(key).buid();
         interceptor.setTarget(target);
         interceptor.setPrimaryKey(key);
         interceptor.setEntityOperations(context);
         interceptor.setDirtyMap(dirtyMap);
         interceptor.setAlreadyLoaded(alreadyLoaded);
+        interceptor.setDirtySimpleFields(dirtySimpleFields);
 
         dirtyMap.clear();
         alreadyLoaded.clear();
+        dirtySimpleFields.clear();
 
         idMeta = completeBean(Void.class, Long.class).field("id").accessors().build();
 
-        interceptor.setIdGetter(idMeta.getGetter());
-        interceptor.setIdSetter(idMeta.getSetter());
+        entityMeta = new EntityMeta();
+        Whitebox.setInternalState(entityMeta, "idMeta", idMeta);
+        Whitebox.setInternalState(entityMeta, "getterMetas", getterMetas);
+        Whitebox.setInternalState(entityMeta, "setterMetas", setterMetas);
+        interceptor.setDispatchTable(entityMeta.forProxy());
 
         Whitebox.setInternalState(interceptor, "loader", loader);
         Whitebox.setInternalState(interceptor, "counterLoader", counterLoader);
-        Whitebox.setInternalState(interceptor, "invoker", invoker);
     }
 
     @Test
@@ -149,10 +152,6 @@ public class ProxyInterceptorTest {
 
     @Test
     public void should_return_key_when_invoking_id_getter() throws Throwable {
-        PropertyMeta idMeta = completeBean(Void.class, Long.class).field("id").accessors().build();
-
-        interceptor.setIdGetter(idMeta.getGetter());
-
         Object id = interceptor.intercept(target, idMeta.getGetter(), args, null);
 
         assertThat(id).isEqualTo(key);
@@ -171,9 +170,9 @@ public class ProxyInterceptorTest {
         PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("name").accessors()
                 .type(PropertyType.SIMPLE).build();
 
-        alreadyLoaded.add(propertyMeta.getGetter());
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
+        alreadyLoaded.set(entityMeta.forProxy().dispatch(propertyMeta.getGetter()).ordinal());
+        propertyMeta.forValues().setValueToField(target, rawValue);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -187,12 +186,13 @@ public class ProxyInterceptorTest {
                 .type(PropertyType.SIMPLE).build();
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
+        propertyMeta.forValues().setValueToField(target, rawValue);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
         assertThat(actual).isEqualTo(rawValue);
         verify(loader).loadPropertyIntoObject(context, target, propertyMeta);
+        assertThat(alreadyLoaded.get(entityMeta.forProxy().dispatch(propertyMeta.getGetter()).ordinal())).isTrue();
     }
 
     @Test
@@ -202,7 +202,7 @@ public class ProxyInterceptorTest {
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
         rawValue = new ArrayList<String>();
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
+        propertyMeta.forValues().setValueToField(target, rawValue);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -213,11 +213,10 @@ public class ProxyInterceptorTest {
     public void should_return_null_for_list_property() throws Throwable {
         // Given
         Method method = CompleteBean.class.getDeclaredMethod("getFriends");
-        Field field = CompleteBean.class.getDeclaredField("friends");
         setterMetas.put(method, pm);
         when(pm.type()).thenReturn(PropertyType.LIST);
         getterMetas.put(method, pm);
-        when(invoker.getValueFromField(target, field)).thenReturn(null);
+        when(pm.forValues().getValueFromField(target)).thenReturn(null);
 
         Object actual = interceptor.intercept(target, method, args, proxy);
 
@@ -231,7 +230,7 @@ public class ProxyInterceptorTest {
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
         rawValue = new HashSet<String>();
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
+        propertyMeta.forValues().setValueToField(target, rawValue);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -244,7 +243,7 @@ public class ProxyInterceptorTest {
                 .type(PropertyType.SET).build();
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
-        when(proxy.invoke(target, args)).thenReturn(null);
+        propertyMeta.forValues().setValueToField(target, null);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -258,7 +257,7 @@ public class ProxyInterceptorTest {
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
         rawValue = new HashMap<Integer, String>();
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(rawValue);
+        propertyMeta.forValues().setValueToField(target, rawValue);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -271,7 +270,7 @@ public class ProxyInterceptorTest {
                 .type(PropertyType.MAP).build();
 
         getterMetas.put(propertyMeta.getGetter(), propertyMeta);
-        when(invoker.getValueFromField(target, propertyMeta.getField())).thenReturn(null);
+        propertyMeta.forValues().setValueToField(target, null);
 
         Object actual = interceptor.intercept(target, propertyMeta.getGetter(), args, proxy);
 
@@ -306,12 +305,12 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
-        assertThat(dirtyMap).containsKey(method);
-        DirtyChecker dirtyChecker = dirtyMap.get(method);
-
-        assertThat(dirtyChecker.getPropertyMeta()).isEqualTo(pm);
-        assertThat(dirtyChecker.isSimpleField()).isTrue();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtyMap).isEmpty();
+        final int ordinal = entityMeta.forProxy().dispatch(method).ordinal();
+        assertThat(dirtySimpleFields.get(ordinal)).isTrue();
+        assertThat(dirtySimpleFields.cardinality()).isEqualTo(1);
+        assertThat(entityMeta.forProxy().propertyMetaAt(ordinal)).isSameAs(pm);
 
         verify(pm.forValues()).setValueToField(target, rawValue);
     }
@@ -330,7 +329,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -358,7 +358,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -386,7 +387,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -414,7 +416,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -443,7 +446,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -471,7 +475,8 @@ public class ProxyInterceptorTest {
 
         // Then
         assertThat(actual).isNull();
-        assertThat(alreadyLoaded).isEmpty();
+        assertThat(alreadyLoaded.isEmpty()).isTrue();
+        assertThat(dirtySimpleFields.isEmpty()).isTrue();
         assertThat(dirtyMap).containsKey(method);
         DirtyChecker dirtyChecker = dirtyMap.get(method);
 
@@ -504,4 +509,63 @@ public class ProxyInterceptorTest {
         verify(counterLoader).loadClusteredCounterColumn(context, target, propertyMeta);
     }
 
+    @Test
+    public void should_resolve_dispatches_of_id_and_mapped_accessors_only() throws Throwable {
+        //Given
+        PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("name").accessors()
+                .type(PropertyType.SIMPLE).build();
+        getterMetas.put(propertyMeta.getGetter(), propertyMeta);
+        final Method[] methods = { idMeta.getGetter(), idMeta.getSetter(), propertyMeta.getGetter(), propertyMeta.getSetter(),
+                CompleteBean.class.getMethod("toString") };
+
+        //When
+        final Dispatch[] dispatches = interceptor.resolveDispatches(methods);
+
+        //Then
+        assertThat(dispatches[0].kind()).isEqualTo(Kind.ID_GETTER);
+        assertThat(dispatches[1].kind()).isEqualTo(Kind.ID_SETTER);
+        assertThat(dispatches[2].kind()).isEqualTo(Kind.GETTER);
+        assertThat(dispatches[2].propertyMeta()).isSameAs(propertyMeta);
+        assertThat(dispatches[3]).isNull();
+        assertThat(dispatches[4]).isNull();
+        assertThat(interceptor.resolveDispatches(methods)).isSameAs(dispatches);
+    }
+
+    @Test
+    public void should_get_id_through_dispatch() throws Throwable {
+        //Given
+        final Dispatch dispatch = interceptor.resolveDispatches(new Method[] { idMeta.getGetter() })[0];
+
+        //When
+        Object id = interceptor.get(dispatch);
+
+        //Then
+        assertThat(id).isEqualTo(key);
+    }
+
+    @Test
+    public void should_set_simple_property_through_dispatch() throws Throwable {
+        //Given
+        PropertyMeta propertyMeta = completeBean(Void.class, String.class).field("name").accessors()
+                .type(PropertyType.SIMPLE).invoker(new ReflectionInvoker()).build();
+        setterMetas.put(propertyMeta.getSetter(), propertyMeta);
+        final Dispatch dispatch = interceptor.resolveDispatches(new Method[] { propertyMeta.getSetter() })[0];
+
+        //When
+        interceptor.set(dispatch, "name");
+
+        //Then
+        assertThat(target.getName()).isEqualTo("name");
+        assertThat(interceptor.getDirtySimpleFields().get(dispatch.ordinal())).isTrue();
+    }
+
+    @Test
+    public void should_wrap_checked_exception_when_setting_id_through_dispatch() throws Throwable {
+        //Given
+        final Dispatch dispatch = interceptor.resolveDispatches(new Method[] { idMeta.getSetter() })[0];
+        exception.expect(java.lang.reflect.UndeclaredThrowableException.class);
+
+        //When
+        interceptor.set(dispatch, 1L);
+    }
 }
@@ -27,6 +27,11 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.removeAll;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.set;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.setIdx;
 import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_MAP;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ADD_TO_SET;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.APPEND_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.ASSIGN_VALUE_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.PREPEND_TO_LIST;
+import static info.archinnov.achilles.internal.persistence.operations.CollectionAndMapChangeType.REMOVE_FROM_LIST_AT_INDEX;
 import static info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet.ElementAtIndex;
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.fest.assertions.data.MapEntry.entry;
@@ -40,6 +45,7 @@ import java.util.Set;
 
 import com.datastax.driver.core.querybuilder.Update.Assignments;
 import com.datastax.driver.core.querybuilder.Update.Conditions;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
@@ -420,4 +426,84 @@ public class DirtyCheckChangeSetTest {
         conditions = QueryBuilder.update("table").onlyIf();
         return conditions;
     }
+
+    @Test
+    public void should_merge_added_set_elements() throws Exception {
+        //Given
+        DirtyCheckChangeSet first = new DirtyCheckChangeSet(pm, ADD_TO_SET);
+        first.setChanges.add("a");
+        DirtyCheckChangeSet second = new DirtyCheckChangeSet(pm, ADD_TO_SET);
+        second.setChanges.add("b");
+
+        //When
+        final Optional<DirtyCheckChangeSet> merged = first.merge(second);
+
+        //Then
+        assertThat(merged.get().getChangeType()).isSameAs(ADD_TO_SET);
+        assertThat(merged.get().getRawSetChanges()).containsOnly("a", "b");
+        assertThat(first.getRawSetChanges()).containsOnly("a");
+    }
+
+    @Test
+    public void should_merge_appended_and_prepended_list_elements_in_order() throws Exception {
+        //Given
+        DirtyCheckChangeSet append1 = new DirtyCheckChangeSet(pm, APPEND_TO_LIST);
+        append1.listChanges.add("a");
+        DirtyCheckChangeSet append2 = new DirtyCheckChangeSet(pm, APPEND_TO_LIST);
+        append2.listChanges.add("b");
+        DirtyCheckChangeSet prepend1 = new DirtyCheckChangeSet(pm, PREPEND_TO_LIST);
+        prepend1.listChanges.add("a");
+        DirtyCheckChangeSet prepend2 = new DirtyCheckChangeSet(pm, PREPEND_TO_LIST);
+        prepend2.listChanges.add("b");
+
+        //When
+        final List<Object> appended = append1.merge(append2).get().getRawListChanges();
+        final List<Object> prepended = prepend1.merge(prepend2).get().getRawListChanges();
+
+        //Then
+        assertThat(appended).containsExactly("a", "b");
+        assertThat(prepended).containsExactly("b", "a");
+    }
+
+    @Test
+    public void should_merge_added_map_entries_with_last_write_wins() throws Exception {
+        //Given
+        DirtyCheckChangeSet first = new DirtyCheckChangeSet(pm, ADD_TO_MAP);
+        first.mapChanges.put(1, "a");
+        DirtyCheckChangeSet second = new DirtyCheckChangeSet(pm, ADD_TO_MAP);
+        second.mapChanges.put(1, "b");
+        second.mapChanges.put(2, "c");
+
+        //When
+        final Map<Object, Object> merged = first.merge(second).get().getRawMapChanges();
+
+        //Then
+        assertThat(merged).contains(entry(1, "b"), entry(2, "c"));
+    }
+
+    @Test
+    public void should_replace_by_later_assignment() throws Exception {
+        //Given
+        DirtyCheckChangeSet append = new DirtyCheckChangeSet(pm, APPEND_TO_LIST);
+        DirtyCheckChangeSet assign = new DirtyCheckChangeSet(pm, ASSIGN_VALUE_TO_LIST);
+
+        //When
+        final Optional<DirtyCheckChangeSet> merged = append.merge(assign);
+
+        //Then
+        assertThat(merged.get()).isSameAs(assign);
+    }
+
+    @Test
+    public void should_not_merge_incompatible_changes() throws Exception {
+        //Given
+        DirtyCheckChangeSet append = new DirtyCheckChangeSet(pm, APPEND_TO_LIST);
+        DirtyCheckChangeSet prepend = new DirtyCheckChangeSet(pm, PREPEND_TO_LIST);
+        DirtyCheckChangeSet removeAtIndex1 = new DirtyCheckChangeSet(pm, REMOVE_FROM_LIST_AT_INDEX);
+        DirtyCheckChangeSet removeAtIndex2 = new DirtyCheckChangeSet(pm, REMOVE_FROM_LIST_AT_INDEX);
+
+        //Then
+        assertThat(append.merge(prepend).isPresent()).isFalse();
+        assertThat(removeAtIndex1.merge(removeAtIndex2).isPresent()).isFalse();
+    }
 }
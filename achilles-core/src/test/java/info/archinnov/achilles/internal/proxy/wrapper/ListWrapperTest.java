@@ -24,6 +24,8 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import com.google.common.collect.Lists;
+import info.archinnov.achilles.internal.metadata.codec.LazyDecodedList;
+import info.archinnov.achilles.internal.metadata.codec.NativeCodec;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
 import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
 import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
@@ -470,6 +472,20 @@ public class ListWrapperTest {
 		assertThat(listWrapper.getTarget()).isSameAs(target);
 	}
 
+    @Test
+    public void should_mark_dirty_on_element_add_to_lazily_decoded_list() throws Exception {
+        List<Object> target = new LazyDecodedList<>(Arrays.<Object>asList("a", "b"), new NativeCodec<>(Object.class));
+        ListWrapper wrapper = prepareListWrapper(target);
+        when(proxifier.removeProxy("c")).thenReturn("c");
+        wrapper.add("c");
+
+        assertThat(target).containsExactly("a", "b", "c");
+
+        DirtyCheckChangeSet changeSet = dirtyMap.get(setter).getChangeSets().get(0);
+        assertThat(changeSet.getChangeType()).isEqualTo(APPEND_TO_LIST);
+        assertThat(changeSet.getRawListChanges()).containsExactly("c");
+    }
+
 	private ListWrapper prepareListWrapper(List<Object> target) {
 		ListWrapper listWrapper = new ListWrapper(target);
 		listWrapper.setDirtyMap(dirtyMap);
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.powermock.reflect.Whitebox;
+import com.google.common.cache.Cache;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+public class CompiledFieldAccessorTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void should_get_and_set_private_field() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(CompleteBean.class.getDeclaredField("name"));
+        CompleteBean entity = new CompleteBean();
+
+        //When
+        accessor.setValue(entity, "DuyHai");
+
+        //Then
+        assertThat(entity.getName()).isEqualTo("DuyHai");
+        assertThat(accessor.getValue(entity)).isEqualTo("DuyHai");
+    }
+
+    @Test
+    public void should_box_and_unbox_primitive_field() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(Primitives.class.getDeclaredField("count"));
+        Primitives entity = new Primitives();
+
+        //When
+        accessor.setValue(entity, 10);
+
+        //Then
+        assertThat(entity.count).isEqualTo(10);
+        assertThat(accessor.getValue(entity)).isEqualTo(10);
+    }
+
+    @Test
+    public void should_return_null_for_null_target() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(CompleteBean.class.getDeclaredField("name"));
+
+        //Then
+        assertThat(accessor.getValue(null)).isNull();
+        accessor.setValue(null, "DuyHai");
+    }
+
+    @Test
+    public void should_exception_when_setting_null_to_primitive() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(Primitives.class.getDeclaredField("count"));
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot set null value to primitive type 'int' of field 'count'");
+
+        //When
+        accessor.setValue(new Primitives(), null);
+    }
+
+    @Test
+    public void should_exception_when_setting_value_of_wrong_type() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(CompleteBean.class.getDeclaredField("name"));
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot set value to field 'name' of type 'java.lang.String'");
+
+        //When
+        accessor.setValue(new CompleteBean(), 10L);
+    }
+
+    @Test
+    public void should_use_generated_accessor_when_present() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(GeneratedEntity.class.getDeclaredField("name"));
+        GeneratedEntity entity = new GeneratedEntity();
+
+        //When
+        accessor.setValue(entity, "DuyHai");
+
+        //Then
+        assertThat(accessor.isGenerated()).isTrue();
+        assertThat(entity.name).isEqualTo("DuyHai");
+        assertThat(accessor.getValue(entity)).isEqualTo("DuyHai");
+    }
+
+    @Test
+    public void should_fall_back_to_method_handles_for_field_without_generated_accessor() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(GeneratedEntity.class.getDeclaredField("age"));
+        GeneratedEntity entity = new GeneratedEntity();
+
+        //When
+        accessor.setValue(entity, 33);
+
+        //Then
+        assertThat(accessor.isGenerated()).isFalse();
+        assertThat(entity.getAge()).isEqualTo(33);
+    }
+
+    @Test
+    public void should_exception_when_setting_value_of_wrong_type_with_generated_accessor() throws Exception {
+        //Given
+        CompiledFieldAccessor accessor = CompiledFieldAccessor.forField(GeneratedEntity.class.getDeclaredField("name"));
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot set value to field 'name' of type 'java.lang.String'");
+
+        //When
+        accessor.setValue(new GeneratedEntity(), 10L);
+    }
+
+    @Test
+    public void should_look_up_generated_accessors_once_per_declaring_class() throws Exception {
+        //Given
+        final Cache<Class<?>, Object> cache = Whitebox.getInternalState(CompiledFieldAccessor.class, "GENERATED_ACCESSORS");
+        final Object notFound = Whitebox.getInternalState(CompiledFieldAccessor.class, "NOT_FOUND");
+
+        //When
+        CompiledFieldAccessor.forField(CompleteBean.class.getDeclaredField("name"));
+        final Object noAccessors = cache.getIfPresent(CompleteBean.class);
+        CompiledFieldAccessor ageAccessor = CompiledFieldAccessor.forField(CompleteBean.class.getDeclaredField("age"));
+        CompiledFieldAccessor generatedAccessor = CompiledFieldAccessor.forField(GeneratedEntity.class.getDeclaredField("name"));
+
+        //Then
+        assertThat(noAccessors).isSameAs(notFound);
+        assertThat(noAccessors).isNotInstanceOf(GeneratedFieldAccessors.class);
+        assertThat(cache.getIfPresent(CompleteBean.class)).isSameAs(notFound);
+        assertThat(ageAccessor.isGenerated()).isFalse();
+        assertThat(generatedAccessor.isGenerated()).isTrue();
+        assertThat(cache.getIfPresent(GeneratedEntity.class)).isInstanceOf(GeneratedEntity_AchillesAccessors.class);
+    }
+
+    private static class Primitives {
+        private int count;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.reflection;
+
+/**
+ * Same shape as the accessors generated by the achilles-processor annotation processor
+ */
+public final class GeneratedEntity_AchillesAccessors implements GeneratedFieldAccessors {
+
+    @Override
+    public int indexOf(String fieldName) {
+        switch (fieldName) {
+            case "name":
+                return 0;
+            default:
+                return NOT_GENERATED;
+        }
+    }
+
+    @Override
+    public Object getValue(Object target, int fieldIndex) {
+        final GeneratedEntity entity = (GeneratedEntity) target;
+        switch (fieldIndex) {
+            case 0:
+                return entity.name;
+            default:
+                throw new IllegalArgumentException("Unknown field index " + fieldIndex);
+        }
+    }
+
+    @Override
+    public void setValue(Object target, int fieldIndex, Object value) {
+        final GeneratedEntity entity = (GeneratedEntity) target;
+        switch (fieldIndex) {
+            case 0:
+                entity.name = (String) value;
+                return;
+            default:
+                throw new IllegalArgumentException("Unknown field index " + fieldIndex);
+        }
+    }
+}
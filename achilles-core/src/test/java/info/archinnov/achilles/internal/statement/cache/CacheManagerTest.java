@@ -40,8 +40,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
+import com.google.common.base.Optional;
 import com.google.common.cache.Cache;
 import info.archinnov.achilles.internal.context.PersistenceContext;
 import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
@@ -52,6 +54,8 @@ import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGene
 import info.archinnov.achilles.query.slice.SliceQueryProperties;
 import info.archinnov.achilles.internal.metadata.holder.PropertyMetaTestBuilder;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheManagerTest {
@@ -342,4 +346,111 @@ public class CacheManagerTest {
         assertThat(actual).isSameAs(ps);
         verify(cache).put(cacheKey,ps);
     }
+
+    @Test
+    public void should_get_entity_insert_from_index_without_lru_lookup() throws Exception {
+        //Given
+        EntityMeta meta = new EntityMeta();
+        PropertyMeta nameMeta = mock(PropertyMeta.class);
+        PropertyMeta ageMeta = mock(PropertyMeta.class);
+        when(nameMeta.getOrdinal()).thenReturn(1);
+        when(ageMeta.getOrdinal()).thenReturn(2);
+        List<PropertyMeta> pms = asList(nameMeta, ageMeta);
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+        when(generator.prepareInsert(session, meta, pms, noOptions())).thenReturn(ps);
+        manager.getCacheForEntityInsert(session, cache, context, pms);
+
+        //When
+        final PreparedStatement actual = manager.getCacheForEntityInsert(session, cache, context, asList(ageMeta, nameMeta));
+
+        //Then
+        assertThat(actual).isSameAs(ps);
+        assertThat(cacheKeyCaptor.getAllValues()).hasSize(1);
+        verify(generator).prepareInsert(session, meta, pms, noOptions());
+    }
+
+    @Test
+    public void should_not_index_update_with_cas_conditions() throws Exception {
+        //Given
+        EntityMeta meta = new EntityMeta();
+        PropertyMeta nameMeta = mock(PropertyMeta.class);
+        when(nameMeta.getOrdinal()).thenReturn(1);
+        List<PropertyMeta> pms = asList(nameMeta);
+        final Options options = OptionsBuilder.ifConditions(new Options.CASCondition("name", "John"));
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getOptions()).thenReturn(options);
+        when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(ps);
+
+        //When
+        manager.getCacheForFieldsUpdate(session, cache, context, pms);
+        manager.getCacheForFieldsUpdate(session, cache, context, pms);
+
+        //Then
+        assertThat(cacheKeyCaptor.getAllValues()).hasSize(2);
+    }
+
+    @Test
+    public void should_record_prepared_insert_in_manifest() throws Exception {
+        //Given
+        StatementManifest manifest = mock(StatementManifest.class);
+        CacheManager manifestManager = new CacheManager(100, Optional.of(manifest));
+        Whitebox.setInternalState(manifestManager, "generator", generator);
+        EntityMeta meta = new EntityMeta();
+        PropertyMeta nameMeta = mock(PropertyMeta.class);
+        when(nameMeta.getOrdinal()).thenReturn(1);
+        List<PropertyMeta> pms = asList(nameMeta);
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+        when(generator.prepareInsert(session, meta, pms, noOptions())).thenReturn(ps);
+
+        //When
+        manifestManager.getCacheForEntityInsert(session, cache, context, pms);
+
+        //Then
+        verify(manifest).record(CacheType.INSERT, CompleteBean.class, pms, 0);
+    }
+
+    @Test
+    public void should_not_record_update_with_cas_conditions_in_manifest() throws Exception {
+        //Given
+        StatementManifest manifest = mock(StatementManifest.class);
+        CacheManager manifestManager = new CacheManager(100, Optional.of(manifest));
+        Whitebox.setInternalState(manifestManager, "generator", generator);
+        EntityMeta meta = new EntityMeta();
+        PropertyMeta nameMeta = mock(PropertyMeta.class);
+        List<PropertyMeta> pms = asList(nameMeta);
+        final Options options = OptionsBuilder.ifConditions(new Options.CASCondition("name", "John"));
+
+        when(context.<CompleteBean>getEntityClass()).thenReturn(CompleteBean.class);
+        when(context.getEntityMeta()).thenReturn(meta);
+        when(context.getOptions()).thenReturn(options);
+        when(cache.getIfPresent(cacheKeyCaptor.capture())).thenReturn(null);
+        when(generator.prepareUpdateFields(session, meta, pms, options)).thenReturn(ps);
+
+        //When
+        manifestManager.getCacheForFieldsUpdate(session, cache, context, pms);
+
+        //Then
+        verifyZeroInteractions(manifest);
+    }
+
+    @Test
+    public void should_shut_down_manifest() throws Exception {
+        //Given
+        StatementManifest manifest = mock(StatementManifest.class);
+        CacheManager manifestManager = new CacheManager(100, Optional.of(manifest));
+
+        //When
+        manifestManager.shutDown();
+
+        //Then
+        verify(manifest).shutDown();
+    }
 }
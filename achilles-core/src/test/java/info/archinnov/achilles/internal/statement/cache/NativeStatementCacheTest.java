@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.eq;
+import static com.datastax.driver.core.querybuilder.QueryBuilder.select;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.exceptions.InvalidQueryException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NativeStatementCacheTest {
+
+    private static final String QUERY = "SELECT name FROM user WHERE id=?";
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private PreparedStatement ps;
+
+    private NativeStatementCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new NativeStatementCache(session, 10, true);
+    }
+
+    @Test
+    public void should_prepare_query_string_once() throws Exception {
+        //Given
+        when(session.prepare(QUERY)).thenReturn(ps);
+
+        //When
+        final PreparedStatement first = cache.getOrPrepare(QUERY);
+        final PreparedStatement second = cache.getOrPrepare(QUERY);
+
+        //Then
+        assertThat(first).isSameAs(ps);
+        assertThat(second).isSameAs(ps);
+        verify(session, times(1)).prepare(QUERY);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+        assertThat(cache.size()).isEqualTo(1L);
+    }
+
+    @Test(expected = InvalidQueryException.class)
+    public void should_propagate_preparation_failure() throws Exception {
+        //Given
+        when(session.prepare(QUERY)).thenThrow(new InvalidQueryException("unknown table"));
+
+        //When
+        cache.getOrPrepare(QUERY);
+    }
+
+    @Test
+    public void should_only_prepare_dml_statements_without_embedded_values() throws Exception {
+        assertThat(cache.isPreparable(select("name").from("user").where(eq("id", bindMarker())))).isTrue();
+        assertThat(cache.isPreparable(new SimpleStatement("  delete from user where id=?"))).isTrue();
+        assertThat(cache.isPreparable(new SimpleStatement("INSERT INTO user(id) VALUES(?)", 10L))).isFalse();
+        assertThat(cache.isPreparable(new SimpleStatement("CREATE TABLE user(id bigint PRIMARY KEY)"))).isFalse();
+    }
+}
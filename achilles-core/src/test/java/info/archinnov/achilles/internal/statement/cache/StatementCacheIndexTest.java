@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import static info.archinnov.achilles.internal.statement.cache.StatementCacheIndex.NOT_INDEXABLE;
+import static java.util.Arrays.asList;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.junit.Test;
+import com.datastax.driver.core.PreparedStatement;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.test.mapping.entity.UserBean;
+
+public class StatementCacheIndexTest {
+
+    private StatementCacheIndex index = new StatementCacheIndex(16);
+
+    @Test
+    public void should_compute_property_bits_from_ordinals() throws Exception {
+        assertThat(StatementCacheIndex.propertyBits(asList(property(0), property(3)))).isEqualTo(0b1001L);
+        assertThat(StatementCacheIndex.propertyBits(asList(property(0), property(-1)))).isEqualTo(NOT_INDEXABLE);
+        assertThat(StatementCacheIndex.propertyBits(asList(property(64)))).isEqualTo(NOT_INDEXABLE);
+    }
+
+    @Test
+    public void should_get_statement_by_entity_type_properties_and_options() throws Exception {
+        //Given
+        PreparedStatement insertPs = mock(PreparedStatement.class);
+        PreparedStatement updatePs = mock(PreparedStatement.class);
+        index.put(CompleteBean.class, CacheType.INSERT, 0b11L, 0, insertPs);
+        index.put(CompleteBean.class, CacheType.UPDATE_FIELDS, 0b11L, 0, updatePs);
+
+        //Then
+        assertThat(index.get(CompleteBean.class, CacheType.INSERT, 0b11L, 0)).isSameAs(insertPs);
+        assertThat(index.get(CompleteBean.class, CacheType.UPDATE_FIELDS, 0b11L, 0)).isSameAs(updatePs);
+        assertThat(index.get(CompleteBean.class, CacheType.INSERT, 0b01L, 0)).isNull();
+        assertThat(index.get(CompleteBean.class, CacheType.INSERT, 0b11L, StatementCacheKey.HAS_TIMESTAMP)).isNull();
+        assertThat(index.get(UserBean.class, CacheType.INSERT, 0b11L, 0)).isNull();
+    }
+
+    @Test
+    public void should_keep_first_statement_for_same_key() throws Exception {
+        //Given
+        PreparedStatement ps1 = mock(PreparedStatement.class);
+        PreparedStatement ps2 = mock(PreparedStatement.class);
+
+        //When
+        index.put(CompleteBean.class, CacheType.INSERT, 0b1L, 0, ps1);
+        index.put(CompleteBean.class, CacheType.INSERT, 0b1L, 0, ps2);
+
+        //Then
+        assertThat(index.get(CompleteBean.class, CacheType.INSERT, 0b1L, 0)).isSameAs(ps1);
+    }
+
+    @Test
+    public void should_not_index_when_not_indexable() throws Exception {
+        //When
+        index.put(CompleteBean.class, CacheType.INSERT, NOT_INDEXABLE, 0, mock(PreparedStatement.class));
+
+        //Then
+        assertThat(index.get(CompleteBean.class, CacheType.INSERT, NOT_INDEXABLE, 0)).isNull();
+    }
+
+    @Test
+    public void should_stop_indexing_when_full() throws Exception {
+        //Given
+        StatementCacheIndex smallIndex = new StatementCacheIndex(1);
+
+        //When
+        for (int i = 0; i < 64; i++) {
+            smallIndex.put(CompleteBean.class, CacheType.INSERT, 1L << i, 0, mock(PreparedStatement.class));
+        }
+
+        //Then
+        int indexed = 0;
+        for (int i = 0; i < 64; i++) {
+            if (smallIndex.get(CompleteBean.class, CacheType.INSERT, 1L << i, 0) != null) {
+                indexed++;
+            }
+        }
+        assertThat(indexed).isLessThanOrEqualTo(16);
+    }
+
+    private PropertyMeta property(int ordinal) {
+        PropertyMeta pm = mock(PropertyMeta.class);
+        when(pm.getOrdinal()).thenReturn(ordinal);
+        return pm;
+    }
+}
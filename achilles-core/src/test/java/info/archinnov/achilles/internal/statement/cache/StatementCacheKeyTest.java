@@ -32,4 +32,15 @@ public class StatementCacheKeyTest {
 
         assertThat(key1).isEqualTo(key2);
     }
+
+    @Test
+    public void should_not_be_equals_with_different_options() throws Exception {
+        StatementCacheKey key1 = new StatementCacheKey(CacheType.INSERT, Sets.newHashSet("field1"), CompleteBean.class, withTimestamp(100L));
+        StatementCacheKey key2 = new StatementCacheKey(CacheType.INSERT, Sets.newHashSet("field1"), CompleteBean.class, withTimestamp(100L).ifNotExists());
+        StatementCacheKey key3 = new StatementCacheKey(CacheType.INSERT, Sets.newHashSet("field1"), CompleteBean.class, withTimestamp(200L));
+
+        assertThat(key1).isNotEqualTo(key2);
+        assertThat(key1).isEqualTo(key3);
+        assertThat(key1.hashCode()).isEqualTo(key3.hashCode());
+    }
 }
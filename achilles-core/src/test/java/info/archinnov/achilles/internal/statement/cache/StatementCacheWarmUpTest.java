@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.LIST;
+import static info.archinnov.achilles.internal.metadata.holder.PropertyType.SIMPLE;
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.dirtycheck.DirtyCheckChangeSet;
+import info.archinnov.achilles.internal.statement.prepared.PreparedStatementGenerator;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementCacheWarmUpTest {
+
+    @InjectMocks
+    private StatementCacheWarmUp warmUp;
+
+    @Mock
+    private PreparedStatementGenerator generator;
+
+    @Mock
+    private Session session;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityMeta meta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta nameMeta;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PropertyMeta friendsMeta;
+
+    @Mock
+    private RegularStatement statement;
+
+    @Before
+    public void setUp() {
+        when(meta.getEntityClass()).thenReturn((Class) CompleteBean.class);
+        when(meta.getAllMetasExceptIdAndCounters()).thenReturn(Arrays.asList(nameMeta, friendsMeta));
+        when(nameMeta.getPropertyName()).thenReturn("name");
+        when(nameMeta.type()).thenReturn(SIMPLE);
+        when(nameMeta.forCache().extractClusteredFieldsIfNecessary()).thenReturn(Sets.newHashSet("name"));
+        when(friendsMeta.getPropertyName()).thenReturn("friends");
+        when(friendsMeta.type()).thenReturn(LIST);
+        when(friendsMeta.forCache().extractClusteredFieldsIfNecessary()).thenReturn(Sets.newHashSet("friends"));
+
+        when(generator.generateInsert(eq(meta), anyListOf(PropertyMeta.class), any(Options.class))).thenReturn(statement);
+        when(generator.generateUpdateFields(eq(meta), anyListOf(PropertyMeta.class), any(Options.class))).thenReturn(statement);
+        when(generator.generateSelectField(eq(meta), any(PropertyMeta.class))).thenReturn(statement);
+        when(generator.generateCollectionAndMapUpdate(eq(meta), any(DirtyCheckChangeSet.class), any(Options.class))).thenReturn(statement);
+    }
+
+    @Test
+    public void should_enumerate_statement_shapes_of_entity() throws Exception {
+        //When
+        final List<StatementCacheWarmUp.StatementShape> shapes = warmUp.enumerateShapes(meta);
+
+        //Then
+        // 1 insert + 2 updates + 2 selects + 5 list operations
+        assertThat(shapes).hasSize(10);
+        assertThat(shapes.get(0).cacheKey.getType()).isEqualTo(CacheType.INSERT);
+        assertThat(shapes.get(0).cacheKey.getFields()).containsOnly("name", "friends");
+    }
+
+    @Test
+    public void should_not_enumerate_shapes_of_clustered_counter_entity() throws Exception {
+        //Given
+        when(meta.structure().isClusteredCounter()).thenReturn(true);
+
+        //Then
+        assertThat(warmUp.enumerateShapes(meta)).isEmpty();
+    }
+
+    @Test
+    public void should_load_prepared_statements_into_cache() throws Exception {
+        //Given
+        Cache<StatementCacheKey, PreparedStatement> cache = CacheBuilder.newBuilder().build();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(session.prepareAsync(statement)).thenReturn(Futures.immediateFuture(ps));
+
+        //When
+        final int prepared = warmUp.warmUp(session, cache, Arrays.asList(meta), 2);
+
+        //Then
+        assertThat(prepared).isEqualTo(10);
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(cache.asMap().values()).containsOnly(ps);
+    }
+
+    @Test
+    public void should_skip_statements_failing_to_prepare() throws Exception {
+        //Given
+        Cache<StatementCacheKey, PreparedStatement> cache = CacheBuilder.newBuilder().build();
+        when(session.prepareAsync(statement)).thenReturn(Futures.<PreparedStatement>immediateFailedFuture(new RuntimeException("invalid")));
+
+        //When
+        final int prepared = warmUp.warmUp(session, cache, Arrays.asList(meta), 2);
+
+        //Then
+        assertThat(prepared).isEqualTo(0);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_load_statements_recorded_in_manifest_into_cache() throws Exception {
+        //Given
+        Cache<StatementCacheKey, PreparedStatement> cache = CacheBuilder.newBuilder().build();
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(session.prepareAsync(statement)).thenReturn(Futures.immediateFuture(ps));
+        when(meta.getPropertyMetas()).thenReturn(ImmutableMap.of("name", nameMeta, "friends", friendsMeta));
+        List<StatementManifest.ManifestEntry> entries = Arrays.asList(
+                new StatementManifest.ManifestEntry(CacheType.INSERT, CompleteBean.class.getName(), Arrays.asList("friends", "name"), 0),
+                new StatementManifest.ManifestEntry(CacheType.UPDATE_FIELDS, CompleteBean.class.getName(), Arrays.asList("name"),
+                        StatementCacheKey.HAS_TIMESTAMP),
+                new StatementManifest.ManifestEntry(CacheType.APPEND_TO_LIST, CompleteBean.class.getName(), Arrays.asList("friends"), 0),
+                new StatementManifest.ManifestEntry(CacheType.SELECT_FIELD, CompleteBean.class.getName(), Arrays.asList("name"), 0));
+
+        //When
+        final int prepared = warmUp.warmUpFromManifest(session, cache, entries, Arrays.asList(meta), 2);
+
+        //Then
+        assertThat(prepared).isEqualTo(4);
+        assertThat(cache.asMap().keySet()).contains(new StatementCacheKey(CacheType.INSERT, Sets.newHashSet("name", "friends"),
+                CompleteBean.class, OptionsBuilder.noOptions()));
+        verify(generator).generateInsert(eq(meta), eq(Arrays.asList(friendsMeta, nameMeta)), any(Options.class));
+    }
+
+    @Test
+    public void should_skip_manifest_entries_of_unknown_entities_or_properties() throws Exception {
+        //Given
+        Cache<StatementCacheKey, PreparedStatement> cache = CacheBuilder.newBuilder().build();
+        when(meta.getPropertyMetas()).thenReturn(ImmutableMap.of("name", nameMeta));
+        List<StatementManifest.ManifestEntry> entries = Arrays.asList(
+                new StatementManifest.ManifestEntry(CacheType.INSERT, "com.example.RemovedBean", Arrays.asList("name"), 0),
+                new StatementManifest.ManifestEntry(CacheType.UPDATE_FIELDS, CompleteBean.class.getName(), Arrays.asList("removed"), 0));
+
+        //When
+        final int prepared = warmUp.warmUpFromManifest(session, cache, entries, Arrays.asList(meta), 2);
+
+        //Then
+        assertThat(prepared).isEqualTo(0);
+        verifyZeroInteractions(session);
+    }
+}
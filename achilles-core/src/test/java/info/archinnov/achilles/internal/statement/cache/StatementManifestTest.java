@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.internal.statement.cache;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatementManifestTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File file;
+
+    private PropertyMeta nameMeta = mock(PropertyMeta.class);
+
+    private PropertyMeta ageMeta = mock(PropertyMeta.class);
+
+    @Before
+    public void setUp() {
+        file = new File(temporaryFolder.getRoot(), "manifest.txt");
+        when(nameMeta.getPropertyName()).thenReturn("name");
+        when(ageMeta.getPropertyName()).thenReturn("age");
+    }
+
+    @Test
+    public void should_save_and_load_recorded_shapes() throws Exception {
+        //Given
+        StatementManifest manifest = new StatementManifest(file);
+        manifest.record(CacheType.INSERT, CompleteBean.class, Arrays.asList(nameMeta, ageMeta), StatementCacheKey.HAS_TIMESTAMP);
+        manifest.record(CacheType.INSERT, CompleteBean.class, Arrays.asList(nameMeta, ageMeta), StatementCacheKey.HAS_TIMESTAMP);
+
+        //When
+        manifest.save();
+        StatementManifest reloaded = new StatementManifest(file);
+        reloaded.load();
+
+        //Then
+        final List<StatementManifest.ManifestEntry> entries = reloaded.getEntries();
+        assertThat(entries).hasSize(1);
+        final StatementManifest.ManifestEntry entry = entries.get(0);
+        assertThat(entry.getType()).isEqualTo(CacheType.INSERT);
+        assertThat(entry.getEntityClassName()).isEqualTo(CompleteBean.class.getName());
+        assertThat(entry.getPropertyNames()).containsExactly("name", "age");
+        assertThat(entry.getOptionsFlags()).isEqualTo(StatementCacheKey.HAS_TIMESTAMP);
+    }
+
+    @Test
+    public void should_skip_invalid_lines_when_loading() throws Exception {
+        //Given
+        Files.write(file.toPath(), Arrays.asList("UPDATE_FIELDS|" + CompleteBean.class.getName() + "|0|name", "UNKNOWN|a|0|b",
+                "INSERT|truncated"), Charset.forName("UTF-8"));
+        StatementManifest manifest = new StatementManifest(file);
+
+        //When
+        manifest.load();
+
+        //Then
+        assertThat(manifest.getEntries()).hasSize(1);
+        assertThat(manifest.getEntries().get(0).getType()).isEqualTo(CacheType.UPDATE_FIELDS);
+    }
+
+    @Test
+    public void should_load_empty_manifest_when_file_missing() throws Exception {
+        //Given
+        StatementManifest manifest = new StatementManifest(file);
+
+        //When
+        manifest.load();
+
+        //Then
+        assertThat(manifest.getEntries()).isEmpty();
+    }
+
+    @Test
+    public void should_not_write_file_when_nothing_recorded() throws Exception {
+        //Given
+        StatementManifest manifest = new StatementManifest(file);
+
+        //When
+        manifest.save();
+
+        //Then
+        assertThat(file.exists()).isFalse();
+    }
+
+    @Test
+    public void should_stop_periodic_save_and_save_on_shut_down() throws Exception {
+        //Given
+        StatementManifest manifest = new StatementManifest(file);
+        manifest.startPeriodicSave(60000L);
+        manifest.record(CacheType.INSERT, CompleteBean.class, Arrays.asList(nameMeta), 0);
+        Thread shutdownHook = Whitebox.getInternalState(manifest, "shutdownHook");
+        ScheduledExecutorService scheduler = Whitebox.getInternalState(manifest, "scheduler");
+
+        //When
+        manifest.shutDown();
+
+        //Then
+        assertThat(file.exists()).isTrue();
+        assertThat(scheduler.isShutdown()).isTrue();
+        assertThat(Runtime.getRuntime().removeShutdownHook(shutdownHook)).isFalse();
+    }
+}
@@ -680,4 +680,35 @@ public class PreparedStatementBinderTest {
         verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
         assertThat(asList(actual.getValues())).containsExactly(0, 1, null, primaryKey, "John");
     }
+
+    @Test
+    public void should_bind_for_update_of_static_columns_with_timestamp_and_cas_condition() throws Exception {
+        //Given
+        Object primaryKey = new Object();
+        Long userId = RandomUtils.nextLong();
+        String name = "name";
+        final CASCondition CASCondition = new CASCondition("name", "John");
+        PropertyMeta nameMeta = mock(PropertyMeta.class, RETURNS_DEEP_STUBS);
+
+        when(context.getTimestamp()).thenReturn(fromNullable(100L));
+        when(context.hasCasConditions()).thenReturn(true);
+        when(context.getCasConditions()).thenReturn(asList(CASCondition));
+        when(overrider.getWriteLevel(context)).thenReturn(ALL);
+
+        when(entityMeta.forOperations().getPrimaryKey(entity)).thenReturn(primaryKey);
+        when(entityMeta.forTranscoding().encodeCasConditionValue(CASCondition)).thenReturn("John");
+        when(idMeta.structure().isEmbeddedId()).thenReturn(true);
+        when(idMeta.forTranscoding().encodeToComponents(primaryKey, true)).thenReturn(Arrays.<Object>asList(userId));
+        when(nameMeta.structure().isStaticColumn()).thenReturn(true);
+        when(nameMeta.forTranscoding().getAndEncodeValueForCassandra(entity)).thenReturn(name);
+
+        when(ps.bind(Matchers.anyVararg())).thenReturn(bs);
+
+        //When
+        final BoundStatementWrapper actual = binder.bindForUpdate(context, ps, asList(nameMeta));
+
+        //Then
+        assertThat(asList(actual.getValues())).containsExactly(0, 100L, name, userId, "John");
+        verify(ps).bind(actual.getValues());
+    }
 }
@@ -19,9 +19,15 @@ package info.archinnov.achilles.internal.statement.wrapper;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.bindMarker;
 import static com.datastax.driver.core.querybuilder.QueryBuilder.insertInto;
 import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import java.nio.ByteBuffer;
 import java.util.UUID;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Statement;
 import org.junit.Test;
@@ -31,6 +37,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.querybuilder.Insert;
 import com.google.common.base.Optional;
+import info.archinnov.achilles.internal.statement.cache.NativeStatementCache;
 import info.archinnov.achilles.listener.CASResultListener;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -75,4 +82,46 @@ public class NativeStatementWrapperTest {
         assertThat(actual.getConsistencyLevel()).isEqualTo(ConsistencyLevel.ALL);
         assertThat(actual.getSerialConsistencyLevel()).isEqualTo(ConsistencyLevel.LOCAL_SERIAL);
     }
+
+    @Test
+    public void should_build_bound_statement_from_cached_prepared_statement() throws Exception {
+        //Given
+        final Insert statement = insertInto("test").value("id", bindMarker());
+        statement.setConsistencyLevel(ConsistencyLevel.ALL);
+        final NativeStatementCache statementCache = mock(NativeStatementCache.class);
+        final PreparedStatement ps = mock(PreparedStatement.class);
+        final BoundStatement bs = mock(BoundStatement.class);
+        when(statementCache.isPreparedByDefault()).thenReturn(true);
+        when(statementCache.isPreparable(statement)).thenReturn(true);
+        when(statementCache.getOrPrepare(statement.getQueryString())).thenReturn(ps);
+        when(ps.bind(10L)).thenReturn(bs);
+        final NativeStatementWrapper wrapper = new NativeStatementWrapper(NativeQueryLog.class, statement, new Object[] { 10L },
+                Optional.<CASResultListener>absent(), Optional.of(statementCache));
+
+        //When
+        final Statement actual = wrapper.getStatement();
+
+        //Then
+        assertThat(actual).isSameAs(bs);
+        verify(bs).setConsistencyLevel(ConsistencyLevel.ALL);
+    }
+
+    @Test
+    public void should_not_prepare_statement_when_disabled_for_query() throws Exception {
+        //Given
+        final Insert statement = insertInto("test").value("id", bindMarker());
+        final NativeStatementCache statementCache = mock(NativeStatementCache.class);
+        when(statementCache.isPreparedByDefault()).thenReturn(true);
+        when(statementCache.isPreparable(statement)).thenReturn(true);
+        final NativeStatementWrapper wrapper = new NativeStatementWrapper(NativeQueryLog.class, statement, new Object[] { 10L },
+                Optional.<CASResultListener>absent(), Optional.of(statementCache));
+
+        //When
+        wrapper.setPrepared(false);
+        final Statement actual = wrapper.getStatement();
+
+        //Then
+        assertThat(actual).isInstanceOf(SimpleStatement.class);
+        verify(statementCache, never()).getOrPrepare(statement.getQueryString());
+    }
 }
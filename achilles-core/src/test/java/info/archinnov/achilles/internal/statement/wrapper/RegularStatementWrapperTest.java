@@ -17,6 +17,7 @@
 package info.archinnov.achilles.internal.statement.wrapper;
 
 import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDef;
+import static com.datastax.driver.core.ColumnDefinitionBuilder.buildColumnDefinitions;
 import static com.datastax.driver.core.ColumnDefinitions.Definition;
 import static com.datastax.driver.core.ConsistencyLevel.LOCAL_SERIAL;
 import static com.datastax.driver.core.ConsistencyLevel.ONE;
@@ -42,7 +43,6 @@ import org.junit.runner.RunWith;
 import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
-import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.DataType;
 import com.datastax.driver.core.ExecutionInfo;
@@ -52,7 +52,6 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.google.common.base.Optional;
-import info.archinnov.achilles.internal.reflection.RowMethodInvoker;
 import info.archinnov.achilles.listener.CASResultListener;
 import info.archinnov.achilles.test.mapping.entity.CompleteBean;
 import info.archinnov.achilles.test.sample.entity.Entity1;
@@ -74,12 +73,6 @@ public class RegularStatementWrapperTest {
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private ResultSet resultSet;
 
-    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
-    private ColumnDefinitions columnDefinitions;
-
-    @Mock
-    private RowMethodInvoker invoker;
-
     private static final Optional<CASResultListener> NO_LISTENER = Optional.absent();
     private  static final Optional<com.datastax.driver.core.ConsistencyLevel> NO_SERIAL_CONSISTENCY = Optional.absent();
 
@@ -147,20 +140,16 @@ public class RegularStatementWrapperTest {
             }
         };
         wrapper = new RegularStatementWrapper(CompleteBean.class, rs, new Object[] { 1 }, ONE, Optional.fromNullable(listener), NO_SERIAL_CONSISTENCY);
-        wrapper.invoker = invoker;
         when(rs.getQueryString()).thenReturn("UPDATE table IF name='John' SET");
         when(session.execute(rs)).thenReturn(resultSet);
         when(resultSet.one()).thenReturn(row);
         when(row.getBool(CAS_RESULT_COLUMN)).thenReturn(false);
-        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
-
-        when(columnDefinitions.iterator().hasNext()).thenReturn(true, true, false);
         Definition col1 = buildColumnDef("keyspace", "table", "[applied]", DataType.cboolean());
         Definition col2 = buildColumnDef("keyspace", "table", "name", DataType.text());
-        when(columnDefinitions.iterator().next()).thenReturn(col1, col2);
+        when(row.getColumnDefinitions()).thenReturn(buildColumnDefinitions(col1, col2));
 
-        when(invoker.invokeOnRowForType(row, DataType.cboolean().asJavaClass(), "[applied]")).thenReturn(false);
-        when(invoker.invokeOnRowForType(row, DataType.text().asJavaClass(), "name")).thenReturn("Helen");
+        when(row.getBool(0)).thenReturn(false);
+        when(row.getString(1)).thenReturn("Helen");
 
         //When
         wrapper.execute(session);
@@ -177,20 +166,16 @@ public class RegularStatementWrapperTest {
     public void should_notify_listener_on_cas_error() throws Exception {
         //Given
         wrapper = new RegularStatementWrapper(CompleteBean.class, rs, new Object[] { 1 }, ONE, NO_LISTENER, NO_SERIAL_CONSISTENCY);
-        wrapper.invoker = invoker;
         when(rs.getQueryString()).thenReturn("INSERT INTO table IF NOT EXISTS");
         when(session.execute(rs)).thenReturn(resultSet);
         when(resultSet.one()).thenReturn(row);
         when(row.getBool(CAS_RESULT_COLUMN)).thenReturn(false);
-        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
-
-        when(columnDefinitions.iterator().hasNext()).thenReturn(true, true, false);
         Definition col1 = buildColumnDef("keyspace", "table", "[applied]", DataType.cboolean());
         Definition col2 = buildColumnDef("keyspace", "table", "id", DataType.bigint());
-        when(columnDefinitions.iterator().next()).thenReturn(col1, col2);
+        when(row.getColumnDefinitions()).thenReturn(buildColumnDefinitions(col1, col2));
 
-        when(invoker.invokeOnRowForType(row, DataType.cboolean().asJavaClass(), "[applied]")).thenReturn(false);
-        when(invoker.invokeOnRowForType(row, DataType.bigint().asJavaClass(), "id")).thenReturn(10L);
+        when(row.getBool(0)).thenReturn(false);
+        when(row.getLong(1)).thenReturn(10L);
 
         AchillesLightWeightTransactionException caughtEx = null;
         //When
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.iterator;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchingRowIteratorTest {
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private Iterator<Row> iterator;
+
+    @Mock
+    private Row row;
+
+    private PrefetchingRowIterator rowIterator;
+
+    @Before
+    public void setUp() {
+        when(resultSet.iterator()).thenReturn(iterator);
+        rowIterator = new PrefetchingRowIterator(resultSet, 10);
+    }
+
+    @Test
+    public void should_fetch_more_results_when_available_rows_below_threshold() throws Exception {
+        //Given
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(10);
+        when(resultSet.isFullyFetched()).thenReturn(false);
+        when(iterator.next()).thenReturn(row);
+
+        //When
+        final Row actual = rowIterator.next();
+
+        //Then
+        assertThat(actual).isSameAs(row);
+        verify(resultSet).fetchMoreResults();
+    }
+
+    @Test
+    public void should_not_fetch_more_results_when_enough_available_rows() throws Exception {
+        //Given
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(11);
+        when(iterator.hasNext()).thenReturn(true);
+
+        //When
+        final boolean actual = rowIterator.hasNext();
+
+        //Then
+        assertThat(actual).isTrue();
+        verify(resultSet, never()).fetchMoreResults();
+    }
+
+    @Test
+    public void should_not_fetch_more_results_when_fully_fetched() throws Exception {
+        //Given
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(iterator.hasNext()).thenReturn(false);
+
+        //When
+        final boolean actual = rowIterator.hasNext();
+
+        //Then
+        assertThat(actual).isFalse();
+        verify(resultSet, never()).fetchMoreResults();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void should_exception_on_remove() throws Exception {
+        rowIterator.remove();
+    }
+}
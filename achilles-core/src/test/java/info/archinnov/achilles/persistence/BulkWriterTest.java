@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.persistence;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+import com.google.common.util.concurrent.SettableFuture;
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internal.context.PersistenceContext;
+import info.archinnov.achilles.internal.context.PersistenceContextFactory;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.persistence.operations.EntityProxifier;
+import info.archinnov.achilles.internal.persistence.operations.EntityValidator;
+import info.archinnov.achilles.internal.persistence.operations.OptionsValidator;
+import info.archinnov.achilles.listener.BulkWriteListener;
+import info.archinnov.achilles.test.mapping.entity.CompleteBean;
+import info.archinnov.achilles.type.Options;
+import info.archinnov.achilles.type.OptionsBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkWriterTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PersistenceContextFactory contextFactory;
+
+    @Mock
+    private PersistenceContext.PersistenceManagerFacade facade;
+
+    @Mock
+    private EntityMeta meta;
+
+    @Mock
+    private EntityProxifier proxifier;
+
+    @Mock
+    private EntityValidator entityValidator;
+
+    @Mock
+    private OptionsValidator optionsValidator;
+
+    @Mock
+    private BulkWriteListener<CompleteBean> listener;
+
+    private Map<Class<?>, EntityMeta> entityMetaMap = new HashMap<>();
+
+    private Options options = OptionsBuilder.withTtl(10);
+
+    private CompleteBean entity = new CompleteBean();
+
+    private BulkWriter<CompleteBean> writer;
+
+    @Before
+    public void setUp() {
+        entityMetaMap.put(CompleteBean.class, meta);
+        writer = new BulkWriter<>(entityMetaMap, contextFactory, CompleteBean.class, options, listener, 2);
+        Whitebox.setInternalState(writer, EntityProxifier.class, proxifier);
+        Whitebox.setInternalState(writer, EntityValidator.class, entityValidator);
+        Whitebox.setInternalState(writer, OptionsValidator.class, optionsValidator);
+        when(contextFactory.newContext(entity, options).getPersistenceManagerFacade()).thenReturn(facade);
+    }
+
+    @Test
+    public void should_add_entity_and_notify_success() throws Exception {
+        //Given
+        SettableFuture<Void> future = SettableFuture.create();
+        when(facade.insertAsync(entity)).thenReturn(future);
+
+        //When
+        writer.add(entity);
+        future.set(null);
+        writer.flush();
+
+        //Then
+        verify(entityValidator).validateEntity(entity, entityMetaMap);
+        verify(optionsValidator).validateOptionsForUpsert(entity, entityMetaMap, options);
+        verify(proxifier).ensureNotProxy(entity);
+        verify(listener).onSuccess(entity);
+        assertThat(writer.getWrittenCount()).isEqualTo(1L);
+        assertThat(writer.getFailedCount()).isEqualTo(0L);
+    }
+
+    @Test
+    public void should_notify_failure() throws Exception {
+        //Given
+        SettableFuture<Void> future = SettableFuture.create();
+        when(facade.insertAsync(entity)).thenReturn(future);
+        final RuntimeException failure = new RuntimeException("write timeout");
+
+        //When
+        writer.add(entity);
+        future.setException(failure);
+        writer.close();
+
+        //Then
+        verify(listener).onFailure(entity, failure);
+        assertThat(writer.getFailedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_block_when_max_in_flight_reached() throws Exception {
+        //Given
+        final SettableFuture<Void> future = SettableFuture.create();
+        when(facade.insertAsync(entity)).thenReturn(future);
+        writer.add(entity);
+        writer.add(entity);
+        final CountDownLatch thirdAddDone = new CountDownLatch(1);
+
+        //When
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writer.add(entity);
+                thirdAddDone.countDown();
+            }
+        });
+        thread.start();
+
+        //Then
+        assertThat(thirdAddDone.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        future.set(null);
+        assertThat(thirdAddDone.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.close();
+        assertThat(writer.getWrittenCount()).isEqualTo(3L);
+    }
+
+    @Test
+    public void should_exception_when_adding_to_closed_writer() throws Exception {
+        //Given
+        writer.close();
+
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Cannot add entity to a closed BulkWriter");
+
+        //When
+        writer.add(entity);
+    }
+}
@@ -21,11 +21,13 @@ import static info.archinnov.achilles.configuration.ConfigurationParameters.KEYS
 import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -40,11 +42,13 @@ import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableMap;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.interceptor.Interceptor;
 import info.archinnov.achilles.internal.context.ConfigurationContext;
+import info.archinnov.achilles.internal.context.CounterDeltaAggregator;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.context.PersistenceContextFactory;
 import info.archinnov.achilles.internal.context.SchemaContext;
@@ -220,4 +224,50 @@ public class PersistenceManagerFactoryTest {
         assertThat(actual.getFollowers()).isNull();
         assertThat(actual.getPreferences()).isNull();
     }
+
+    @Test
+    public void should_shut_down_counter_aggregator_and_dao_context() throws Exception {
+        //Given
+        CounterDeltaAggregator counterAggregator = mock(CounterDeltaAggregator.class);
+        DaoContext daoContext = mock(DaoContext.class);
+        pmf.counterAggregator = Optional.of(counterAggregator);
+        pmf.daoContext = daoContext;
+
+        //When
+        pmf.shutDown();
+
+        //Then
+        verify(counterAggregator).shutDown();
+        verify(daoContext).shutDown();
+    }
+
+    @Test
+    public void should_shut_down_default_executor_service() throws Exception {
+        //Given
+        ExecutorService executorService = mock(ExecutorService.class);
+        pmf.configContext = configContext;
+        when(configContext.isExecutorServiceOwned()).thenReturn(true);
+        when(configContext.getExecutorService()).thenReturn(executorService);
+
+        //When
+        pmf.shutDown();
+
+        //Then
+        verify(executorService).shutdown();
+    }
+
+    @Test
+    public void should_not_shut_down_provided_executor_service() throws Exception {
+        //Given
+        ExecutorService executorService = mock(ExecutorService.class);
+        pmf.configContext = configContext;
+        when(configContext.isExecutorServiceOwned()).thenReturn(false);
+        when(configContext.getExecutorService()).thenReturn(executorService);
+
+        //When
+        pmf.shutDown();
+
+        //Then
+        verifyZeroInteractions(executorService);
+    }
 }
@@ -23,6 +23,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +36,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.powermock.reflect.Whitebox;
 import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import info.archinnov.achilles.internal.context.DaoContext;
 import info.archinnov.achilles.internal.persistence.operations.NativeQueryMapper;
@@ -131,4 +135,26 @@ public class NativeQueryTest {
 
     }
 
+    @Test
+    public void should_get_async() throws Exception {
+        //Given
+        List<Row> rows = Arrays.asList(row);
+        ResultSet resultSet = org.mockito.Mockito.mock(ResultSet.class);
+        when(resultSet.all()).thenReturn(rows);
+        when(daoContext.executeAsync(any(NativeStatementWrapper.class))).thenReturn(Futures.immediateFuture(resultSet));
+        when(daoContext.getExecutorService()).thenReturn(MoreExecutors.sameThreadExecutor());
+
+        List<TypedMap> result = new ArrayList<>();
+        TypedMap line = new TypedMap();
+        result.add(line);
+        when(mapper.mapRows(rows)).thenReturn(result);
+
+        //When
+        ListenableFuture<List<TypedMap>> actual = query.getAsync();
+        ListenableFuture<TypedMap> actualFirst = query.firstAsync();
+
+        //Then
+        assertThat(actual.get()).isSameAs(result);
+        assertThat(actualFirst.get()).isSameAs(line);
+    }
 }
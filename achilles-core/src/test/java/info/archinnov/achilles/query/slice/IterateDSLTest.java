@@ -117,6 +117,22 @@ public class IterateDSLTest {
         assertThat(start.properties.fetchSizeO.get()).isEqualTo(120);
     }
 
+    @Test
+    public void should_iterate_with_prefetch() throws Exception {
+        //Given
+        final IterateDSL<String> builder = new SliceQueryBuilder<>(executor, String.class, meta).forIteration();
+        when(meta.forTranscoding().encodePartitionComponents(Arrays.<Object>asList("a"))).thenReturn(Arrays.<Object>asList("a"));
+
+        //When
+        final IterateFromPartition<String> start = builder.withPartitionComponents("a");
+
+        start.limit(3).iteratorWithPrefetch(120, 60);
+
+        //Then
+        assertThat(start.properties.fetchSizeO.get()).isEqualTo(120);
+        assertThat(start.properties.getPrefetchThreshold().get()).isEqualTo(60);
+    }
+
     @Test
     public void should_iterate_with_matching() throws Exception {
         //Given
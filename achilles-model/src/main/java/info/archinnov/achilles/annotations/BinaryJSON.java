@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * By default, properties of custom types (neither native Cassandra types nor enums) are serialized
+ * to JSON and stored in a <strong>text</strong> column.
+ * <br/>
+ * <br/>
+ * With this annotation, the JSON is written as bytes into a <strong>blob</strong> column instead, skipping the
+ * String conversion. It also applies to the custom element types of a list, set or map property.
+ * <br/>
+ * The bytes are produced by the <em>ObjectMapper</em> configured for the entity, so the encoding
+ * follows the <em>JsonFactory</em> of this mapper.
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}BinaryJSON</strong>
+ *   private Map&lt;Integer,Preference&gt; preferences;
+ *
+ * </code></pre>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface BinaryJSON {
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * By default, the elements of a list, set or map are all decoded when the entity is loaded.
+ * <br/>
+ * <br/>
+ * With this annotation, the entity receives a view over the raw <strong>Cassandra</strong> values
+ * and elements are only decoded when the collection/map is first accessed. Decoded elements are cached.
+ * <br/>
+ * <br/>
+ * A list decodes each element on its first read. A set or map decodes all its elements on the first access.
+ * Any modification switches the view to a plain <strong>ArrayList</strong>, <strong>HashSet</strong>
+ * or <strong>HashMap</strong>, so dirty checking of managed entities is unchanged.
+ *
+ * <pre class="code"><code class="java">
+ *
+ *   {@literal @}Column
+ *   <strong>{@literal @}LazyDecoding</strong>
+ *   private Map&lt;Integer,Preference&gt; preferences;
+ *
+ * </code></pre>
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+@Documented
+public @interface LazyDecoding {
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.listener;
+
+/**
+ * <p/>
+ * Interface to define listener for bulk writes.
+ * <br>
+ * The "<em>void onSuccess(T entity)</em>" method is called once the entity has been written successfully
+ * <br>
+ * <br>
+ * The "<em>void onFailure(T entity, Throwable throwable)</em>" method is called if the write of the entity fails.
+ * <br>
+ * <br>
+ * Both methods are called from driver or executor threads and should be thread-safe and non-blocking
+ *
+ * <pre class="code"><code class="java">
+ *
+ * BulkWriteListener&lt;User&gt; writeListener = new BulkWriteListener&lt;User&gt;() {
+ *
+ *     public void onSuccess(User user) {
+ *     }
+ *
+ *     public void onFailure(User user, Throwable throwable) {
+ *         failedUsers.add(user);
+ *     }
+ * };
+ *
+ *  BulkWriter&lt;User&gt; writer = persistenceManagerFactory.createBulkWriter(User.class, OptionsBuilder.noOptions(), writeListener);
+ *
+ * </code></pre>
+ *
+ * @param <T>: type of written entity
+ */
+public interface BulkWriteListener<T> {
+
+    void onSuccess(T entity);
+
+    void onFailure(T entity, Throwable throwable);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.listener;
+
+/**
+ * <p/>
+ * Interface to define listener for full table scans.
+ * <br>
+ * The "<em>void onEntity(T entity)</em>" method is called once for each scanned entity. Since token ranges
+ * are scanned in parallel, this method is invoked concurrently from several threads and should be thread-safe
+ * <br>
+ * <br>
+ * Below is an example of usage for scan listener
+ *
+ * <pre class="code"><code class="java">
+ *
+ * final AtomicLong counter = new AtomicLong(0);
+ * EntityScanListener&lt;User&gt; scanListener = new EntityScanListener&lt;User&gt;() {
+ *
+ *     public void onEntity(User user) {
+ *         counter.incrementAndGet();
+ *     }
+ * };
+ *
+ *  persistenceManager.scan(User.class, scanListener);
+ *
+ * </code></pre>
+ *
+ * @param <T>: type of entity to scan
+ */
+public interface EntityScanListener<T> {
+
+    void onEntity(T entity);
+}
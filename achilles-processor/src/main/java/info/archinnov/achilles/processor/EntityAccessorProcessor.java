@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import info.archinnov.achilles.annotations.Column;
+import info.archinnov.achilles.annotations.EmbeddedId;
+import info.archinnov.achilles.annotations.Entity;
+import info.archinnov.achilles.annotations.Id;
+
+/**
+ * <p>
+ * Annotation processor generating, for each top-level class annotated with {@link info.archinnov.achilles.annotations.Entity},
+ * a <em>&lt;EntityClass&gt;_AchillesAccessors</em> class in the same package.
+ * <br/>
+ * The generated class reads and writes the mapped fields (<em>@Id</em>, <em>@EmbeddedId</em> and <em>@Column</em>) with
+ * plain field access. At bootstrap, Achilles uses it instead of reflection for every field it covers.
+ * <br/>
+ * Only non-private, non-static and non-final fields declared by the entity class itself can be accessed from generated code.
+ * The other fields keep the reflective access
+ * </p>
+ *
+ * To enable it, add <strong>achilles-processor</strong> to the compile classpath of the project declaring the entities
+ */
+@SupportedAnnotationTypes("info.archinnov.achilles.annotations.Entity")
+public class EntityAccessorProcessor extends AbstractProcessor {
+
+    static final String ACCESSORS_INTERFACE = "info.archinnov.achilles.internal.reflection.GeneratedFieldAccessors";
+    static final String CLASS_SUFFIX = "_AchillesAccessors";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement entity = (TypeElement) element;
+            if (entity.getNestingKind() != NestingKind.TOP_LEVEL) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No accessors generated for nested entity class " + entity.getQualifiedName(), entity);
+                continue;
+            }
+            final List<VariableElement> fields = accessibleMappedFields(entity);
+            if (!fields.isEmpty()) {
+                writeAccessors(entity, fields);
+            }
+        }
+        // Other processors may also handle @Entity
+        return false;
+    }
+
+    List<VariableElement> accessibleMappedFields(TypeElement entity) {
+        final List<VariableElement> fields = new ArrayList<>();
+        for (Element member : entity.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD || !isMapped(member)) {
+                continue;
+            }
+            final Set<Modifier> modifiers = member.getModifiers();
+            if (!modifiers.contains(Modifier.PRIVATE) && !modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.FINAL)) {
+                fields.add((VariableElement) member);
+            }
+        }
+        return fields;
+    }
+
+    private boolean isMapped(Element field) {
+        return field.getAnnotation(Id.class) != null || field.getAnnotation(EmbeddedId.class) != null
+                || field.getAnnotation(Column.class) != null;
+    }
+
+    private void writeAccessors(TypeElement entity, List<VariableElement> fields) {
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(entity);
+        final String entityName = entity.getSimpleName().toString();
+        final String accessorsName = entityName + CLASS_SUFFIX;
+        final String qualifiedName = packageElement.isUnnamed() ? accessorsName : packageElement.getQualifiedName() + "." + accessorsName;
+
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+            try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+                if (!packageElement.isUnnamed()) {
+                    out.println("package " + packageElement.getQualifiedName() + ";");
+                    out.println();
+                }
+                final String generatedAnnotation = GeneratedAnnotation.annotationLine(processingEnv, getClass());
+                if (!generatedAnnotation.isEmpty()) {
+                    out.println(generatedAnnotation);
+                }
+                out.println("@SuppressWarnings(\"unchecked\")");
+                out.println("public final class " + accessorsName + " implements " + ACCESSORS_INTERFACE + " {");
+                out.println();
+                writeIndexOf(out, fields);
+                writeGetValue(out, entityName, fields);
+                writeSetValue(out, entityName, fields);
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot generate accessors for entity class " + entity.getQualifiedName() + ": " + e.getMessage(), entity);
+        }
+    }
+
+    private void writeIndexOf(PrintWriter out, List<VariableElement> fields) {
+        out.println("    @Override");
+        out.println("    public int indexOf(String fieldName) {");
+        out.println("        switch (fieldName) {");
+        for (int i = 0; i < fields.size(); i++) {
+            out.println("            case \"" + fields.get(i).getSimpleName() + "\":");
+            out.println("                return " + i + ";");
+        }
+        out.println("            default:");
+        out.println("                return NOT_GENERATED;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeGetValue(PrintWriter out, String entityName, List<VariableElement> fields) {
+        out.println("    @Override");
+        out.println("    public Object getValue(Object target, int fieldIndex) {");
+        out.println("        final " + entityName + " entity = (" + entityName + ") target;");
+        out.println("        switch (fieldIndex) {");
+        for (int i = 0; i < fields.size(); i++) {
+            out.println("            case " + i + ":");
+            out.println("                return entity." + fields.get(i).getSimpleName() + ";");
+        }
+        writeUnknownIndex(out);
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeSetValue(PrintWriter out, String entityName, List<VariableElement> fields) {
+        out.println("    @Override");
+        out.println("    public void setValue(Object target, int fieldIndex, Object value) {");
+        out.println("        final " + entityName + " entity = (" + entityName + ") target;");
+        out.println("        switch (fieldIndex) {");
+        for (int i = 0; i < fields.size(); i++) {
+            final VariableElement field = fields.get(i);
+            out.println("            case " + i + ":");
+            out.println("                entity." + field.getSimpleName() + " = (" + castType(field.asType()) + ") value;");
+            out.println("                return;");
+        }
+        writeUnknownIndex(out);
+        out.println("    }");
+    }
+
+    private void writeUnknownIndex(PrintWriter out) {
+        out.println("            default:");
+        out.println("                throw new IllegalArgumentException(\"Unknown field index \" + fieldIndex);");
+        out.println("        }");
+    }
+
+    private String castType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import info.archinnov.achilles.annotations.Entity;
+
+/**
+ * <p>
+ * Annotation processor writing the binary names of all the classes annotated with
+ * {@link info.archinnov.achilles.annotations.Entity} into <em>META-INF/achilles/entities.idx</em>, one per line.
+ * <br/>
+ * At bootstrap, Achilles loads the entities of the <em>ENTITY_PACKAGES</em> from this index without scanning the
+ * packages it covers. Packages without indexed entity are scanned unless the scanning fallback is disabled, and
+ * <em>ENTITY_PACKAGES_SCAN_INDEXED</em> also scans the indexed packages to catch entities missing from a stale index
+ * </p>
+ *
+ * The index only lists the entities of the current compilation: incremental builds compiling a subset of the
+ * entities should be followed by a full build before packaging
+ */
+@SupportedAnnotationTypes("info.archinnov.achilles.annotations.Entity")
+public class EntityIndexProcessor extends AbstractProcessor {
+
+    // Same location as info.archinnov.achilles.internal.metadata.discovery.EntityIndexReader.ENTITY_INDEX_RESOURCE
+    static final String ENTITY_INDEX_RESOURCE = "META-INF/achilles/entities.idx";
+
+    private final Set<String> entityClassNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                entityClassNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+            }
+        }
+        if (roundEnv.processingOver() && !entityClassNames.isEmpty()) {
+            writeIndex();
+        }
+        // Other processors may also handle @Entity
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ENTITY_INDEX_RESOURCE);
+            try (PrintWriter out = new PrintWriter(index.openWriter())) {
+                out.println("# Entity classes indexed by " + getClass().getCanonicalName());
+                for (String entityClassName : entityClassNames) {
+                    out.println(entityClassName);
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write entity index " + ENTITY_INDEX_RESOURCE + ": " + e.getMessage());
+        }
+    }
+}
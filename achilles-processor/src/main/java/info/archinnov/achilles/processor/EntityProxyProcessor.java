@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import info.archinnov.achilles.annotations.Entity;
+
+/**
+ * <p>
+ * Annotation processor generating, for each top-level class annotated with {@link info.archinnov.achilles.annotations.Entity},
+ * a <em>&lt;EntityClass&gt;_AchillesProxy</em> subclass in the same package.
+ * <br/>
+ * At runtime, Achilles uses the generated class for managed entities instead of creating a CGLIB proxy class.
+ * Methods which cannot be mapped accessors call the target entity directly. Public getters and setters resolve
+ * their dispatch entry once per proxy, then call the typed getter or setter entry point of the interceptor
+ * without any lookup by method.
+ * <br/>
+ * Only public methods and the protected or package-private methods declared in the package of the entity can be
+ * overridden. Entities which are generic, final or without accessible default constructor keep the CGLIB proxy
+ * </p>
+ *
+ * This processor is disabled by default. To enable it, add <strong>achilles-processor</strong> to the compile classpath
+ * of the project declaring the entities and pass the <em>-Aachilles.generateProxies=true</em> option to the compiler
+ */
+@SupportedAnnotationTypes("info.archinnov.achilles.annotations.Entity")
+@SupportedOptions(EntityProxyProcessor.GENERATE_PROXIES_OPTION)
+public class EntityProxyProcessor extends AbstractProcessor {
+
+    static final String GENERATE_PROXIES_OPTION = "achilles.generateProxies";
+    static final String CLASS_SUFFIX = "_AchillesProxy";
+
+    static final String INTERCEPTOR_CLASS = "info.archinnov.achilles.internal.proxy.ProxyInterceptor";
+    static final String DISPATCH_CLASS = "info.archinnov.achilles.internal.metadata.holder.EntityMetaProxyDispatch.Dispatch";
+    static final String PROXY_CLASSES_CLASS = "info.archinnov.achilles.internal.proxy.GeneratedProxyClasses";
+    static final String FACTORY_INTERFACE = "net.sf.cglib.proxy.Factory";
+    static final String CALLBACK_CLASS = "net.sf.cglib.proxy.Callback";
+
+    // Prefixed to avoid clashes with members of the entity
+    private static final String INTERCEPTOR_FIELD = "achilles$interceptor";
+    private static final String DISPATCHES_FIELD = "achilles$dispatches";
+    private static final String METHODS_FIELD = "ACHILLES$METHODS";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!Boolean.parseBoolean(processingEnv.getOptions().get(GENERATE_PROXIES_OPTION))) {
+            return false;
+        }
+        for (Element element : roundEnv.getElementsAnnotatedWith(Entity.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            final TypeElement entity = (TypeElement) element;
+            final String reason = whyNotProxiable(entity);
+            if (reason != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No proxy generated for entity class " + entity.getQualifiedName() + ": " + reason, entity);
+                continue;
+            }
+            writeProxy(entity, overridableMethods(entity));
+        }
+        // Other processors may also handle @Entity
+        return false;
+    }
+
+    private String whyNotProxiable(TypeElement entity) {
+        if (entity.getNestingKind() != NestingKind.TOP_LEVEL) {
+            return "nested class";
+        } else if (entity.getModifiers().contains(Modifier.FINAL)) {
+            return "final class";
+        } else if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "abstract class";
+        } else if (!entity.getTypeParameters().isEmpty()) {
+            return "generic class";
+        }
+        final List<ExecutableElement> constructors = ElementFilter.constructorsIn(entity.getEnclosedElements());
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+        }
+        return "no accessible default constructor";
+    }
+
+    List<ExecutableElement> overridableMethods(TypeElement entity) {
+        final PackageElement entityPackage = processingEnv.getElementUtils().getPackageOf(entity);
+        final List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(entity))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE)
+                    || modifiers.contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            final boolean samePackage = processingEnv.getElementUtils().getPackageOf(method).equals(entityPackage);
+            if (modifiers.contains(Modifier.PUBLIC) || samePackage) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private void writeProxy(TypeElement entity, List<ExecutableElement> methods) {
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(entity);
+        final String entityName = entity.getSimpleName().toString();
+        final String proxyName = entityName + CLASS_SUFFIX;
+        final String qualifiedName = packageElement.isUnnamed() ? proxyName : packageElement.getQualifiedName() + "." + proxyName;
+
+        try {
+            final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedName, entity);
+            try (PrintWriter out = new PrintWriter(sourceFile.openWriter())) {
+                if (!packageElement.isUnnamed()) {
+                    out.println("package " + packageElement.getQualifiedName() + ";");
+                    out.println();
+                }
+                final String generatedAnnotation = GeneratedAnnotation.annotationLine(processingEnv, getClass());
+                if (!generatedAnnotation.isEmpty()) {
+                    out.println(generatedAnnotation);
+                }
+                out.println("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+                out.println("public class " + proxyName + " extends " + entityName + " implements " + FACTORY_INTERFACE + ", java.io.Serializable {");
+                out.println();
+                final List<ExecutableElement> accessors = accessorCandidates(methods);
+                writeMethodsField(out, entityName, accessors);
+                out.println("    private transient " + INTERCEPTOR_CLASS + " " + INTERCEPTOR_FIELD + ";");
+                out.println("    private transient " + DISPATCH_CLASS + "[] " + DISPATCHES_FIELD + ";");
+                out.println();
+                out.println("    public " + proxyName + "() {");
+                out.println("    }");
+                out.println();
+                for (ExecutableElement method : methods) {
+                    writeMethod(out, entity, entityName, method, accessors.indexOf(method));
+                }
+                if (!declaresWriteReplace(methods)) {
+                    writeWriteReplace(out);
+                }
+                writeFactoryMethods(out, proxyName);
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot generate proxy for entity class " + entity.getQualifiedName() + ": " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * Mapped getters and setters are public, getters take no parameter and setters a single one and return void.
+     * The other methods are always forwarded to the target entity
+     */
+    List<ExecutableElement> accessorCandidates(List<ExecutableElement> methods) {
+        final List<ExecutableElement> accessors = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            final String name = method.getSimpleName().toString();
+            final boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+            final int parameterCount = method.getParameters().size();
+            final boolean getter = parameterCount == 0 && !isVoid && (name.startsWith("get") || name.startsWith("is"));
+            final boolean setter = parameterCount == 1 && isVoid && name.startsWith("set");
+            if (getter || setter) {
+                accessors.add(method);
+            }
+        }
+        return accessors;
+    }
+
+    private void writeMethodsField(PrintWriter out, String entityName, List<ExecutableElement> methods) {
+        out.println("    private static final java.lang.reflect.Method[] " + METHODS_FIELD + " = {");
+        for (ExecutableElement method : methods) {
+            final StringBuilder lookup = new StringBuilder("        " + PROXY_CLASSES_CLASS + ".findMethod(" + entityName + ".class, \"")
+                    .append(method.getSimpleName()).append("\"");
+            // Reflection sees the erasure of the declared parameter types
+            for (Element parameter : method.getParameters()) {
+                lookup.append(", ").append(typeUtils().erasure(parameter.asType())).append(".class");
+            }
+            out.println(lookup.append("),"));
+        }
+        out.println("    };");
+        out.println();
+    }
+
+    /**
+     * @param accessorIndex index of the method in the dispatch entries, -1 when it is not an accessor candidate
+     */
+    private void writeMethod(PrintWriter out, TypeElement entity, String entityName, ExecutableElement method, int accessorIndex) {
+        final ExecutableType memberType = (ExecutableType) typeUtils().asMemberOf((DeclaredType) entity.asType(), method);
+        final TypeMirror returnType = typeUtils().erasure(memberType.getReturnType());
+        final boolean isVoid = returnType.getKind() == TypeKind.VOID;
+        final String name = method.getSimpleName().toString();
+
+        final StringBuilder parameters = new StringBuilder();
+        final StringBuilder arguments = new StringBuilder();
+        final List<? extends TypeMirror> parameterTypes = memberType.getParameterTypes();
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            if (i > 0) {
+                parameters.append(", ");
+                arguments.append(", ");
+            }
+            parameters.append(typeUtils().erasure(parameterTypes.get(i))).append(" arg").append(i);
+            arguments.append("arg").append(i);
+        }
+
+        final StringBuilder signature = new StringBuilder("    ").append(visibility(method)).append(returnType).append(" ")
+                .append(name).append("(").append(parameters).append(")");
+        if (!memberType.getThrownTypes().isEmpty()) {
+            signature.append(" throws ");
+            for (int i = 0; i < memberType.getThrownTypes().size(); i++) {
+                signature.append(i > 0 ? ", " : "").append(typeUtils().erasure(memberType.getThrownTypes().get(i)));
+            }
+        }
+        final String returnPrefix = isVoid ? "" : "return ";
+
+        out.println("    @Override");
+        out.println(signature.append(" {"));
+        out.println("        final " + INTERCEPTOR_CLASS + " interceptor = this." + INTERCEPTOR_FIELD + ";");
+        out.println("        if (interceptor == null) {");
+        out.println("            " + returnPrefix + "super." + name + "(" + arguments + ");");
+        writeReturnIfVoid(out, isVoid);
+        out.println("        }");
+        final String forward = returnPrefix + "((" + entityName + ") interceptor.getTarget())." + name + "(" + arguments + ");";
+        if (accessorIndex < 0) {
+            out.println("        " + forward);
+        } else {
+            out.println("        final " + DISPATCH_CLASS + " dispatch = this." + DISPATCHES_FIELD + "[" + accessorIndex + "];");
+            out.println("        if (dispatch == null) {");
+            out.println("            " + forward);
+            writeReturnIfVoid(out, isVoid);
+            out.println("        }");
+            if (isVoid) {
+                out.println("        interceptor.set(dispatch, " + arguments + ");");
+            } else {
+                out.println("        return (" + castType(returnType) + ") interceptor.get(dispatch);");
+            }
+        }
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeReturnIfVoid(PrintWriter out, boolean isVoid) {
+        if (isVoid) {
+            out.println("            return;");
+        }
+    }
+
+    private boolean declaresWriteReplace(List<ExecutableElement> methods) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals("writeReplace") && method.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeWriteReplace(PrintWriter out) {
+        out.println("    public Object writeReplace() throws java.io.ObjectStreamException {");
+        out.println("        return " + INTERCEPTOR_FIELD + " == null ? this : " + INTERCEPTOR_FIELD + ".writeReplace();");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeFactoryMethods(PrintWriter out, String proxyName) {
+        out.println("    @Override");
+        out.println("    public Object newInstance(" + CALLBACK_CLASS + " callback) {");
+        out.println("        final " + proxyName + " proxy = new " + proxyName + "();");
+        out.println("        proxy.setCallback(0, callback);");
+        out.println("        return proxy;");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public Object newInstance(" + CALLBACK_CLASS + "[] callbacks) {");
+        out.println("        final " + proxyName + " proxy = new " + proxyName + "();");
+        out.println("        proxy.setCallbacks(callbacks);");
+        out.println("        return proxy;");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public Object newInstance(Class[] types, Object[] args, " + CALLBACK_CLASS + "[] callbacks) {");
+        out.println("        if (types != null && types.length > 0) {");
+        out.println("            throw new UnsupportedOperationException(\"Generated proxies only have a default constructor\");");
+        out.println("        }");
+        out.println("        return newInstance(callbacks);");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + CALLBACK_CLASS + " getCallback(int index) {");
+        out.println("        checkCallbackIndex(index);");
+        out.println("        return " + INTERCEPTOR_FIELD + ";");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public void setCallback(int index, " + CALLBACK_CLASS + " callback) {");
+        out.println("        checkCallbackIndex(index);");
+        out.println("        this." + INTERCEPTOR_FIELD + " = (" + INTERCEPTOR_CLASS + ") callback;");
+        out.println("        this." + DISPATCHES_FIELD + " = callback == null ? null : this." + INTERCEPTOR_FIELD + ".resolveDispatches(" + METHODS_FIELD + ");");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public void setCallbacks(" + CALLBACK_CLASS + "[] callbacks) {");
+        out.println("        setCallback(0, callbacks[0]);");
+        out.println("    }");
+        out.println();
+        out.println("    @Override");
+        out.println("    public " + CALLBACK_CLASS + "[] getCallbacks() {");
+        out.println("        return new " + CALLBACK_CLASS + "[] { " + INTERCEPTOR_FIELD + " };");
+        out.println("    }");
+        out.println();
+        out.println("    private static void checkCallbackIndex(int index) {");
+        out.println("        if (index != 0) {");
+        out.println("            throw new IllegalArgumentException(\"Generated proxies have a single callback, not \" + index);");
+        out.println("        }");
+        out.println("    }");
+    }
+
+    private String visibility(ExecutableElement method) {
+        final Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return "public ";
+        } else if (modifiers.contains(Modifier.PROTECTED)) {
+            return "protected ";
+        }
+        return "";
+    }
+
+    private String castType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return typeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    private Types typeUtils() {
+        return processingEnv.getTypeUtils();
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+/**
+ * <em>@Generated</em> annotation put on generated sources. It moved from <em>javax.annotation</em> to
+ * <em>javax.annotation.processing</em> with Java 9, so the one visible to the compilation is used, if any
+ */
+final class GeneratedAnnotation {
+
+    static final String JDK9_GENERATED = "javax.annotation.processing.Generated";
+    static final String JDK8_GENERATED = "javax.annotation.Generated";
+
+    private GeneratedAnnotation() {
+    }
+
+    /**
+     * @return the annotation line to write before the generated class, or an empty string
+     * when no <em>@Generated</em> annotation is available
+     */
+    static String annotationLine(ProcessingEnvironment processingEnv, Class<?> processorClass) {
+        for (String annotation : new String[] { JDK9_GENERATED, JDK8_GENERATED }) {
+            if (processingEnv.getElementUtils().getTypeElement(annotation) != null) {
+                return "@" + annotation + "(\"" + processorClass.getCanonicalName() + "\")";
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import info.archinnov.achilles.internal.reflection.GeneratedFieldAccessors;
+
+public class EntityAccessorProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_generate_accessors_for_non_private_mapped_fields() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File entitySource = writeSource(sources, "User.java",
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "import java.util.List;",
+                "@Entity(table = \"users\")",
+                "public class User {",
+                "    @Id Long id;",
+                "    @Column protected int age;",
+                "    @Column List<String> friends;",
+                "    @Column private String name;",
+                "    String notMapped;",
+                "}");
+
+        //When
+        final boolean compiled = compile(entitySource, sources, classes);
+
+        //Then
+        assertThat(compiled).isTrue();
+        assertThat(new File(sources, "com/example/User_AchillesAccessors.java").exists()).isTrue();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader())) {
+            final Class<?> entityClass = classLoader.loadClass("com.example.User");
+            final GeneratedFieldAccessors accessors = (GeneratedFieldAccessors) classLoader
+                    .loadClass("com.example.User_AchillesAccessors").newInstance();
+            final Object entity = entityClass.newInstance();
+
+            assertThat(accessors.indexOf("id")).isEqualTo(0);
+            assertThat(accessors.indexOf("age")).isEqualTo(1);
+            assertThat(accessors.indexOf("friends")).isEqualTo(2);
+            assertThat(accessors.indexOf("name")).isEqualTo(GeneratedFieldAccessors.NOT_GENERATED);
+            assertThat(accessors.indexOf("notMapped")).isEqualTo(GeneratedFieldAccessors.NOT_GENERATED);
+
+            accessors.setValue(entity, 0, 10L);
+            accessors.setValue(entity, 1, 33);
+            accessors.setValue(entity, 2, Arrays.asList("foo"));
+
+            assertThat(accessors.getValue(entity, 0)).isEqualTo(10L);
+            assertThat(accessors.getValue(entity, 1)).isEqualTo(33);
+            assertThat(accessors.getValue(entity, 2)).isEqualTo(Arrays.asList("foo"));
+        }
+    }
+
+    @Test
+    public void should_not_generate_accessors_when_no_accessible_mapped_field() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File entitySource = writeSource(sources, "Tweet.java",
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "@Entity",
+                "public class Tweet {",
+                "    @Id private Long id;",
+                "    @Column private String content;",
+                "}");
+
+        //When
+        final boolean compiled = compile(entitySource, sources, classes);
+
+        //Then
+        assertThat(compiled).isTrue();
+        assertThat(new File(sources, "com/example/Tweet_AchillesAccessors.java").exists()).isFalse();
+    }
+
+    private File writeSource(File folder, String fileName, String... lines) throws IOException {
+        final File source = new File(folder, fileName);
+        Files.write(source.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return source;
+    }
+
+    private boolean compile(File entitySource, File generatedSources, File classes) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(entitySource);
+            final String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-classpath", classpath, "-d", classes.getAbsolutePath(), "-s", generatedSources.getAbsolutePath()),
+                    null, units);
+            task.setProcessors(Arrays.asList(new EntityAccessorProcessor()));
+            return task.call();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EntityIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_write_index_of_entity_classes() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File userSource = new File(sources, "User.java");
+        Files.write(userSource.toPath(), Arrays.asList(
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "@Entity",
+                "public class User {",
+                "    @Id private Long id;",
+                "    @Entity public static class Nested {",
+                "        @Id private Long id;",
+                "    }",
+                "}"), StandardCharsets.UTF_8);
+        final File notEntitySource = new File(sources, "Helper.java");
+        Files.write(notEntitySource.toPath(), Arrays.asList("package com.example;", "public class Helper {}"), StandardCharsets.UTF_8);
+
+        //When
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final boolean compiled;
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(userSource, notEntitySource);
+            final String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    Arrays.asList("-classpath", classpath, "-d", classes.getAbsolutePath(), "-proc:only"), null, units);
+            task.setProcessors(Arrays.asList(new EntityIndexProcessor()));
+            compiled = task.call();
+        }
+
+        //Then
+        assertThat(compiled).isTrue();
+        final List<String> lines = Files.readAllLines(new File(classes, EntityIndexProcessor.ENTITY_INDEX_RESOURCE).toPath(), StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("#");
+        assertThat(lines.subList(1, 3)).containsExactly("com.example.User", "com.example.User$Nested");
+    }
+}
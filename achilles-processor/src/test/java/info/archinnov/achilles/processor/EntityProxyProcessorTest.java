@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.processor;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.api.Assertions.fail;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import info.archinnov.achilles.internal.metadata.holder.EntityMeta;
+import info.archinnov.achilles.internal.metadata.holder.PropertyMeta;
+import info.archinnov.achilles.internal.proxy.ProxyInterceptor;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Factory;
+
+public class EntityProxyProcessorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void should_generate_proxy_forwarding_to_interceptor_and_target() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File entitySource = writeSource(sources, "User.java",
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "import java.util.List;",
+                "@Entity(table = \"users\")",
+                "public class User {",
+                "    @Id private Long id;",
+                "    @Column private String name;",
+                "    @Column private List<String> friends;",
+                "    public Long getId() { return id; }",
+                "    public void setId(Long id) { this.id = id; }",
+                "    public String getName() { return name; }",
+                "    public void setName(String name) { this.name = name; }",
+                "    public List<String> getFriends() { return friends; }",
+                "    public void setFriends(List<String> friends) { this.friends = friends; }",
+                "    String describe(int times) throws java.io.IOException { return name + times; }",
+                "}");
+
+        //When
+        final boolean compiled = compile(entitySource, sources, classes, "-Aachilles.generateProxies=true");
+
+        //Then
+        assertThat(compiled).isTrue();
+        final String proxySource = new String(Files.readAllBytes(new File(sources, "com/example/User_AchillesProxy.java").toPath()),
+                StandardCharsets.UTF_8);
+        // Only accessor candidates get a dispatch entry, no lookup by method nor argument array on calls
+        assertThat(proxySource).contains("findMethod(User.class, \"getName\")").contains("findMethod(User.class, \"setFriends\", java.util.List.class)");
+        assertThat(proxySource).doesNotContain("findMethod(User.class, \"describe\"").doesNotContain("new Object[]");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toURI().toURL() }, getClass().getClassLoader())) {
+            final Class<?> entityClass = classLoader.loadClass("com.example.User");
+            final Class<?> proxyClass = classLoader.loadClass("com.example.User_AchillesProxy");
+            assertThat(proxyClass.getSuperclass() == entityClass).isTrue();
+
+            final Object target = entityClass.newInstance();
+            entityClass.getMethod("setName", String.class).invoke(target, "target");
+            final Object proxy = proxyClass.newInstance();
+
+            // Without interceptor, calls go to the proxy instance itself
+            entityClass.getMethod("setName", String.class).invoke(proxy, "proxy");
+            assertThat(entityClass.getMethod("getName").invoke(proxy)).isEqualTo("proxy");
+
+            final ProxyInterceptor<Object> interceptor = new ProxyInterceptor<>();
+            interceptor.setTarget(target);
+            setField(interceptor, "primaryKey", 10L);
+            final PropertyMeta idMeta = new PropertyMeta();
+            idMeta.setGetter(entityClass.getMethod("getId"));
+            idMeta.setSetter(entityClass.getMethod("setId", Long.class));
+            final EntityMeta entityMeta = new EntityMeta();
+            setField(entityMeta, "idMeta", idMeta);
+            setField(entityMeta, "getterMetas", new HashMap<>());
+            setField(entityMeta, "setterMetas", new HashMap<>());
+            setField(interceptor, "dispatchTable", entityMeta.forProxy());
+            ((Factory) proxy).setCallbacks(new Callback[] { interceptor });
+
+            assertThat(((Factory) proxy).getCallback(0)).isSameAs(interceptor);
+            assertThat(entityClass.getMethod("getId").invoke(proxy)).isEqualTo(10L);
+            assertThat(entityClass.getMethod("getName").invoke(proxy)).isEqualTo("target");
+            final Method describe = entityClass.getDeclaredMethod("describe", int.class);
+            describe.setAccessible(true);
+            assertThat(describe.invoke(proxy, 2)).isEqualTo("target2");
+
+            try {
+                entityClass.getMethod("setId", Long.class).invoke(proxy, 11L);
+                fail("Primary key should not be changed on proxy");
+            } catch (InvocationTargetException ex) {
+                assertThat(ex.getCause()).isInstanceOf(UndeclaredThrowableException.class);
+                assertThat(ex.getCause().getCause()).isInstanceOf(IllegalAccessException.class);
+            }
+        }
+    }
+
+    @Test
+    public void should_not_generate_proxy_without_option() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File entitySource = writeSource(sources, "Tweet.java",
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "@Entity",
+                "public class Tweet {",
+                "    @Id private Long id;",
+                "}");
+
+        //When
+        final boolean compiled = compile(entitySource, sources, classes);
+
+        //Then
+        assertThat(compiled).isTrue();
+        assertThat(new File(sources, "com/example/Tweet_AchillesProxy.java").exists()).isFalse();
+    }
+
+    @Test
+    public void should_not_generate_proxy_for_final_entity() throws Exception {
+        //Given
+        final File sources = temporaryFolder.newFolder("sources");
+        final File classes = temporaryFolder.newFolder("classes");
+        final File entitySource = writeSource(sources, "Tweet.java",
+                "package com.example;",
+                "import info.archinnov.achilles.annotations.*;",
+                "@Entity",
+                "public final class Tweet {",
+                "    @Id private Long id;",
+                "}");
+
+        //When
+        final boolean compiled = compile(entitySource, sources, classes, "-Aachilles.generateProxies=true");
+
+        //Then
+        assertThat(compiled).isTrue();
+        assertThat(new File(sources, "com/example/Tweet_AchillesProxy.java").exists()).isFalse();
+    }
+
+    private void setField(Object target, String name, Object value) throws Exception {
+        final Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private File writeSource(File folder, String fileName, String... lines) throws IOException {
+        final File source = new File(folder, fileName);
+        Files.write(source.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return source;
+    }
+
+    private boolean compile(File entitySource, File generatedSources, File classes, String... options) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(entitySource);
+            final String classpath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+            final List<String> arguments = new ArrayList<>(Arrays.asList(options));
+            arguments.addAll(Arrays.asList("-classpath", classpath, "-d", classes.getAbsolutePath(), "-s", generatedSources.getAbsolutePath()));
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, arguments, null, units);
+            task.setProcessors(Arrays.asList(new EntityProxyProcessor()));
+            return task.call();
+        }
+    }
+}
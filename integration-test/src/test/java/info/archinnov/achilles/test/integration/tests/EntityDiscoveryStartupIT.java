@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2014 DuyHai DOAN
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package info.archinnov.achilles.test.integration.tests;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES;
+import static info.archinnov.achilles.configuration.ConfigurationParameters.ENTITY_PACKAGES_SCAN_INDEXED;
+import static org.fest.assertions.api.Assertions.assertThat;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.datastax.driver.core.Session;
+import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
+import info.archinnov.achilles.internal.metadata.discovery.EntityIndexReader;
+import info.archinnov.achilles.internal.utils.ConfigMap;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory;
+import info.archinnov.achilles.persistence.PersistenceManagerFactory.PersistenceManagerFactoryBuilder;
+
+/**
+ * Startup time of entity discovery, the entity index being written for this module by the achilles-processor
+ * at test compilation
+ */
+public class EntityDiscoveryStartupIT {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityDiscoveryStartupIT.class);
+
+    private static final String TEST_KEYSPACE = "entity_discovery_keyspace";
+
+    private static final String ENTITY_PACKAGE = "info.archinnov.achilles.test.integration.entity";
+
+    private ClassLoader classLoader = EntityDiscoveryStartupIT.class.getClassLoader();
+
+    @Test
+    public void should_discover_entities_from_index_as_scanning_does() throws Exception {
+        //Given
+        assertThat(new EntityIndexReader().readEntityClassNames(classLoader).isPresent()).isTrue();
+
+        //When
+        long start = System.nanoTime();
+        final List<Class<?>> fromIndex = new ArgumentExtractor().initEntities(configMap(false), classLoader);
+        final long indexMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        start = System.nanoTime();
+        final List<Class<?>> fromIndexAndScan = new ArgumentExtractor().initEntities(configMap(true), classLoader);
+        final long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //Then
+        log.info("Discovery of {} entities took {} ms from the index and {} ms with classpath scanning",
+                fromIndex.size(), indexMillis, scanMillis);
+        assertThat(fromIndex).isNotEmpty();
+        assertThat(new HashSet<>(fromIndex)).isEqualTo(new HashSet<>(fromIndexAndScan));
+    }
+
+    @Test
+    public void should_measure_bootstrap_time_with_entity_index() throws Exception {
+        //Given
+        Session session = CassandraEmbeddedServerBuilder.noEntityPackages().withKeyspaceName(TEST_KEYSPACE)
+                .cleanDataFilesAtStartup(true).buildNativeSessionOnly();
+
+        //When
+        final long start = System.nanoTime();
+        PersistenceManagerFactory factory = PersistenceManagerFactoryBuilder.builder(session.getCluster())
+                .withNativeSession(session).withKeyspaceName(TEST_KEYSPACE).withEntityPackages(ENTITY_PACKAGE)
+                .forceTableCreation(true).build();
+        final long bootstrapMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //Then
+        log.info("PersistenceManagerFactory bootstrap took {} ms", bootstrapMillis);
+        assertThat(factory.createPersistenceManager()).isNotNull();
+        factory.shutDown();
+    }
+
+    private ConfigMap configMap(boolean scanIndexed) {
+        ConfigMap configMap = new ConfigMap();
+        configMap.put(ENTITY_PACKAGES, ENTITY_PACKAGE);
+        configMap.put(ENTITY_PACKAGES_SCAN_INDEXED, scanIndexed);
+        return configMap;
+    }
+}